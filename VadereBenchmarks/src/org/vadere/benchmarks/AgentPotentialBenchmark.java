@@ -0,0 +1,108 @@
+package org.vadere.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vadere.simulator.models.osm.PedestrianOSM;
+import org.vadere.simulator.models.potential.PotentialFieldPedestrianCompactSoftshell;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Topography;
+import org.vadere.util.geometry.shapes.VCircle;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link PotentialFieldPedestrianCompactSoftshell#getAgentPotential(org.vadere.util.geometry.shapes.IPoint, org.vadere.state.scenario.Agent, Collection)},
+ * i.e. a single evaluation of the pedestrian potential at a point of the step circle, and the neighbour query
+ * {@link PotentialFieldPedestrianCompactSoftshell#getRelevantAgents(VCircle, org.vadere.state.scenario.Agent, Topography)}
+ * which precedes the evaluations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AgentPotentialBenchmark {
+
+	private static final int NUMBER_OF_EVALUATION_POINTS = 1024;
+
+	@Param({ScenarioFixture.RIMEA_06_CORNER, ScenarioFixture.RIMEA_09_PUBLIC_ROOM})
+	public String scenario;
+
+	@Param({"200"})
+	public int pedestrians;
+
+	private PotentialFieldPedestrianCompactSoftshell potentialFieldPedestrian;
+	private Topography topography;
+	private List<PedestrianOSM> crowd;
+	private List<Collection<Pedestrian>> relevantPedestrians;
+	private VPoint[] evaluationPoints;
+	private int nextPedestrian;
+	private int nextPoint;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException, ReflectiveOperationException {
+		ScenarioFixture fixture = ScenarioFixture.load(scenario);
+		fixture.spawnPedestrians(pedestrians, 0);
+		topography = fixture.getTopography();
+
+		potentialFieldPedestrian = new PotentialFieldPedestrianCompactSoftshell();
+		potentialFieldPedestrian.initialize(fixture.getScenario().getScenarioStore().getAttributesList(),
+				fixture.getDomain(), topography.getAttributesPedestrian(), fixture.getRandom());
+
+		crowd = new ArrayList<>(topography.getElements(PedestrianOSM.class));
+		relevantPedestrians = new ArrayList<>(crowd.size());
+		for(PedestrianOSM pedestrian : crowd) {
+			relevantPedestrians.add(potentialFieldPedestrian.getRelevantAgents(stepCircle(pedestrian), pedestrian, topography));
+		}
+
+		// points are sampled in advance such that the measurement does not include random number generation
+		Random random = new Random(0);
+		evaluationPoints = new VPoint[NUMBER_OF_EVALUATION_POINTS];
+		for(int i = 0; i < evaluationPoints.length; i++) {
+			double angle = random.nextDouble() * 2 * Math.PI;
+			// relative to the step circle, i.e. the radius is scaled by the step size of the pedestrian
+			double radius = random.nextDouble();
+			evaluationPoints[i] = new VPoint(radius * Math.cos(angle), radius * Math.sin(angle));
+		}
+		nextPedestrian = 0;
+		nextPoint = 0;
+	}
+
+	private VCircle stepCircle(final PedestrianOSM pedestrian) {
+		return new VCircle(pedestrian.getPosition(), pedestrian.getFreeFlowStepSize());
+	}
+
+	@Benchmark
+	public double getAgentPotential() {
+		PedestrianOSM pedestrian = crowd.get(nextPedestrian);
+		Collection<Pedestrian> neighbours = relevantPedestrians.get(nextPedestrian);
+		VPoint offset = evaluationPoints[nextPoint].scalarMultiply(pedestrian.getFreeFlowStepSize());
+		nextPedestrian = (nextPedestrian + 1) % crowd.size();
+		nextPoint = (nextPoint + 1) % evaluationPoints.length;
+		return potentialFieldPedestrian.getAgentPotential(pedestrian.getPosition().add(offset), pedestrian, neighbours);
+	}
+
+	@Benchmark
+	public Collection<Pedestrian> getRelevantAgents() {
+		PedestrianOSM pedestrian = crowd.get(nextPedestrian);
+		nextPedestrian = (nextPedestrian + 1) % crowd.size();
+		return potentialFieldPedestrian.getRelevantAgents(stepCircle(pedestrian), pedestrian, topography);
+	}
+}
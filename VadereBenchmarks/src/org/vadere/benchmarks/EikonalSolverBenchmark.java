@@ -0,0 +1,88 @@
+package org.vadere.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vadere.simulator.models.Model;
+import org.vadere.simulator.models.potential.solver.EikonalSolverProvider;
+import org.vadere.simulator.models.potential.solver.calculators.EikonalSolver;
+import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFMM;
+import org.vadere.simulator.projects.Domain;
+import org.vadere.state.attributes.models.AttributesFloorField;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.state.scenario.Target;
+import org.vadere.util.geometry.shapes.VShape;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the computation of the target floor field on the cell grid, i.e. {@link EikonalSolver#solve()}
+ * of the solver configured by the scenario (the reference scenarios use the {@link EikonalSolverFMM}).
+ * A solver computes its solution only once, therefore each measurement is a single shot using a new solver.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class EikonalSolverBenchmark {
+
+	@Param({ScenarioFixture.RIMEA_06_CORNER, ScenarioFixture.RIMEA_09_PUBLIC_ROOM})
+	public String scenario;
+
+	private ScenarioFixture fixture;
+	private EikonalSolver eikonalSolver;
+
+	/**
+	 * Exposes the construction of a solver without solving the eikonal equation.
+	 */
+	private static class UnsolvedEikonalSolverProvider extends EikonalSolverProvider {
+		@Override
+		public EikonalSolver provide(
+				final Domain domain,
+				final int targetId,
+				final List<VShape> targetShapes,
+				final AttributesAgent attributesPedestrian,
+				final AttributesFloorField attributesPotential) {
+			return buildBase(domain, targetId, targetShapes, attributesPedestrian, attributesPotential);
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setUpTrial() throws IOException, ReflectiveOperationException {
+		fixture = ScenarioFixture.load(scenario);
+	}
+
+	@Setup(Level.Iteration)
+	public void setUpIteration() {
+		Target target = fixture.getTopography().getTargets().get(0);
+		AttributesFloorField attributesFloorField = Model.findAttributes(
+				fixture.getScenario().getScenarioStore().getAttributesList(), AttributesFloorField.class);
+
+		eikonalSolver = new UnsolvedEikonalSolverProvider().provide(
+				fixture.getDomain(),
+				target.getId(),
+				Collections.singletonList(target.getShape()),
+				fixture.getTopography().getAttributesPedestrian(),
+				attributesFloorField);
+	}
+
+	@Benchmark
+	public EikonalSolver solve() {
+		eikonalSolver.solve();
+		return eikonalSolver;
+	}
+}
@@ -0,0 +1,108 @@
+package org.vadere.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vadere.util.geometry.CompactCellsGrid;
+import org.vadere.util.geometry.LinkedCellsGrid;
+import org.vadere.util.geometry.PointPositioned;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures neighbour queries of {@link LinkedCellsGrid#getObjects(VPoint, double)} and of its flat snapshot
+ * {@link CompactCellsGrid}. Objects are uniformly distributed, the default parameters correspond to the
+ * density (about 1 object per square meter) and the query radius of pedestrian neighbour queries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LinkedCellsGridBenchmark {
+
+	private static final int NUMBER_OF_QUERIES = 1024;
+
+	@Param({"1000", "10000"})
+	public int numberOfObjects;
+
+	@Param({"2.0"})
+	public double radius;
+
+	private LinkedCellsGrid<Position> linkedCellsGrid;
+	private CompactCellsGrid<Position> compactCellsGrid;
+	private VPoint[] queries;
+	private List<Position> buffer;
+	private int next;
+
+	private static class Position implements PointPositioned {
+		private final VPoint position;
+
+		private Position(final VPoint position) {
+			this.position = position;
+		}
+
+		@Override
+		public VPoint getPosition() {
+			return position;
+		}
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		double sideLength = Math.sqrt(numberOfObjects);
+		VRectangle bound = new VRectangle(0, 0, sideLength, sideLength);
+		Random random = new Random(0);
+
+		linkedCellsGrid = new LinkedCellsGrid<>(bound, radius);
+		for(int i = 0; i < numberOfObjects; i++) {
+			linkedCellsGrid.addObject(new Position(new VPoint(random.nextDouble() * sideLength, random.nextDouble() * sideLength)));
+		}
+		compactCellsGrid = linkedCellsGrid.toCompactCellsGrid();
+
+		queries = new VPoint[NUMBER_OF_QUERIES];
+		for(int i = 0; i < queries.length; i++) {
+			queries[i] = new VPoint(random.nextDouble() * sideLength, random.nextDouble() * sideLength);
+		}
+		buffer = new ArrayList<>();
+		next = 0;
+	}
+
+	private VPoint nextQuery() {
+		VPoint query = queries[next];
+		next = (next + 1) % queries.length;
+		return query;
+	}
+
+	@Benchmark
+	public List<Position> linkedCellsGrid() {
+		return linkedCellsGrid.getObjects(nextQuery(), radius);
+	}
+
+	@Benchmark
+	public int compactCellsGrid() {
+		buffer.clear();
+		return compactCellsGrid.getObjects(nextQuery(), radius, buffer);
+	}
+
+	@Benchmark
+	public int compactCellsGridCount() {
+		VPoint query = nextQuery();
+		return compactCellsGrid.countObjects(query.x, query.y, radius);
+	}
+}
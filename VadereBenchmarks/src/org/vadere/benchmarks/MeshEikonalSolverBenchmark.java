@@ -0,0 +1,89 @@
+package org.vadere.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vadere.meshing.mesh.gen.PFace;
+import org.vadere.meshing.mesh.gen.PHalfEdge;
+import org.vadere.meshing.mesh.gen.PVertex;
+import org.vadere.meshing.mesh.inter.IIncrementalTriangulation;
+import org.vadere.meshing.mesh.inter.IPointLocator;
+import org.vadere.simulator.models.potential.solver.calculators.EikonalSolver;
+import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverFIMLockFree;
+import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverFMM;
+import org.vadere.simulator.models.potential.solver.timecost.UnitTimeCostFunction;
+import org.vadere.state.scenario.Target;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.geometry.shapes.VShape;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the computation of the target floor field on a triangulation by the
+ * {@link MeshEikonalSolverFMM} (sequential) and the {@link MeshEikonalSolverFIMLockFree} (parallel).
+ * The triangulation is a uniform triangulation of the bounds of the scenario topography, i.e. it
+ * contains no holes. A solver computes its solution only once, therefore each measurement is a single
+ * shot using a new solver.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(1)
+public class MeshEikonalSolverBenchmark {
+
+	private static final String IDENTIFIER = "benchmark";
+
+	@Param({ScenarioFixture.RIMEA_06_CORNER, ScenarioFixture.RIMEA_09_PUBLIC_ROOM})
+	public String scenario;
+
+	@Param({"FMM", "FIM_LOCK_FREE"})
+	public String solver;
+
+	@Param({"0.2"})
+	public double minTriangleSideLength;
+
+	private IIncrementalTriangulation<PVertex, PHalfEdge, PFace> triangulation;
+	private List<VShape> targetShapes;
+	private EikonalSolver eikonalSolver;
+
+	@Setup(Level.Trial)
+	public void setUpTrial() throws IOException, ReflectiveOperationException {
+		ScenarioFixture fixture = ScenarioFixture.load(scenario);
+		Target target = fixture.getTopography().getTargets().get(0);
+
+		targetShapes = Collections.singletonList(target.getShape());
+		triangulation = IIncrementalTriangulation.createUniformTriangulation(
+				IPointLocator.Type.BASE,
+				new VRectangle(fixture.getTopography().getBounds()),
+				minTriangleSideLength);
+	}
+
+	@Setup(Level.Iteration)
+	public void setUpIteration() {
+		if(solver.equals("FMM")) {
+			eikonalSolver = new MeshEikonalSolverFMM<>(IDENTIFIER, targetShapes, new UnitTimeCostFunction(), triangulation);
+		} else {
+			eikonalSolver = new MeshEikonalSolverFIMLockFree<>(IDENTIFIER, targetShapes, new UnitTimeCostFunction(), triangulation);
+		}
+	}
+
+	@Benchmark
+	public EikonalSolver solve() {
+		eikonalSolver.solve();
+		return eikonalSolver;
+	}
+}
@@ -0,0 +1,103 @@
+package org.vadere.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.simulator.projects.dataprocessing.datakey.TimestepPedestrianIdKey;
+import org.vadere.simulator.projects.dataprocessing.outputfile.OutputFile;
+import org.vadere.simulator.projects.dataprocessing.outputfile.TimestepPedestrianIdOutputFile;
+import org.vadere.simulator.projects.dataprocessing.processor.DataProcessor;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link OutputFile#write()} of a trajectory file, i.e. a {@link TimestepPedestrianIdOutputFile}
+ * containing the positions of all pedestrians for each time step, written to a temporary file.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class OutputFileBenchmark {
+
+	@Param({"1000"})
+	public int timesteps;
+
+	@Param({"100"})
+	public int pedestrians;
+
+	private Path file;
+	private TimestepPedestrianIdOutputFile outputFile;
+
+	/**
+	 * Holds the positions like the processors of the simulation without the need of a running simulation.
+	 */
+	private static class PositionProcessor extends DataProcessor<TimestepPedestrianIdKey, VPoint> {
+
+		PositionProcessor() {
+			super("x", "y");
+		}
+
+		void putPosition(final TimestepPedestrianIdKey key, final VPoint position) {
+			putValue(key, position);
+		}
+
+		@Override
+		public Object[] toValues(final TimestepPedestrianIdKey key) {
+			VPoint position = getValue(key);
+			return new Object[] { position.x, position.y };
+		}
+
+		@Override
+		protected void doUpdate(final SimulationState state) {}
+	}
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException {
+		file = Files.createTempFile("postvis", ".traj");
+
+		PositionProcessor processor = new PositionProcessor();
+		processor.setId(1);
+		Random random = new Random(0);
+		for(int timestep = 1; timestep <= timesteps; timestep++) {
+			for(int pedestrianId = 1; pedestrianId <= pedestrians; pedestrianId++) {
+				processor.putPosition(new TimestepPedestrianIdKey(timestep, pedestrianId), new VPoint(random.nextDouble() * 100, random.nextDouble() * 100));
+			}
+		}
+
+		outputFile = new TimestepPedestrianIdOutputFile();
+		outputFile.setAbsoluteFileName(file.toString());
+		outputFile.setSeparator(" ");
+		outputFile.setProcessorIds(Collections.singletonList(1));
+		outputFile.init(Collections.singletonMap(1, processor));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(file);
+	}
+
+	@Benchmark
+	public void write() {
+		outputFile.write();
+	}
+}
@@ -0,0 +1,177 @@
+package org.vadere.benchmarks;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.simulator.control.scenarioelements.TopographyController;
+import org.vadere.simulator.models.MainModel;
+import org.vadere.simulator.models.MainModelBuilder;
+import org.vadere.simulator.models.Model;
+import org.vadere.simulator.projects.Domain;
+import org.vadere.simulator.projects.Scenario;
+import org.vadere.simulator.projects.io.JsonConverter;
+import org.vadere.state.attributes.Attributes;
+import org.vadere.state.scenario.Obstacle;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Source;
+import org.vadere.state.scenario.Target;
+import org.vadere.state.scenario.Topography;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.io.IOUtils;
+
+import java.awt.geom.Rectangle2D;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * A scenario of the <tt>Scenarios/</tt> directory prepared for benchmarking, i.e. the main model and its
+ * sub models are constructed and initialized (floor fields are computed) as they would be at the beginning
+ * of a simulation run. Additional pedestrians can be spawned to benchmark crowded situations.
+ *
+ * Scenario paths are relative to the repository root which is the working directory or its parent directory
+ * (if the benchmarks are started inside <tt>VadereBenchmarks</tt>). The root can be set explicitly by the system
+ * property {@link ScenarioFixture#ROOT_PROPERTY}.
+ */
+public class ScenarioFixture {
+
+	public static final String ROOT_PROPERTY = "vadere.root";
+
+	public static final String RIMEA_06_CORNER = "Scenarios/ModelTests/TestOSM/scenarios/rimea_06_corner.scenario";
+	public static final String RIMEA_09_PUBLIC_ROOM = "Scenarios/ModelTests/TestOSM/scenarios/rimea_09_public_room_2_exits_nelder_mead.scenario";
+
+	private static final int MAX_SPAWN_ATTEMPTS = 1000;
+
+	private final Scenario scenario;
+	private final MainModel mainModel;
+	private final Domain domain;
+	private final Random random;
+
+	private ScenarioFixture(@NotNull final Scenario scenario) throws ReflectiveOperationException {
+		MainModelBuilder modelBuilder = new MainModelBuilder(scenario.getScenarioStore(), null, null);
+		modelBuilder.createModelAndRandom();
+
+		this.scenario = scenario;
+		this.mainModel = modelBuilder.getModel();
+		this.domain = modelBuilder.getDomain();
+		this.random = modelBuilder.getRandom();
+	}
+
+	/**
+	 * Loads the scenario and initializes the topography and all models.
+	 *
+	 * @param scenarioPath the path of the scenario file relative to the repository root
+	 * @return the initialized scenario
+	 * @throws IOException if the scenario file can not be read
+	 * @throws ReflectiveOperationException if the models of the scenario can not be instantiated
+	 */
+	public static ScenarioFixture load(@NotNull final String scenarioPath) throws IOException, ReflectiveOperationException {
+		Scenario scenario = JsonConverter.deserializeScenarioRunManager(IOUtils.readTextFile(resolve(scenarioPath)));
+		ScenarioFixture fixture = new ScenarioFixture(scenario);
+		fixture.preLoop();
+		return fixture;
+	}
+
+	public static Path resolve(@NotNull final String scenarioPath) {
+		String root = System.getProperty(ROOT_PROPERTY);
+		if(root != null) {
+			return Paths.get(root, scenarioPath);
+		}
+
+		Path path = Paths.get(scenarioPath);
+		if(!Files.exists(path) && Files.exists(Paths.get("..", scenarioPath))) {
+			path = Paths.get("..", scenarioPath);
+		}
+		return path;
+	}
+
+	private void preLoop() {
+		List<Attributes> attributesList = scenario.getScenarioStore().getAttributesList();
+		new TopographyController(domain, mainModel, random).preLoop(0, attributesList);
+
+		for(Model model : mainModel.getSubmodels()) {
+			model.preLoop(0);
+		}
+	}
+
+	/**
+	 * Spawns pedestrians at random free positions of the topography, i.e. positions which are not
+	 * covered by an obstacle, a target or another pedestrian. All pedestrians walk to the targets of the
+	 * first source (or to all targets if there is no such source).
+	 *
+	 * @param numberOfPedestrians   the number of pedestrians which should be spawned
+	 * @param seed                  the seed for choosing positions
+	 * @return the spawned pedestrians, these might be less than requested if the topography is too crowded
+	 */
+	public List<Pedestrian> spawnPedestrians(final int numberOfPedestrians, final long seed) {
+		Topography topography = getTopography();
+		Random spawnRandom = new Random(seed);
+		Rectangle2D.Double bounds = topography.getBounds();
+		double radius = topography.getAttributesPedestrian().getRadius();
+		LinkedList<Integer> targetIds = getTargetIds();
+		List<Pedestrian> pedestrians = new ArrayList<>(numberOfPedestrians);
+
+		for(int attempts = 0; pedestrians.size() < numberOfPedestrians && attempts < numberOfPedestrians * MAX_SPAWN_ATTEMPTS; attempts++) {
+			VPoint position = new VPoint(
+					bounds.getMinX() + radius + spawnRandom.nextDouble() * (bounds.getWidth() - 2 * radius),
+					bounds.getMinY() + radius + spawnRandom.nextDouble() * (bounds.getHeight() - 2 * radius));
+
+			if(isFree(position, radius)) {
+				Pedestrian pedestrian = (Pedestrian) mainModel.createElement(position, Attributes.ID_NOT_SET, Pedestrian.class);
+				pedestrian.setTargets(new LinkedList<>(targetIds));
+				topography.addElement(pedestrian);
+				pedestrians.add(pedestrian);
+			}
+		}
+		return pedestrians;
+	}
+
+	private boolean isFree(@NotNull final VPoint position, final double radius) {
+		Topography topography = getTopography();
+		for(Obstacle obstacle : topography.getObstacles()) {
+			if(obstacle.getShape().distance(position) < radius) {
+				return false;
+			}
+		}
+
+		for(Target target : topography.getTargets()) {
+			if(target.getShape().contains(position)) {
+				return false;
+			}
+		}
+		return topography.getSpatialMap(Pedestrian.class).getObjects(position, 2 * radius).isEmpty();
+	}
+
+	private LinkedList<Integer> getTargetIds() {
+		Topography topography = getTopography();
+		for(Source source : topography.getSources()) {
+			if(!source.getAttributes().getTargetIds().isEmpty()) {
+				return new LinkedList<>(source.getAttributes().getTargetIds());
+			}
+		}
+		return new LinkedList<>(topography.getTargetIds());
+	}
+
+	public Scenario getScenario() {
+		return scenario;
+	}
+
+	public MainModel getMainModel() {
+		return mainModel;
+	}
+
+	public Domain getDomain() {
+		return domain;
+	}
+
+	public Topography getTopography() {
+		return domain.getTopography();
+	}
+
+	public Random getRandom() {
+		return random;
+	}
+}
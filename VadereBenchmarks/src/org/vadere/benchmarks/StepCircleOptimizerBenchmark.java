@@ -0,0 +1,80 @@
+package org.vadere.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.vadere.simulator.models.Model;
+import org.vadere.simulator.models.osm.PedestrianOSM;
+import org.vadere.simulator.models.osm.optimization.StepCircleOptimizer;
+import org.vadere.simulator.models.osm.optimization.StepCircleOptimizerDiscrete;
+import org.vadere.simulator.models.osm.optimization.StepCircleOptimizerNelderMead;
+import org.vadere.state.attributes.models.AttributesOSM;
+import org.vadere.util.geometry.shapes.VCircle;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the time required by a {@link StepCircleOptimizer} to compute the next position of a single
+ * pedestrian of a crowd, i.e. the evaluations of the target, obstacle and pedestrian potentials. Pedestrians
+ * are processed round-robin such that the measurement covers free and crowded situations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StepCircleOptimizerBenchmark {
+
+	@Param({ScenarioFixture.RIMEA_06_CORNER, ScenarioFixture.RIMEA_09_PUBLIC_ROOM})
+	public String scenario;
+
+	@Param({"NELDER_MEAD", "DISCRETE"})
+	public String optimizer;
+
+	@Param({"200"})
+	public int pedestrians;
+
+	private List<PedestrianOSM> crowd;
+	private StepCircleOptimizer stepCircleOptimizer;
+	private int next;
+
+	@Setup(Level.Trial)
+	public void setUp() throws IOException, ReflectiveOperationException {
+		ScenarioFixture fixture = ScenarioFixture.load(scenario);
+		fixture.spawnPedestrians(pedestrians, 0);
+
+		crowd = new ArrayList<>(fixture.getTopography().getElements(PedestrianOSM.class));
+		for(PedestrianOSM pedestrian : crowd) {
+			pedestrian.refreshRelevantPedestrians();
+		}
+
+		if(optimizer.equals("NELDER_MEAD")) {
+			stepCircleOptimizer = new StepCircleOptimizerNelderMead(fixture.getRandom());
+		} else {
+			AttributesOSM attributesOSM = Model.findAttributes(fixture.getScenario().getScenarioStore().getAttributesList(), AttributesOSM.class);
+			stepCircleOptimizer = new StepCircleOptimizerDiscrete(attributesOSM.getMovementThreshold(), fixture.getRandom());
+		}
+		next = 0;
+	}
+
+	@Benchmark
+	public VPoint getNextPosition() {
+		PedestrianOSM pedestrian = crowd.get(next);
+		next = (next + 1) % crowd.size();
+		return stepCircleOptimizer.getNextPosition(pedestrian, new VCircle(pedestrian.getPosition(), pedestrian.getDesiredStepSize()));
+	}
+}
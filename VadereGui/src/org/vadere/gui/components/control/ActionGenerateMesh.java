@@ -4,12 +4,15 @@ import org.jetbrains.annotations.NotNull;
 import org.vadere.gui.components.utils.Messages;
 import org.vadere.gui.projectview.model.ProjectViewModel;
 import org.vadere.gui.topographycreator.view.ActionTranslateTopographyDialog;
+import org.vadere.meshing.mesh.gen.AMesh;
+import org.vadere.meshing.mesh.gen.AMeshBinary;
 import org.vadere.meshing.mesh.gen.PFace;
 import org.vadere.meshing.mesh.gen.PHalfEdge;
 import org.vadere.meshing.mesh.gen.PVertex;
 import org.vadere.meshing.mesh.impl.PSLG;
 import org.vadere.meshing.mesh.inter.IMesh;
 import org.vadere.meshing.utils.MeshConstructor;
+import org.vadere.meshing.utils.io.poly.MeshPolyReader;
 import org.vadere.meshing.utils.io.poly.MeshPolyWriter;
 import org.vadere.simulator.utils.pslg.PSLGConverter;
 import org.vadere.util.io.IOUtils;
@@ -17,9 +20,11 @@ import org.vadere.util.logging.Logger;
 
 import javax.swing.*;
 import java.awt.event.ActionEvent;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.concurrent.CompletableFuture;
 
 public class ActionGenerateMesh extends AbstractAction {
@@ -79,6 +84,7 @@ public class ActionGenerateMesh extends AbstractAction {
 
 		File meshDir = new File(model.getCurrentProjectPath().concat("/" + IOUtils.SCENARIO_DIR + "/" + IOUtils.MESH_DIR));
 		File outputFile = new File(meshDir.getAbsoluteFile() + "/" +  model.getCurrentScenario().getName() + ending + ".poly");
+		File binaryFile = new File(meshDir.getAbsoluteFile() + "/" +  model.getCurrentScenario().getName() + ending + AMeshBinary.FILE_ENDING);
 
 		MeshPolyWriter<PVertex, PHalfEdge, PFace> meshPolyWriter = new MeshPolyWriter<>();
 		String meshString = meshPolyWriter.to2DPoly(mesh);
@@ -102,5 +108,16 @@ public class ActionGenerateMesh extends AbstractAction {
 			logger.error(ex.getMessage());
 			ex.printStackTrace();
 		}
+
+		// the simulation loads the binary mesh (written after the .poly file) instead of parsing the .poly file
+		try {
+			var meshPolyReader = new MeshPolyReader<>(() -> new AMesh());
+			AMesh aMesh = (AMesh) meshPolyReader.readMesh(new ByteArrayInputStream(meshString.getBytes(StandardCharsets.UTF_8)));
+			AMeshBinary.write(aMesh, binaryFile);
+			logger.info("generate new binary mesh file: " + binaryFile.getAbsolutePath());
+		} catch (IOException ex) {
+			logger.error(ex.getMessage());
+			ex.printStackTrace();
+		}
 	}
 }
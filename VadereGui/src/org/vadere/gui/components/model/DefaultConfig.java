@@ -28,6 +28,7 @@ public class DefaultConfig {
 	private Color infectiousColor = new Color(202, 76, 76);
 	private HashMap<GroupMembership, Color> groupMembershipColors = new HashMap<>();
 	private boolean changed = false;
+	private int modificationCount = 0;
 
 	// Constructors
 	public DefaultConfig() {
@@ -80,6 +81,14 @@ public class DefaultConfig {
 	public synchronized boolean hasChanged() {
 		return changed;
 	}
+
+	/**
+	 * Returns the number of changes of this configuration. In contrast to {@link #hasChanged()} it is not reset by
+	 * {@link #clearChange()}, i.e. it can be used to detect changes without notifying observers.
+	 */
+	public synchronized int getModificationCount() {
+		return modificationCount;
+	}
 	public Color getObstacleColor() {
 		return obstacleColor;
 	}
@@ -127,6 +136,7 @@ public class DefaultConfig {
 	// Setter
 	protected synchronized void setChanged() {
 		this.changed = true;
+		this.modificationCount++;
 	}
 
 	public synchronized void clearChange() {
@@ -173,22 +183,27 @@ public class DefaultConfig {
 
 	public void setMeasurementAreaColor(Color measurementAreaColor) {
 		this.measurementAreaColor = measurementAreaColor;
+		setChanged();
 	}
 
 	public void setMeasurementAreaAlpha(int measurementAreaAlpha) {
 		this.measurementAreaAlpha = measurementAreaAlpha;
+		setChanged();
 	}
 
 	public void setAerosolCloudColor(Color aerosolCloudColor) {
 		this.absorbingAreaColor = aerosolCloudColor;
+		setChanged();
 	}
 
 	public void setAerosolCloudAlphaMax(int aerosolCloudAlphaMax) {
 		this.aerosolCloudAlphaMax = aerosolCloudAlphaMax;
+		setChanged();
 	}
 
 	public void setDropletsColor(Color dropletsColor) {
 		this.dropletsColor = dropletsColor;
+		setChanged();
 	}
 
 	public void setExposedColor(Color exposedColor) {
@@ -446,6 +446,7 @@ public class DefaultSimulationConfig extends DefaultConfig {
 
 	public void setGridWidth(final double gridWidth) {
 		this.gridWidth = gridWidth;
+		setChanged();
 	}
 
 	public double getGridWidth() {
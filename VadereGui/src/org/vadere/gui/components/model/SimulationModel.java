@@ -42,6 +42,17 @@ public abstract class SimulationModel<T extends DefaultSimulationConfig> extends
 
 	public abstract boolean isFloorFieldAvailable();
 
+	/**
+	 * Returns an object identifying the field returned by {@link #getPotentialField()}, i.e. as long as the
+	 * returned objects are equal the potential field did not change. By default, the field is assumed to change
+	 * with the simulation time.
+	 *
+	 * @return an object identifying the current potential field
+	 */
+	public Object getPotentialFieldVersion() {
+		return getSimTimeInSec();
+	}
+
 	@Override
 	public void resetTopographySize() {
 		fireChangeViewportEvent(new VRectangle(getTopographyBound()));
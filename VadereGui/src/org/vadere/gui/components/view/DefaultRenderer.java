@@ -38,6 +38,16 @@ public abstract class DefaultRenderer {
 	private IDefaultModel defaultModel;
 	private BufferedImage logo;
 	private static final double rotNeg90 = - Math.PI /2;
+	// unit circle approximated by 15 points starting at (0, 1), shared by all circle conversions
+	private static final double[] CIRCLE_SIN = new double[15];
+	private static final double[] CIRCLE_COS = new double[15];
+	static {
+		for(int i = 0; i < CIRCLE_SIN.length; i++) {
+			double alpha = 2 * Math.PI * i / CIRCLE_SIN.length;
+			CIRCLE_SIN[i] = Math.sin(alpha);
+			CIRCLE_COS[i] = Math.cos(alpha);
+		}
+	}
 	private boolean renderNodes = VadereConfig.getConfig().getBoolean("Gui.showNodes");
 	private double nodeRadius = VadereConfig.getConfig().getDouble("Gui.node.radius");
 
@@ -181,24 +191,18 @@ public abstract class DefaultRenderer {
 		}
 	}
 
-	private static VPolygon toPolygon(final VCircle circle) {
-		int n = 15;
-		double alpha = 2 * Math.PI / n;
-		VPoint p = new VPoint(0, circle.getRadius());
-
-		Path2D.Double path = new Path2D.Double();
+	private static Path2D toPolygon(final VCircle circle) {
+		double radius = circle.getRadius();
 		VPoint center = circle.getCenter();
 
-		path.moveTo(center.x + p.x, center.y + p.y);
-		for(int i = 1; i < n; i++) {
-			p = p.rotate(alpha);
-			path.lineTo(center.x + p.x, center.y + p.y);
-			///path.moveTo(pointList.get(i).x, pointList.get(i).y);
+		Path2D.Double path = new Path2D.Double(Path2D.WIND_NON_ZERO, CIRCLE_SIN.length + 1);
+		path.moveTo(center.x, center.y + radius);
+		for(int i = 1; i < CIRCLE_SIN.length; i++) {
+			path.lineTo(center.x - radius * CIRCLE_SIN[i], center.y + radius * CIRCLE_COS[i]);
 		}
+		path.closePath();
 
-		//path.closePath();
-
-		return new VPolygon(path);
+		return path;
 	}
 
 	protected  void renderStairs(final Iterable<Stairs> stairs, final Graphics2D g,
@@ -18,6 +18,8 @@ import java.awt.geom.Path2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.BufferedImage;
 import java.util.Collection;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 public abstract class SimulationRenderer extends DefaultRenderer {
@@ -50,7 +52,7 @@ public abstract class SimulationRenderer extends DefaultRenderer {
 
     @Override
     protected void renderPreTransformation(Graphics2D graphics2D, int width, int height) {
-        if (model.isFloorFieldAvailable() && (model.config.isShowTargetPotentialField() || model.config.isShowPotentialField())) {
+        if (isPotentialFieldVisible()) {
             synchronized (model) {
 	            renderPotentialFieldOnViewport(graphics2D,
                         0, 0,
@@ -63,11 +65,21 @@ public abstract class SimulationRenderer extends DefaultRenderer {
 
     @Override
     public void renderPostTransformation(final Graphics2D graphics, final int width, final int height) {
+        renderStaticContent(graphics, width, height);
+        renderSimulationContent(graphics);
+        renderOverlayContent(graphics, height);
+        graphics.dispose();
+    }
+
+    /**
+     * Renders the background, the density and all scenario elements which do not move, i.e. everything behind the agents.
+     */
+    protected void renderStaticContent(final Graphics2D graphics, final int width, final int height) {
         graphics.setColor(Color.BLACK);
 
         // if there is no potential field than draw the default background (white)
         // otherwise do not overdraw the potential field!!!
-        if (!model.isFloorFieldAvailable() || !(model.config.isShowTargetPotentialField() || model.config.isShowPotentialField())) {
+        if (!isPotentialFieldVisible()) {
             super.renderPostTransformation(graphics, width, height);
         }
 
@@ -123,9 +135,12 @@ public abstract class SimulationRenderer extends DefaultRenderer {
         if(model.config.isShowTargetPotentielFieldMesh()) {
 	        renderMesh(graphics, model.getFloorFieldMesh(), new VRectangle(model.getTopographyBound()));
         }
+    }
 
-        renderSimulationContent(graphics);
-
+    /**
+     * Renders everything which is drawn on top of the agents, i.e. the selection and the logo.
+     */
+    protected void renderOverlayContent(final Graphics2D graphics, final int height) {
         if (model.isElementSelected()) {
             renderSelectionBorder(graphics);
         }
@@ -137,8 +152,35 @@ public abstract class SimulationRenderer extends DefaultRenderer {
         if (hasLogo() && model.config.isShowLogo()) {
             renderLogo(graphics, model.getScaleFactor(), height);
         }
+    }
 
-        graphics.dispose();
+    /**
+     * <p>Prepares the rendering of the simulation content of the current frame. The returned painter renders the same
+     * content as {@link #renderSimulationContent(Graphics2D)} but it does not access the model, therefore, it can be
+     * applied to multiple graphics (e.g. the tiles of the {@link TiledImageRenderer}) concurrently while the model
+     * is locked. An empty optional indicates that the content can only be rendered by
+     * {@link #renderSimulationContent(Graphics2D)}.</p>
+     *
+     * @return a painter for the simulation content of the current frame
+     */
+    protected Optional<Consumer<Graphics2D>> prepareConcurrentSimulationContent() {
+        return Optional.empty();
+    }
+
+    /**
+     * Returns true if the static content can be rendered once and reused for multiple frames. The density and the
+     * Voronoi diagram depend on the agents and aerosol clouds and droplets change during the simulation, therefore,
+     * they prevent the reuse of the static content if they are shown.
+     */
+    protected boolean isStaticContentCacheable() {
+        return !model.config.isShowDensity()
+                && !(model.isVoronoiDiagramAvailable() && model.isVoronoiDiagramVisible())
+                && !(model.config.isShowAerosolClouds() && !model.getTopography().getAerosolClouds().isEmpty())
+                && !(model.config.isShowDroplets() && !model.getTopography().getDroplets().isEmpty());
+    }
+
+    boolean isPotentialFieldVisible() {
+        return model.isFloorFieldAvailable() && (model.config.isShowTargetPotentialField() || model.config.isShowPotentialField());
     }
 
     protected void renderTrajectory(final Graphics2D g, final java.util.List<VPoint> points, final Pedestrian pedestrain) {
@@ -0,0 +1,238 @@
+package org.vadere.gui.components.view;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.gui.components.model.SimulationModel;
+import org.vadere.state.scenario.Topography;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * <p>An offscreen renderer for the export of images and movies. In contrast to
+ * {@link DefaultRenderer#renderImage(int, int)}, which redraws the whole frame, the static content (background,
+ * potential field and all scenario elements which do not move, see
+ * {@link SimulationRenderer#renderStaticContent(Graphics2D, int, int)}) is rasterized once into square tiles and is
+ * reused until the image size, the viewport, the configuration, the topography or the potential field changes.
+ * For each frame the tiles are copied into per-tile buffers and the simulation content is drawn into these buffers
+ * in parallel, i.e. the cost of a frame is independent of the complexity of the static geometry.</p>
+ *
+ * <p>The simulation content is drawn in parallel only if the renderer supports it
+ * (see {@link SimulationRenderer#prepareConcurrentSimulationContent()}), otherwise it is drawn sequentially
+ * on top of the composed static tiles.</p>
+ */
+public class TiledImageRenderer {
+
+	public static final int DEFAULT_TILE_SIZE = 256;
+
+	private final SimulationRenderer renderer;
+	private final SimulationModel<?> model;
+	private final int tileSize;
+
+	private StaticContentKey staticContentKey;
+	private List<Tile> tiles;
+
+	public TiledImageRenderer(@NotNull final SimulationRenderer renderer, final int tileSize) {
+		if(tileSize <= 0) {
+			throw new IllegalArgumentException("the tile size has to be positive: " + tileSize);
+		}
+		this.renderer = renderer;
+		this.model = renderer.getModel();
+		this.tileSize = tileSize;
+		this.staticContentKey = null;
+		this.tiles = new ArrayList<>();
+	}
+
+	public TiledImageRenderer(@NotNull final SimulationRenderer renderer) {
+		this(renderer, DEFAULT_TILE_SIZE);
+	}
+
+	/**
+	 * Renders the current frame of the model into a new image of the given size. The result is equal to the image
+	 * of {@link DefaultRenderer#renderImage(int, int)}.
+	 *
+	 * @param width     the width of the image in pixel
+	 * @param height    the height of the image in pixel
+	 *
+	 * @return the rendered image
+	 */
+	public BufferedImage renderImage(final int width, final int height) {
+		synchronized (model) {
+			if(model.getTopographyBound() == null || model.getViewportBound() == null || !renderer.isStaticContentCacheable()) {
+				invalidate();
+				return renderer.renderImage(width, height);
+			}
+
+			StaticContentKey key = getStaticContentKey(width, height);
+			if(!key.equals(staticContentKey)) {
+				tiles = renderStaticTiles(width, height);
+				staticContentKey = key;
+			}
+
+			BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+			AffineTransform transform = getTransform();
+			Optional<Consumer<Graphics2D>> painter = renderer.prepareConcurrentSimulationContent();
+
+			// neither the painter nor the tiles access the model, i.e. they do not block even though the model is locked
+			tiles.parallelStream().forEach(tile -> {
+				BufferedImage buffer = tile.copyStaticContent();
+				if(painter.isPresent()) {
+					Graphics2D graphics = createGraphics(buffer, tile.x, tile.y, transform);
+					painter.get().accept(graphics);
+					graphics.dispose();
+				}
+				image.getRaster().setDataElements(tile.x, tile.y, buffer.getRaster());
+			});
+
+			Graphics2D graphics = createGraphics(image, 0, 0, transform);
+			if(!painter.isPresent()) {
+				renderer.renderSimulationContent(graphics);
+			}
+			renderer.renderOverlayContent(graphics, height);
+			graphics.dispose();
+			return image;
+		}
+	}
+
+	/**
+	 * Discards the cached static content, i.e. it will be rendered again for the next frame.
+	 */
+	public void invalidate() {
+		synchronized (model) {
+			staticContentKey = null;
+			tiles = new ArrayList<>();
+		}
+	}
+
+	public int getTileSize() {
+		return tileSize;
+	}
+
+	private List<Tile> renderStaticTiles(final int width, final int height) {
+		BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+		Graphics2D graphics = image.createGraphics();
+		graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		graphics.setColor(Color.GRAY);
+		graphics.fillRect(0, 0, width, height);
+		renderer.renderPreTransformation(graphics, width, height);
+		renderer.transformGraphics(graphics);
+		renderer.renderStaticContent(graphics, width, height);
+		graphics.dispose();
+
+		List<Tile> staticTiles = new ArrayList<>();
+		for(int y = 0; y < height; y += tileSize) {
+			for(int x = 0; x < width; x += tileSize) {
+				int tileWidth = Math.min(tileSize, width - x);
+				int tileHeight = Math.min(tileSize, height - y);
+				BufferedImage content = new BufferedImage(tileWidth, tileHeight, BufferedImage.TYPE_INT_RGB);
+				content.getRaster().setDataElements(0, 0, image.getRaster().createChild(x, y, tileWidth, tileHeight, 0, 0, null));
+				staticTiles.add(new Tile(x, y, content));
+			}
+		}
+		return staticTiles;
+	}
+
+	/**
+	 * Returns the transformation from world to pixel coordinates which is applied by
+	 * {@link DefaultRenderer#transformGraphics(Graphics2D)}.
+	 */
+	private AffineTransform getTransform() {
+		Graphics2D graphics = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB).createGraphics();
+		renderer.transformGraphics(graphics);
+		AffineTransform transform = graphics.getTransform();
+		graphics.dispose();
+		return transform;
+	}
+
+	/**
+	 * Returns a graphics drawing into the image which uses the transformation of the whole image but which is
+	 * translated by (-x, -y) pixels.
+	 */
+	private static Graphics2D createGraphics(final BufferedImage image, final int x, final int y, final AffineTransform transform) {
+		Graphics2D graphics = image.createGraphics();
+		graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+		graphics.setClip(0, 0, image.getWidth(), image.getHeight());
+		graphics.translate(-x, -y);
+		graphics.transform(transform);
+		return graphics;
+	}
+
+	private StaticContentKey getStaticContentKey(final int width, final int height) {
+		return new StaticContentKey(width, height, model.getScaleFactor(), model.getViewportBound(),
+				model.getTopography(), model.getTopographyId(), model.config.getModificationCount(),
+				renderer.isPotentialFieldVisible() ? model.getPotentialFieldVersion() : null);
+	}
+
+	private static class Tile {
+		private final int x;
+		private final int y;
+		private final BufferedImage staticContent;
+
+		private Tile(final int x, final int y, final BufferedImage staticContent) {
+			this.x = x;
+			this.y = y;
+			this.staticContent = staticContent;
+		}
+
+		private BufferedImage copyStaticContent() {
+			BufferedImage buffer = new BufferedImage(staticContent.getWidth(), staticContent.getHeight(), BufferedImage.TYPE_INT_RGB);
+			staticContent.copyData(buffer.getRaster());
+			return buffer;
+		}
+	}
+
+	/**
+	 * Identifies the static content, the topography and the potential field are compared by identity since
+	 * they are not copied by the model.
+	 */
+	private static class StaticContentKey {
+		private final int width;
+		private final int height;
+		private final double scaleFactor;
+		private final Rectangle2D.Double viewportBound;
+		private final Topography topography;
+		private final int topographyId;
+		private final int configModificationCount;
+		private final Object potentialFieldVersion;
+
+		private StaticContentKey(final int width, final int height, final double scaleFactor,
+		                         @NotNull final Rectangle2D.Double viewportBound, final Topography topography,
+		                         final int topographyId, final int configModificationCount,
+		                         final Object potentialFieldVersion) {
+			this.width = width;
+			this.height = height;
+			this.scaleFactor = scaleFactor;
+			this.viewportBound = new Rectangle2D.Double(viewportBound.x, viewportBound.y, viewportBound.width, viewportBound.height);
+			this.topography = topography;
+			this.topographyId = topographyId;
+			this.configModificationCount = configModificationCount;
+			this.potentialFieldVersion = potentialFieldVersion;
+		}
+
+		@Override
+		public boolean equals(final Object o) {
+			if (this == o) return true;
+			if (o == null || getClass() != o.getClass()) return false;
+			StaticContentKey that = (StaticContentKey) o;
+			return width == that.width &&
+					height == that.height &&
+					Double.compare(that.scaleFactor, scaleFactor) == 0 &&
+					topographyId == that.topographyId &&
+					configModificationCount == that.configModificationCount &&
+					topography == that.topography &&
+					viewportBound.equals(that.viewportBound) &&
+					(potentialFieldVersion == that.potentialFieldVersion || Objects.equals(potentialFieldVersion, that.potentialFieldVersion));
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(width, height, scaleFactor, viewportBound, topographyId, configModificationCount);
+		}
+	}
+}
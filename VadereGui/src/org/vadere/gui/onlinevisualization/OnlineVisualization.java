@@ -2,6 +2,8 @@ package org.vadere.gui.onlinevisualization;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.vadere.gui.components.model.AgentColoring;
+import org.vadere.gui.onlinevisualization.model.AgentStateArrays;
 import org.vadere.gui.onlinevisualization.model.OnlineVisualizationModel;
 import org.vadere.gui.onlinevisualization.view.MainPanel;
 import org.vadere.gui.onlinevisualization.view.OnlineVisualisationWindow;
@@ -10,10 +12,21 @@ import org.vadere.simulator.control.simulation.PassiveCallback;
 import org.vadere.simulator.models.potential.fields.IPotentialField;
 import org.vadere.simulator.models.potential.fields.IPotentialFieldTarget;
 import org.vadere.simulator.projects.Domain;
+import org.vadere.state.health.ExposureModelHealthStatus;
+import org.vadere.state.scenario.AerosolCloud;
 import org.vadere.state.scenario.Agent;
+import org.vadere.state.scenario.Car;
+import org.vadere.state.scenario.Droplets;
+import org.vadere.state.scenario.Pedestrian;
 import org.vadere.state.scenario.Topography;
 import org.vadere.util.geometry.shapes.VRectangle;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
 import java.util.function.Function;
 
 public class OnlineVisualization implements PassiveCallback {
@@ -21,30 +34,32 @@ public class OnlineVisualization implements PassiveCallback {
 	/**
 	 * Holds a snapshot of the observation area of a frame. This class is used
 	 * to provide simulation data for visualization to the draw thread. To avoid
-	 * threading issues, the class holds a partial copy of the original
-	 * scenario.
+	 * threading issues and to avoid copying the whole scenario each frame, the
+	 * snapshot consists of a copy of the static part of the scenario which is made
+	 * once per simulation run and shared by all snapshots, and of the dynamic state
+	 * of the pedestrians and cars in primitive arrays. There are two snapshots per
+	 * run which are swapped between the simulation thread and the draw thread, see
+	 * {@link OnlineVisualizationModel#swapSnapshot}, i.e. their arrays are reused.
 	 */
 	public class ObservationAreaSnapshotData {
-		public final double simTimeInSec;
 		public final Domain domain;
-		public final IPotentialField potentialFieldTarget;
-		public final Agent selectedAgent;
-		public final IPotentialField potentialField;
-		public final Function<Agent, IMesh<?, ?, ?>> discretizations;
-
-		public ObservationAreaSnapshotData(
-				final double simTimeInSec,
-				@NotNull final Domain scenario,
-				@Nullable final IPotentialField potentialFieldTarget,
-				@Nullable final IPotentialField potentialField,
-				@Nullable final Agent selectedAgent,
-				@Nullable final Function<Agent, IMesh<?, ?, ?>> discretizations) {
-			this.simTimeInSec = simTimeInSec;
-			this.domain = scenario;
-			this.potentialFieldTarget = potentialFieldTarget;
-			this.potentialField = potentialField;
-			this.selectedAgent = selectedAgent;
-			this.discretizations = discretizations;
+		public final AgentStateArrays<Pedestrian> pedestrians;
+		public final AgentStateArrays<Car> cars;
+		public final List<AerosolCloud> aerosolClouds;
+		public final List<Droplets> droplets;
+		public double simTimeInSec;
+		public IPotentialField potentialFieldTarget;
+		public Agent selectedAgent;
+		public IPotentialField potentialField;
+		public Function<Agent, IMesh<?, ?, ?>> discretizations;
+		public AgentColoring agentColoring;
+
+		public ObservationAreaSnapshotData(@NotNull final Domain domain) {
+			this.domain = domain;
+			this.pedestrians = new AgentStateArrays<>();
+			this.cars = new AgentStateArrays<>();
+			this.aerosolClouds = new ArrayList<>();
+			this.droplets = new ArrayList<>();
 		}
 	}
 
@@ -53,6 +68,24 @@ public class OnlineVisualization implements PassiveCallback {
 	private OnlineVisualizationModel model;
 	private Domain domain;
 
+	/**
+	 * Copy of the static part of the domain (obstacles, targets, meshes, ...) shared by all snapshots of a simulation run.
+	 */
+	private Domain snapshotDomain;
+
+	/**
+	 * The snapshot which is filled by the simulation thread next.
+	 */
+	private ObservationAreaSnapshotData snapshot;
+
+	/**
+	 * The proxies which draw the pedestrians and cars, they are created by the simulation thread when an
+	 * agent appears and modified by the draw thread only, see {@link AgentStateArrays}.
+	 */
+	private final Map<Integer, Pedestrian> pedestrianProxies;
+	private final Map<Integer, Car> carProxies;
+	private final Random random;
+
 	/**
 	 * Target potential.
 	 */
@@ -68,6 +101,9 @@ public class OnlineVisualization implements PassiveCallback {
 	public OnlineVisualization(boolean enableVisualization) {
 		this.enableVisualization = enableVisualization;
 		this.model = new OnlineVisualizationModel();
+		this.pedestrianProxies = new HashMap<>();
+		this.carProxies = new HashMap<>();
+		this.random = new Random();
 
 		this.window = new MainPanel(model);
 		this.window.setVisible(enableVisualization);
@@ -92,6 +128,17 @@ public class OnlineVisualization implements PassiveCallback {
 
 	@Override
 	public void preLoop(double simTimeInSec) {
+		Topography snapshotTopography = domain.getTopography().clone();
+		snapshotTopography.clearListeners(Pedestrian.class);
+		snapshotTopography.clearListeners(Car.class);
+		snapshotTopography.getPedestrianDynamicElements().clear();
+		snapshotTopography.getCarDynamicElements().clear();
+		snapshotDomain = new Domain(domain.getFloorFieldMesh(), domain.getBackgroundMesh(), snapshotTopography);
+		snapshot = new ObservationAreaSnapshotData(snapshotDomain);
+		model.setReleasedSnapshot(new ObservationAreaSnapshotData(snapshotDomain));
+		pedestrianProxies.clear();
+		carProxies.clear();
+
 		// [issue 280] ensure OnlineVisualisation model is completely setup before
 		// OnlineVisualisation renderer is initialized in window.preLoop()
 		// push pop DrawData once at the beginning. This will completely initialize the model
@@ -119,36 +166,114 @@ public class OnlineVisualization implements PassiveCallback {
 
 	@Override
 	public void postUpdate(double simTimeInSec) {
+		// the draw thread pops the latest snapshot when it renders the next frame
 		pushDrawData(simTimeInSec);
-		model.popDrawData();
 		model.notifyObservers();
 	}
 
 	/**
 	 * Pushes (by copy) required data from current simulation into data queues
 	 * for being displayed by draw thread (thread-safe). These may be for
-	 * example the physical world representation and potential field of
-	 * perception.
+	 * example the positions of the pedestrians and potential field of
+	 * perception. The snapshot is handed over without locking, i.e. the
+	 * simulation does not wait for the draw thread. If the draw thread did
+	 * not yet draw the last snapshot, nothing is copied.
 	 */
 	private void pushDrawData(double simTimeInSec) {
+		if (!model.isSnapshotReleased()) {
+			return;
+		}
+
+		/* Push new snapshot of the observation area to the draw thread. */
+		IPotentialField pft = (model.config.isShowTargetPotentialField() && potentialFieldTarget != null) ? potentialFieldTarget.getSolution() : null;
+		Function<Agent, IMesh<?, ?, ?>> discretizations = (model.config.isShowTargetPotentielFieldMesh() && potentialFieldTarget != null) ? potentialFieldTarget.getDiscretization() : null;
+		IPotentialField pedPotentialField = null;
+		Agent selectedAgent = null;
+
+		if(model.getSelectedElement() instanceof Agent){
+			selectedAgent = (Agent)model.getSelectedElement();
+		}
 
-		synchronized (model.getDataSynchronizer()) {
-			/* Push new snapshot of the observation area to the draw thread. */
-			IPotentialField pft = (model.config.isShowTargetPotentialField() && potentialFieldTarget != null) ? potentialFieldTarget.getSolution() : null;
-			Function<Agent, IMesh<?, ?, ?>> discretizations = (model.config.isShowTargetPotentielFieldMesh() && potentialFieldTarget != null) ? potentialFieldTarget.getDiscretization() : null;
-			IPotentialField pedPotentialField = null;
-			Agent selectedAgent = null;
+		if(model.config.isShowPotentialField() && selectedAgent != null && potentialField != null) {
+			pedPotentialField = IPotentialField.copyAgentField(potentialField, selectedAgent, new VRectangle(model.getTopographyBound()), 0.1);
+		}
+
+		snapshot.simTimeInSec = simTimeInSec;
+		snapshot.potentialFieldTarget = pft;
+		snapshot.potentialField = pedPotentialField;
+		snapshot.selectedAgent = selectedAgent;
+		snapshot.discretizations = discretizations;
+		snapshot.agentColoring = model.config.getAgentColoring();
 
-			if(model.getSelectedElement() instanceof Agent){
-				selectedAgent = (Agent)model.getSelectedElement();
+		Topography topography = domain.getTopography();
+		snapshot.pedestrians.clear();
+		for (Pedestrian pedestrian : topography.getElements(Pedestrian.class)) {
+			Pedestrian proxy = pedestrianProxies.get(pedestrian.getId());
+			if (proxy == null) {
+				proxy = createProxy(pedestrian);
+				pedestrianProxies.put(pedestrian.getId(), proxy);
 			}
+			snapshot.pedestrians.add(pedestrian, proxy, getColorKey(pedestrian, snapshot.agentColoring));
+		}
+		if (pedestrianProxies.size() > snapshot.pedestrians.size()) {
+			pedestrianProxies.keySet().removeIf(id -> topography.getPedestrianDynamicElements().getElement(id) == null);
+		}
 
-			if(model.config.isShowPotentialField() && selectedAgent != null && potentialField != null) {
-				pedPotentialField = IPotentialField.copyAgentField(potentialField, selectedAgent, new VRectangle(model.getTopographyBound()), 0.1);
+		snapshot.cars.clear();
+		for (Car car : topography.getElements(Car.class)) {
+			Car proxy = carProxies.get(car.getId());
+			if (proxy == null) {
+				proxy = car.clone();
+				carProxies.put(car.getId(), proxy);
 			}
+			snapshot.cars.add(car, proxy, Double.NaN);
+		}
+		if (carProxies.size() > snapshot.cars.size()) {
+			carProxies.keySet().removeIf(id -> topography.getCarDynamicElements().getElement(id) == null);
+		}
+
+		snapshot.aerosolClouds.clear();
+		snapshot.aerosolClouds.addAll(topography.getAerosolClouds());
+		snapshot.droplets.clear();
+		snapshot.droplets.addAll(topography.getDroplets());
+
+		snapshot = model.swapSnapshot(snapshot);
+	}
+
+	/**
+	 * Creates the proxy which draws the pedestrian, i.e. a pedestrian with the same attributes, groups and
+	 * health status which shares no mutable state with the simulated pedestrian.
+	 */
+	private Pedestrian createProxy(@NotNull final Pedestrian pedestrian) {
+		Pedestrian proxy = new Pedestrian(pedestrian.getAttributes(), random);
+		proxy.setPosition(pedestrian.getPosition());
+		proxy.setGroupIds(new LinkedList<>(pedestrian.getGroupIds()));
+		proxy.setGroupSizes(new LinkedList<>(pedestrian.getGroupSizes()));
+		ExposureModelHealthStatus healthStatus = pedestrian.getHealthStatus();
+		if (healthStatus != null) {
+			proxy.setHealthStatus(healthStatus.clone());
+		}
+		return proxy;
+	}
 
-			ObservationAreaSnapshotData data = new ObservationAreaSnapshotData(simTimeInSec, domain.clone(), pft, pedPotentialField, selectedAgent, discretizations);
-			model.pushObservationAreaSnapshot(data);
+	/**
+	 * Returns the value the color of the pedestrian depends on for the given coloring, see
+	 * {@link OnlineVisualizationModel#applyColorKey}, or {@link Double#NaN} if the color only depends on the
+	 * id, the next target or the groups of the pedestrian.
+	 */
+	private static double getColorKey(@NotNull final Pedestrian pedestrian, @NotNull final AgentColoring agentColoring) {
+		switch (agentColoring) {
+			case SELF_CATEGORY:
+				return pedestrian.getSelfCategory().ordinal();
+			case INFORMATION_STATE:
+				return pedestrian.getKnowledgeBase().getInformationState().ordinal();
+			case HEALTH_STATUS:
+				if (pedestrian.getHealthStatus() == null) {
+					return Double.NaN;
+				}
+				return pedestrian.isInfectious() ? Double.NEGATIVE_INFINITY : pedestrian.getDegreeOfExposure();
+			default:
+				return Double.NaN;
 		}
 	}
 
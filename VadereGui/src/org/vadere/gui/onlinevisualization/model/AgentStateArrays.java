@@ -0,0 +1,136 @@
+package org.vadere.gui.onlinevisualization.model;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.state.scenario.Agent;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.util.Arrays;
+import java.util.LinkedList;
+
+/**
+ * The dynamic state of the agents of one simulation step in primitive arrays, i.e. the id, the position, the next
+ * target and the color key of each agent. The arrays are written by the simulation thread and read by the draw thread,
+ * see {@link OnlineVisualizationModel#swapSnapshot}. They only grow and are reused by later steps.
+ *
+ * Each agent is drawn by a proxy, i.e. a copy of the agent which is made once when the agent appears and which is
+ * only modified by the draw thread, see {@link #apply(int)}.
+ *
+ * @param <T> type of the agents
+ */
+public class AgentStateArrays<T extends Agent> {
+
+	/**
+	 * Target id of agents without a next target.
+	 */
+	public static final int NO_TARGET = -1;
+
+	private int size;
+	private int[] ids;
+	private double[] xs;
+	private double[] ys;
+	private int[] targetIds;
+	private double[] colorKeys;
+	private Object[] proxies;
+
+	public AgentStateArrays() {
+		this.size = 0;
+		this.ids = new int[0];
+		this.xs = new double[0];
+		this.ys = new double[0];
+		this.targetIds = new int[0];
+		this.colorKeys = new double[0];
+		this.proxies = new Object[0];
+	}
+
+	/**
+	 * Removes all agents, the proxies of the last step are released.
+	 */
+	public void clear() {
+		Arrays.fill(proxies, 0, size, null);
+		size = 0;
+	}
+
+	/**
+	 * Appends the state of an agent.
+	 *
+	 * @param agent     the agent simulated by the simulation thread
+	 * @param proxy     the proxy which draws the agent
+	 * @param colorKey  the value the coloring of the agent depends on (or {@link Double#NaN})
+	 */
+	public void add(@NotNull final T agent, @NotNull final T proxy, final double colorKey) {
+		ensureCapacity(size + 1);
+		ids[size] = agent.getId();
+		xs[size] = agent.getPosition().getX();
+		ys[size] = agent.getPosition().getY();
+		targetIds[size] = agent.hasNextTarget() ? agent.getNextTargetId() : NO_TARGET;
+		colorKeys[size] = colorKey;
+		proxies[size] = proxy;
+		size++;
+	}
+
+	/**
+	 * Updates the position and the next target of the proxy of the i-th agent. This is called by the draw thread.
+	 *
+	 * @return the proxy of the i-th agent
+	 */
+	public T apply(final int i) {
+		T proxy = getProxy(i);
+		if (proxy.getPosition().getX() != xs[i] || proxy.getPosition().getY() != ys[i]) {
+			proxy.setPosition(new VPoint(xs[i], ys[i]));
+		}
+		int targetId = proxy.hasNextTarget() ? proxy.getNextTargetId() : NO_TARGET;
+		if (targetId != targetIds[i]) {
+			LinkedList<Integer> targets = new LinkedList<>();
+			if (targetIds[i] != NO_TARGET) {
+				targets.add(targetIds[i]);
+			}
+			proxy.setTargets(targets);
+			proxy.setNextTargetListIndex(0);
+		}
+		return proxy;
+	}
+
+	private void ensureCapacity(final int capacity) {
+		if (ids.length < capacity) {
+			int newCapacity = Math.max(capacity, 2 * ids.length);
+			ids = Arrays.copyOf(ids, newCapacity);
+			xs = Arrays.copyOf(xs, newCapacity);
+			ys = Arrays.copyOf(ys, newCapacity);
+			targetIds = Arrays.copyOf(targetIds, newCapacity);
+			colorKeys = Arrays.copyOf(colorKeys, newCapacity);
+			proxies = Arrays.copyOf(proxies, newCapacity);
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int getId(final int i) {
+		return ids[i];
+	}
+
+	public double getX(final int i) {
+		return xs[i];
+	}
+
+	public double getY(final int i) {
+		return ys[i];
+	}
+
+	/**
+	 * Returns the id of the next target of the i-th agent or {@link #NO_TARGET}.
+	 */
+	public int getTargetId(final int i) {
+		return targetIds[i];
+	}
+
+	public double getColorKey(final int i) {
+		return colorKeys[i];
+	}
+
+	@SuppressWarnings("unchecked")
+	public T getProxy(final int i) {
+		return (T) proxies[i];
+	}
+}
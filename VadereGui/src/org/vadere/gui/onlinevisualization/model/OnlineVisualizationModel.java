@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -18,6 +19,8 @@ import org.vadere.meshing.mesh.gen.AMesh;
 import org.vadere.meshing.mesh.inter.IMesh;
 import org.vadere.simulator.models.potential.fields.IPotentialField;
 import org.vadere.simulator.projects.Domain;
+import org.vadere.state.psychology.cognition.SelfCategory;
+import org.vadere.state.psychology.information.InformationState;
 import org.vadere.state.scenario.*;
 import org.vadere.util.geometry.shapes.IPoint;
 import org.vadere.util.voronoi.VoronoiDiagram;
@@ -28,7 +31,18 @@ public class OnlineVisualizationModel extends SimulationModel<DefaultSimulationC
 	 * Lists for thread safe data exchange between main and draw thread.
 	 */
 	private LinkedList<VoronoiDiagram> voronoiSnapshots;
-	private LinkedList<OnlineVisualization.ObservationAreaSnapshotData> observationAreaSnapshots;
+
+	/**
+	 * The latest snapshot pushed by the simulation thread which is not yet popped by the draw thread.
+	 * It is handed over without locking, a newer snapshot replaces an older one which is not popped.
+	 */
+	private final AtomicReference<OnlineVisualization.ObservationAreaSnapshotData> pendingSnapshot;
+
+	/**
+	 * The snapshot which was popped and applied by the draw thread, i.e. which can be filled by the simulation
+	 * thread again. It is <tt>null</tt> while the other snapshot is pending.
+	 */
+	private final AtomicReference<OnlineVisualization.ObservationAreaSnapshotData> releasedSnapshot;
 
 	/**
 	 * Latest snapshot of the potential field to be displayed. This is a certain
@@ -68,7 +82,8 @@ public class OnlineVisualizationModel extends SimulationModel<DefaultSimulationC
 		super(new DefaultSimulationConfig());
 		this.drawDataSynchronizer = new Object();
 		this.voronoiSnapshots = new LinkedList<>();
-		this.observationAreaSnapshots = new LinkedList<>();
+		this.pendingSnapshot = new AtomicReference<>();
+		this.releasedSnapshot = new AtomicReference<>();
 		this.config.setInterpolatePositions(false);
 	}
 
@@ -114,18 +129,18 @@ public class OnlineVisualizationModel extends SimulationModel<DefaultSimulationC
 	}
 
 	/**
-	 * Retrieve latest simulation data from data exchange structures. As these
-	 * structures may be accessed by the main thread at the same time, access is
-	 * controlled by drawDataSynchronizer.
+	 * Retrieve latest simulation data pushed by the simulation thread. The domain of
+	 * the snapshot is updated by the state of its arrays, as the domain may be read by the
+	 * draw thread at the same time, access is controlled by drawDataSynchronizer. The
+	 * snapshot is released afterwards such that the simulation thread can fill it again.
 	 */
 	public boolean popDrawData() {
 		synchronized (drawDataSynchronizer) {
-			if (observationAreaSnapshots.isEmpty()) {
+			OnlineVisualization.ObservationAreaSnapshotData observationAreaSnapshot = pendingSnapshot.getAndSet(null);
+			if (observationAreaSnapshot == null) {
 				return false;
 			}
 
-			OnlineVisualization.ObservationAreaSnapshotData observationAreaSnapshot =
-					observationAreaSnapshots.getFirst();
 			simTimeInSec = observationAreaSnapshot.simTimeInSec;
 
 			// potentialFieldTarget might be null!
@@ -151,6 +166,8 @@ public class OnlineVisualizationModel extends SimulationModel<DefaultSimulationC
 			} else {
 				domain = observationAreaSnapshot.domain;
 			}
+			updateDynamicElements(observationAreaSnapshot);
+			releasedSnapshot.set(observationAreaSnapshot);
 
 			if (getSelectedElement() instanceof Car) {
 				int carId = getSelectedElement().getId();
@@ -173,17 +190,93 @@ public class OnlineVisualizationModel extends SimulationModel<DefaultSimulationC
 		}
 	}
 
-	public void pushObservationAreaSnapshot(final OnlineVisualization.ObservationAreaSnapshotData observationAreaSnapshotData) {
-        if (observationAreaSnapshots.size() > 0) {
-            observationAreaSnapshots.pop();
-        }
-        observationAreaSnapshots.push(observationAreaSnapshotData);
-        setChanged();
+	/**
+	 * Replaces the dynamic elements of the (shared) domain of the snapshots by the proxies of the agents of the snapshot
+	 * which are updated by the state of the arrays.
+	 */
+	private void updateDynamicElements(@NotNull final OnlineVisualization.ObservationAreaSnapshotData observationAreaSnapshot) {
+		Topography topography = observationAreaSnapshot.domain.getTopography();
+
+		DynamicElementContainer<Pedestrian> pedestrians = topography.getPedestrianDynamicElements();
+		pedestrians.clear();
+		for (int i = 0; i < observationAreaSnapshot.pedestrians.size(); i++) {
+			Pedestrian pedestrian = observationAreaSnapshot.pedestrians.apply(i);
+			applyColorKey(pedestrian, observationAreaSnapshot.agentColoring, observationAreaSnapshot.pedestrians.getColorKey(i));
+			pedestrians.addElement(pedestrian);
+		}
+
+		DynamicElementContainer<Car> cars = topography.getCarDynamicElements();
+		cars.clear();
+		for (int i = 0; i < observationAreaSnapshot.cars.size(); i++) {
+			cars.addElement(observationAreaSnapshot.cars.apply(i));
+		}
+
+		topography.getAerosolClouds().clear();
+		topography.getAerosolClouds().addAll(observationAreaSnapshot.aerosolClouds);
+		topography.getDroplets().clear();
+		topography.getDroplets().addAll(observationAreaSnapshot.droplets);
+	}
+
+	/**
+	 * Sets the state the color of the proxy depends on, i.e. the self category, the information state or the health
+	 * status, to the color key which the simulation thread copied from the simulated pedestrian.
+	 */
+	static void applyColorKey(@NotNull final Pedestrian pedestrian, @NotNull final AgentColoring agentColoring, final double colorKey) {
+		if (Double.isNaN(colorKey)) {
+			return;
+		}
+
+		switch (agentColoring) {
+			case SELF_CATEGORY:
+				pedestrian.setSelfCategory(SelfCategory.values()[(int) colorKey]);
+				break;
+			case INFORMATION_STATE:
+				pedestrian.getKnowledgeBase().setInformationState(InformationState.values()[(int) colorKey]);
+				break;
+			case HEALTH_STATUS:
+				pedestrian.setInfectious(colorKey == Double.NEGATIVE_INFINITY);
+				if (colorKey != Double.NEGATIVE_INFINITY) {
+					pedestrian.setDegreeOfExposure(colorKey);
+				}
+				break;
+			default:
+				break;
+		}
+	}
+
+	/**
+	 * Returns true if the draw thread released a snapshot, i.e. if the simulation thread can fill and push the next one.
+	 */
+	public boolean isSnapshotReleased() {
+		return releasedSnapshot.get() != null;
+	}
+
+	/**
+	 * Pushes the snapshot filled by the simulation thread and returns the snapshot released by the draw thread which
+	 * the simulation thread fills next. The two snapshots of a run are swapped without locking. This must only be called
+	 * if {@link #isSnapshotReleased()} is true.
+	 *
+	 * @param observationAreaSnapshotData the filled snapshot
+	 * @return the snapshot to fill next
+	 */
+	public OnlineVisualization.ObservationAreaSnapshotData swapSnapshot(@NotNull final OnlineVisualization.ObservationAreaSnapshotData observationAreaSnapshotData) {
+		OnlineVisualization.ObservationAreaSnapshotData released = releasedSnapshot.getAndSet(null);
+		pendingSnapshot.set(observationAreaSnapshotData);
+		setChanged();
+		return released;
+	}
+
+	/**
+	 * Sets the second snapshot of a run which is filled by the simulation thread after the first one was pushed.
+	 */
+	public void setReleasedSnapshot(@NotNull final OnlineVisualization.ObservationAreaSnapshotData observationAreaSnapshotData) {
+		releasedSnapshot.set(observationAreaSnapshotData);
 	}
 
 	public void reset() {
 		voronoiSnapshots.clear();
-		observationAreaSnapshots.clear();
+		pendingSnapshot.set(null);
+		releasedSnapshot.set(null);
 		selectedElement = null;
 
 		voronoiDiagram = null;
@@ -34,6 +34,7 @@ public class OnlinevisualizationRenderer extends SimulationRenderer {
 	@Override
 	public void render(final Graphics2D targetGraphics2D, int x, int y, int width, int height) {
 	    synchronized (model.getDataSynchronizer()) {
+		    model.popDrawData();
             super.render(targetGraphics2D, x, y, width, height);
         }
 
@@ -42,6 +43,7 @@ public class OnlinevisualizationRenderer extends SimulationRenderer {
 	@Override
 	public void render(final Graphics2D targetGraphics2D, int width, int height) {
         synchronized (model.getDataSynchronizer()) {
+	        model.popDrawData();
             super.render(targetGraphics2D, width, height);
         }
 	}
@@ -0,0 +1,214 @@
+package org.vadere.gui.postvisualization.model;
+
+import it.unimi.dsi.fastutil.ints.Int2DoubleMap;
+import it.unimi.dsi.fastutil.ints.Int2DoubleOpenHashMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrays;
+
+import org.jetbrains.annotations.NotNull;
+
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.IntColumn;
+
+/**
+ * Interval index over the footsteps <tt>[startTime, endTime]</tt> of a trajectory table which is built once
+ * at load time, see {@link TableTrajectoryFootStep}. The time line is divided into buckets (of roughly the mean
+ * footstep duration) and each bucket holds the row numbers of all footsteps which overlap it, i.e. a query for a
+ * point in time only touches the footsteps of one bucket instead of the whole table. In addition, the index holds
+ * the rows of each agent and the birth and death time of each agent.
+ *
+ * All returned row numbers are in ascending order, i.e. the order of the table.
+ */
+class FootStepIntervalIndex {
+
+	/** upper bound for the number of buckets */
+	static final int MAX_BUCKETS = 1 << 20;
+
+	private final double[] startTimes;
+	private final double[] endTimes;
+	private final int[] pedIds;
+
+	private final double origin;
+	private final double bucketWidth;
+
+	// compressed rows: the rows of bucket b are bucketRows[bucketOffsets[b]] ... bucketRows[bucketOffsets[b+1]-1]
+	private final int[] bucketOffsets;
+	private final int[] bucketRows;
+
+	private final Int2ObjectMap<int[]> rowsByPedId;
+	private final Int2DoubleMap birthTimes;
+	private final Int2DoubleMap deathTimes;
+	private final int[] sortedPedIds;
+
+	FootStepIntervalIndex(@NotNull final IntColumn pedIdColumn, @NotNull final DoubleColumn startTimeColumn,
+	                      @NotNull final DoubleColumn endTimeColumn) {
+		int rowCount = startTimeColumn.size();
+		this.startTimes = new double[rowCount];
+		this.endTimes = new double[rowCount];
+		this.pedIds = new int[rowCount];
+
+		double minStartTime = Double.POSITIVE_INFINITY;
+		double maxEndTime = Double.NEGATIVE_INFINITY;
+		double durationSum = 0.0;
+		for (int row = 0; row < rowCount; row++) {
+			startTimes[row] = startTimeColumn.getDouble(row);
+			endTimes[row] = endTimeColumn.getDouble(row);
+			pedIds[row] = pedIdColumn.getInt(row);
+			minStartTime = Math.min(minStartTime, startTimes[row]);
+			maxEndTime = Math.max(maxEndTime, endTimes[row]);
+			durationSum += Math.max(0.0, endTimes[row] - startTimes[row]);
+		}
+
+		if (rowCount == 0) {
+			minStartTime = 0.0;
+			maxEndTime = 0.0;
+		}
+
+		int numberOfBuckets = numberOfBuckets(maxEndTime - minStartTime, rowCount == 0 ? 0.0 : durationSum / rowCount, rowCount);
+		this.origin = minStartTime;
+		this.bucketWidth = Math.max((maxEndTime - minStartTime) / numberOfBuckets, Double.MIN_NORMAL);
+
+		// first pass: count the footsteps of each bucket, second pass: fill the buckets in row order
+		this.bucketOffsets = new int[numberOfBuckets + 1];
+		for (int row = 0; row < rowCount; row++) {
+			for (int bucket = bucket(startTimes[row]); bucket <= bucket(endTimes[row]); bucket++) {
+				bucketOffsets[bucket + 1]++;
+			}
+		}
+		for (int bucket = 0; bucket < numberOfBuckets; bucket++) {
+			bucketOffsets[bucket + 1] += bucketOffsets[bucket];
+		}
+		this.bucketRows = new int[bucketOffsets[numberOfBuckets]];
+		int[] fill = new int[numberOfBuckets];
+		for (int row = 0; row < rowCount; row++) {
+			for (int bucket = bucket(startTimes[row]); bucket <= bucket(endTimes[row]); bucket++) {
+				bucketRows[bucketOffsets[bucket] + fill[bucket]++] = row;
+			}
+		}
+
+		// agent lifetimes and the rows of each agent
+		Int2ObjectMap<IntArrayList> rowLists = new Int2ObjectOpenHashMap<>();
+		this.birthTimes = new Int2DoubleOpenHashMap();
+		this.deathTimes = new Int2DoubleOpenHashMap();
+		for (int row = 0; row < rowCount; row++) {
+			int pedId = pedIds[row];
+			IntArrayList rows = rowLists.get(pedId);
+			if (rows == null) {
+				rows = new IntArrayList();
+				rowLists.put(pedId, rows);
+				birthTimes.put(pedId, startTimes[row]);
+				deathTimes.put(pedId, endTimes[row]);
+			} else {
+				birthTimes.put(pedId, Math.min(birthTimes.get(pedId), startTimes[row]));
+				deathTimes.put(pedId, Math.max(deathTimes.get(pedId), endTimes[row]));
+			}
+			rows.add(row);
+		}
+		this.rowsByPedId = new Int2ObjectOpenHashMap<>(rowLists.size());
+		rowLists.forEach((pedId, rows) -> rowsByPedId.put((int) pedId, rows.toIntArray()));
+		this.sortedPedIds = rowLists.keySet().toIntArray();
+		IntArrays.quickSort(sortedPedIds);
+	}
+
+	/**
+	 * Returns the rows of all footsteps <tt>fs</tt> with <tt>fs.startTime &lt;= simTimeInSec &lt;= fs.endTime</tt>.
+	 */
+	int[] getRows(final double simTimeInSec) {
+		IntArrayList result = new IntArrayList();
+		if (bucketRows.length == 0) {
+			return result.toIntArray();
+		}
+
+		int bucket = bucket(simTimeInSec);
+		for (int i = bucketOffsets[bucket]; i < bucketOffsets[bucket + 1]; i++) {
+			int row = bucketRows[i];
+			if (startTimes[row] <= simTimeInSec && endTimes[row] >= simTimeInSec) {
+				result.add(row);
+			}
+		}
+		return result.toIntArray();
+	}
+
+	/**
+	 * Returns the rows of all footsteps <tt>fs</tt> with <tt>fs.startTime &lt; endTime</tt> and
+	 * <tt>fs.endTime &gt;= startTime</tt>.
+	 */
+	int[] getRows(final double startTime, final double endTime) {
+		IntArrayList result = new IntArrayList();
+		if (bucketRows.length == 0 || startTime > endTime) {
+			return result.toIntArray();
+		}
+
+		int firstBucket = bucket(startTime);
+		int lastBucket = bucket(endTime);
+		for (int bucket = firstBucket; bucket <= lastBucket; bucket++) {
+			for (int i = bucketOffsets[bucket]; i < bucketOffsets[bucket + 1]; i++) {
+				int row = bucketRows[i];
+				// a footstep is contained in several buckets but it is only added by its first bucket of the range
+				if (Math.max(firstBucket, bucket(startTimes[row])) == bucket
+						&& startTimes[row] < endTime && endTimes[row] >= startTime) {
+					result.add(row);
+				}
+			}
+		}
+
+		int[] rows = result.toIntArray();
+		IntArrays.quickSort(rows);
+		return rows;
+	}
+
+	/**
+	 * Returns the rows of the agent in ascending order or an empty array if there is no such agent.
+	 */
+	int[] getRowsOfAgent(final int pedId) {
+		int[] rows = rowsByPedId.get(pedId);
+		return rows == null ? IntArrays.EMPTY_ARRAY : rows;
+	}
+
+	/**
+	 * Returns all agent ids in ascending order.
+	 */
+	int[] getPedIds() {
+		return sortedPedIds;
+	}
+
+	/**
+	 * Returns the minimal start time of all footsteps of the agent.
+	 */
+	double getBirthTime(final int pedId) {
+		return birthTimes.get(pedId);
+	}
+
+	/**
+	 * Returns the maximal end time of all footsteps of the agent.
+	 */
+	double getDeathTime(final int pedId) {
+		return deathTimes.get(pedId);
+	}
+
+	int getPedId(final int row) {
+		return pedIds[row];
+	}
+
+	double getStartTime(final int row) {
+		return startTimes[row];
+	}
+
+	double getEndTime(final int row) {
+		return endTimes[row];
+	}
+
+	private static int numberOfBuckets(final double timeSpan, final double meanDuration, final int rowCount) {
+		if (rowCount == 0 || timeSpan <= 0 || meanDuration <= 0) {
+			return 1;
+		}
+		return (int) Math.max(1, Math.min(Math.min(MAX_BUCKETS, rowCount), Math.ceil(timeSpan / meanDuration)));
+	}
+
+	private int bucket(final double time) {
+		int bucket = (int) Math.floor((time - origin) / bucketWidth);
+		return Math.max(0, Math.min(bucketOffsets.length - 2, bucket));
+	}
+}
@@ -180,6 +180,16 @@ public class PostvisualizationModel extends SimulationModel<PostvisualizationCon
         return f;
 	}
 
+	@Override
+	public synchronized Object getPotentialFieldVersion() {
+		try {
+			// the container returns the same grid for all steps which share a potential field
+			return potentialContainer != null ? potentialContainer.getPotentialField(Step.toFloorStep(getSimTimeInSec(), getSimTimeStepLength())) : null;
+		} catch (IOException e) {
+			return super.getPotentialFieldVersion();
+		}
+	}
+
 	@Override
 	public synchronized boolean isFloorFieldAvailable() {
 		return potentialContainer != null;
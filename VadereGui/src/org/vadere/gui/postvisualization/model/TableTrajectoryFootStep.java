@@ -1,7 +1,7 @@
 package org.vadere.gui.postvisualization.model;
 
-import it.unimi.dsi.fastutil.ints.Int2IntAVLTreeMap;
-import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
 
 import org.jetbrains.annotations.NotNull;
 import org.vadere.simulator.projects.io.ColumnNames;
@@ -15,18 +15,23 @@ import org.vadere.state.scenario.Pedestrian;
 import org.vadere.state.simulation.FootStep;
 import org.vadere.util.geometry.shapes.VPoint;
 
+import java.util.Arrays;
 import java.util.Random;
+import java.util.function.IntPredicate;
 
 import tech.tablesaw.api.DoubleColumn;
 import tech.tablesaw.api.IntColumn;
 import tech.tablesaw.api.Row;
 import tech.tablesaw.api.Table;
+import tech.tablesaw.selection.Selection;
 import tech.tablesaw.table.Rows;
 
 import static tech.tablesaw.aggregate.AggregateFunctions.*;
 
 /**
- * The {@link TableTrajectoryFootStep}
+ * The {@link TableTrajectoryFootStep}. The footsteps are indexed by time (see {@link FootStepIntervalIndex}) at
+ * construction, i.e. the queries of a frame only touch the footsteps which are active at the requested time
+ * instead of filtering the whole table.
  */
 public class TableTrajectoryFootStep {
 
@@ -39,6 +44,8 @@ public class TableTrajectoryFootStep {
 	 */
 	private final Table agentDataFrame;
 
+	private final FootStepIntervalIndex index;
+
 	private final double startTime;
 	private final double endTime;
 
@@ -100,6 +107,10 @@ public class TableTrajectoryFootStep {
 		this.trajectoryDataFrame = dataFrame;
 		this.currentSlice = trajectoryDataFrame;
 		this.agentDataFrame = generateAgentDataFrame();
+		// an empty table (e.g. of an uninitialized model) does not even contain the columns
+		this.index = isEmpty() ?
+				new FootStepIntervalIndex(IntColumn.create(""), DoubleColumn.create(""), DoubleColumn.create("")) :
+				new FootStepIntervalIndex(getPedId(dataFrame), getStartTime(dataFrame), getEndTime(dataFrame));
 
 		if(!isEmpty()) {
 			this.startTime = agentDataFrame.summarize(birthTimeColName, min).apply().doubleColumn(0).get(0);
@@ -185,8 +196,7 @@ public class TableTrajectoryFootStep {
 	 * @return multiple foosteps for each agent
 	 */
 	public Table getAgents(final double startTime, final double endTime) {
-		return currentSlice.where(getStartTime().isLessThan(endTime)
-				.and(getEndTime().isGreaterThanOrEqualTo(startTime)));
+		return toTable(index.getRows(startTime, endTime));
 	}
 
 	/**
@@ -199,10 +209,8 @@ public class TableTrajectoryFootStep {
 	 * @return multiple foosteps for each agent
 	 */
 	public Table getAliveAgents(final double startTime, final double endTime) {
-		Integer[] filteredPedIds = filterAgents(startTime, endTime);
-		return currentSlice.where(getPedId().isIn(filteredPedIds)
-				.and(getStartTime().isLessThan(endTime)
-						.and(getEndTime().isGreaterThanOrEqualTo(startTime))));
+		IntPredicate alive = pedId -> index.getBirthTime(pedId) >= startTime && index.getDeathTime(pedId) >= endTime;
+		return toTable(filter(index.getRows(startTime, endTime), row -> alive.test(index.getPedId(row))));
 	}
 
 	/**
@@ -212,25 +220,39 @@ public class TableTrajectoryFootStep {
 	 * @return for all agent at most one footstep
 	 */
 	public Table getAgents(final double simTimeInSec) {
-		return currentSlice.where(
-				getStartTime().isLessThanOrEqualTo(simTimeInSec)
-						.and(getEndTime().isGreaterThanOrEqualTo(simTimeInSec)))
-				.sortAscendingOn(getColumnName(pedIdCol));
+		return toTable(index.getRows(simTimeInSec)).sortAscendingOn(getColumnName(pedIdCol));
 	}
 
+	/**
+	 * Returns for all agents at most one footstep which was processed at <tt>simTimeInSec</tt> (see
+	 * {@link #getAgents(double)}) followed by the last footstep started before <tt>simTimeInSec</tt> of all other
+	 * agents which are born before <tt>simTimeInSec</tt> (ordered by their id).
+	 *
+	 * @param simTimeInSec
+	 * @return for all agent born before <tt>simTimeInSec</tt> one footstep
+	 */
 	public Table getAgentsWithDisappearedAgents(final double simTimeInSec) {
-		Table aliveAgents = getAgents(simTimeInSec);
-		Table deadAgents = currentSlice.where(getPedId().isNotIn(getPedId(aliveAgents).asObjectArray())
-						.and(getStartTime().isLessThanOrEqualTo(simTimeInSec)));
-
-		Int2IntMap idToRowNr = new Int2IntAVLTreeMap();
-
-		// get the last rows only, this might be computational expensive!
-		for(Row row : deadAgents) {
-			idToRowNr.put(row.getInt(pedIdCol), row.getRowNumber());
+		int[] activeRows = index.getRows(simTimeInSec);
+		Table aliveAgents = toTable(activeRows).sortAscendingOn(getColumnName(pedIdCol));
+		IntSet alivePedIds = new IntOpenHashSet();
+		for(int row : activeRows) {
+			alivePedIds.add(index.getPedId(row));
 		}
 
-		idToRowNr.forEach((pedId, rowNr) -> Rows.appendRowToTable(rowNr, deadAgents, aliveAgents));
+		for(int pedId : index.getPedIds()) {
+			if(index.getBirthTime(pedId) > simTimeInSec || alivePedIds.contains(pedId)) {
+				continue;
+			}
+
+			// the last row (in table order) which started before simTimeInSec
+			int[] rows = index.getRowsOfAgent(pedId);
+			for(int i = rows.length - 1; i >= 0; i--) {
+				if(index.getStartTime(rows[i]) <= simTimeInSec) {
+					Rows.appendRowToTable(rows[i], trajectoryDataFrame, aliveAgents);
+					break;
+				}
+			}
+		}
 
 		return aliveAgents;
 	}
@@ -244,17 +266,16 @@ public class TableTrajectoryFootStep {
 	 * @return at most one footstep
 	 */
 	public Table getAgent(final double simTimeInSec, final int pedId) {
-		return currentSlice.where(
-				getStartTime().isLessThanOrEqualTo(simTimeInSec)
-						.and(getEndTime().isGreaterThanOrEqualTo(simTimeInSec))
-						.and(getPedId().isEqualTo(pedId)));
+		return toTable(filter(index.getRowsOfAgent(pedId),
+				row -> index.getStartTime(row) <= simTimeInSec && index.getEndTime(row) >= simTimeInSec));
+	}
+
+	private Table toTable(@NotNull final int[] rows) {
+		return trajectoryDataFrame.where(Selection.with(rows));
 	}
 
-	private Integer[] filterAgents(final double startTime, final double endTime) {
-		return agentDataFrame
-				.where(getBirthTime().isGreaterThanOrEqualTo(startTime).and(getDeathTime().isGreaterThanOrEqualTo(endTime)))
-				.intColumn(agentDFPedIdCol)
-				.asObjectArray();
+	private static int[] filter(@NotNull final int[] rows, @NotNull final IntPredicate predicate) {
+		return Arrays.stream(rows).filter(predicate).toArray();
 	}
 
 	public Table getCurrentSlice() {
@@ -334,12 +355,11 @@ public class TableTrajectoryFootStep {
 	}
 
 	public double getBirthTime(final int pedId) {
-		return agentDataFrame.where(agentDataFrame.intColumn(pedIdCol).isEqualTo(pedId)).doubleColumn(birthTimeCol).get(0);
+		return index.getBirthTime(pedId);
 	}
 
 	public double getDeathTime(final int pedId) {
-		double deathTime = agentDataFrame.where(agentDataFrame.intColumn(pedIdCol).isEqualTo(pedId)).doubleColumn(deathTimeCol).get(0);
-		return deathTime;
+		return index.getDeathTime(pedId);
 	}
 
 	public IntColumn getPedId() {
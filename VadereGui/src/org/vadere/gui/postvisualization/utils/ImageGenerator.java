@@ -5,6 +5,7 @@ import org.vadere.gui.components.model.DefaultModel;
 import org.vadere.gui.components.model.DefaultSimulationConfig;
 import org.vadere.gui.components.model.SimulationModel;
 import org.vadere.gui.components.view.SimulationRenderer;
+import org.vadere.gui.components.view.TiledImageRenderer;
 import org.vadere.util.logging.Logger;
 
 import java.awt.geom.Rectangle2D;
@@ -14,11 +15,13 @@ public class ImageGenerator<T extends DefaultSimulationConfig> {
 
 	private static Logger logger = Logger.getLogger(ImageGenerator.class);
 	private SimulationRenderer renderer;
+	private TiledImageRenderer tiledRenderer;
 	private SimulationModel<? extends DefaultSimulationConfig> model;
 
 	public ImageGenerator(final SimulationRenderer renderer,
 			final SimulationModel<? extends DefaultSimulationConfig> model) {
 		this.renderer = renderer;
+		this.tiledRenderer = new TiledImageRenderer(renderer);
 		this.model = model;
 	}
 
@@ -28,7 +31,8 @@ public class ImageGenerator<T extends DefaultSimulationConfig> {
 			double oldScale = model.getScaleFactor();
 			try {
 				model.setScaleWithoutChangingViewport(scaleFactor);
-				bi = renderer.renderImage(ImageGenerator.calculateOptimalWidth(model), ImageGenerator.calculateOptimalHeight(model));
+				// the static content is rendered once and reused for the following images (e.g. of a movie)
+				bi = tiledRenderer.renderImage(ImageGenerator.calculateOptimalWidth(model), ImageGenerator.calculateOptimalHeight(model));
 			} catch (Exception e) {
 				logger.error("could not render image " + e.getMessage());
 			} finally {
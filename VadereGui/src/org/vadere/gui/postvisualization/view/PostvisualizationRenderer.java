@@ -1,5 +1,6 @@
 package org.vadere.gui.postvisualization.view;
 
+import org.apache.commons.lang3.tuple.Pair;
 import org.vadere.gui.components.view.DefaultRenderer;
 import org.vadere.gui.components.view.SimulationRenderer;
 import org.vadere.gui.postvisualization.model.PostvisualizationModel;
@@ -13,10 +14,19 @@ import tech.tablesaw.api.Row;
 import tech.tablesaw.api.Table;
 
 import java.awt.*;
+import java.awt.geom.Line2D;
 import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public class PostvisualizationRenderer extends SimulationRenderer {
 
@@ -40,43 +50,79 @@ public class PostvisualizationRenderer extends SimulationRenderer {
 
 	@Override
 	protected void renderSimulationContent(final Graphics2D g) {
+		prepareConcurrentSimulationContent().ifPresent(painter -> painter.accept(g));
+	}
 
-		if (!model.isEmpty()) {
-			Color savedColor = g.getColor();
+	/**
+	 * Collects everything which depends on the model (the current agents, their colors, foot steps and contacts)
+	 * and updates the walking directions, i.e. the returned painter only reads these collected data.
+	 */
+	@Override
+	protected Optional<Consumer<Graphics2D>> prepareConcurrentSimulationContent() {
+		if (model.isEmpty()) {
+			return Optional.of(g -> {});
+		}
 
-			renderAerosolCloudData(g);
+		double simTimeInSec = model.getSimTimeInSec();
+		Collection<AerosolCloud> aerosolClouds = getAerosolClouds();
 
-			Table slice = (model.config.isShowAllTrajectories()) ? model.getAppearedPedestrians() : model.getAlivePedestrians() ;
-			Collection<Pedestrian> pedestrians = model.getPedestrians();
+		Table slice = (model.config.isShowAllTrajectories()) ? model.getAppearedPedestrians() : model.getAlivePedestrians() ;
+		Collection<Pedestrian> pedestrians = model.getPedestrians();
 
-			Map<Integer, Color> pedestrianColors = new HashMap<>();
-			pedestrians.forEach(ped -> pedestrianColors.put(ped.getId(),  getPedestrianColor(ped)));
+		Map<Integer, Color> pedestrianColors = new HashMap<>();
+		pedestrians.forEach(ped -> pedestrianColors.put(ped.getId(),  getPedestrianColor(ped)));
 
-			renderTrajectories(g, slice, pedestrianColors);
-			renderPedestrians(g, pedestrians, pedestrianColors);
-			renderConnectingLinesByContact(g);
+		List<TrajectoryStep> trajectorySteps = getTrajectorySteps(slice, pedestrianColors, simTimeInSec);
 
-			g.setColor(savedColor);
+		Set<Integer> visiblePedestrians = new HashSet<>();
+		Map<Integer, VPoint> walkingDirections = new HashMap<>();
+		if (model.config.isShowPedestrians()) {
+			for(Pedestrian pedestrian : pedestrians) {
+				if (model.config.isShowFaydedPedestrians() || model.isAlive(pedestrian.getId())) {
+					visiblePedestrians.add(pedestrian.getId());
+				}
+
+				if (model.config.isShowWalkdirection() &&
+						(model.config.isShowFaydedPedestrians() || model.getTrajectories().getDeathTime(pedestrian.getId()) > simTimeInSec)) {
+					VPoint direction = updateWalkingDirection(pedestrian);
+					if (direction != null) {
+						walkingDirections.put(pedestrian.getId(), direction);
+					}
+				}
+			}
 		}
-	}
 
-	private void renderTrajectories(Graphics2D g, Table slice, Map<Integer, Color> pedestrianColors) {
+		List<Pair<Pedestrian, Pedestrian>> contacts = getContacts(pedestrians, simTimeInSec);
 
-		Color savedColor = g.getColor();
-		Stroke savedStroke = g.getStroke();
+		return Optional.of(g -> {
+			Color savedColor = g.getColor();
+			Rectangle2D clip = g.getClip() != null ? g.getClip().getBounds2D() : null;
 
+			if (!aerosolClouds.isEmpty()) {
+				renderAerosolClouds(aerosolClouds, g, model.config.getAerosolCloudColor());
+			}
+			renderTrajectories(g, trajectorySteps, clip);
+			renderPedestrians(g, pedestrians, visiblePedestrians, walkingDirections, pedestrianColors, clip, simTimeInSec);
+			renderConnectingLinesByContact(g, contacts, simTimeInSec);
+
+			g.setColor(savedColor);
+		});
+	}
+
+	private List<TrajectoryStep> getTrajectorySteps(Table slice, Map<Integer, Color> pedestrianColors, double simTimeInSec) {
+		List<TrajectoryStep> trajectorySteps = new ArrayList<>();
 		TableTrajectoryFootStep trajectories = model.getTrajectories();
 
 		if (model.config.isShowTrajectories()) {
 			for(Row row : slice) {
-				boolean isLastStep = row.getDouble(trajectories.endTimeCol) > model.getSimTimeInSec();
+				boolean isLastStep = row.getDouble(trajectories.endTimeCol) > simTimeInSec;
 				double startX = row.getDouble(trajectories.startXCol);
 				double startY = row.getDouble(trajectories.startYCol);
 				double endX = row.getDouble(trajectories.endXCol);
 				double endY = row.getDouble(trajectories.endYCol);
 
 				if(isLastStep && model.config.isInterpolatePositions()) {
-					VPoint interpolatedPos = FootStep.interpolateFootStep(startX, startY, endX, endY, row.getDouble(trajectories.startTimeCol), row.getDouble(trajectories.endTimeCol), model.getSimTimeInSec());
+					VPoint interpolatedPos = FootStep.interpolateFootStep(startX, startY, endX, endY, row.getDouble(trajectories.startTimeCol), row.getDouble(trajectories.endTimeCol), simTimeInSec);
 					endX = interpolatedPos.getX();
 					endY = interpolatedPos.getY();
 				}
@@ -84,21 +130,26 @@ public class PostvisualizationRenderer extends SimulationRenderer {
 				int pedId = row.getInt(trajectories.pedIdCol);
 
 				if (model.isElementSelected() && model.getSelectedElement().getId() == pedId) {
-					g.setColor(Color.MAGENTA);
-					g.setStroke(new BasicStroke(getLineWidth() / 2.0f));
+					trajectorySteps.add(new TrajectoryStep(startX, startY, endX, endY, Color.MAGENTA, getLineWidth() / 2.0f));
 				} else {
-					Color cc = pedestrianColors.get(pedId);
-					if(cc == null) {
-						System.out.println("wtf");
-					}
-					g.setColor(pedestrianColors.get(pedId));
-					g.setStroke(new BasicStroke(getLineWidth() / 4.0f));
+					trajectorySteps.add(new TrajectoryStep(startX, startY, endX, endY, pedestrianColors.get(pedId), getLineWidth() / 4.0f));
 				}
+			}
+		}
 
-				Path2D.Double path = new Path2D.Double();
-				path.moveTo(startX, startY);
-				path.lineTo(endX, endY);
-				draw(path, g);
+		return trajectorySteps;
+	}
+
+	private void renderTrajectories(Graphics2D g, List<TrajectoryStep> trajectorySteps, Rectangle2D clip) {
+
+		Color savedColor = g.getColor();
+		Stroke savedStroke = g.getStroke();
+
+		for(TrajectoryStep step : trajectorySteps) {
+			if (clip == null || clip.intersectsLine(step.path.x1, step.path.y1, step.path.x2, step.path.y2)) {
+				g.setColor(step.color);
+				g.setStroke(new BasicStroke(step.lineWidth));
+				draw(step.path, g);
 			}
 		}
 
@@ -106,33 +157,49 @@ public class PostvisualizationRenderer extends SimulationRenderer {
 		g.setStroke(savedStroke);
 	}
 
-	private void renderPedestrians(Graphics2D g, Collection<Pedestrian> pedestrians, Map<Integer, Color> agentColors) {
+	private void renderPedestrians(Graphics2D g, Collection<Pedestrian> pedestrians, Set<Integer> visiblePedestrians,
+	                               Map<Integer, VPoint> walkingDirections, Map<Integer, Color> agentColors,
+	                               Rectangle2D clip, double simTimeInSec) {
 
 		AgentRender agentRender = getAgentRender();
 
-		if (model.config.isShowPedestrians()) {
-			for(Pedestrian pedestrian : pedestrians) {
-				if (model.config.isShowFaydedPedestrians() || model.isAlive(pedestrian.getId())) {
-					agentRender.render(pedestrian, agentColors.get(pedestrian.getId()), g);
+		for(Pedestrian pedestrian : pedestrians) {
+			if (!isVisible(pedestrian, clip)) {
+				continue;
+			}
 
-					if (model.config.isShowPedestrianIds()) {
-						DefaultRenderer.paintAgentId(g, pedestrian);
-					}
+			if (visiblePedestrians.contains(pedestrian.getId())) {
+				agentRender.render(pedestrian, agentColors.get(pedestrian.getId()), g, simTimeInSec);
 
-					if (model.config.isShowPedestrianInOutGroup()) {
-						renderPedestrianInOutGroup(g, pedestrian);
-					}
+				if (model.config.isShowPedestrianIds()) {
+					DefaultRenderer.paintAgentId(g, pedestrian);
 				}
 
-				if (model.config.isShowWalkdirection() &&
-						(model.config.isShowFaydedPedestrians() || model.getTrajectories().getDeathTime(pedestrian.getId()) > model.getSimTimeInSec())) {
-					renderWalkingDirection(g, pedestrian);
+				if (model.config.isShowPedestrianInOutGroup()) {
+					renderPedestrianInOutGroup(g, pedestrian);
 				}
 			}
+
+			VPoint direction = walkingDirections.get(pedestrian.getId());
+			if (direction != null) {
+				renderWalkingDirection(g, pedestrian, direction);
+			}
 		}
 	}
 
-	private void renderWalkingDirection(Graphics2D g, Pedestrian pedestrian) {
+	/**
+	 * Tests if the pedestrian, its id or its walking direction might intersect the clip.
+	 */
+	private static boolean isVisible(Pedestrian pedestrian, Rectangle2D clip) {
+		if (clip == null) {
+			return true;
+		}
+		VPoint position = pedestrian.getPosition();
+		double margin = 3 * pedestrian.getRadius() + 1.0;
+		return clip.intersects(position.getX() - margin, position.getY() - margin, 2 * margin, 2 * margin);
+	}
+
+	private VPoint updateWalkingDirection(Pedestrian pedestrian) {
 
 		int pedestrianId = pedestrian.getId();
 		VPoint lastPosition = lastPedestrianPositions.get(pedestrianId);
@@ -154,35 +221,51 @@ public class PostvisualizationRenderer extends SimulationRenderer {
 			if (!pedestrianDirections.containsKey(pedestrianId)) {
 				pedestrianDirections.put(pedestrianId, direction);
 			}
-			if (direction != null) {
-				double theta = Math.atan2(-direction.getY(), -direction.getX());
-				DefaultRenderer.drawArrow(g, theta,
-						position.getX() - pedestrian.getRadius() * 2 * direction.getX(),
-						position.getY() - pedestrian.getRadius() * 2 * direction.getY());
-			}
+			return direction;
 		}
+		return null;
+	}
+
+	private void renderWalkingDirection(Graphics2D g, Pedestrian pedestrian, VPoint direction) {
+		VPoint position = pedestrian.getPosition();
+		double theta = Math.atan2(-direction.getY(), -direction.getX());
+		DefaultRenderer.drawArrow(g, theta,
+				position.getX() - pedestrian.getRadius() * 2 * direction.getX(),
+				position.getY() - pedestrian.getRadius() * 2 * direction.getY());
 	}
 
-	private void renderConnectingLinesByContact(Graphics2D g) {
+	private List<Pair<Pedestrian, Pedestrian>> getContacts(Collection<Pedestrian> agents, double simTimeInSec) {
+		List<Pair<Pedestrian, Pedestrian>> contacts = new ArrayList<>();
 		boolean showContacts = model.config.isShowContacts() && !model.getContactData().isEmpty();
 
 		if (showContacts) {
+			Map<Integer, Pedestrian> pedestrians = new HashMap<>();
+			agents.forEach(a -> pedestrians.put(a.getId(), a));
+			Table pairs = model.getContactData().getPairsOfPedestriansInContactAt(simTimeInSec);
+
+			for (Row row : pairs) {
+				Pedestrian ped1 = pedestrians.get(row.getInt(0));
+				Pedestrian ped2 = pedestrians.get(row.getInt(1));
+				if (ped1 != null && ped2 != null) {
+					contacts.add(Pair.of(ped1, ped2));
+				}
+			}
+		}
+
+		return contacts;
+	}
+
+	private void renderConnectingLinesByContact(Graphics2D g, List<Pair<Pedestrian, Pedestrian>> contacts, double simTimeInSec) {
+		if (!contacts.isEmpty()) {
 			Color savedColor = g.getColor();
 			Stroke savedStroke = g.getStroke();
 
 			g.setStroke(new BasicStroke(getLineWidth() / 4.0f));
 			g.setColor(Color.red);
 
-			Collection<Pedestrian> agents = model.getPedestrians();
-			Map<Integer, VPoint> pedPositions = new HashMap<>();
-			agents.forEach(a -> pedPositions.put(a.getId(), a.getPosition()));
-			Table pairs = model.getContactData().getPairsOfPedestriansInContactAt(model.getSimTimeInSec());
-
-			for (Row row : pairs) {
-				int id1 = row.getInt(0);
-				int id2 = row.getInt(1);
-				VPoint ped1Pos = pedPositions.get(id1);
-				VPoint ped2Pos = pedPositions.get(id2);
+			for (Pair<Pedestrian, Pedestrian> contact : contacts) {
+				VPoint ped1Pos = contact.getLeft().getPosition();
+				VPoint ped2Pos = contact.getRight().getPosition();
 				Path2D.Double path = new Path2D.Double();
 				path.moveTo(ped1Pos.x, ped1Pos.y);
 				path.lineTo(ped2Pos.x, ped2Pos.y);
@@ -190,7 +273,8 @@ public class PostvisualizationRenderer extends SimulationRenderer {
 
 				// paint agents in contact red
 				if (model.config.isShowPedestrians()) {
-					agents.stream().filter(a -> a.getId() == id1 || a.getId() == id2).forEach(a -> getAgentRender().render(a, Color.red, g));
+					getAgentRender().render(contact.getLeft(), Color.red, g, simTimeInSec);
+					getAgentRender().render(contact.getRight(), Color.red, g, simTimeInSec);
 				}
 			}
 
@@ -199,14 +283,24 @@ public class PostvisualizationRenderer extends SimulationRenderer {
 		}
 	}
 
-	private void renderAerosolCloudData(Graphics2D g) {
+	private Collection<AerosolCloud> getAerosolClouds() {
 		boolean showAerosolClouds = model.config.isShowAerosolClouds() && !model.getTableAerosolCloudData().isEmpty();
 
 		if (showAerosolClouds) {
-			Collection<AerosolCloud> aerosolClouds = model.getTableAerosolCloudData().toAerosolCloudCollection(getModel().getStep());
-			if (!aerosolClouds.isEmpty()) {
-				renderAerosolClouds(aerosolClouds, g, model.config.getAerosolCloudColor());
-			}
+			return model.getTableAerosolCloudData().toAerosolCloudCollection(getModel().getStep());
+		}
+		return Collections.emptyList();
+	}
+
+	private static class TrajectoryStep {
+		private final Line2D.Double path;
+		private final Color color;
+		private final float lineWidth;
+
+		private TrajectoryStep(double startX, double startY, double endX, double endY, Color color, float lineWidth) {
+			this.path = new Line2D.Double(startX, startY, endX, endY);
+			this.color = color;
+			this.lineWidth = lineWidth;
 		}
 	}
-}
\ No newline at end of file
+}
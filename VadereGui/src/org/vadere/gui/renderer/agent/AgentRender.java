@@ -35,34 +35,43 @@ public class AgentRender implements Renderer {
 
 	@Override
 	public void render(@NotNull final ScenarioElement element, @NotNull final Color color, @NotNull final Graphics2D g) {
+		render(element, color, g, model.getSimTimeInSec());
+	}
+
+	/**
+	 * Renders the agent at the given simulation time, i.e. in contrast to
+	 * {@link #render(ScenarioElement, Color, Graphics2D)} the simulation time of the model is not accessed.
+	 */
+	public void render(@NotNull final ScenarioElement element, @NotNull final Color color, @NotNull final Graphics2D g,
+	                   final double simTimeInSec) {
 
 		if (model.config.isShowGroups()) {
 			try {
 				Pedestrian ped = (Pedestrian) element;
-				renderGroup(ped, g, color);
+				renderGroup(ped, g, color, simTimeInSec);
 			} catch (ClassCastException cce) {
 				logger.error("Error casting to Pedestrian");
 				cce.printStackTrace();
 				model.config.setShowGroups(false);
-				renderDefault(element, g, color);
+				renderDefault(element, g, color, simTimeInSec);
 			}
 		} else {
-			renderDefault(element, g, color);
+			renderDefault(element, g, color, simTimeInSec);
 		}
 	}
 
-	private void renderGroup(Pedestrian ped, Graphics2D g, Color color) {
+	private void renderGroup(Pedestrian ped, Graphics2D g, Color color, double simTimeInSec) {
 		g.setColor(Color.DARK_GRAY);
 		g.fill(ped.getShape());
 		g.setColor(color);
-		DefaultRenderer.fill(getShape(ped), g);
+		DefaultRenderer.fill(getShape(ped, simTimeInSec), g);
 	}
 
-	private void renderDefault(final ScenarioElement element, Graphics2D g, Color c) {
+	private void renderDefault(final ScenarioElement element, Graphics2D g, Color c, double simTimeInSec) {
 		g.setColor(c);
 		VShape shape = element.getShape();
 		if(model.config.isInterpolatePositions()) {
-			VPoint pos = ((Pedestrian)element).getInterpolatedFootStepPosition(model.getSimTimeInSec());
+			VPoint pos = ((Pedestrian)element).getInterpolatedFootStepPosition(simTimeInSec);
 			shape = shape.translate(pos.subtract(((Pedestrian)element).getPosition()));
 		}
 		/*VCircle circle = (VCircle) element.getShape();
@@ -78,10 +87,14 @@ public class AgentRender implements Renderer {
 	}
 
 	public VShape getShape(Pedestrian ped) {
+		return getShape(ped, model.getSimTimeInSec());
+	}
+
+	public VShape getShape(Pedestrian ped, double simTimeInSec) {
 		VShape shape = ped.getShape();
 		VPoint pos = ped.getPosition();
 		if(model.config.isInterpolatePositions()) {
-			pos = ped.getInterpolatedFootStepPosition(model.getSimTimeInSec());
+			pos = ped.getInterpolatedFootStepPosition(simTimeInSec);
 			shape = shape.translate(pos.subtract(ped.getPosition()));
 		}
 
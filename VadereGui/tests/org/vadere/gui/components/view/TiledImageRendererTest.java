@@ -0,0 +1,139 @@
+package org.vadere.gui.components.view;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.vadere.gui.postvisualization.model.PostvisualizationModel;
+import org.vadere.gui.postvisualization.view.PostvisualizationRenderer;
+import org.vadere.simulator.projects.Scenario;
+import org.vadere.state.attributes.scenario.AttributesObstacle;
+import org.vadere.state.scenario.Obstacle;
+import org.vadere.util.geometry.shapes.VCircle;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.voronoi.VoronoiDiagram;
+
+import java.awt.image.BufferedImage;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.Table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TiledImageRendererTest {
+
+	private PostvisualizationModel model;
+	private PostvisualizationRenderer renderer;
+
+	@Before
+	public void setUp() {
+		Random random = new Random(0);
+		Scenario scenario = new Scenario("tiled");
+		scenario.getTopography().addObstacle(new Obstacle(new AttributesObstacle(1, new VRectangle(2, 2, 1.5, 4))));
+		scenario.getTopography().addObstacle(new Obstacle(new AttributesObstacle(2, new VCircle(new VPoint(7, 7), 1.2))));
+
+		IntColumn pedIds = IntColumn.create("pedestrianId");
+		DoubleColumn startTimes = DoubleColumn.create("simTime");
+		DoubleColumn endTimes = DoubleColumn.create("endTime-PID1");
+		DoubleColumn startX = DoubleColumn.create("startX-PID1");
+		DoubleColumn startY = DoubleColumn.create("startY-PID1");
+		DoubleColumn endX = DoubleColumn.create("endX-PID1");
+		DoubleColumn endY = DoubleColumn.create("endY-PID1");
+		for (int pedId = 1; pedId <= 40; pedId++) {
+			double x = random.nextDouble() * 10;
+			double y = random.nextDouble() * 10;
+			for (int step = 0; step < 10; step++) {
+				pedIds.append(pedId);
+				startTimes.append(step * 0.4);
+				endTimes.append((step + 1) * 0.4);
+				startX.append(x);
+				startY.append(y);
+				x += random.nextDouble() - 0.5;
+				y += random.nextDouble() - 0.5;
+				endX.append(x);
+				endY.append(y);
+			}
+		}
+
+		model = new PostvisualizationModel();
+		model.init(Table.create("trajectories", pedIds, startTimes, endTimes, startX, startY, endX, endY), scenario, "");
+		model.setViewportBound(new VRectangle(model.getTopographyBound()));
+		model.setScaleWithoutChangingViewport(37.0);
+		model.setVisTime(1.7);
+		renderer = new PostvisualizationRenderer(model);
+	}
+
+	@Test
+	public void testTiledImageEqualsImage() {
+		TiledImageRenderer tiledRenderer = new TiledImageRenderer(renderer, 64);
+
+		// the second frame reuses the static tiles of the first one
+		BufferedImage lastImage = null;
+		for (double visTime : new double[]{1.7, 2.9}) {
+			model.setVisTime(visTime);
+			int width = (int) (model.getTopographyBound().getWidth() * model.getScaleFactor());
+			int height = (int) (model.getTopographyBound().getHeight() * model.getScaleFactor());
+			BufferedImage image = tiledRenderer.renderImage(width, height);
+			assertImageEquals(renderer.renderImage(width, height), image);
+			if (lastImage != null) {
+				assertTrue(countDifferentPixels(lastImage, image) > 0);
+			}
+			lastImage = image;
+		}
+	}
+
+	@Test
+	public void testConfigChangeInvalidatesStaticContent() {
+		TiledImageRenderer tiledRenderer = new TiledImageRenderer(renderer, 100);
+		int width = (int) (model.getTopographyBound().getWidth() * model.getScaleFactor());
+		int height = (int) (model.getTopographyBound().getHeight() * model.getScaleFactor());
+		tiledRenderer.renderImage(width, height);
+
+		model.config.setShowObstacles(false);
+		assertImageEquals(renderer.renderImage(width, height), tiledRenderer.renderImage(width, height));
+	}
+
+	@Test
+	public void testVoronoiDiagramIsNotCached() {
+		TiledImageRenderer tiledRenderer = new TiledImageRenderer(renderer, 64);
+		int width = (int) (model.getTopographyBound().getWidth() * model.getScaleFactor());
+		int height = (int) (model.getTopographyBound().getHeight() * model.getScaleFactor());
+
+		// the diagram changes with the pedestrians, i.e. it must not become part of the static content
+		VoronoiDiagram voronoiDiagram = new VoronoiDiagram(new VRectangle(model.getTopographyBound()));
+		model.setVoronoiDiagram(voronoiDiagram);
+		model.showVoronoiDiagram();
+		for (double visTime : new double[]{1.7, 2.9}) {
+			model.setVisTime(visTime);
+			voronoiDiagram.computeVoronoiDiagram(model.getPedestrians().stream()
+					.map(pedestrian -> pedestrian.getPosition())
+					.collect(Collectors.toList()));
+			assertImageEquals(renderer.renderImage(width, height), tiledRenderer.renderImage(width, height));
+		}
+	}
+
+	private static int countDifferentPixels(BufferedImage image1, BufferedImage image2) {
+		int count = 0;
+		for (int y = 0; y < image1.getHeight(); y++) {
+			for (int x = 0; x < image1.getWidth(); x++) {
+				if (image1.getRGB(x, y) != image2.getRGB(x, y)) {
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	private static void assertImageEquals(BufferedImage expected, BufferedImage actual) {
+		assertEquals(expected.getWidth(), actual.getWidth());
+		assertEquals(expected.getHeight(), actual.getHeight());
+		for (int y = 0; y < expected.getHeight(); y++) {
+			for (int x = 0; x < expected.getWidth(); x++) {
+				assertEquals("pixel (" + x + ", " + y + ")", expected.getRGB(x, y), actual.getRGB(x, y));
+			}
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package org.vadere.gui.onlinevisualization.model;
+
+import org.junit.Test;
+import org.vadere.gui.components.model.AgentColoring;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.state.psychology.cognition.SelfCategory;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class AgentStateArraysTest {
+
+	/**
+	 * The proxy is updated by the state copied into the arrays, later changes of the simulated pedestrian are
+	 * not visible to the proxy until the next step is copied.
+	 */
+	@Test
+	public void testProxyIsUpdatedByCopiedState() {
+		Random random = new Random(0);
+		Pedestrian pedestrian = new Pedestrian(new AttributesAgent(1), random);
+		pedestrian.setPosition(new VPoint(1, 2));
+		pedestrian.setTargets(new LinkedList<>(List.of(3, 4)));
+		pedestrian.setNextTargetListIndex(1);
+		pedestrian.setSelfCategory(SelfCategory.COOPERATIVE);
+		Pedestrian proxy = new Pedestrian(new AttributesAgent(1), random);
+		proxy.setPosition(new VPoint(0, 0));
+
+		AgentStateArrays<Pedestrian> arrays = new AgentStateArrays<>();
+		arrays.add(pedestrian, proxy, SelfCategory.COOPERATIVE.ordinal());
+		pedestrian.setPosition(new VPoint(5, 5));
+		pedestrian.setSelfCategory(SelfCategory.TARGET_ORIENTED);
+
+		assertEquals(1, arrays.size());
+		assertSame(proxy, arrays.apply(0));
+		OnlineVisualizationModel.applyColorKey(proxy, AgentColoring.SELF_CATEGORY, arrays.getColorKey(0));
+		assertEquals(new VPoint(1, 2), proxy.getPosition());
+		assertEquals(4, proxy.getNextTargetId());
+		assertEquals(SelfCategory.COOPERATIVE, proxy.getSelfCategory());
+	}
+
+	/**
+	 * The arrays are reused by the next step and release the proxies of agents which are gone.
+	 */
+	@Test
+	public void testClearReleasesProxies() {
+		Random random = new Random(0);
+		AgentStateArrays<Pedestrian> arrays = new AgentStateArrays<>();
+		for (int i = 1; i <= 3; i++) {
+			Pedestrian pedestrian = new Pedestrian(new AttributesAgent(i), random);
+			pedestrian.setPosition(new VPoint(i, i));
+			arrays.add(pedestrian, pedestrian.clone(), Double.NaN);
+		}
+		arrays.clear();
+
+		Pedestrian pedestrian = new Pedestrian(new AttributesAgent(7), random);
+		pedestrian.setPosition(new VPoint(7, 7));
+		arrays.add(pedestrian, pedestrian.clone(), Double.NaN);
+
+		assertEquals(1, arrays.size());
+		assertEquals(7, arrays.getId(0));
+		assertEquals(AgentStateArrays.NO_TARGET, arrays.getTargetId(0));
+		assertFalse(arrays.apply(0).hasNextTarget());
+		assertNull(arrays.getProxy(1));
+	}
+}
@@ -0,0 +1,153 @@
+package org.vadere.gui.postvisualization.model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.Row;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.table.Rows;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TableTrajectoryFootStepTest {
+
+	private Table dataFrame;
+	private TableTrajectoryFootStep trajectory;
+	private Random random;
+
+	@Before
+	public void setUp() {
+		random = new Random(0);
+		List<double[]> footSteps = new ArrayList<>();
+
+		// footsteps on a grid of 0.1s such that footsteps end exactly at the start of the next footstep
+		for (int pedId = 1; pedId <= 60; pedId++) {
+			double time = random.nextInt(200) * 0.1;
+			int numberOfSteps = 1 + random.nextInt(40);
+			double x = random.nextDouble() * 10;
+			for (int step = 0; step < numberOfSteps; step++) {
+				// some agents wait a long time
+				double duration = random.nextInt(20) == 0 ? 10.0 : (2 + random.nextInt(6)) * 0.1;
+				footSteps.add(new double[]{pedId, time, time + duration, x, x + 0.5});
+				time += duration;
+				x += 0.5;
+			}
+		}
+		footSteps.sort(Comparator.comparingDouble(footStep -> footStep[1]));
+
+		IntColumn pedIds = IntColumn.create("pedestrianId");
+		DoubleColumn startTimes = DoubleColumn.create("simTime");
+		DoubleColumn endTimes = DoubleColumn.create("endTime-PID1");
+		DoubleColumn startX = DoubleColumn.create("startX-PID1");
+		DoubleColumn startY = DoubleColumn.create("startY-PID1");
+		DoubleColumn endX = DoubleColumn.create("endX-PID1");
+		DoubleColumn endY = DoubleColumn.create("endY-PID1");
+		for (double[] footStep : footSteps) {
+			pedIds.append((int) footStep[0]);
+			startTimes.append(footStep[1]);
+			endTimes.append(footStep[2]);
+			startX.append(footStep[3]);
+			startY.append(0.0);
+			endX.append(footStep[4]);
+			endY.append(0.0);
+		}
+
+		dataFrame = Table.create("trajectories", pedIds, startTimes, endTimes, startX, startY, endX, endY);
+		trajectory = new TableTrajectoryFootStep(dataFrame);
+	}
+
+	@Test
+	public void testIndexedQueriesEqualTableFilters() {
+		List<Double> times = new ArrayList<>();
+		for (int i = -10; i <= 450; i++) {
+			times.add(i * 0.1);
+		}
+		for (int i = 0; i < 200; i++) {
+			times.add(random.nextDouble() * 45.0);
+		}
+
+		for (double t : times) {
+			Table expected = dataFrame.where(startTime().isLessThanOrEqualTo(t).and(endTime().isGreaterThanOrEqualTo(t)))
+					.sortAscendingOn("pedestrianId");
+			assertTableEquals(expected, trajectory.getAgents(t));
+
+			Table expectedRange = dataFrame.where(startTime().isLessThan(t).and(endTime().isGreaterThanOrEqualTo(t - 3.0)));
+			assertTableEquals(expectedRange, trajectory.getAgents(t - 3.0, t));
+
+			Table expectedAgent = dataFrame.where(startTime().isLessThanOrEqualTo(t)
+					.and(endTime().isGreaterThanOrEqualTo(t)).and(dataFrame.intColumn(0).isEqualTo(7)));
+			assertTableEquals(expectedAgent, trajectory.getAgent(t, 7));
+		}
+	}
+
+	@Test
+	public void testAliveAndDisappearedAgentsEqualTableFilters() {
+		for (int i = 0; i < 100; i++) {
+			double startTime = random.nextDouble() * 30.0;
+			double endTime = startTime + random.nextDouble() * 10.0;
+
+			Integer[] alivePedIds = trajectory.getAgentDataFrame()
+					.where(trajectory.getBirthTime().isGreaterThanOrEqualTo(startTime)
+							.and(trajectory.getDeathTime().isGreaterThanOrEqualTo(endTime)))
+					.intColumn(TableTrajectoryFootStep.agentDFPedIdCol).asObjectArray();
+			Table expected = dataFrame.where(dataFrame.intColumn(0).isIn(alivePedIds)
+					.and(startTime().isLessThan(endTime).and(endTime().isGreaterThanOrEqualTo(startTime))));
+			assertTableEquals(expected, trajectory.getAliveAgents(startTime, endTime));
+
+			// the last row (in table order) of each agent which is not active but started before endTime
+			Table expectedAgents = trajectory.getAgents(endTime);
+			Integer[] activePedIds = expectedAgents.intColumn(0).asObjectArray();
+			Table disappearedAgents = dataFrame.where(dataFrame.intColumn(0).isNotIn(activePedIds)
+					.and(startTime().isLessThanOrEqualTo(endTime)));
+			Map<Integer, Integer> lastRows = new TreeMap<>();
+			for (Row row : disappearedAgents) {
+				lastRows.put(row.getInt(0), row.getRowNumber());
+			}
+			lastRows.forEach((pedId, rowNr) -> Rows.appendRowToTable(rowNr, disappearedAgents, expectedAgents));
+			assertTableEquals(expectedAgents, trajectory.getAgentsWithDisappearedAgents(endTime));
+		}
+	}
+
+	@Test
+	public void testBirthAndDeathTime() {
+		Table agents = trajectory.getAgentDataFrame();
+		for (Row row : agents) {
+			int pedId = row.getInt(TableTrajectoryFootStep.agentDFPedIdCol);
+			assertEquals(row.getDouble(TableTrajectoryFootStep.birthTimeCol), trajectory.getBirthTime(pedId), 0.0);
+			assertEquals(row.getDouble(TableTrajectoryFootStep.deathTimeCol), trajectory.getDeathTime(pedId), 0.0);
+		}
+	}
+
+	@Test
+	public void testEmptyTableWithoutColumns() {
+		TableTrajectoryFootStep empty = new TableTrajectoryFootStep(Table.create());
+		assertTrue(empty.isEmpty());
+	}
+
+	private DoubleColumn startTime() {
+		return dataFrame.doubleColumn(1);
+	}
+
+	private DoubleColumn endTime() {
+		return dataFrame.doubleColumn(2);
+	}
+
+	private static void assertTableEquals(Table expected, Table actual) {
+		assertEquals(expected.rowCount(), actual.rowCount());
+		for (int row = 0; row < expected.rowCount(); row++) {
+			for (int col = 0; col < expected.columnCount(); col++) {
+				assertEquals(expected.get(row, col), actual.get(row, col));
+			}
+		}
+	}
+}
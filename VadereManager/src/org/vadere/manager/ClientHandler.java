@@ -20,19 +20,39 @@ public class ClientHandler implements Runnable {
 
 	private final ServerSocket serverSocket;
 	private final TraCISocket traCISocket;
+	private final int sessionId;
+	private final StepStatistics stepStatistics;
 	private CommandExecutor cmdExecutor;
 	private RemoteManager remoteManager;
 	private String scenarioString;
 
 
 	public ClientHandler(ServerSocket serverSocket, TraCISocket traCISocket, Path basedir, boolean guiSupport) {
+		this(serverSocket, traCISocket, basedir, guiSupport, StepBudget.unbounded(), 0);
+	}
+
+	/**
+	 * @param stepBudget    the budget of the server shared by the simulations of all sessions
+	 * @param sessionId     id of the session used in log messages
+	 */
+	public ClientHandler(ServerSocket serverSocket, TraCISocket traCISocket, Path basedir, boolean guiSupport, StepBudget stepBudget, int sessionId) {
 		this.serverSocket = serverSocket;
 		this.traCISocket = traCISocket;
-		this.remoteManager = new RemoteManager(basedir, guiSupport);
+		this.sessionId = sessionId;
+		this.remoteManager = new RemoteManager(basedir, guiSupport, stepBudget);
+		this.stepStatistics = remoteManager.getStepStatistics();
 		this.cmdExecutor = new CommandExecutor(remoteManager);
 		this.scenarioString = ""; // traci will provide the scenario
 	}
 
+	public int getSessionId() {
+		return sessionId;
+	}
+
+	public StepStatistics getStepStatistics() {
+		return stepStatistics;
+	}
+
 	public void setScenario(String scenarioString) {
 		this.scenarioString = scenarioString;
 	}
@@ -58,7 +78,7 @@ public class ClientHandler implements Runnable {
 
 	private void handleClient() throws IOException {
 		try {
-			logger.info("client connected...");
+			logger.infof("client connected... (session %d)", sessionId);
 
 			while (true) {
 
@@ -81,6 +101,7 @@ public class ClientHandler implements Runnable {
 		finally {
 			traCISocket.close();
 			remoteManager.stopSimulationIfRunning();
+			logger.infof("session %d closed: %s", sessionId, stepStatistics);
 			cmdExecutor = null;
 			remoteManager = null;
 			// hint VM to call garbage collection. The current simulation is done.
@@ -0,0 +1,272 @@
+package org.vadere.manager;
+
+import org.vadere.manager.traci.TraCICmd;
+import org.vadere.manager.traci.commandHandler.CommandHandler;
+import org.vadere.manager.traci.commandHandler.TraCICmdHandler;
+import org.vadere.manager.traci.commandHandler.variables.PersonVar;
+import org.vadere.manager.traci.commands.TraCIContextSubscriptionCommand;
+import org.vadere.manager.traci.response.StatusResponse;
+import org.vadere.manager.traci.response.TraCIContextSubscriptionResponse;
+import org.vadere.manager.traci.response.TraCIStatusResponse;
+import org.vadere.manager.traci.response.TraCISubscriptionResponse;
+import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.state.scenario.DynamicElementContainer;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.traci.TraCIDataType;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.logging.Logger;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Wrapper around a given {@link TraCIContextSubscriptionCommand} to execute the subscription. In contrast
+ * to a {@link Subscription} the subscribed variables of all pedestrians are gathered in one pass over the
+ * pedestrians (within one state access) and are directly encoded into a buffer which is reused by each
+ * execution, i.e. the response does not build one get command and one response object per pedestrian
+ * and variable.
+ *
+ * If delta encoding is enabled (see {@link org.vadere.manager.traci.commands.control.TraCIAddSubscriptionFilterCommand})
+ * a response only contains the pedestrians whose encoded variables changed since the last execution.
+ * Pedestrians which left the simulation are not reported, a client has to track them by the simulation
+ * variables (i.e. arrived ids) or by a subscription without delta encoding.
+ */
+public class ContextSubscription extends Subscription {
+
+	private static Logger logger = Logger.getLogger(ContextSubscription.class);
+
+	private final TraCIContextSubscriptionCommand contextSubscriptionCommand;
+	private final Integer egoId;
+	private ByteBuffer buffer;
+	private boolean deltaEncoding;
+	private final Map<Integer, ElementRecord> lastRecords;
+	private int execution;
+
+	public ContextSubscription(TraCICmdHandler traCICmdHandler, TraCICmd responseIdentifier, TraCIContextSubscriptionCommand contextSubscriptionCommand) {
+		super(traCICmdHandler, responseIdentifier, contextSubscriptionCommand);
+		this.contextSubscriptionCommand = contextSubscriptionCommand;
+		this.egoId = contextSubscriptionCommand.getElementIdentifier().isEmpty() ? null : Integer.valueOf(contextSubscriptionCommand.getElementIdentifier());
+		this.buffer = ByteBuffer.allocate(1024);
+		this.deltaEncoding = false;
+		this.lastRecords = new HashMap<>();
+		this.execution = 0;
+	}
+
+	/**
+	 * Returns true if the variable of the person API can be gathered by a context subscription.
+	 */
+	public static boolean isSupported(int variableId) {
+		return variableId == PersonVar.POSITION.id
+				|| variableId == PersonVar.VELOCITY.id
+				|| variableId == PersonVar.SPEED.id
+				|| variableId == PersonVar.ANGLE.id
+				|| variableId == PersonVar.TARGET_LIST.id
+				|| variableId == PersonVar.NEXT_TARGET_LIST_INDEX.id
+				|| variableId == PersonVar.HAS_NEXT_TARGET.id;
+	}
+
+	/**
+	 * Returns true if the element identifier of a context subscription is empty (no ego pedestrian)
+	 * or the id of a pedestrian.
+	 */
+	public static boolean isValidEgoId(String elementId) {
+		if (elementId.isEmpty()) {
+			return true;
+		}
+		try {
+			Integer.parseInt(elementId);
+			return true;
+		} catch (NumberFormatException e) {
+			return false;
+		}
+	}
+
+	@Override
+	public void executeSubscription(RemoteManager remoteManager) {
+		execution++;
+		buffer.clear();
+
+		// header, the number of elements is written after the pass over the pedestrians
+		putUnsignedByte(getResponseIdentifier().id);
+		putString(contextSubscriptionCommand.getElementIdentifier());
+		putUnsignedByte(contextSubscriptionCommand.getContextDomain());
+		putUnsignedByte(contextSubscriptionCommand.getNumberOfVariables());
+		int numberOfElementsPosition = buffer.position();
+		buffer.putInt(0);
+
+		int[] numberOfElements = new int[1];
+		remoteManager.accessState((manager, state) -> numberOfElements[0] = encodePedestrians(state));
+
+		if (isMarkedForRemoval()) {
+			contextSubscriptionCommand.setResponse(
+					TraCISubscriptionResponse.removeResponse(contextSubscriptionCommand, getResponseIdentifier()));
+			return;
+		}
+
+		buffer.putInt(numberOfElementsPosition, numberOfElements[0]);
+		contextSubscriptionCommand.setResponse(new TraCIContextSubscriptionResponse(
+				new StatusResponse(contextSubscriptionCommand.getTraCICmd(), TraCIStatusResponse.OK, ""),
+				getResponseIdentifier(),
+				contextSubscriptionCommand.getElementIdentifier(),
+				contextSubscriptionCommand.getNumberOfVariables(),
+				numberOfElements[0],
+				buffer.array(),
+				buffer.position()));
+	}
+
+	private int encodePedestrians(SimulationState state) {
+		DynamicElementContainer<Pedestrian> pedestrians = state.getTopography().getPedestrianDynamicElements();
+
+		VPoint center = null;
+		double range = contextSubscriptionCommand.getRange();
+		if (egoId != null && range > 0) {
+			Pedestrian ego = pedestrians.getElement(egoId);
+			if (ego == null) {
+				logger.warnf("Mark Subscription for removal. %s: %s", CommandHandler.ELEMENT_ID_NOT_FOUND, toString());
+				markForRemoval();
+				return 0;
+			}
+			center = ego.getPosition();
+		}
+
+		int numberOfElements = 0;
+		for (Pedestrian ped : pedestrians.getElements()) {
+			if (center != null && ped.getPosition().distance(center) > range) {
+				continue;
+			}
+
+			int recordStart = buffer.position();
+			putString(Integer.toString(ped.getId()));
+			for (int variableId : contextSubscriptionCommand.getVariables()) {
+				putVariable(ped, variableId);
+			}
+
+			if (deltaEncoding && !changed(ped.getId(), recordStart, buffer.position())) {
+				buffer.position(recordStart);
+			} else {
+				numberOfElements++;
+			}
+		}
+
+		if (deltaEncoding) {
+			lastRecords.values().removeIf(record -> record.execution != execution);
+		}
+
+		return numberOfElements;
+	}
+
+	/**
+	 * Compares the encoded record of a pedestrian with its record of the last execution and remembers it.
+	 */
+	private boolean changed(int id, int from, int to) {
+		int length = to - from;
+		ElementRecord record = lastRecords.get(id);
+		boolean changed = record == null
+				|| !Arrays.equals(record.bytes, 0, record.length, buffer.array(), from, to);
+
+		if (record == null) {
+			record = new ElementRecord();
+			lastRecords.put(id, record);
+		}
+		if (changed) {
+			if (record.bytes.length < length) {
+				record.bytes = new byte[length];
+			}
+			System.arraycopy(buffer.array(), from, record.bytes, 0, length);
+			record.length = length;
+		}
+		record.execution = execution;
+
+		return changed;
+	}
+
+	private void putVariable(Pedestrian ped, int variableId) {
+		putUnsignedByte(variableId);
+		putUnsignedByte(TraCIStatusResponse.OK.id);
+		if (variableId == PersonVar.POSITION.id) {
+			put2DPosition(ped.getPosition().getX(), ped.getPosition().getY());
+		} else if (variableId == PersonVar.VELOCITY.id) {
+			put2DPosition(ped.getVelocity().getX(), ped.getVelocity().getY());
+		} else if (variableId == PersonVar.SPEED.id) {
+			double speed = ped.getFootstepHistory().getAverageSpeedInMeterPerSecond();
+			putDouble(Double.isNaN(speed) ? 0.0 : speed);
+		} else if (variableId == PersonVar.ANGLE.id) {
+			putDouble(ped.getFootstepHistory().getNorthBoundHeadingAngleDeg());
+		} else if (variableId == PersonVar.TARGET_LIST.id) {
+			List<Integer> targets = ped.getTargets();
+			putUnsignedByte(TraCIDataType.STRING_LIST.id);
+			ensureRemaining(4);
+			buffer.putInt(targets.size());
+			for (int target : targets) {
+				putString(Integer.toString(target));
+			}
+		} else if (variableId == PersonVar.NEXT_TARGET_LIST_INDEX.id) {
+			putInt(ped.getNextTargetListIndex());
+		} else if (variableId == PersonVar.HAS_NEXT_TARGET.id) {
+			putInt(ped.hasNextTarget() ? 1 : 0);
+		}
+	}
+
+	private void put2DPosition(double x, double y) {
+		ensureRemaining(17);
+		buffer.put((byte) TraCIDataType.POS_2D.id);
+		buffer.putDouble(x);
+		buffer.putDouble(y);
+	}
+
+	private void putDouble(double value) {
+		ensureRemaining(9);
+		buffer.put((byte) TraCIDataType.DOUBLE.id);
+		buffer.putDouble(value);
+	}
+
+	private void putInt(int value) {
+		ensureRemaining(5);
+		buffer.put((byte) TraCIDataType.INTEGER.id);
+		buffer.putInt(value);
+	}
+
+	private void putUnsignedByte(int value) {
+		ensureRemaining(1);
+		buffer.put((byte) value);
+	}
+
+	private void putString(String value) {
+		byte[] bytes = value.getBytes(StandardCharsets.US_ASCII);
+		ensureRemaining(4 + bytes.length);
+		buffer.putInt(bytes.length);
+		buffer.put(bytes);
+	}
+
+	private void ensureRemaining(int length) {
+		if (buffer.remaining() < length) {
+			ByteBuffer newBuffer = ByteBuffer.allocate(Math.max(2 * buffer.capacity(), buffer.position() + length));
+			buffer.flip();
+			newBuffer.put(buffer);
+			buffer = newBuffer;
+		}
+	}
+
+	public boolean isDeltaEncoding() {
+		return deltaEncoding;
+	}
+
+	public void setDeltaEncoding(boolean deltaEncoding) {
+		this.deltaEncoding = deltaEncoding;
+		lastRecords.clear();
+	}
+
+	public TraCIContextSubscriptionCommand getContextSubscriptionCommand() {
+		return contextSubscriptionCommand;
+	}
+
+	private static class ElementRecord {
+		private byte[] bytes = new byte[0];
+		private int length;
+		private int execution;
+	}
+}
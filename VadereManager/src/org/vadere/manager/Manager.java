@@ -5,6 +5,7 @@ import net.sourceforge.argparse4j.inf.ArgumentParser;
 import net.sourceforge.argparse4j.inf.Namespace;
 import net.sourceforge.argparse4j.internal.HelpScreenException;
 
+import org.vadere.manager.partition.DomainSimulation;
 import org.vadere.manager.server.AbstractVadereServer;
 import org.vadere.manager.server.VadereServer;
 import org.vadere.manager.server.VadereSingleClientServer;
@@ -12,8 +13,13 @@ import org.vadere.util.io.VadereArgumentParser;
 import org.vadere.util.logging.Logger;
 
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
+import java.net.UnknownHostException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -30,14 +36,23 @@ public class Manager {
 		try {
 			ns = p.parseArgsAndProcessInitialOptions(args);
 
+			if (ns.getInt("domains") > 1) {
+				runDomain(ns);
+				logger.info("Run finished.");
+				return;
+			}
+
 			ServerSocket serverSocket = new ServerSocket(ns.getInt("port"), 50, InetAddress.getByName(ns.getString("bind")));
 			logger.infof("Start Server(%s) with Loglevel: %s", VadereServer.currentVersion.getVersionString(), logger.getLevel().toString());
 			AbstractVadereServer server;
 			if (ns.getBoolean("singleClient")) {
 				server = new VadereSingleClientServer(serverSocket, Paths.get(ns.getString("output-dir")), ns.getBoolean("guiMode"), ns.getBoolean("trace"), ns.getString("scenario"));
 			} else {
-				ExecutorService pool = Executors.newFixedThreadPool(ns.getInt("clientNum"));
-				server = new VadereServer(serverSocket, pool, Paths.get(ns.getString("output-dir")), ns.getBoolean("guiMode"), ns.getBoolean("trace"));
+				// sessions mostly wait for their client, the computation of all sessions is bounded by the step budget
+				ExecutorService pool = ns.getInt("clientNum") > 0 ? Executors.newFixedThreadPool(ns.getInt("clientNum")) : Executors.newCachedThreadPool();
+				int stepThreads = ns.getInt("stepThreads") > 0 ? ns.getInt("stepThreads") : Runtime.getRuntime().availableProcessors();
+				server = new VadereServer(serverSocket, pool, Paths.get(ns.getString("output-dir")), ns.getBoolean("guiMode"), ns.getBoolean("trace"),
+						new StepBudget(stepThreads), ns.getInt("metricsInterval"));
 			}
 			server.run();
 			logger.info("Run finished.");
@@ -51,6 +66,37 @@ public class Manager {
 		logger.info("Close Vadere.");
 	}
 
+	/**
+	 * Simulates one domain of a spatially partitioned scenario, see {@link DomainSimulation}. Domain i listens
+	 * on the i-th address of --domain-hosts or, if not given, on port + i of the bind address.
+	 */
+	private static void runDomain(Namespace ns) throws UnknownHostException {
+		int numberOfDomains = ns.getInt("domains");
+		int domain = ns.getInt("domain");
+		if (ns.getString("scenario") == null || domain < 0 || domain >= numberOfDomains) {
+			throw new IllegalArgumentException("a partitioned simulation requires --scenario and --domain in [0, " + numberOfDomains + ").");
+		}
+
+		List<InetSocketAddress> addresses = new ArrayList<>();
+		List<String> hosts = ns.getList("domainHosts");
+		if (hosts == null) {
+			InetAddress bind = InetAddress.getByName(ns.getString("bind"));
+			for (int i = 0; i < numberOfDomains; i++) {
+				addresses.add(new InetSocketAddress(bind, ns.getInt("port") + i));
+			}
+		} else if (hosts.size() == numberOfDomains) {
+			for (String host : hosts) {
+				String[] hostAndPort = host.split(":");
+				addresses.add(new InetSocketAddress(InetAddress.getByName(hostAndPort[0]), Integer.parseInt(hostAndPort[1])));
+			}
+		} else {
+			throw new IllegalArgumentException("--domain-hosts requires one <host>:<port> for each of the " + numberOfDomains + " domains.");
+		}
+
+		Path outputDir = Paths.get(ns.getString("output-dir"), "domain_" + domain);
+		new DomainSimulation(Paths.get(ns.getString("scenario")), outputDir, numberOfDomains, domain, ns.getDouble("halo"), addresses).run();
+	}
+
 	private static VadereArgumentParser createArgumentParser() {
 		VadereArgumentParser vadereArgumentParser = new VadereManagerArgumentParser();
 		ArgumentParser parser = vadereArgumentParser.getArgumentParser();
@@ -99,7 +145,21 @@ public class Manager {
 				.type(Integer.class)
 				.setDefault(4)
 				.dest("clientNum")
-				.help("Set number of clients to manager. Important: Each client has a separate simulation. No communication between clients");
+				.help("Set number of clients to manager. Important: Each client has a separate simulation. No communication between clients. 0 accepts any number of clients.");
+
+		parser.addArgument("--step-threads")
+				.required(false)
+				.type(Integer.class)
+				.setDefault(0)
+				.dest("stepThreads")
+				.help("Maximal number of simulations (of all clients) computing a simulation step at the same time. 0 uses the number of processors.");
+
+		parser.addArgument("--metrics-interval")
+				.required(false)
+				.type(Integer.class)
+				.setDefault(60)
+				.dest("metricsInterval")
+				.help("Interval in seconds of logging the step latency of each client. 0 disables the logging.");
 
 		parser.addArgument("--trace")
 				.required(false)
@@ -137,5 +197,33 @@ public class Manager {
 				.dest("scenario") // set name in namespace
 				.type(String.class)
 				.help("Supply path to scenario. This will start this scenario and waits for first simstep command");
+
+		parser.addArgument("--domains")
+				.required(false)
+				.type(Integer.class)
+				.setDefault(1)
+				.dest("domains")
+				.help("Split the topography of --scenario into this number of vertical strips (domains). Each domain is simulated by its own process which exchanges boundary pedestrians with its neighbours.");
+
+		parser.addArgument("--domain")
+				.required(false)
+				.type(Integer.class)
+				.setDefault(0)
+				.dest("domain")
+				.help("Index of the domain simulated by this process.");
+
+		parser.addArgument("--halo")
+				.required(false)
+				.type(Double.class)
+				.setDefault(2.0)
+				.dest("halo")
+				.help("Width of the boundary region of a domain whose pedestrians are mirrored to the neighbouring domain.");
+
+		parser.addArgument("--domain-hosts")
+				.required(false)
+				.nargs("+")
+				.type(String.class)
+				.dest("domainHosts")
+				.help("<host>:<port> of each domain (in the order of the domains). Default: --bind and --port + domain index.");
 	}
 }
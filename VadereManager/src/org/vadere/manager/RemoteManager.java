@@ -27,7 +27,6 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static java.lang.System.currentTimeMillis;
-import static java.lang.Thread.sleep;
 
 /**
  * This class acts as interface between the TraCI handling and the actual simulation. All
@@ -52,11 +51,19 @@ public class RemoteManager implements RunnableFinishedListener {
 	private SimulationCfg simCfg;    // received from traci client.
 
 	private List<Subscription> subscriptions;
+	private final StepBudget stepBudget;
+	private final StepStatistics stepStatistics;
 
 
 	public RemoteManager(Path defaultOutputdir, boolean guiSupport) {
+		this(defaultOutputdir, guiSupport, StepBudget.unbounded());
+	}
+
+	public RemoteManager(Path defaultOutputdir, boolean guiSupport, StepBudget stepBudget) {
 		this.defaultOutputdir = defaultOutputdir;
 		this.guiSupport = guiSupport;
+		this.stepBudget = stepBudget;
+		this.stepStatistics = new StepStatistics();
 		this.subscriptions = new ArrayList<>();
 		this.clientCloseCommandReceived = false;
 		this.simCfg = null;
@@ -92,7 +99,7 @@ public class RemoteManager implements RunnableFinishedListener {
 				logger.infof("received seed from traci client '%s'", Long.toString(simCfg.getSeed()));
 			}
 		}
-		currentSimulationRun = new RemoteScenarioRun(scenario, outputDir, this, scenarioPath, scenarioCache);
+		currentSimulationRun = new RemoteScenarioRun(scenario, outputDir, this, scenarioPath, scenarioCache, stepBudget, stepStatistics);
 	}
 
 	public SimThreadState getCurrentSimThreadState(){
@@ -184,6 +191,10 @@ public class RemoteManager implements RunnableFinishedListener {
 	@Override
 	public void finished(Runnable runnable) {
 		simulationFinished = true;
+		if (runnable instanceof RemoteScenarioRun) {
+			// wake up a client waiting for a step of a failed simulation
+			((RemoteScenarioRun) runnable).simulationThreadFinished();
+		}
 		logger.infof("Simulation finished.");
 		if (guiSupport)
 			ServerView.close();
@@ -209,6 +220,7 @@ public class RemoteManager implements RunnableFinishedListener {
 		}
 
 		logger.infof("Start Scenario %s with remote control...", currentSimulationRun.getScenario().getName());
+		currentSimulationRun.acquireStepBudget();
 		currentSimulationThread.start();
 	}
 
@@ -220,6 +232,10 @@ public class RemoteManager implements RunnableFinishedListener {
 		this.simCfg = simCfg;
 	}
 
+	public StepStatistics getStepStatistics() {
+		return stepStatistics;
+	}
+
 	public Path getOutputDirectory(){
 		return this.defaultOutputdir;
 	}
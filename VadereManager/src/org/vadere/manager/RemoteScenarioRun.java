@@ -11,34 +11,62 @@ import org.vadere.state.traci.TraCIException;
 
 import java.nio.file.Path;
 import java.util.List;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * A {@link ScenarioRun} controlled by a TraCI client. The simulation thread waits for a command of the
+ * client at the end of each step. The client thread waits for the completion of a requested step (and
+ * accesses the simulation state only while the simulation thread waits), i.e. a step is completed if the
+ * simulation thread waits for the next command or the simulation ended. The threads are synchronized by a
+ * lock and a condition with an explicit completion state, i.e. a signal can not get lost if it is sent before
+ * the client starts waiting.
+ *
+ * The simulation thread computes only while it holds a permit of the {@link StepBudget} of the server.
+ */
 public class RemoteScenarioRun extends ScenarioRun implements RemoteRunListener {
 
-	private final Object waitForSimStepLoopEnd;
 	private final ReentrantLock lock;
+	private final Condition simulationWaiting;
+	private final StepBudget stepBudget;
+	private final StepStatistics stepStatistics;
 	private List<Subscription> subscriptions;
 	private double simulationStoppedEarlyAtTime;
 
+	// guarded by lock
+	private long numberOfWaits;
+	private boolean waitForCommand;
+	private boolean simulationEnded;
+	private boolean holdsStepBudget;
+
 
 	public RemoteScenarioRun(Scenario scenario, Path outputDir, RunnableFinishedListener scenarioFinishedListener, Path scenarioPath, ScenarioCache scenarioCache) {
+		this(scenario, outputDir, scenarioFinishedListener, scenarioPath, scenarioCache, StepBudget.unbounded(), new StepStatistics());
+	}
+
+	public RemoteScenarioRun(Scenario scenario, Path outputDir, RunnableFinishedListener scenarioFinishedListener, Path scenarioPath, ScenarioCache scenarioCache,
+							 StepBudget stepBudget, StepStatistics stepStatistics) {
 		// overwriteTimestampSetting. In RemoteScenarioRun the caller defines where the output should go.
 		super(scenario, outputDir.toString(), true,scenarioFinishedListener, scenarioPath, scenarioCache);
 		this.singleStepMode = true;
-		this.waitForSimStepLoopEnd = new Object();
 		this.lock = new ReentrantLock();
+		this.simulationWaiting = lock.newCondition();
+		this.stepBudget = stepBudget;
+		this.stepStatistics = stepStatistics;
 		this.simulationStoppedEarlyAtTime = Double.MAX_VALUE;
+		this.numberOfWaits = 0;
+		this.waitForCommand = false;
+		this.simulationEnded = false;
+		this.holdsStepBudget = false;
 		addRemoteManagerListener(this);
 	}
 
-	synchronized public boolean accessState(RemoteManager remoteManager, StateAccessHandler stateAccessHandler) {
+	public boolean accessState(RemoteManager remoteManager, StateAccessHandler stateAccessHandler) {
+		lock.lock();
 		try {
-			if (!isWaitForSimCommand()) {
-				synchronized (waitForSimStepLoopEnd) {
-					waitForSimStepLoopEnd.wait();
-				}
+			while (!waitForCommand && !simulationEnded) {
+				simulationWaiting.await();
 			}
-			lock.lock();
 			if (!checkValidThreadState()){
 				throw new TraCIException("Invalid access to simulation state. Simulation thread in state %s", simulation.getThreadState().name());
 			}
@@ -64,44 +92,139 @@ public class RemoteScenarioRun extends ScenarioRun implements RemoteRunListener
 	}
 
 
-	synchronized public void waitForSimulationEnd(){
+	public void waitForSimulationEnd(){
+		lock.lock();
 		try {
-			synchronized (waitForSimStepLoopEnd) {
-				waitForSimStepLoopEnd.wait();
+			while (!simulationEnded) {
+				simulationWaiting.await();
 			}
-
 		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
 			logger.errorf("Interrupted while waiting for simulation thread to finish post loop");
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Acquires a permit of the step budget for the initialization and the first step of the simulation.
+	 * Has to be called before the simulation thread is started.
+	 */
+	public void acquireStepBudget() {
+		try {
+			stepBudget.acquire();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TraCIException("Interrupted while waiting for the step budget");
+		}
+		lock.lock();
+		try {
+			holdsStepBudget = true;
+		} finally {
+			lock.unlock();
 		}
 	}
 
-	synchronized public void nextStep(double simTime) {
+	/**
+	 * Simulates until the given time (or one step if the time is -1) and returns if the step is completed, i.e.
+	 * the simulation waits for the next command or the simulation ended.
+	 */
+	public void nextStep(double simTime) {
+		long requestTime = System.nanoTime();
+		long budgetWait;
+		long waits;
 		try {
+			// the simulation has to wait for a command, otherwise the command can get lost
 			lock.lock();
+			try {
+				while (!waitForCommand && !simulationEnded) {
+					simulationWaiting.await();
+				}
+				if (simulationEnded) {
+					return;
+				}
+			} finally {
+				lock.unlock();
+			}
+
+			stepBudget.acquire();
+			budgetWait = System.nanoTime() - requestTime;
+
+			lock.lock();
+			try {
+				waits = numberOfWaits;
+				waitForCommand = false;
+				holdsStepBudget = true;
+			} finally {
+				lock.unlock();
+			}
+
 			nextSimCommand(simTime);
 
+			lock.lock();
+			try {
+				while (numberOfWaits == waits && !simulationEnded) {
+					simulationWaiting.await();
+				}
+			} finally {
+				lock.unlock();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new TraCIException("Interrupted while waiting for the simulation step");
+		}
+
+		stepStatistics.record(System.nanoTime() - requestTime, budgetWait);
+	}
+
+	/**
+	 * Wakes up the simulation thread without waiting for the next step, i.e. to finish the post loop.
+	 */
+	public void notifySimulationThread(){
+		lock.lock();
+		try {
+			waitForCommand = false;
 		} finally {
 			lock.unlock();
 		}
+		nextSimCommand(-1);
 	}
 
-	synchronized public void notifySimulationThread(){
-		nextStep(-1);
+	/**
+	 * Called if the simulation thread terminated (regularly or by an exception).
+	 */
+	public void simulationThreadFinished() {
+		simulationWaits(true);
 	}
 
+	private void simulationWaits(boolean ended) {
+		lock.lock();
+		try {
+			numberOfWaits++;
+			waitForCommand = true;
+			simulationEnded |= ended;
+			if (holdsStepBudget) {
+				holdsStepBudget = false;
+				stepBudget.release();
+			}
+			simulationWaiting.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
 
 	@Override
 	public void notifySimStepListener() {
-		synchronized (waitForSimStepLoopEnd) {
-			waitForSimStepLoopEnd.notify();
-		}
+		simulationWaits(false);
 	}
 
 	@Override
 	public void notifySimulationEndListener() {
-		synchronized (waitForSimStepLoopEnd) {
-			waitForSimStepLoopEnd.notify();
-		}
+		simulationWaits(true);
+	}
+
+	public StepStatistics getStepStatistics() {
+		return stepStatistics;
 	}
 
 	@Override
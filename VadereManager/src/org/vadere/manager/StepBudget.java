@@ -0,0 +1,47 @@
+package org.vadere.manager;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Bounds the number of remote simulations which compute (simulation) steps at the same time. One budget is
+ * shared by all sessions of a server, i.e. a server can host many more sessions than there are cores. The
+ * simulation thread of a session only holds a permit while it computes, i.e. from the time a client requests
+ * the next step until the simulation waits for the next command of the client. Permits are handed out in the
+ * order of the requests.
+ */
+public class StepBudget {
+
+	private final int threads;
+	private final Semaphore permits;
+
+	public StepBudget(int threads) {
+		if (threads < 1) {
+			throw new IllegalArgumentException("a step budget requires at least one thread: " + threads);
+		}
+		this.threads = threads;
+		this.permits = new Semaphore(threads, true);
+	}
+
+	/**
+	 * Returns a budget which does not bound the number of computing simulations.
+	 */
+	public static StepBudget unbounded() {
+		return new StepBudget(Integer.MAX_VALUE);
+	}
+
+	public void acquire() throws InterruptedException {
+		permits.acquire();
+	}
+
+	public void release() {
+		permits.release();
+	}
+
+	public int getThreads() {
+		return threads;
+	}
+
+	public int getAvailableThreads() {
+		return permits.availablePermits();
+	}
+}
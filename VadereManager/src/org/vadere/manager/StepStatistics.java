@@ -0,0 +1,42 @@
+package org.vadere.manager;
+
+/**
+ * Step latency of one session, i.e. the time between the request of a simulation step by the client and the
+ * completion of the step. The latency includes the time the step waited for the {@link StepBudget} of the server.
+ */
+public class StepStatistics {
+
+	private long steps;
+	private long totalLatencyNanos;
+	private long maxLatencyNanos;
+	private long totalBudgetWaitNanos;
+
+	public synchronized void record(long latencyNanos, long budgetWaitNanos) {
+		steps++;
+		totalLatencyNanos += latencyNanos;
+		maxLatencyNanos = Math.max(maxLatencyNanos, latencyNanos);
+		totalBudgetWaitNanos += budgetWaitNanos;
+	}
+
+	public synchronized long getSteps() {
+		return steps;
+	}
+
+	public synchronized double getMeanLatencyInMs() {
+		return steps == 0 ? 0.0 : totalLatencyNanos / (steps * 1e6);
+	}
+
+	public synchronized double getMaxLatencyInMs() {
+		return maxLatencyNanos / 1e6;
+	}
+
+	public synchronized double getMeanBudgetWaitInMs() {
+		return steps == 0 ? 0.0 : totalBudgetWaitNanos / (steps * 1e6);
+	}
+
+	@Override
+	public synchronized String toString() {
+		return String.format("steps=%d mean latency=%.3fms max latency=%.3fms mean budget wait=%.3fms",
+				getSteps(), getMeanLatencyInMs(), getMaxLatencyInMs(), getMeanBudgetWaitInMs());
+	}
+}
@@ -0,0 +1,86 @@
+package org.vadere.manager.partition;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Topography;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits the bounds of a topography into vertical strips of equal width, the domains. Each domain is
+ * simulated by its own process which owns all pedestrians whose x-coordinate lies within its strip.
+ * The halo of a domain is the part of the neighbouring strips within the halo width, pedestrians of
+ * the neighbours standing in the halo are mirrored into the domain (see {@link HaloExchange}). Since
+ * the halo width has to be smaller than the width of a strip, domains only interact with their direct
+ * neighbours.
+ */
+public class DomainDecomposition {
+
+	private final VRectangle bounds;
+	private final int numberOfDomains;
+	private final double haloWidth;
+	private final double stripWidth;
+
+	public DomainDecomposition(@NotNull final Rectangle2D bounds, final int numberOfDomains, final double haloWidth) {
+		if (numberOfDomains < 1) {
+			throw new IllegalArgumentException("the number of domains has to be positive.");
+		}
+
+		this.bounds = new VRectangle(bounds);
+		this.numberOfDomains = numberOfDomains;
+		this.haloWidth = haloWidth;
+		this.stripWidth = bounds.getWidth() / numberOfDomains;
+
+		if (haloWidth < 0 || (numberOfDomains > 1 && haloWidth >= stripWidth)) {
+			throw new IllegalArgumentException("the halo width " + haloWidth + " has to be non-negative and smaller than the domain width " + stripWidth + ".");
+		}
+	}
+
+	public int getNumberOfDomains() {
+		return numberOfDomains;
+	}
+
+	public double getHaloWidth() {
+		return haloWidth;
+	}
+
+	public VRectangle getDomain(final int domain) {
+		return new VRectangle(bounds.getMinX() + domain * stripWidth, bounds.getMinY(), stripWidth, bounds.getHeight());
+	}
+
+	/**
+	 * Returns the domain which owns the position, positions outside the bounds are owned by the nearest domain.
+	 */
+	public int getOwner(@NotNull final VPoint position) {
+		int domain = (int) Math.floor((position.getX() - bounds.getMinX()) / stripWidth);
+		return Math.max(0, Math.min(numberOfDomains - 1, domain));
+	}
+
+	/**
+	 * Returns the neighbours of the domain whose halo contains the position.
+	 */
+	public List<Integer> getHaloNeighbours(final int domain, @NotNull final VPoint position) {
+		List<Integer> neighbours = new ArrayList<>(2);
+		double minX = bounds.getMinX() + domain * stripWidth;
+		if (domain > 0 && position.getX() < minX + haloWidth) {
+			neighbours.add(domain - 1);
+		}
+		if (domain < numberOfDomains - 1 && position.getX() >= minX + stripWidth - haloWidth) {
+			neighbours.add(domain + 1);
+		}
+		return neighbours;
+	}
+
+	/**
+	 * Removes all sources and initial pedestrians of the topography which are not owned by the domain. Obstacles
+	 * and targets are kept, i.e. floor fields of each domain are computed for the whole topography.
+	 */
+	public void restrict(@NotNull final Topography topography, final int domain) {
+		topography.getSources().removeIf(source -> getOwner(source.getShape().getCentroid()) != domain);
+		topography.getInitialElements(Pedestrian.class).removeIf(pedestrian -> getOwner(pedestrian.getPosition()) != domain);
+	}
+}
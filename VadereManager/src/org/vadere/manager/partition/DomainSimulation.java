@@ -0,0 +1,73 @@
+package org.vadere.manager.partition;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.simulator.control.simulation.ScenarioRun;
+import org.vadere.simulator.entrypoints.ScenarioFactory;
+import org.vadere.simulator.projects.Scenario;
+import org.vadere.simulator.utils.cache.ScenarioCache;
+import org.vadere.util.logging.Logger;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Simulates one domain of a scenario which is split into {@link DomainDecomposition#getNumberOfDomains()}
+ * domains. Each domain is simulated by its own {@link DomainSimulation} (usually its own process), the domains
+ * exchange their boundary pedestrians by a {@link HaloExchange}. All domains load the whole scenario, but only
+ * the sources and initial pedestrians of their own domain are kept.
+ */
+public class DomainSimulation implements Runnable {
+
+	private static final Logger logger = Logger.getLogger(DomainSimulation.class);
+
+	private final Path scenarioFile;
+	private final Path outputDir;
+	private final int numberOfDomains;
+	private final int domain;
+	private final double haloWidth;
+	private final List<InetSocketAddress> addresses;
+
+	/**
+	 * @param scenarioFile    the scenario which is split into domains
+	 * @param outputDir       the output directory of this domain
+	 * @param numberOfDomains the number of domains
+	 * @param domain          the domain simulated by this instance
+	 * @param haloWidth       the width of the halo of a domain
+	 * @param addresses       the addresses of all domains, ordered by their domain
+	 */
+	public DomainSimulation(@NotNull final Path scenarioFile, @NotNull final Path outputDir, final int numberOfDomains,
+							final int domain, final double haloWidth, @NotNull final List<InetSocketAddress> addresses) {
+		this.scenarioFile = scenarioFile;
+		this.outputDir = outputDir;
+		this.numberOfDomains = numberOfDomains;
+		this.domain = domain;
+		this.haloWidth = haloWidth;
+		this.addresses = addresses;
+	}
+
+	@Override
+	public void run() {
+		Scenario scenario;
+		try {
+			scenario = ScenarioFactory.createScenarioWithScenarioFilePath(scenarioFile);
+		} catch (IOException e) {
+			throw new IllegalArgumentException("cannot read scenario " + scenarioFile, e);
+		}
+
+		DomainDecomposition decomposition = new DomainDecomposition(scenario.getTopography().getBounds(), numberOfDomains, haloWidth);
+		decomposition.restrict(scenario.getTopography(), domain);
+		logger.infof("simulate domain %d of %d: x in [%.2f, %.2f)", domain, numberOfDomains,
+				decomposition.getDomain(domain).getMinX(), decomposition.getDomain(domain).getMaxX());
+
+		try (HaloExchange haloExchange = new HaloExchange(decomposition, domain, addresses)) {
+			ScenarioCache scenarioCache = ScenarioCache.load(scenario, scenarioFile.getParent());
+			ScenarioRun scenarioRun = new ScenarioRun(scenario, outputDir.toString(), true, null, scenarioFile, scenarioCache);
+			scenarioRun.addActiveCallback(haloExchange);
+			scenarioRun.run();
+		} catch (IOException e) {
+			throw new IllegalStateException("domain " + domain + " cannot bind " + addresses.get(domain), e);
+		}
+	}
+}
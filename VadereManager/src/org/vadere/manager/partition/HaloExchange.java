@@ -0,0 +1,349 @@
+package org.vadere.manager.partition;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.vadere.manager.TraCISocket;
+import org.vadere.manager.traci.reader.TraCIPacketBuffer;
+import org.vadere.manager.traci.writer.TraCIPacket;
+import org.vadere.simulator.control.simulation.ActiveCallback;
+import org.vadere.simulator.models.DynamicElementFactory;
+import org.vadere.simulator.projects.Domain;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Topography;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.Vector2D;
+import org.vadere.util.logging.Logger;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Exchanges pedestrians of a domain (see {@link DomainDecomposition}) with the processes simulating the
+ * neighbouring domains. Before each simulation step, pedestrians which left the domain are migrated to the
+ * neighbour owning their new position and pedestrians standing in the halo of a neighbour are sent to this
+ * neighbour as ghosts. Ghosts are added to the topography as read-only ghosts (see {@link Topography#addGhost}) such
+ * that the spatial queries of the models see them, but they are neither moved by the models nor absorbed by targets
+ * of this domain. They are removed again after the models are updated, i.e. they are not written to the output.
+ *
+ * The domains are connected by TCP connections between direct neighbours, each domain listens on its own
+ * address for its right neighbour. Each message is a TraCI packet (see {@link TraCISocket}), i.e. an int
+ * containing the length of the packet followed by the step number and the migrants and ghosts. Within one
+ * step, a domain first receives from and sends to its left neighbour and then sends to and receives from
+ * its right neighbour, i.e. all processes execute the same step and wait for their neighbours.
+ *
+ * Pedestrians are recreated by the main model of the receiving domain. Only the position, velocity, free flow
+ * speed and targets are transferred, model specific state of a migrated pedestrian is initialized again.
+ */
+public class HaloExchange implements ActiveCallback, Closeable {
+
+	private static final Logger logger = Logger.getLogger(HaloExchange.class);
+
+	/**
+	 * Each domain issues ids of new pedestrians starting at <tt>domain * ID_BLOCK_SIZE</tt> such that pedestrians
+	 * created by different domains have different ids.
+	 */
+	public static final int ID_BLOCK_SIZE = 1 << 20;
+
+	private static final int CONNECT_TIMEOUT_MS = 120_000;
+	private static final int CONNECT_RETRY_MS = 100;
+
+	private final DomainDecomposition decomposition;
+	private final int domain;
+	private final List<InetSocketAddress> addresses;
+	private final ServerSocket serverSocket;
+
+	private TraCISocket left;
+	private TraCISocket right;
+	private Topography topography;
+	private DynamicElementFactory dynamicElementFactory;
+	private int step;
+
+	/**
+	 * Binds the address of the domain such that its right neighbour can connect before this domain is simulated.
+	 *
+	 * @param decomposition the decomposition of the topography
+	 * @param domain        the domain simulated by this process
+	 * @param addresses     the addresses of all domains, ordered by their domain
+	 */
+	public HaloExchange(@NotNull final DomainDecomposition decomposition, final int domain, @NotNull final List<InetSocketAddress> addresses) throws IOException {
+		if (domain < 0 || domain >= decomposition.getNumberOfDomains() || addresses.size() != decomposition.getNumberOfDomains()) {
+			throw new IllegalArgumentException("domain " + domain + " and " + addresses.size() + " addresses do not match "
+					+ decomposition.getNumberOfDomains() + " domains.");
+		}
+
+		this.decomposition = decomposition;
+		this.domain = domain;
+		this.addresses = addresses;
+		this.step = 0;
+
+		if (domain < decomposition.getNumberOfDomains() - 1) {
+			this.serverSocket = new ServerSocket();
+			this.serverSocket.setReuseAddress(true);
+			this.serverSocket.bind(addresses.get(domain));
+		} else {
+			this.serverSocket = null;
+		}
+	}
+
+	@Override
+	public void setDomain(Domain domain, DynamicElementFactory dynamicElementFactory) {
+		this.topography = domain.getTopography();
+		this.dynamicElementFactory = dynamicElementFactory;
+	}
+
+	@Override
+	public void preLoop(double simTimeInSec) {
+		topography.setMinNextDynamicElementId(domain * ID_BLOCK_SIZE);
+
+		try {
+			if (domain > 0) {
+				left = connect(addresses.get(domain - 1));
+				TraCIPacket hello = TraCIPacket.create();
+				hello.writeInt(domain);
+				left.sendExact(hello);
+			}
+
+			if (serverSocket != null) {
+				serverSocket.setSoTimeout(CONNECT_TIMEOUT_MS);
+				right = new TraCISocket(serverSocket.accept());
+				int neighbour = right.receiveExact().readInt();
+				if (neighbour != domain + 1) {
+					throw new IllegalStateException("domain " + domain + " expects domain " + (domain + 1) + " as right neighbour but domain " + neighbour + " connected.");
+				}
+				serverSocket.close();
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("domain " + domain + " could not connect to its neighbours.", e);
+		}
+		logger.infof("domain %d connected to its neighbours.", domain);
+	}
+
+	@Override
+	public void postLoop(double simTimeInSec) {
+		try {
+			close();
+		} catch (IOException e) {
+			logger.warn("could not close the connections of domain " + domain + ": " + e.getMessage());
+		}
+	}
+
+	@Override
+	public void preUpdate(double simTimeInSec) {
+		step++;
+
+		List<Pedestrian> emigrantsLeft = new ArrayList<>();
+		List<Pedestrian> emigrantsRight = new ArrayList<>();
+		List<Pedestrian> ghostsLeft = new ArrayList<>();
+		List<Pedestrian> ghostsRight = new ArrayList<>();
+
+		for (Pedestrian pedestrian : topography.getPedestrianDynamicElements().getElements()) {
+			VPoint position = pedestrian.getPosition();
+			int owner = decomposition.getOwner(position);
+			if (owner < domain) {
+				emigrantsLeft.add(pedestrian);
+			} else if (owner > domain) {
+				emigrantsRight.add(pedestrian);
+			} else {
+				for (int neighbour : decomposition.getHaloNeighbours(domain, position)) {
+					(neighbour < domain ? ghostsLeft : ghostsRight).add(pedestrian);
+				}
+			}
+		}
+
+		// the left neighbour sends first, i.e. the exchange can not deadlock
+		Message fromLeft = null;
+		boolean sentLeft = false;
+		if (left != null) {
+			fromLeft = receive(left);
+			sentLeft = fromLeft != null && send(left, emigrantsLeft, ghostsLeft);
+			if (!sentLeft) {
+				left = closeQuietly(left);
+			}
+		}
+
+		Message fromRight = null;
+		if (right != null) {
+			fromRight = send(right, emigrantsRight, ghostsRight) ? receive(right) : null;
+			if (fromRight == null) {
+				right = closeQuietly(right);
+			}
+		}
+
+		// emigrants stay in this domain if their neighbour has finished
+		if (sentLeft) {
+			emigrantsLeft.forEach(topography::removeElement);
+		}
+		if (fromRight != null) {
+			emigrantsRight.forEach(topography::removeElement);
+		}
+
+		for (Message message : new Message[]{fromLeft, fromRight}) {
+			if (message != null) {
+				message.migrants.forEach(state -> addPedestrian(state, false));
+				message.ghosts.forEach(state -> addPedestrian(state, true));
+			}
+		}
+	}
+
+	@Override
+	public void postUpdate(double simTimeInSec) {
+		topography.removeGhosts(Pedestrian.class);
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (serverSocket != null) {
+			serverSocket.close();
+		}
+		left = closeQuietly(left);
+		right = closeQuietly(right);
+	}
+
+	private TraCISocket connect(@NotNull final InetSocketAddress address) throws IOException {
+		long deadline = System.currentTimeMillis() + CONNECT_TIMEOUT_MS;
+		while (true) {
+			try {
+				return new TraCISocket(new Socket(address.getAddress(), address.getPort()));
+			} catch (IOException e) {
+				if (System.currentTimeMillis() > deadline) {
+					throw e;
+				}
+				try {
+					Thread.sleep(CONNECT_RETRY_MS);
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+					throw new IOException("interrupted while connecting to " + address, ie);
+				}
+			}
+		}
+	}
+
+	private boolean send(@NotNull final TraCISocket socket, @NotNull final List<Pedestrian> migrants, @NotNull final List<Pedestrian> ghosts) {
+		TraCIPacket packet = TraCIPacket.create();
+		packet.writeInt(step);
+		writePedestrians(packet, migrants);
+		writePedestrians(packet, ghosts);
+		try {
+			socket.sendExact(packet);
+			return true;
+		} catch (IOException e) {
+			logger.warnf("domain %d could not send step %d to a neighbour, the neighbour has finished: %s", domain, step, e.getMessage());
+			return false;
+		}
+	}
+
+	/**
+	 * Returns the message of the neighbour or <tt>null</tt> if the neighbour has finished.
+	 */
+	@Nullable
+	private Message receive(@NotNull final TraCISocket socket) {
+		TraCIPacketBuffer buffer;
+		try {
+			buffer = socket.receiveExact();
+		} catch (EOFException | SocketException e) {
+			logger.infof("a neighbour of domain %d has finished before step %d.", domain, step);
+			return null;
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		int neighbourStep = buffer.readInt();
+		if (neighbourStep != step) {
+			throw new IllegalStateException("domain " + domain + " is at step " + step + " but its neighbour at step " + neighbourStep + ".");
+		}
+		return new Message(readPedestrians(buffer), readPedestrians(buffer));
+	}
+
+	private void writePedestrians(@NotNull final TraCIPacket packet, @NotNull final List<Pedestrian> pedestrians) {
+		packet.writeInt(pedestrians.size());
+		for (Pedestrian pedestrian : pedestrians) {
+			packet.writeInt(pedestrian.getId());
+			packet.writeDouble(pedestrian.getPosition().getX());
+			packet.writeDouble(pedestrian.getPosition().getY());
+			packet.writeDouble(pedestrian.getVelocity().getX());
+			packet.writeDouble(pedestrian.getVelocity().getY());
+			packet.writeDouble(pedestrian.getFreeFlowSpeed());
+			packet.writeInt(pedestrian.getNextTargetListIndex());
+			packet.writeInt(pedestrian.getTargets().size());
+			pedestrian.getTargets().forEach(packet::writeInt);
+		}
+	}
+
+	private List<PedestrianState> readPedestrians(@NotNull final TraCIPacketBuffer buffer) {
+		int count = buffer.readInt();
+		List<PedestrianState> pedestrians = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			PedestrianState state = new PedestrianState();
+			state.id = buffer.readInt();
+			state.position = new VPoint(buffer.readDouble(), buffer.readDouble());
+			state.velocity = new Vector2D(buffer.readDouble(), buffer.readDouble());
+			state.freeFlowSpeed = buffer.readDouble();
+			state.nextTargetListIndex = buffer.readInt();
+			int numberOfTargets = buffer.readInt();
+			state.targets = new LinkedList<>();
+			for (int j = 0; j < numberOfTargets; j++) {
+				state.targets.add(buffer.readInt());
+			}
+			pedestrians.add(state);
+		}
+		return pedestrians;
+	}
+
+	private void addPedestrian(@NotNull final PedestrianState state, final boolean ghost) {
+		if (topography.getPedestrianDynamicElements().getElement(state.id) != null) {
+			logger.warnf("domain %d already contains pedestrian %d, ignore it.", domain, state.id);
+			return;
+		}
+
+		Pedestrian pedestrian = (Pedestrian) dynamicElementFactory.createElement(state.position, state.id, Pedestrian.class);
+		pedestrian.setVelocity(state.velocity);
+		pedestrian.setFreeFlowSpeed(state.freeFlowSpeed);
+		pedestrian.setTargets(state.targets);
+		pedestrian.setNextTargetListIndex(state.nextTargetListIndex);
+
+		if (ghost) {
+			topography.addGhost(pedestrian);
+		} else {
+			topography.addElement(pedestrian);
+		}
+	}
+
+	private static TraCISocket closeQuietly(@Nullable final TraCISocket socket) {
+		if (socket != null) {
+			try {
+				socket.close();
+			} catch (IOException e) {
+				logger.warn("could not close connection: " + e.getMessage());
+			}
+		}
+		return null;
+	}
+
+	private static class PedestrianState {
+		private int id;
+		private VPoint position;
+		private Vector2D velocity;
+		private double freeFlowSpeed;
+		private int nextTargetListIndex;
+		private LinkedList<Integer> targets;
+	}
+
+	private static class Message {
+		private final List<PedestrianState> migrants;
+		private final List<PedestrianState> ghosts;
+
+		private Message(@NotNull final List<PedestrianState> migrants, @NotNull final List<PedestrianState> ghosts) {
+			this.migrants = migrants;
+			this.ghosts = ghosts;
+		}
+	}
+}
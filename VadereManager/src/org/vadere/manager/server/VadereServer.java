@@ -1,6 +1,7 @@
 package org.vadere.manager.server;
 
 import org.vadere.manager.ClientHandler;
+import org.vadere.manager.StepBudget;
 import org.vadere.manager.TraCISocket;
 import org.vadere.util.config.VadereConfig;
 
@@ -8,20 +9,50 @@ import java.io.IOException;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.nio.file.Path;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+/**
+ * Server which hosts one session (client connection with its own simulation) per client. The sessions are
+ * handled by the given pool, i.e. the pool bounds the number of concurrent sessions. The simulation steps of
+ * all sessions share one {@link StepBudget}, i.e. the number of simulations computing at the same time is
+ * bounded independently of the number of sessions. The step latency of each session is logged periodically
+ * and at the end of the session.
+ */
 public class VadereServer extends AbstractVadereServer {
 
 	private final ExecutorService handlerPool;
+	private final StepBudget stepBudget;
+	private final long metricsIntervalInSec;
+	private final Set<ClientHandler> sessions;
+	private final AtomicInteger nextSessionId;
 
 	public VadereServer(ServerSocket serverSocket, ExecutorService handlerPool, Path baseDir, boolean guiSupport, boolean trace) {
+		this(serverSocket, handlerPool, baseDir, guiSupport, trace, StepBudget.unbounded(), 0);
+	}
+
+	/**
+	 * @param stepBudget            the budget shared by the simulations of all sessions
+	 * @param metricsIntervalInSec  interval of logging the step latency of all sessions, 0 disables the logging
+	 */
+	public VadereServer(ServerSocket serverSocket, ExecutorService handlerPool, Path baseDir, boolean guiSupport, boolean trace,
+						StepBudget stepBudget, long metricsIntervalInSec) {
 		super(serverSocket, baseDir, guiSupport, trace);
 		this.handlerPool = handlerPool;
+		this.stepBudget = stepBudget;
+		this.metricsIntervalInSec = metricsIntervalInSec;
+		this.sessions = ConcurrentHashMap.newKeySet();
+		this.nextSessionId = new AtomicInteger(0);
 	}
 
 	@Override
 	public void run() {
+		ScheduledExecutorService metricsReporter = null;
 		try {
 			logger.infof("listening on port %d... (gui-mode: %s)", serverSocket.getLocalPort(), Boolean.toString(guiSupport));
 			if (VadereConfig.getConfig().getBoolean("Vadere.cache.useGlobalCacheBaseDir")) {
@@ -29,15 +60,36 @@ public class VadereServer extends AbstractVadereServer {
 						VadereConfig.getConfig().getString("Vadere.cache.globalCacheBaseDir"));
 			}
 
+			if (metricsIntervalInSec > 0) {
+				metricsReporter = Executors.newSingleThreadScheduledExecutor(r -> {
+					Thread thread = new Thread(r, "session-metrics");
+					thread.setDaemon(true);
+					return thread;
+				});
+				metricsReporter.scheduleAtFixedRate(this::logSessionMetrics, metricsIntervalInSec, metricsIntervalInSec, TimeUnit.SECONDS);
+			}
+
 			while (true) {
 				Socket clientSocket = serverSocket.accept();
-				handlerPool.execute(new ClientHandler(serverSocket, new TraCISocket(clientSocket, trace), baseDir, guiSupport));
+				ClientHandler handler = new ClientHandler(serverSocket, new TraCISocket(clientSocket, trace), baseDir, guiSupport,
+						stepBudget, nextSessionId.incrementAndGet());
+				sessions.add(handler);
+				handlerPool.execute(() -> {
+					try {
+						handler.run();
+					} finally {
+						sessions.remove(handler);
+					}
+				});
 			}
 		} catch (IOException e) {
 			e.printStackTrace();
 			logger.warn("Interrupt Vadere Server");
 		} finally {
 			logger.info("Shutdown Vadere Server ...");
+			if (metricsReporter != null) {
+				metricsReporter.shutdownNow();
+			}
 			handlerPool.shutdown();
 			try {
 				handlerPool.awaitTermination(4L, TimeUnit.SECONDS);
@@ -50,4 +102,20 @@ public class VadereServer extends AbstractVadereServer {
 		}
 
 	}
+
+	private void logSessionMetrics() {
+		if (sessions.isEmpty()) {
+			return;
+		}
+
+		logger.infof("%d sessions, %d of %d step threads busy", sessions.size(),
+				stepBudget.getThreads() - stepBudget.getAvailableThreads(), stepBudget.getThreads());
+		for (ClientHandler session : sessions) {
+			logger.infof("session %d: %s", session.getSessionId(), session.getStepStatistics());
+		}
+	}
+
+	public Set<ClientHandler> getSessions() {
+		return sessions;
+	}
 }
@@ -19,6 +19,7 @@ public enum TraCICmd {
 	SET_ORDER(0x03, CmdType.CTRL, ControlVar::asString),
 	GET_STATE(0x04, CmdType.CTRL, ControlVar::asString),
 	SEND_FILE(0x75, CmdType.CTRL, ControlVar::asString),
+	ADD_SUBSCRIPTION_FILTER(0x7e, CmdType.CTRL, ControlVar::asString),
 	// Value Retrieval
 	GET_INDUCTION_LOOP(0xa0, CmdType.VALUE_GET),
 	RESPONSE_GET_INDUCTION_LOOP(0xb0, CmdType.RESPONSE),
@@ -96,6 +97,8 @@ public enum TraCICmd {
 	SUB_VADERE_VARIABLE(0xdf, CmdType.VALUE_SUB),
 	RESPONSE_SUB_VADERE_VALUE(0xef, CmdType.RESPONSE),
 	// TraCI/Object Context Subscription
+	SUB_PERSON_CONTEXT(0x8e, CmdType.CONTEXT_SUB, PersonVar::asString),
+	RESPONSE_SUB_PERSON_CONTEXT(0x9e, CmdType.RESPONSE, PersonVar::asString),
 	;
 
 	public int id;
@@ -24,6 +24,7 @@ public class CommandExecutor {
 		cmdMap = new HashMap<>();
 		cmdMap.put(TraCICmd.GET_VERSION.id, ControlCommandHandler.instance::process_getVersion);
 		cmdMap.put(TraCICmd.SET_ORDER.id, ControlCommandHandler.instance::process_setOrder);
+		cmdMap.put(TraCICmd.ADD_SUBSCRIPTION_FILTER.id, ControlCommandHandler.instance::process_addSubscriptionFilter);
 		cmdMap.put(TraCICmd.LOAD.id, ControlCommandHandler.instance::process_load);
 		cmdMap.put(TraCICmd.SIM_STEP.id, ControlCommandHandler.instance::process_simStep);
 		cmdMap.put(TraCICmd.GET_STATE.id, ControlCommandHandler.instance::process_getState);
@@ -32,6 +33,7 @@ public class CommandExecutor {
 		cmdMap.put(TraCICmd.GET_PERSON_VALUE.id, PersonCommandHandler.instance::processGet);
 		cmdMap.put(TraCICmd.SET_PERSON_STATE.id, PersonCommandHandler.instance::processSet);
 		cmdMap.put(TraCICmd.SUB_PERSON_VARIABLE.id, PersonCommandHandler.instance::processValueSub);
+		cmdMap.put(TraCICmd.SUB_PERSON_CONTEXT.id, PersonCommandHandler.instance::processContextSub);
 		cmdMap.put(TraCICmd.GET_VADERE_VALUE.id, VadereCommandHandler.instance::processGet);
 		cmdMap.put(TraCICmd.SET_VADERE_STATE.id, VadereCommandHandler.instance::processSet);
 		cmdMap.put(TraCICmd.GET_SIMULATION_VALUE.id, SimulationCommandHandler.instance::processGet);
@@ -1,6 +1,7 @@
 package org.vadere.manager.traci.commandHandler;
 
 
+import org.vadere.manager.ContextSubscription;
 import org.vadere.manager.RemoteManager;
 import org.vadere.manager.Subscription;
 import org.vadere.manager.server.VadereServer;
@@ -12,10 +13,12 @@ import org.vadere.manager.traci.commandHandler.variables.ControlVar;
 import org.vadere.manager.traci.commands.TraCICommand;
 import org.vadere.manager.traci.commands.control.*;
 import org.vadere.manager.traci.response.*;
+import org.vadere.manager.traci.writer.TraCIPacket;
 import org.vadere.simulator.control.simulation.SimThreadState;
 import org.vadere.util.logging.Logger;
 
 import java.lang.reflect.Method;
+import java.util.List;
 
 /**
  * Handel {@link org.vadere.manager.traci.commands.TraCICommand}s for the Control API
@@ -170,6 +173,29 @@ public class ControlCommandHandler extends CommandHandler<ControlVar> {
 		return rawCmd;
 	}
 
+	public TraCICommand process_addSubscriptionFilter(TraCICommand rawCmd, RemoteManager remoteManager) {
+		TraCIAddSubscriptionFilterCommand cmd = (TraCIAddSubscriptionFilterCommand) rawCmd;
+
+		if (cmd.getFilterType() != TraCIAddSubscriptionFilterCommand.FILTER_TYPE_DELTA) {
+			return cmd.setNOK_response(TraCIPacket.sendStatus(cmd.getTraCICmd(),
+					TraCIStatusResponse.NOT_IMPLEMENTED,
+					String.format("Subscription filter type 0x%02X not implemented", cmd.getFilterType())));
+		}
+
+		// like SUMO the filter applies to the last context subscription
+		List<Subscription> subscriptions = remoteManager.getSubscriptions();
+		for (int i = subscriptions.size() - 1; i >= 0; i--) {
+			if (subscriptions.get(i) instanceof ContextSubscription) {
+				((ContextSubscription) subscriptions.get(i)).setDeltaEncoding(true);
+				return cmd;
+			}
+		}
+
+		return cmd.setNOK_response(TraCIPacket.sendStatus(cmd.getTraCICmd(),
+				TraCIStatusResponse.ERR,
+				"No context subscription to add the filter to"));
+	}
+
 	public TraCICommand process_load_file(TraCICommand rawCmd, RemoteManager remoteManager) {
 
 		if (VadereServer.currentVersion.greaterOrEqual(TraCIVersion.V20_0_2)) {
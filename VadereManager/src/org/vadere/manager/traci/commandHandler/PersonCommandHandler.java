@@ -7,15 +7,19 @@ import java.lang.reflect.Method;
 import java.util.*;
 import java.util.stream.Collectors;
 import org.vadere.annotation.traci.client.TraCIApi;
+import org.vadere.manager.ContextSubscription;
 import org.vadere.manager.RemoteManager;
 import org.vadere.manager.traci.TraCICmd;
 import org.vadere.manager.traci.commandHandler.annotation.PersonHandler;
 import org.vadere.manager.traci.commandHandler.annotation.PersonHandlers;
 import org.vadere.manager.traci.commandHandler.variables.PersonVar;
 import org.vadere.manager.traci.commands.TraCICommand;
+import org.vadere.manager.traci.commands.TraCIContextSubscriptionCommand;
 import org.vadere.manager.traci.commands.TraCIGetCommand;
 import org.vadere.manager.traci.commands.TraCISetCommand;
 import org.vadere.manager.traci.response.TraCIGetResponse;
+import org.vadere.manager.traci.response.TraCIStatusResponse;
+import org.vadere.manager.traci.writer.TraCIPacket;
 import org.vadere.simulator.control.simulation.SimulationState;
 import org.vadere.state.psychology.information.InformationState;
 import org.vadere.state.psychology.perception.types.KnowledgeItem;
@@ -637,6 +641,44 @@ public class PersonCommandHandler extends CommandHandler<PersonVar> {
         TraCICmd.RESPONSE_SUB_PERSON_VARIABLE);
   }
 
+  public TraCICommand processContextSub(TraCICommand rawCmd, RemoteManager remoteManager) {
+    TraCIContextSubscriptionCommand cmd = (TraCIContextSubscriptionCommand) rawCmd;
+
+    // only the variables of pedestrians can be gathered in one pass
+    if (cmd.getContextDomain() != TraCICmd.GET_PERSON_VALUE.id) {
+      return cmd.setNOK_response(
+          TraCIPacket.sendStatus(
+              cmd.getTraCICmd(),
+              TraCIStatusResponse.ERR,
+              String.format("Context domain 0x%02X not supported", cmd.getContextDomain())));
+    }
+    if (!ContextSubscription.isValidEgoId(cmd.getElementIdentifier())) {
+      return cmd.setNOK_response(
+          TraCIPacket.sendStatus(
+              cmd.getTraCICmd(),
+              TraCIStatusResponse.ERR,
+              CommandHandler.ELEMENT_ID_NOT_FOUND + cmd.getElementIdentifier()));
+    }
+    for (int varId : cmd.getVariables()) {
+      if (!ContextSubscription.isSupported(varId)) {
+        return cmd.setNOK_response(
+            TraCIPacket.sendStatus(
+                cmd.getTraCICmd(),
+                TraCIStatusResponse.ERR,
+                "Variable not supported by context subscription: " + PersonVar.asString(varId)));
+      }
+    }
+
+    ContextSubscription sub =
+        new ContextSubscription(this::processGet, TraCICmd.RESPONSE_SUB_PERSON_CONTEXT, cmd);
+    remoteManager.addValueSubscription(sub);
+
+    // initial response for the given subscription
+    sub.executeSubscription(remoteManager);
+
+    return cmd;
+  }
+
   public TraCICommand processGet(TraCICommand cmd, RemoteManager remoteManager) {
     TraCIGetCommand getCmd = (TraCIGetCommand) cmd;
 
@@ -1,6 +1,5 @@
 package org.vadere.manager.traci.commands;
 
-import org.vadere.state.traci.TraCIException;
 import org.vadere.state.traci.TraCIExceptionInternal;
 import org.vadere.manager.server.VadereServer;
 import org.vadere.manager.traci.CmdType;
@@ -53,7 +52,7 @@ public abstract class TraCICommand {
 			case VALUE_SUB:
 				return new TraCIValueSubscriptionCommand(cmd, cmdBuffer);
 			case CONTEXT_SUB:
-				throw new TraCIException("Subscription not implement. Command: 0x%02X", cmd.id);
+				return new TraCIContextSubscriptionCommand(cmd, cmdBuffer);
 			default:
 				throw new TraCIExceptionInternal("Should not be reached. All CmdType enums are tested in switch statement");
 		}
@@ -80,6 +79,8 @@ public abstract class TraCICommand {
 				return new TraCILoadCommand(cmdBuffer);
 			case SET_ORDER:
 				return new TraCISetOrderCommand(cmdBuffer);
+			case ADD_SUBSCRIPTION_FILTER:
+				return new TraCIAddSubscriptionFilterCommand(cmdBuffer);
 			default:
 				throw new TraCIExceptionInternal(String.format("Should not be reached. Only TraCI control commands expected: 0x%02X", cmd.id));
 		}
@@ -0,0 +1,62 @@
+package org.vadere.manager.traci.commands;
+
+import org.vadere.manager.traci.TraCICmd;
+import org.vadere.manager.traci.reader.TraCICommandBuffer;
+import org.vadere.manager.traci.writer.TraCIPacket;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Context subscription for {@link #variables} of all elements of the {@link #contextDomain} (i.e. all
+ * pedestrians) within {@link #range} of the element {@link #elementIdentifier}. An empty
+ * {@link #elementIdentifier} or a non-positive {@link #range} subscribes all elements of the domain.
+ *
+ * In contrast to a {@link TraCIValueSubscriptionCommand} one subscription returns the variables of all
+ * elements in one response, i.e. a client does not need one value subscription per pedestrian.
+ */
+public class TraCIContextSubscriptionCommand extends TraCIValueSubscriptionCommand {
+
+	private int contextDomain;
+	private double range;
+
+	protected TraCIContextSubscriptionCommand(TraCICmd traCICmd, TraCICommandBuffer buffer) {
+		super(traCICmd);
+		beginTime = buffer.readDouble();
+		endTime = buffer.readDouble();
+		elementIdentifier = buffer.readString();
+		contextDomain = buffer.readUnsignedByte();
+		range = buffer.readDouble();
+		numberOfVariables = buffer.readUnsignedByte();
+
+		for (int i = 0; i < numberOfVariables; i++) {
+			int var = buffer.readUnsignedByte();
+			variables.add(var);
+		}
+	}
+
+	public static TraCIPacket build(TraCICmd commandIdentifier, double beginTime, double endTime,
+									String elementIdentifier, int contextDomain, double range, List<Integer> variables) {
+		int cmdLen = 1 + 1 + 8 + 8 + 4 + elementIdentifier.getBytes(StandardCharsets.US_ASCII).length + 1 + 8 + 1 + variables.size();
+		TraCIPacket packet = TraCIPacket.create();
+		packet.writeCommandLength(cmdLen) // [1|5]
+				.writeUnsignedByte(commandIdentifier.id) // 1
+				.writeDouble(beginTime) // 8
+				.writeDouble(endTime) // 8
+				.writeString(elementIdentifier) // 4+strLen
+				.writeUnsignedByte(contextDomain) // 1
+				.writeDouble(range) // 8
+				.writeUnsignedByte(variables.size()); // 1
+		variables.forEach(packet::writeUnsignedByte); // nVars
+
+		return packet;
+	}
+
+	public int getContextDomain() {
+		return contextDomain;
+	}
+
+	public double getRange() {
+		return range;
+	}
+}
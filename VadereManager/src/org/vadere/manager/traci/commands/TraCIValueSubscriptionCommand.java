@@ -15,11 +15,11 @@ import java.util.List;
  */
 public class TraCIValueSubscriptionCommand extends TraCICommand {
 
-	private double beginTime;
-	private double endTime;
-	private String elementIdentifier;
-	private int numberOfVariables;
-	private List<Integer> variables;
+	protected double beginTime;
+	protected double endTime;
+	protected String elementIdentifier;
+	protected int numberOfVariables;
+	protected List<Integer> variables;
 
 	private List<TraCIGetCommand> getCommands;
 
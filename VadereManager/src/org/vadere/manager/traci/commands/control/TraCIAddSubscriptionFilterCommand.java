@@ -0,0 +1,49 @@
+package org.vadere.manager.traci.commands.control;
+
+import org.vadere.manager.traci.TraCICmd;
+import org.vadere.manager.traci.commands.TraCICommand;
+import org.vadere.manager.traci.reader.TraCICommandBuffer;
+import org.vadere.manager.traci.writer.TraCIPacket;
+
+/**
+ * Adds a filter to the last context subscription of the client. Vadere supports only its own
+ * filter type {@link #FILTER_TYPE_DELTA}. The filter types of SUMO (lanes, vehicle classes, ...)
+ * do not apply to pedestrians and are answered with NOT_IMPLEMENTED.
+ */
+public class TraCIAddSubscriptionFilterCommand extends TraCICommand {
+
+	/**
+	 * Only send the elements whose subscribed variables changed since the last response of the
+	 * subscription (first id after the filter types of SUMO). The filter has no parameters.
+	 */
+	public static final int FILTER_TYPE_DELTA = 0x80;
+
+	private int filterType;
+
+	public TraCIAddSubscriptionFilterCommand(TraCICommandBuffer cmdBuffer) {
+		super(TraCICmd.ADD_SUBSCRIPTION_FILTER);
+		// parameters of other filter types are ignored
+		filterType = cmdBuffer.readUnsignedByte();
+	}
+
+	public static TraCIPacket build(int filterType) {
+		TraCIPacket packet = TraCIPacket.create(7); // 4
+		packet.writeUnsignedByte(3) // 1
+				.writeUnsignedByte(TraCICmd.ADD_SUBSCRIPTION_FILTER.id) // 1
+				.writeUnsignedByte(filterType); // 1
+
+		return packet;
+	}
+
+	public int getFilterType() {
+		return filterType;
+	}
+
+	@Override
+	public TraCIPacket buildResponsePacket() {
+		if (NOK_response != null)
+			return NOK_response;
+		else
+			return TraCIPacket.create(11).add_OK_StatusResponse(TraCICmd.ADD_SUBSCRIPTION_FILTER);
+	}
+}
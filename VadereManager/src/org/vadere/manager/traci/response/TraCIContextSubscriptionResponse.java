@@ -0,0 +1,50 @@
+package org.vadere.manager.traci.response;
+
+import org.vadere.manager.traci.TraCICmd;
+
+/**
+ * Response of a context subscription. In contrast to {@link TraCISubscriptionResponse} the variables
+ * of all elements are not stored as objects but are already encoded in TraCI format, i.e. the content
+ * starts with the response identifier followed by the element id, the context domain, the number of
+ * variables, the number of elements and the variables of each element.
+ *
+ * The content array is owned and reused by the subscription, i.e. it is only valid until the next
+ * execution of the subscription.
+ */
+public class TraCIContextSubscriptionResponse extends TraCISubscriptionResponse {
+
+	private final byte[] content;
+	private final int contentLength;
+	private final int numberOfElements;
+
+	public TraCIContextSubscriptionResponse(StatusResponse statusResponse, TraCICmd responseIdentifier, String elementId,
+											int numberOfVariables, int numberOfElements, byte[] content, int contentLength) {
+		super(statusResponse, responseIdentifier, elementId, numberOfVariables);
+		this.numberOfElements = numberOfElements;
+		this.content = content;
+		this.contentLength = contentLength;
+	}
+
+	public byte[] getContent() {
+		return content;
+	}
+
+	public int getContentLength() {
+		return contentLength;
+	}
+
+	public int getNumberOfElements() {
+		return numberOfElements;
+	}
+
+	@Override
+	public String toString() {
+		return "TraCIContextSubscriptionResponse{" +
+				"elementId='" + getElementId() + '\'' +
+				", numberOfVariables=" + getNumberOfVariables() +
+				", numberOfElements=" + numberOfElements +
+				", contentLength=" + contentLength +
+				", statusResponse=" + statusResponse +
+				'}';
+	}
+}
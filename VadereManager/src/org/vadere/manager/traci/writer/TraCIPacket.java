@@ -161,6 +161,13 @@ public class TraCIPacket extends ByteArrayOutputStreamTraCIWriter {
 	}
 
 	private void wrapSubscription(TraCISubscriptionResponse res) {
+		if (res instanceof TraCIContextSubscriptionResponse) {
+			// already encoded by the subscription
+			TraCIContextSubscriptionResponse contextRes = (TraCIContextSubscriptionResponse) res;
+			addCommandWithExtendedLenField(contextRes.getContent(), contextRes.getContentLength());
+			return;
+		}
+
 		TraCIWriter cmdBuilder = getCmdBuilder();
 		cmdBuilder.writeUnsignedByte(res.getResponseIdentifier().id) // (i.e. TraCICmd.RESPONSE_SUB_PERSON_VARIABLE)
 				.writeString(res.getElementId())
@@ -233,6 +240,12 @@ public class TraCIPacket extends ByteArrayOutputStreamTraCIWriter {
 		writeBytes(buffer);
 	}
 
+	public void addCommandWithExtendedLenField(byte[] buffer, int length) {
+		writeUnsignedByte(0);
+		writeInt(length + 5); // 1 + 4 length field
+		writeBytes(buffer, 0, length);
+	}
+
 
 	public void addCommandWithoutLen(byte[] buffer) {
 		if (buffer.length > 254) {
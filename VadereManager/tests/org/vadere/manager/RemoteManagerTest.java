@@ -0,0 +1,64 @@
+package org.vadere.manager;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.vadere.util.io.IOUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RemoteManagerTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Steps one session and returns the simulation times after each step.
+	 */
+	private static List<Double> step(RemoteManager remoteManager, int steps) {
+		List<Double> simTimes = new ArrayList<>();
+		for (int i = 0; i < steps; i++) {
+			assertTrue(remoteManager.nextStep(-1));
+			remoteManager.accessState((manager, state) -> simTimes.add(state.getSimTimeInSec()));
+		}
+		return simTimes;
+	}
+
+	@Test(timeout = 120000)
+	public void testSessionsShareStepBudget() throws Exception {
+		String scenario = IOUtils.readTextFile("testResources/test005/scenarios/s004.scenario");
+		StepBudget stepBudget = new StepBudget(1);
+		int steps = 5;
+
+		List<RemoteManager> sessions = new ArrayList<>();
+		List<CompletableFuture<List<Double>>> results = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			RemoteManager remoteManager = new RemoteManager(folder.newFolder("session_" + i).toPath(), false, stepBudget);
+			remoteManager.loadScenario(scenario);
+			remoteManager.startSimulation();
+			sessions.add(remoteManager);
+			results.add(CompletableFuture.supplyAsync(() -> step(remoteManager, steps)));
+		}
+
+		for (int i = 0; i < sessions.size(); i++) {
+			List<Double> simTimes = results.get(i).get(100, TimeUnit.SECONDS);
+
+			// each request waits for the completion of its step
+			assertEquals(steps, simTimes.size());
+			for (int j = 1; j < simTimes.size(); j++) {
+				assertTrue(simTimes.get(j) > simTimes.get(j - 1));
+			}
+			assertEquals(steps, sessions.get(i).getStepStatistics().getSteps());
+		}
+
+		// all simulations wait for their client, i.e. no simulation holds a permit
+		assertEquals(1, stepBudget.getAvailableThreads());
+		sessions.forEach(RemoteManager::stopSimulationIfRunning);
+	}
+}
@@ -0,0 +1,41 @@
+package org.vadere.manager.partition;
+
+import org.junit.Test;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.awt.geom.Rectangle2D;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class DomainDecompositionTest {
+
+	private final DomainDecomposition decomposition = new DomainDecomposition(new Rectangle2D.Double(0, 0, 30, 10), 3, 1.0);
+
+	@Test
+	public void testOwner() {
+		assertEquals(0, decomposition.getOwner(new VPoint(0, 5)));
+		assertEquals(0, decomposition.getOwner(new VPoint(9.99, 5)));
+		assertEquals(1, decomposition.getOwner(new VPoint(10, 5)));
+		assertEquals(2, decomposition.getOwner(new VPoint(29.99, 5)));
+		// positions outside the bounds belong to the nearest domain
+		assertEquals(0, decomposition.getOwner(new VPoint(-1, 5)));
+		assertEquals(2, decomposition.getOwner(new VPoint(31, 5)));
+	}
+
+	@Test
+	public void testHaloNeighbours() {
+		assertEquals(Collections.emptyList(), decomposition.getHaloNeighbours(0, new VPoint(0.5, 5)));
+		assertEquals(List.of(1), decomposition.getHaloNeighbours(0, new VPoint(9.5, 5)));
+		assertEquals(List.of(0), decomposition.getHaloNeighbours(1, new VPoint(10.5, 5)));
+		assertEquals(Collections.emptyList(), decomposition.getHaloNeighbours(1, new VPoint(15, 5)));
+		assertEquals(List.of(2), decomposition.getHaloNeighbours(1, new VPoint(19.5, 5)));
+		assertEquals(Collections.emptyList(), decomposition.getHaloNeighbours(2, new VPoint(29.5, 5)));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testHaloWiderThanDomain() {
+		new DomainDecomposition(new Rectangle2D.Double(0, 0, 30, 10), 3, 10.0);
+	}
+}
@@ -0,0 +1,73 @@
+package org.vadere.manager.partition;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DomainSimulationTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static List<InetSocketAddress> loopbackAddresses(int count) throws IOException {
+		List<InetSocketAddress> addresses = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+				addresses.add(new InetSocketAddress(InetAddress.getLoopbackAddress(), socket.getLocalPort()));
+			}
+		}
+		return addresses;
+	}
+
+	/**
+	 * Returns the ids of all pedestrians of the trajectory file.
+	 */
+	private static List<Integer> pedestrianIds(Path trajectories) throws IOException {
+		return Files.readAllLines(trajectories).stream()
+				.skip(1)
+				.map(line -> Integer.parseInt(line.split(" ")[1]))
+				.distinct()
+				.collect(Collectors.toList());
+	}
+
+	@Test(timeout = 120000)
+	public void testPedestrianMigratesToNeighbour() throws Exception {
+		// the source of s004 lies in the left and the target in the right half of the topography
+		Path scenarioFile = folder.getRoot().toPath().resolve("s004.scenario");
+		Files.copy(Paths.get("testResources/test005/scenarios/s004.scenario"), scenarioFile);
+		Path outputDir = folder.newFolder("output").toPath();
+		List<InetSocketAddress> addresses = loopbackAddresses(2);
+
+		List<CompletableFuture<Void>> domains = new ArrayList<>();
+		for (int domain = 0; domain < 2; domain++) {
+			DomainSimulation simulation = new DomainSimulation(scenarioFile, outputDir.resolve("domain_" + domain), 2, domain, 1.0, addresses);
+			domains.add(CompletableFuture.runAsync(simulation));
+		}
+		CompletableFuture.allOf(domains.toArray(new CompletableFuture[0])).get(100, TimeUnit.SECONDS);
+
+		Path left = outputDir.resolve("domain_0").resolve("postvis.trajectories");
+		Path right = outputDir.resolve("domain_1").resolve("postvis.trajectories");
+		assertTrue(left.toFile().isFile());
+		assertTrue(right.toFile().isFile());
+
+		// the pedestrian is spawned in the left domain and walks through the right domain to its target
+		assertEquals(List.of(1), pedestrianIds(left));
+		assertEquals(List.of(1), pedestrianIds(right));
+	}
+}
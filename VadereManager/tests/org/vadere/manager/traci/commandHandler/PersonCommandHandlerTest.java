@@ -2,6 +2,7 @@ package org.vadere.manager.traci.commandHandler;
 
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.vadere.manager.ContextSubscription;
 import org.vadere.manager.RemoteManager;
 import org.vadere.manager.TestRemoteManager;
 import org.vadere.manager.traci.CmdType;
@@ -11,6 +12,11 @@ import org.vadere.manager.traci.commandHandler.variables.PersonVar;
 import org.vadere.manager.traci.commands.TraCICommand;
 import org.vadere.manager.traci.commands.TraCIGetCommand;
 import org.vadere.manager.traci.commands.TraCISetCommand;
+import org.vadere.manager.traci.commands.TraCIContextSubscriptionCommand;
+import org.vadere.manager.traci.commands.control.TraCIAddSubscriptionFilterCommand;
+import org.vadere.manager.traci.reader.TraCICommandBuffer;
+import org.vadere.manager.traci.response.TraCIContextSubscriptionResponse;
+import org.vadere.manager.traci.response.TraCIStatusResponse;
 import org.vadere.state.traci.CompoundObject;
 import org.vadere.state.traci.CompoundObjectBuilder;
 import org.vadere.simulator.models.MainModel;
@@ -25,10 +31,12 @@ import org.vadere.util.geometry.shapes.Vector2D;
 import org.vadere.util.io.IOUtils;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
 
@@ -957,4 +965,136 @@ public class PersonCommandHandlerTest extends CommandHandlerTest {
 		testSetValue(ret, varID, varType, elementID, data);
 	}
 
+
+	// Context subscription
+
+	private Map<String, VPoint> readContextPositions(TraCIContextSubscriptionResponse res) {
+		TraCICommandBuffer buffer = TraCICommandBuffer.wrap(ByteBuffer.wrap(res.getContent(), 0, res.getContentLength()));
+		assertThat(buffer.readUnsignedByte(), equalTo(TraCICmd.RESPONSE_SUB_PERSON_CONTEXT.id));
+		assertThat(buffer.readString(), equalTo(res.getElementId()));
+		assertThat(buffer.readUnsignedByte(), equalTo(TraCICmd.GET_PERSON_VALUE.id));
+		assertThat(buffer.readUnsignedByte(), equalTo(2));
+		int numberOfElements = buffer.readInt();
+		assertThat(numberOfElements, equalTo(res.getNumberOfElements()));
+
+		Map<String, VPoint> positions = new HashMap<>();
+		for (int i = 0; i < numberOfElements; i++) {
+			String id = buffer.readString();
+			assertThat(buffer.readUnsignedByte(), equalTo(PersonVar.POSITION.id));
+			assertThat(buffer.readUnsignedByte(), equalTo(TraCIStatusResponse.OK.id));
+			assertThat(buffer.readUnsignedByte(), equalTo(TraCIDataType.POS_2D.id));
+			positions.put(id, buffer.read2DPosition());
+			assertThat(buffer.readUnsignedByte(), equalTo(PersonVar.TARGET_LIST.id));
+			assertThat(buffer.readUnsignedByte(), equalTo(TraCIStatusResponse.OK.id));
+			assertThat(buffer.readUnsignedByte(), equalTo(TraCIDataType.STRING_LIST.id));
+			assertThat(buffer.readStringList(), equalTo(List.of("7")));
+		}
+		assertThat(buffer.hasRemaining(), equalTo(false));
+		return positions;
+	}
+
+	@Test
+	public void process_contextSub() {
+		Pedestrian p1 = new Pedestrian(new AttributesAgent(1), new Random(1));
+		p1.setPosition(new VPoint(1, 2));
+		p1.setTargets(new LinkedList<>(List.of(7)));
+		Pedestrian p2 = new Pedestrian(new AttributesAgent(2), new Random(1));
+		p2.setPosition(new VPoint(3, 4));
+		p2.setTargets(new LinkedList<>(List.of(7)));
+
+		TraCIContextSubscriptionCommand cmd = (TraCIContextSubscriptionCommand) getFirstCommand(TraCIContextSubscriptionCommand.build(
+				TraCICmd.SUB_PERSON_CONTEXT, 0.0, 100.0, "", TraCICmd.GET_PERSON_VALUE.id, 0.0,
+				List.of(PersonVar.POSITION.id, PersonVar.TARGET_LIST.id)));
+		RemoteManager rm = new TestRemoteManager() {
+			@Override
+			protected void mockIt() {
+				when(simState.getTopography().getPedestrianDynamicElements().getElements())
+						.thenReturn(List.of(p1, p2));
+			}
+		};
+
+		TraCICommand ret = persCmdHandler.processContextSub(cmd, rm);
+		testTraCICommand(ret, TraCICmd.SUB_PERSON_CONTEXT, CmdType.CONTEXT_SUB);
+		assertThat(rm.getSubscriptions().size(), equalTo(1));
+		TraCIContextSubscriptionResponse res = (TraCIContextSubscriptionResponse) cmd.getResponse();
+		Map<String, VPoint> positions = readContextPositions(res);
+		assertThat(positions.size(), equalTo(2));
+		assertThat(positions.get("1"), equalTo(new VPoint(1, 2)));
+		assertThat(positions.get("2"), equalTo(new VPoint(3, 4)));
+	}
+
+	@Test
+	public void process_contextSubDelta() {
+		Pedestrian p1 = new Pedestrian(new AttributesAgent(1), new Random(1));
+		p1.setPosition(new VPoint(1, 2));
+		p1.setTargets(new LinkedList<>(List.of(7)));
+		Pedestrian p2 = new Pedestrian(new AttributesAgent(2), new Random(1));
+		p2.setPosition(new VPoint(3, 4));
+		p2.setTargets(new LinkedList<>(List.of(7)));
+
+		TraCIContextSubscriptionCommand cmd = (TraCIContextSubscriptionCommand) getFirstCommand(TraCIContextSubscriptionCommand.build(
+				TraCICmd.SUB_PERSON_CONTEXT, 0.0, 100.0, "", TraCICmd.GET_PERSON_VALUE.id, 0.0,
+				List.of(PersonVar.POSITION.id, PersonVar.TARGET_LIST.id)));
+		RemoteManager rm = new TestRemoteManager() {
+			@Override
+			protected void mockIt() {
+				when(simState.getTopography().getPedestrianDynamicElements().getElements())
+						.thenReturn(List.of(p1, p2));
+			}
+		};
+		persCmdHandler.processContextSub(cmd, rm);
+
+		TraCIAddSubscriptionFilterCommand filterCmd = (TraCIAddSubscriptionFilterCommand) getFirstCommand(
+				TraCIAddSubscriptionFilterCommand.build(TraCIAddSubscriptionFilterCommand.FILTER_TYPE_DELTA));
+		ControlCommandHandler.instance.process_addSubscriptionFilter(filterCmd, rm);
+		assertThat(((ContextSubscription) rm.getSubscriptions().get(0)).isDeltaEncoding(), equalTo(true));
+
+		// first response after the filter contains all pedestrians
+		rm.getSubscriptions().get(0).executeSubscription(rm);
+		assertThat(readContextPositions((TraCIContextSubscriptionResponse) cmd.getResponse()).size(), equalTo(2));
+
+		// nothing changed
+		rm.getSubscriptions().get(0).executeSubscription(rm);
+		assertThat(readContextPositions((TraCIContextSubscriptionResponse) cmd.getResponse()).size(), equalTo(0));
+
+		// only the moved pedestrian
+		p2.setPosition(new VPoint(5, 6));
+		rm.getSubscriptions().get(0).executeSubscription(rm);
+		Map<String, VPoint> positions = readContextPositions((TraCIContextSubscriptionResponse) cmd.getResponse());
+		assertThat(positions.size(), equalTo(1));
+		assertThat(positions.get("2"), equalTo(new VPoint(5, 6)));
+	}
+
+	@Test
+	public void process_contextSubUnsupportedVariable() {
+		TraCIContextSubscriptionCommand cmd = (TraCIContextSubscriptionCommand) getFirstCommand(TraCIContextSubscriptionCommand.build(
+				TraCICmd.SUB_PERSON_CONTEXT, 0.0, 100.0, "", TraCICmd.GET_PERSON_VALUE.id, 0.0,
+				List.of(PersonVar.POSITION.id, PersonVar.INFORMATION_ITEM.id)));
+		RemoteManager rm = new TestRemoteManager() {
+			@Override
+			protected void mockIt() {
+			}
+		};
+
+		persCmdHandler.processContextSub(cmd, rm);
+		assertThat(rm.getSubscriptions().size(), equalTo(0));
+		assertThat(cmd.getResponse(), equalTo(null));
+	}
+
+	@Test
+	public void process_contextSubInvalidEgoId() {
+		TraCIContextSubscriptionCommand cmd = (TraCIContextSubscriptionCommand) getFirstCommand(TraCIContextSubscriptionCommand.build(
+				TraCICmd.SUB_PERSON_CONTEXT, 0.0, 100.0, "ego", TraCICmd.GET_PERSON_VALUE.id, 5.0,
+				List.of(PersonVar.POSITION.id, PersonVar.TARGET_LIST.id)));
+		RemoteManager rm = new TestRemoteManager() {
+			@Override
+			protected void mockIt() {
+			}
+		};
+
+		persCmdHandler.processContextSub(cmd, rm);
+		assertThat(rm.getSubscriptions().size(), equalTo(0));
+		assertThat(cmd.getResponse(), equalTo(null));
+	}
+
 }
@@ -61,6 +61,39 @@ public class AMesh implements IMesh<AVertex, AHalfEdge, AFace>, Cloneable {
 		clear();
 	}
 
+	/**
+	 * <p>Creates a mesh consisting of the given elements, e.g. elements which are read by {@link AMeshBinary}.</p>
+	 *
+	 * <p>Assumption: the id of each element is its index, no element is destroyed and the lists of the double data
+	 * contain exactly one value for each vertex and face respectively.</p>
+	 *
+	 * @param vertices              the vertices
+	 * @param edges                 the half-edges
+	 * @param faces                 the faces including the holes
+	 * @param boundaryEdge          the index of one half-edge of the boundary
+	 * @param verticesDoubleData    the double data of the vertices
+	 * @param facesDoubleData       the double data of the faces
+	 */
+	AMesh(@NotNull final List<AVertex> vertices,
+	      @NotNull final List<AHalfEdge> edges,
+	      @NotNull final List<AFace> faces,
+	      final int boundaryEdge,
+	      @NotNull final Map<String, DoubleArrayList> verticesDoubleData,
+	      @NotNull final Map<String, DoubleArrayList> facesDoubleData) {
+		clear();
+		this.vertices = vertices;
+		this.edges = edges;
+		this.faces = faces;
+		this.holes = faces.stream().filter(f -> f.isBorder()).collect(Collectors.toList());
+		this.boundary.setEdge(boundaryEdge);
+		this.numberOfVertices = vertices.size();
+		this.numberOfEdges = edges.size();
+		this.numberOfHoles = holes.size();
+		this.numberOfFaces = faces.size() - holes.size();
+		this.verticesDoubleData = verticesDoubleData;
+		this.facesDoubleData = facesDoubleData;
+	}
+
 	@Override
 	public void clear() {
 		this.faces = new ArrayList<>();
@@ -1323,6 +1356,27 @@ public class AMesh implements IMesh<AVertex, AHalfEdge, AFace>, Cloneable {
 
 
 
+	// direct access to the arrays including destroyed elements, see {@link AMeshBinary}
+	List<AVertex> getVertexArray() {
+		return vertices;
+	}
+
+	List<AHalfEdge> getEdgeArray() {
+		return edges;
+	}
+
+	List<AFace> getFaceArray() {
+		return faces;
+	}
+
+	Map<String, DoubleArrayList> getVerticesDoubleData() {
+		return verticesDoubleData;
+	}
+
+	Map<String, DoubleArrayList> getFacesDoubleData() {
+		return facesDoubleData;
+	}
+
 	/**
 	 * <p>Removes all destroyed object from this mesh and re-arranges all indices.</p>
      *
@@ -0,0 +1,457 @@
+package org.vadere.meshing.mesh.gen;
+
+import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * <p>A compact binary format of an {@link AMesh} which is read from a (memory-mapped) buffer. In contrast to the
+ * text based <tt>.poly</tt> format nothing has to be parsed: each array of the mesh is stored as a contiguous
+ * block of primitives, i.e. mapping the file is cheap and loading the mesh or its data are bulk copies.</p>
+ *
+ * <p>The buffer layout (little endian) is:</p>
+ * <ul>
+ *     <li>header of {@link AMeshBinary#HEADER_SIZE} bytes: magic number, version, number of vertices, half-edges,
+ *     faces (including holes), vertex double data and face double data, the index of one half-edge of the boundary</li>
+ *     <li>x- and y-coordinates of the vertices (double)</li>
+ *     <li>the vertex double data followed by the face double data (double), one block per property</li>
+ *     <li>the half-edge index of each vertex (int)</li>
+ *     <li>the end vertex, next, previous, twin and face index of each half-edge (int), where the face index of
+ *     boundary half-edges is -1</li>
+ *     <li>the half-edge index of each face (int) and whether the face is a hole (byte)</li>
+ *     <li>the names of the vertex and face double data (length prefixed UTF-8)</li>
+ * </ul>
+ *
+ * <p>Destroyed elements are not written, i.e. the indices are re-arranged as by {@link AMesh#garbageCollection()}.
+ * Object, boolean and half-edge double data is not written.</p>
+ */
+public class AMeshBinary {
+
+	public static final int MAGIC_NUMBER = 0x564D5348; // VMSH
+	public static final int VERSION = 1;
+	public static final int HEADER_SIZE = 64;
+	public static final String FILE_ENDING = ".amesh";
+
+	private final ByteBuffer buffer;
+	private final int numberOfVertices;
+	private final int numberOfEdges;
+	private final int numberOfFaces;
+	private final int boundaryEdge;
+	private final List<String> vertexDataNames;
+	private final List<String> faceDataNames;
+	private final Layout layout;
+
+	private AMeshBinary(@NotNull final ByteBuffer buffer, final int numberOfVertices, final int numberOfEdges,
+	                    final int numberOfFaces, final int boundaryEdge, @NotNull final List<String> vertexDataNames,
+	                    @NotNull final List<String> faceDataNames, @NotNull final Layout layout) {
+		this.buffer = buffer;
+		this.numberOfVertices = numberOfVertices;
+		this.numberOfEdges = numberOfEdges;
+		this.numberOfFaces = numberOfFaces;
+		this.boundaryEdge = boundaryEdge;
+		this.vertexDataNames = vertexDataNames;
+		this.faceDataNames = faceDataNames;
+		this.layout = layout;
+	}
+
+	/**
+	 * Maps the file into memory (read only). The file is not read, apart from its header and the property names.
+	 *
+	 * @param file the file written by {@link AMeshBinary#write(AMesh, File)}
+	 * @return the mesh data backed by the mapped file
+	 * @throws IOException if the file can not be mapped or is not a valid mesh file
+	 */
+	public static AMeshBinary map(@NotNull final File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			// the mapping stays valid after the channel is closed
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return wrap(buffer);
+		}
+	}
+
+	/**
+	 * Returns the mesh data backed by the buffer, the buffer content has to be in the format
+	 * written by {@link AMeshBinary#write(AMesh, File)}.
+	 *
+	 * @param buffer the buffer containing the header and the arrays of the mesh
+	 * @return the mesh data backed by the buffer
+	 * @throws IOException if the buffer does not contain a valid mesh
+	 */
+	public static AMeshBinary wrap(@NotNull final ByteBuffer buffer) throws IOException {
+		ByteBuffer view = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+
+		if (view.capacity() < HEADER_SIZE || view.getInt(0) != MAGIC_NUMBER) {
+			throw new IOException("The buffer does not contain a binary mesh.");
+		}
+
+		if (view.getInt(4) != VERSION) {
+			throw new IOException("Unsupported binary mesh version " + view.getInt(4) + ", expected " + VERSION + ".");
+		}
+
+		int numberOfVertices = view.getInt(8);
+		int numberOfEdges = view.getInt(12);
+		int numberOfFaces = view.getInt(16);
+		int numberOfVertexData = view.getInt(20);
+		int numberOfFaceData = view.getInt(24);
+		int boundaryEdge = view.getInt(28);
+
+		if (numberOfVertices < 0 || numberOfEdges < 0 || numberOfFaces < 0 || numberOfVertexData < 0 || numberOfFaceData < 0) {
+			throw new IOException("The binary mesh header is corrupted.");
+		}
+
+		Layout layout = new Layout(numberOfVertices, numberOfEdges, numberOfFaces, numberOfVertexData, numberOfFaceData);
+		if (view.capacity() < layout.names) {
+			throw new IOException("The binary mesh is truncated.");
+		}
+
+		List<String> vertexDataNames = new ArrayList<>(numberOfVertexData);
+		List<String> faceDataNames = new ArrayList<>(numberOfFaceData);
+		int position = (int) layout.names;
+		try {
+			for (int i = 0; i < numberOfVertexData + numberOfFaceData; i++) {
+				byte[] name = new byte[view.getInt(position)];
+				view.position(position + Integer.BYTES);
+				view.get(name);
+				position += Integer.BYTES + name.length;
+				(i < numberOfVertexData ? vertexDataNames : faceDataNames).add(new String(name, StandardCharsets.UTF_8));
+			}
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException | NegativeArraySizeException e) {
+			throw new IOException("The binary mesh is truncated.", e);
+		}
+
+		return new AMeshBinary(view, numberOfVertices, numberOfEdges, numberOfFaces, boundaryEdge,
+				vertexDataNames, faceDataNames, layout);
+	}
+
+	/**
+	 * Writes the mesh in the format which can be mapped by {@link AMeshBinary#map(File)}.
+	 *
+	 * @param mesh  the mesh
+	 * @param file  the destination, parent directories are created if necessary
+	 * @throws IOException if the file can not be written
+	 */
+	public static void write(@NotNull final AMesh mesh, @NotNull final File file) throws IOException {
+		Path path = file.getAbsoluteFile().toPath();
+		Files.createDirectories(path.getParent());
+
+		List<AVertex> vertices = mesh.getVertexArray();
+		List<AHalfEdge> edges = mesh.getEdgeArray();
+		List<AFace> faces = mesh.getFaceArray();
+
+		// new indices without destroyed elements
+		int[] vertexMap = new int[vertices.size()];
+		int numberOfVertices = 0;
+		for (int i = 0; i < vertices.size(); i++) {
+			vertexMap[i] = vertices.get(i).isDestroyed() ? -1 : numberOfVertices++;
+		}
+
+		int[] edgeMap = new int[edges.size()];
+		int numberOfEdges = 0;
+		for (int i = 0; i < edges.size(); i++) {
+			edgeMap[i] = edges.get(i).isDestroyed() ? -1 : numberOfEdges++;
+		}
+
+		int[] faceMap = new int[faces.size()];
+		int numberOfFaces = 0;
+		for (int i = 0; i < faces.size(); i++) {
+			faceMap[i] = faces.get(i).isDestroyed() ? -1 : numberOfFaces++;
+		}
+
+		// sorted names such that the file does not depend on the iteration order of the property maps
+		List<String> vertexDataNames = new ArrayList<>(new TreeSet<>(mesh.getVerticesDoubleData().keySet()));
+		List<String> faceDataNames = new ArrayList<>(new TreeSet<>(mesh.getFacesDoubleData().keySet()));
+		List<byte[]> names = new ArrayList<>();
+		long namesSize = 0;
+		for (String name : vertexDataNames) {
+			names.add(name.getBytes(StandardCharsets.UTF_8));
+		}
+		for (String name : faceDataNames) {
+			names.add(name.getBytes(StandardCharsets.UTF_8));
+		}
+		for (byte[] name : names) {
+			namesSize += Integer.BYTES + name.length;
+		}
+
+		Layout layout = new Layout(numberOfVertices, numberOfEdges, numberOfFaces, vertexDataNames.size(), faceDataNames.size());
+		long size = layout.names + namesSize;
+		if (size > Integer.MAX_VALUE) {
+			throw new IOException("The mesh is too large (" + size + " bytes) to be mapped.");
+		}
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+			int boundaryEdge = mesh.getBorder().getEdge();
+			buffer.putInt(0, MAGIC_NUMBER);
+			buffer.putInt(4, VERSION);
+			buffer.putInt(8, numberOfVertices);
+			buffer.putInt(12, numberOfEdges);
+			buffer.putInt(16, numberOfFaces);
+			buffer.putInt(20, vertexDataNames.size());
+			buffer.putInt(24, faceDataNames.size());
+			buffer.putInt(28, boundaryEdge >= 0 ? edgeMap[boundaryEdge] : -1);
+
+			for (int i = 0; i < vertices.size(); i++) {
+				int id = vertexMap[i];
+				if (id >= 0) {
+					AVertex vertex = vertices.get(i);
+					buffer.putDouble((int) layout.vertexX + id * Double.BYTES, vertex.getX());
+					buffer.putDouble((int) layout.vertexY + id * Double.BYTES, vertex.getY());
+					buffer.putInt((int) layout.vertexEdge + id * Integer.BYTES, map(edgeMap, vertex.getEdge()));
+				}
+			}
+
+			for (int k = 0; k < vertexDataNames.size(); k++) {
+				DoubleArrayList data = mesh.getVerticesDoubleData().get(vertexDataNames.get(k));
+				int offset = (int) layout.vertexData(k);
+				for (int i = 0; i < vertices.size(); i++) {
+					if (vertexMap[i] >= 0) {
+						buffer.putDouble(offset + vertexMap[i] * Double.BYTES, i < data.size() ? data.getDouble(i) : 0.0);
+					}
+				}
+			}
+
+			for (int k = 0; k < faceDataNames.size(); k++) {
+				DoubleArrayList data = mesh.getFacesDoubleData().get(faceDataNames.get(k));
+				int offset = (int) layout.faceData(k);
+				for (int i = 0; i < faces.size(); i++) {
+					if (faceMap[i] >= 0) {
+						buffer.putDouble(offset + faceMap[i] * Double.BYTES, i < data.size() ? data.getDouble(i) : 0.0);
+					}
+				}
+			}
+
+			for (int i = 0; i < edges.size(); i++) {
+				int id = edgeMap[i];
+				if (id >= 0) {
+					AHalfEdge edge = edges.get(i);
+					int offset = id * Integer.BYTES;
+					buffer.putInt((int) layout.edgeEnd + offset, map(vertexMap, edge.getEnd()));
+					buffer.putInt((int) layout.edgeNext + offset, map(edgeMap, edge.getNext()));
+					buffer.putInt((int) layout.edgePrevious + offset, map(edgeMap, edge.getPrevious()));
+					buffer.putInt((int) layout.edgeTwin + offset, map(edgeMap, edge.getTwin()));
+					buffer.putInt((int) layout.edgeFace + offset, map(faceMap, edge.getFace()));
+				}
+			}
+
+			for (int i = 0; i < faces.size(); i++) {
+				int id = faceMap[i];
+				if (id >= 0) {
+					AFace face = faces.get(i);
+					buffer.putInt((int) layout.faceEdge + id * Integer.BYTES, map(edgeMap, face.getEdge()));
+					buffer.put((int) layout.faceBorder + id, (byte) (face.isBorder() ? 1 : 0));
+				}
+			}
+
+			buffer.position((int) layout.names);
+			for (byte[] name : names) {
+				buffer.putInt(name.length);
+				buffer.put(name);
+			}
+			buffer.force();
+		}
+	}
+
+	private static int map(@NotNull final int[] indexMap, final int index) {
+		return index >= 0 && index < indexMap.length ? indexMap[index] : -1;
+	}
+
+	public int getNumberOfVertices() {
+		return numberOfVertices;
+	}
+
+	public int getNumberOfEdges() {
+		return numberOfEdges;
+	}
+
+	/**
+	 * Returns the number of faces including the holes.
+	 */
+	public int getNumberOfFaces() {
+		return numberOfFaces;
+	}
+
+	public List<String> getVertexDoubleDataNames() {
+		return Collections.unmodifiableList(vertexDataNames);
+	}
+
+	public List<String> getFaceDoubleDataNames() {
+		return Collections.unmodifiableList(faceDataNames);
+	}
+
+	/**
+	 * Constructs the (heap) mesh. Each array is copied in bulk, i.e. nothing is parsed.
+	 *
+	 * @return a new mesh
+	 */
+	public AMesh toMesh() {
+		double[] x = getDoubles(layout.vertexX, numberOfVertices);
+		double[] y = getDoubles(layout.vertexY, numberOfVertices);
+		int[] vertexEdges = getInts(layout.vertexEdge, numberOfVertices);
+		List<AVertex> vertices = new ArrayList<>(numberOfVertices);
+		for (int i = 0; i < numberOfVertices; i++) {
+			AVertex vertex = new AVertex(i, new VPoint(x[i], y[i]));
+			vertex.setEdge(vertexEdges[i]);
+			vertices.add(vertex);
+		}
+
+		int[] ends = getInts(layout.edgeEnd, numberOfEdges);
+		int[] nexts = getInts(layout.edgeNext, numberOfEdges);
+		int[] previous = getInts(layout.edgePrevious, numberOfEdges);
+		int[] twins = getInts(layout.edgeTwin, numberOfEdges);
+		int[] edgeFaces = getInts(layout.edgeFace, numberOfEdges);
+		List<AHalfEdge> edges = new ArrayList<>(numberOfEdges);
+		for (int i = 0; i < numberOfEdges; i++) {
+			AHalfEdge edge = new AHalfEdge(i, ends[i], edgeFaces[i]);
+			edge.setNext(nexts[i]);
+			edge.setPrevious(previous[i]);
+			edge.setTwin(twins[i]);
+			edges.add(edge);
+		}
+
+		int[] faceEdges = getInts(layout.faceEdge, numberOfFaces);
+		List<AFace> faces = new ArrayList<>(numberOfFaces);
+		for (int i = 0; i < numberOfFaces; i++) {
+			faces.add(new AFace(i, faceEdges[i], buffer.get((int) layout.faceBorder + i) != 0));
+		}
+
+		Map<String, DoubleArrayList> verticesDoubleData = new HashMap<>();
+		for (int k = 0; k < vertexDataNames.size(); k++) {
+			verticesDoubleData.put(vertexDataNames.get(k), DoubleArrayList.wrap(getDoubles(layout.vertexData(k), numberOfVertices)));
+		}
+
+		Map<String, DoubleArrayList> facesDoubleData = new HashMap<>();
+		for (int k = 0; k < faceDataNames.size(); k++) {
+			facesDoubleData.put(faceDataNames.get(k), DoubleArrayList.wrap(getDoubles(layout.faceData(k), numberOfFaces)));
+		}
+
+		return new AMesh(vertices, edges, faces, boundaryEdge, verticesDoubleData, facesDoubleData);
+	}
+
+	/**
+	 * Copies the vertex and face double data into the mesh, e.g. a floor field which was computed on the same mesh.
+	 * The mesh itself is not constructed, i.e. this is a bulk copy of the data blocks. Existing data containers of
+	 * the mesh are filled such that they stay valid.
+	 *
+	 * @param mesh the destination mesh which has to be equal to the written mesh, i.e. without destroyed elements
+	 *             and with the same vertex positions
+	 */
+	public void copyDoubleDataTo(@NotNull final AMesh mesh) {
+		if (mesh.getVertexArray().size() != numberOfVertices || mesh.getNumberOfVertices() != numberOfVertices
+				|| mesh.getFaceArray().size() != numberOfFaces || mesh.getNumberOfFaces() + mesh.getNumberOfHoles() != numberOfFaces) {
+			throw new IllegalArgumentException("The number of vertices or faces of the meshes does not match.");
+		}
+
+		double[] x = getDoubles(layout.vertexX, numberOfVertices);
+		double[] y = getDoubles(layout.vertexY, numberOfVertices);
+		for (int i = 0; i < numberOfVertices; i++) {
+			AVertex vertex = mesh.getVertexArray().get(i);
+			if (vertex.getX() != x[i] || vertex.getY() != y[i]) {
+				throw new IllegalArgumentException("The vertex positions of the meshes do not match.");
+			}
+		}
+
+		for (int k = 0; k < vertexDataNames.size(); k++) {
+			copyTo(mesh.getVerticesDoubleData(), vertexDataNames.get(k), layout.vertexData(k), numberOfVertices);
+		}
+
+		for (int k = 0; k < faceDataNames.size(); k++) {
+			copyTo(mesh.getFacesDoubleData(), faceDataNames.get(k), layout.faceData(k), numberOfFaces);
+		}
+	}
+
+	private void copyTo(@NotNull final Map<String, DoubleArrayList> data, @NotNull final String name, final long offset, final int length) {
+		DoubleArrayList list = data.computeIfAbsent(name, key -> new DoubleArrayList(length));
+		list.size(length);
+		slice(offset).asDoubleBuffer().get(list.elements(), 0, length);
+	}
+
+	private double[] getDoubles(final long offset, final int length) {
+		double[] values = new double[length];
+		slice(offset).asDoubleBuffer().get(values);
+		return values;
+	}
+
+	private int[] getInts(final long offset, final int length) {
+		int[] values = new int[length];
+		slice(offset).asIntBuffer().get(values);
+		return values;
+	}
+
+	private ByteBuffer slice(final long offset) {
+		ByteBuffer view = buffer.duplicate();
+		view.position((int) offset);
+		return view.slice().order(ByteOrder.LITTLE_ENDIAN);
+	}
+
+	/**
+	 * The byte offsets of the blocks, see {@link AMeshBinary}.
+	 */
+	private static class Layout {
+		private final int numberOfVertices;
+		private final int numberOfFaces;
+
+		private final long vertexX;
+		private final long vertexY;
+		private final long vertexData;
+		private final long faceData;
+		private final long vertexEdge;
+		private final long edgeEnd;
+		private final long edgeNext;
+		private final long edgePrevious;
+		private final long edgeTwin;
+		private final long edgeFace;
+		private final long faceEdge;
+		private final long faceBorder;
+		private final long names;
+
+		private Layout(final int numberOfVertices, final int numberOfEdges, final int numberOfFaces,
+		               final int numberOfVertexData, final int numberOfFaceData) {
+			this.numberOfVertices = numberOfVertices;
+			this.numberOfFaces = numberOfFaces;
+
+			vertexX = HEADER_SIZE;
+			vertexY = vertexX + (long) numberOfVertices * Double.BYTES;
+			vertexData = vertexY + (long) numberOfVertices * Double.BYTES;
+			faceData = vertexData + (long) numberOfVertexData * numberOfVertices * Double.BYTES;
+			vertexEdge = faceData + (long) numberOfFaceData * numberOfFaces * Double.BYTES;
+			edgeEnd = vertexEdge + (long) numberOfVertices * Integer.BYTES;
+			edgeNext = edgeEnd + (long) numberOfEdges * Integer.BYTES;
+			edgePrevious = edgeNext + (long) numberOfEdges * Integer.BYTES;
+			edgeTwin = edgePrevious + (long) numberOfEdges * Integer.BYTES;
+			edgeFace = edgeTwin + (long) numberOfEdges * Integer.BYTES;
+			faceEdge = edgeFace + (long) numberOfEdges * Integer.BYTES;
+			faceBorder = faceEdge + (long) numberOfFaces * Integer.BYTES;
+			names = faceBorder + numberOfFaces;
+		}
+
+		private long vertexData(final int k) {
+			return vertexData + (long) k * numberOfVertices * Double.BYTES;
+		}
+
+		private long faceData(final int k) {
+			return faceData + (long) k * numberOfFaces * Double.BYTES;
+		}
+	}
+}
@@ -0,0 +1,121 @@
+package org.vadere.meshing.mesh.gen;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.util.geometry.shapes.IPoint;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * <p>Biased randomized insertion order (BRIO) for incremental Delaunay triangulations: the points are randomly
+ * distributed into rounds of geometrically increasing size (the last round contains half of the points, the one before
+ * a quarter and so on) and the points of each round are sorted along a Hilbert curve. Inserting the points in this order
+ * keeps the randomization which bounds the expected number of flips while consecutive points are close to each other,
+ * i.e. a point can be located by a short walk starting at the face of the previously inserted point,
+ * see {@link IncrementalTriangulation#insertSorted(Collection)}.</p>
+ *
+ * <p>The order is deterministic for a given seed.</p>
+ *
+ * @see <a href="https://doi.org/10.1145/777792.777824">Incremental constructions con BRIO</a>
+ */
+public class BRIO {
+
+	/** the number of bits per coordinate of the Hilbert curve, i.e. the curve is defined on a 2^15 x 2^15 grid */
+	private static final int ORDER = 15;
+
+	/** rounds are not split any further if they contain less points */
+	private static final int MIN_ROUND_SIZE = 64;
+
+	private BRIO() {}
+
+	/**
+	 * Returns the points in a biased randomized insertion order.
+	 *
+	 * @param points    the points
+	 * @param seed      the seed of the randomization
+	 * @param <P>       the type of the points
+	 *
+	 * @return a new list containing the points in a biased randomized insertion order
+	 */
+	public static <P extends IPoint> List<P> sort(@NotNull final Collection<? extends P> points, final long seed) {
+		List<P> shuffled = new ArrayList<>(points);
+		Collections.shuffle(shuffled, new Random(seed));
+		int n = shuffled.size();
+
+		if(n <= 1) {
+			return shuffled;
+		}
+
+		double minX = Double.POSITIVE_INFINITY;
+		double minY = Double.POSITIVE_INFINITY;
+		double maxX = Double.NEGATIVE_INFINITY;
+		double maxY = Double.NEGATIVE_INFINITY;
+		for(P p : shuffled) {
+			minX = Math.min(minX, p.getX());
+			minY = Math.min(minY, p.getY());
+			maxX = Math.max(maxX, p.getX());
+			maxY = Math.max(maxY, p.getY());
+		}
+
+		int cells = 1 << ORDER;
+		double scale = (cells - 1) / Math.max(Math.max(maxX - minX, maxY - minY), Double.MIN_NORMAL);
+
+		// the Hilbert index (< 2^30) in the upper and the position (< 2^31) in the lower bits
+		long[] keys = new long[n];
+		for(int i = 0; i < n; i++) {
+			P p = shuffled.get(i);
+			int x = (int) ((p.getX() - minX) * scale);
+			int y = (int) ((p.getY() - minY) * scale);
+			keys[i] = (hilbertIndex(x, y, cells) << 31) | i;
+		}
+
+		// sort the rounds [end/2, end), [end/4, end/2), ..., [0, end/2^k) independently
+		int end = n;
+		while(end > MIN_ROUND_SIZE) {
+			int begin = end / 2;
+			Arrays.parallelSort(keys, begin, end);
+			end = begin;
+		}
+		Arrays.sort(keys, 0, end);
+
+		List<P> result = new ArrayList<>(n);
+		for(long key : keys) {
+			result.add(shuffled.get((int) (key & Integer.MAX_VALUE)));
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the index of the cell (x, y) along the Hilbert curve of a square grid.
+	 *
+	 * @param x     the column of the cell
+	 * @param y     the row of the cell
+	 * @param cells the number of cells in each direction, a power of two
+	 *
+	 * @return the index of the cell along the Hilbert curve
+	 */
+	static long hilbertIndex(int x, int y, final int cells) {
+		long index = 0;
+		for(int s = cells / 2; s > 0; s /= 2) {
+			int rx = (x & s) > 0 ? 1 : 0;
+			int ry = (y & s) > 0 ? 1 : 0;
+			index += (long) s * s * ((3 * rx) ^ ry);
+
+			// rotate the quadrant
+			if(ry == 0) {
+				if(rx == 1) {
+					x = cells - 1 - x;
+					y = cells - 1 - y;
+				}
+				int tmp = x;
+				x = y;
+				y = tmp;
+			}
+		}
+		return index;
+	}
+}
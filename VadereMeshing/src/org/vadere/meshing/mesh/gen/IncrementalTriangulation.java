@@ -80,6 +80,9 @@ public class IncrementalTriangulation<V extends IVertex, E extends IHalfEdge, F
 
 	private static double BUFFER_PERCENTAGE = GeometryUtils.DOUBLE_EPS;
 
+	// seed of the biased randomized insertion order, i.e. bulk insertions are deterministic
+	private static final long BRIO_SEED = 0;
+
 	// TODO this epsilon it hard coded!!! => replace it with a user choice
 	private double epsilon = 0.0001;
 	private double edgeCoincidenceTolerance = GeometryUtils.DOUBLE_EPS;
@@ -487,9 +490,7 @@ public class IncrementalTriangulation<V extends IVertex, E extends IHalfEdge, F
 		init();
 
 		// 1. insertVertex points
-		for(IPoint p : points) {
-			insert(p);
-		}
+		insertSorted(points);
 
 		// 2. remove super triangle
 		finish();
@@ -629,6 +630,38 @@ public class IncrementalTriangulation<V extends IVertex, E extends IHalfEdge, F
 		}
 	}
 
+	/**
+	 * Inserts all points in a biased randomized insertion order (see {@link BRIO}) instead of the given order.
+	 * Consecutive points are close to each other, therefore, each point is located by a straight walk starting
+	 * at a face of the previously inserted point instead of using the point locator. The point locator is only
+	 * used for the first point and if the walk fails. This is much faster for large point sets, especially if
+	 * the given order is not spatially coherent.
+	 *
+	 * @param points the points which will be inserted
+	 */
+	@Override
+	public void insertSorted(final Collection<? extends IPoint> points) {
+		if(!initialized) {
+			init();
+		}
+
+		F lastFace = null;
+		for(IPoint p : BRIO.sort(points, BRIO_SEED)) {
+			if(!contains(p)) {
+				throw new IllegalArgumentException(p + " is not contained in " + bound);
+			}
+
+			Optional<F> optFace = lastFace == null || getMesh().isDestroyed(lastFace) ? Optional.empty() : locateMarch(p.getX(), p.getY(), lastFace);
+			F face = optFace.filter(f -> !getMesh().isBoundary(f)).orElseGet(() -> pointLocator.locatePoint(p));
+			E edge = insert(p, face);
+
+			lastFace = getMesh().getFace(edge);
+			if(getMesh().isBoundary(lastFace)) {
+				lastFace = null;
+			}
+		}
+	}
+
 	protected IPointLocator<V, E, F> getPointLocator() {
 	    return pointLocator;
     }
@@ -98,6 +98,15 @@ public interface IIncrementalTriangulation<V extends IVertex, E extends IHalfEdg
 
 	void insert(final Collection<? extends IPoint> points);
 
+	/**
+	 * Inserts all points in a spatially coherent (biased randomized) order instead of the given order, which
+	 * is much faster for large point sets. The resulting triangulation is the same as for
+	 * {@link #insert(Collection)} if the Delaunay triangulation of the points is unique.
+	 *
+	 * @param points the points which will be inserted
+	 */
+	void insertSorted(final Collection<? extends IPoint> points);
+
 	void remove(final IPoint point);
 
 	void setPointLocator(@NotNull final IPointLocator.Type type);
@@ -178,7 +187,7 @@ public interface IIncrementalTriangulation<V extends IVertex, E extends IHalfEdg
 			final IPointLocator.Type type,
 			final Collection<? extends IPoint> points) {
 		IIncrementalTriangulation<PVertex, PHalfEdge, PFace> triangulation = createPTriangulation(type, GeometryUtils.boundRelative(points));
-		triangulation.insert(points);
+		triangulation.insertSorted(points);
 		return triangulation;
 	}
 
@@ -186,7 +195,7 @@ public interface IIncrementalTriangulation<V extends IVertex, E extends IHalfEdg
 		    final IPointLocator.Type type,
 		    final Collection<? extends IPoint> points) {
 	    IIncrementalTriangulation<AVertex, AHalfEdge, AFace> triangulation = createATriangulation(type, GeometryUtils.boundRelative(points));
-        triangulation.insert(points);
+        triangulation.insertSorted(points);
         return triangulation;
     }
 
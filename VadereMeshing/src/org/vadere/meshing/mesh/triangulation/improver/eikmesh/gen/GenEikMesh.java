@@ -35,13 +35,16 @@ import org.vadere.util.math.DistanceFunction;
 import org.vadere.meshing.mesh.triangulation.edgeLengthFunctions.IEdgeLengthFunction;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.DoubleAccumulator;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -65,6 +68,8 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 	private int nSteps;
 	private double initialEdgeLen;
 	private double maxMovement;
+	// the maximal movement of the current step, vertices might be moved concurrently
+	private final DoubleAccumulator movement = new DoubleAccumulator(Math::max, Double.NEGATIVE_INFINITY);
 	private double quality;
 	private double dQuality = Double.POSITIVE_INFINITY;
 
@@ -439,12 +444,15 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 	}
 
 	/**
-	 * Convert vertices to fix points if their surrounding faces have a good enough quality.
+	 * Convert vertices to fix points if their surrounding faces have a good enough quality. The vertices and faces
+	 * are selected in parallel (if enabled) but marked sequentially since the mesh lazily creates its data arrays.
 	 */
 	private void freezeVertices() {
 		if(freezeVertices) {
-			getMesh().streamVertices().filter(v -> getMesh().streamFaces(v).filter(f -> !getMesh().isBoundary(f)).allMatch(f -> faceToQuality(f) > Parameters.qualityMeasurement)).forEach(v -> setFixPoint(v, true));
-			getMesh().streamFaces().filter(f -> getMesh().streamVertices(f).allMatch(v -> isFixPoint(v))).forEach(f -> getMesh().setBooleanData(f, "frozen", true));
+			List<V> frozenVertices = streamVertices().filter(v -> getMesh().streamFaces(v).filter(f -> !getMesh().isBoundary(f)).allMatch(f -> faceToQuality(f) > Parameters.qualityMeasurement)).collect(Collectors.toList());
+			frozenVertices.forEach(v -> setFixPoint(v, true));
+			List<F> frozenFaces = streamFaces().filter(f -> getMesh().streamVertices(f).allMatch(v -> isFixPoint(v))).collect(Collectors.toList());
+			frozenFaces.forEach(f -> getMesh().setBooleanData(f, "frozen", true));
 		}
 	}
 
@@ -457,6 +465,7 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 			}
 			else {
 				maxMovement = Double.NEGATIVE_INFINITY;
+				movement.reset();
 				// geometry is defined by a PSLG
 				if(removeLowBoundaryTriangles) {
 					removeFacesAtBoundary();
@@ -502,6 +511,7 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 				//computeBoundaryForces(); // replaced by virtual edges!
 				updateEdges();
 				updateVertices();
+				maxMovement = movement.get();
 				freezeVertices();
 				nSteps++;
 
@@ -713,7 +723,69 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 	 * if the forces acting on an boundary vertex are to strong.
 	 */
 	private void updateVertices() {
-		streamVertices().forEach(v -> updateVertex(v));
+		if(runParallel) {
+			updateVerticesParallel();
+		}
+		else {
+			streamVertices().forEach(v -> updateVertex(v));
+		}
+	}
+
+	/**
+	 * Parallel version of {@link #updateVertices()}. Breaking vertices are collapsed sequentially since this changes
+	 * the connectivity. Afterwards the vertices are colored such that no two vertices of the same color are adjacent
+	 * (see {@link #colorVertices()}) and the vertices of each color are moved concurrently. A move only reads the
+	 * positions of the 1-ring which is not moved at the same time, therefore, the result is deterministic,
+	 * i.e. it does not depend on the number of threads or the scheduling.
+	 */
+	private void updateVerticesParallel() {
+		for(V vertex : getMesh().getVertices()) {
+			if(!getMesh().isDestroyed(vertex) && canBreak(vertex) && isBreaking(vertex)) {
+				getTriangulation().collapse3DVertex(vertex, true);
+				resetVelocity(vertex);
+			}
+		}
+
+		for(List<V> color : colorVertices()) {
+			color.parallelStream().forEach(v -> {
+				displaceVertex(v);
+				resetVelocity(v);
+			});
+		}
+	}
+
+	/**
+	 * Greedy coloring of the vertices (in the order of the mesh) such that no two adjacent vertices have the same color.
+	 * For triangulations the number of colors is small (typically less than 10).
+	 *
+	 * @return the vertices grouped by their color
+	 */
+	private List<List<V>> colorVertices() {
+		List<List<V>> colors = new ArrayList<>();
+		Map<V, Integer> vertexToColor = new HashMap<>();
+		Set<Integer> neighbourColors = new HashSet<>();
+
+		for(V vertex : getMesh().getVertices()) {
+			neighbourColors.clear();
+			for(V neighbour : getMesh().getAdjacentVertexIt(vertex)) {
+				Integer color = vertexToColor.get(neighbour);
+				if(color != null) {
+					neighbourColors.add(color);
+				}
+			}
+
+			int color = 0;
+			while(neighbourColors.contains(color)) {
+				color++;
+			}
+
+			if(color == colors.size()) {
+				colors.add(new ArrayList<>());
+			}
+			colors.get(color).add(vertex);
+			vertexToColor.put(vertex, color);
+		}
+		return colors;
 	}
 
 	/**
@@ -729,10 +801,22 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 		 * (2) otherwise displace the vertex
 		 */
 		if(canBreak(vertex) && isBreaking(vertex)) {
-			// TODO: if the algorithm runs in parallel this might lead to unexpected results! synchronized required!
 			getTriangulation().collapse3DVertex(vertex, true);
 		}
-		else if(!isFixPoint(vertex)) {
+		else {
+			displaceVertex(vertex);
+		}
+		resetVelocity(vertex);
+	}
+
+	/**
+	 * Displaces a vertex which is not a fix point according to its force. If the vertex is a sliding point it only
+	 * slides on its sliding line, otherwise it might get back projected if it is outside.
+	 *
+	 * @param vertex the vertex
+	 */
+	private void displaceVertex(final V vertex) {
+		if(!isFixPoint(vertex)) {
 			/*
 			 * (2.1) if it is a sliding point which slides on the boundary, then let the point only move on its sliding line.
 			 */
@@ -753,6 +837,9 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 				}
 			}
 		}
+	}
+
+	private void resetVelocity(final V vertex) {
 		setVelocityX(vertex, 0);
 		setVelocityY(vertex, 0);
 		setAbsVelocity(vertex, 0);
@@ -769,9 +856,7 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 		if(isLegalMove(vertex, newX, newY)) {
 			double distance = GeometryUtils.length(vertex.getX() - newX, vertex.getY() - newY);
 			getMesh().setCoords(vertex, newX, newY);
-			if(maxMovement < distance) {
-				maxMovement = distance;
-			}
+			movement.accumulate(distance);
 			return true;
 		}
 		return false;
@@ -1314,10 +1399,7 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 	 */
 	private boolean flipEdges() {
 		if(runParallel) {
-			streamEdges()
-					.filter(e -> getTriangulation().isIllegal(e))
-					.filter(e -> !isConstrained(e))
-					.forEach(e -> getTriangulation().flipSync(e));
+			flipEdgesParallel();
 		}
 		else {
 			streamEdges()
@@ -1328,19 +1410,66 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 		return false;
 	}
 
+	/**
+	 * Parallel version of {@link #flipEdges()}. The illegal edges are flipped in rounds: each round selects (in the
+	 * order of the mesh) illegal edges whose quadrilaterals (the two adjacent faces) do not share a vertex. These
+	 * flips are independent, i.e. they change disjoint parts of the mesh and they are executed concurrently without
+	 * any locks. Edges which conflict with a selected edge are deferred to the next round, where they are tested
+	 * again. Since the selection is sequential, the result is deterministic.
+	 */
+	private void flipEdgesParallel() {
+		List<E> candidates = streamEdges()
+				.filter(e -> getTriangulation().isIllegal(e))
+				.filter(e -> !isConstrained(e))
+				.collect(Collectors.toList());
+
+		Set<V> usedVertices = new HashSet<>();
+		while(!candidates.isEmpty()) {
+			List<E> independentEdges = new ArrayList<>();
+			List<E> deferredEdges = new ArrayList<>();
+			usedVertices.clear();
+
+			for(E edge : candidates) {
+				// the edge might be legal because of an earlier flip
+				if(!getTriangulation().isIllegal(edge)) {
+					continue;
+				}
+
+				V v1 = getMesh().getVertex(edge);
+				V v2 = getMesh().getVertex(getMesh().getNext(edge));
+				V v3 = getMesh().getVertex(getMesh().getTwin(edge));
+				V v4 = getMesh().getVertex(getMesh().getNext(getMesh().getTwin(edge)));
+
+				if(usedVertices.contains(v1) || usedVertices.contains(v2) || usedVertices.contains(v3) || usedVertices.contains(v4)) {
+					deferredEdges.add(edge);
+				} else {
+					usedVertices.add(v1);
+					usedVertices.add(v2);
+					usedVertices.add(v3);
+					usedVertices.add(v4);
+					independentEdges.add(edge);
+				}
+			}
+
+			independentEdges.parallelStream().forEach(e -> getTriangulation().flip(e));
+			candidates = deferredEdges;
+		}
+	}
+
 	/**
 	 * Computation of the factor which transforms relative edge length into absolute ones.
 	 */
 	private double computeEdgeScalingFactor(@NotNull final IEdgeLengthFunction edgeLengthFunc) {
-		double edgeLengthSum = streamEdges()
+		// the terms are computed in parallel but summed up in order, i.e. the sum is independent of the number of threads
+		double edgeLengthSum = Arrays.stream(streamEdges()
 				.map(edge -> getMesh().toLine(edge))
 				.mapToDouble(line -> line.length())
-				.sum();
+				.toArray()).sum();
 
-		double desiredEdgeLenSum = streamEdges()
+		double desiredEdgeLenSum = Arrays.stream(streamEdges()
 				.map(edge -> getMesh().toLine(edge))
 				.map(line -> line.midPoint())
-				.mapToDouble(midPoint -> edgeLengthFunc.apply(midPoint)).sum();
+				.mapToDouble(midPoint -> edgeLengthFunc.apply(midPoint)).toArray()).sum();
 		return Math.sqrt((edgeLengthSum * edgeLengthSum) / (desiredEdgeLenSum * desiredEdgeLenSum));
 	}
 
@@ -1354,6 +1483,10 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 		return runParallel ? getMesh().streamVerticesParallel() : getMesh().streamVertices();
 	}
 
+	private Stream<F> streamFaces() {
+		return runParallel ? getMesh().streamFacesParallel() : getMesh().streamFaces();
+	}
+
 	/**
 	 * Returns true if and only if the vertex {@link V} is a fix point.
 	 *
@@ -1674,6 +1807,22 @@ public class GenEikMesh<V extends IVertex, E extends IHalfEdge, F extends IFace>
 		this.useVirtualEdges = useVirtualEdges;
 	}
 
+	public void setFreezeVertices(final boolean freezeVertices) {
+		this.freezeVertices = freezeVertices;
+	}
+
+	/**
+	 * Enables the parallel improvement: forces, vertex displacements (of independent vertices) and edge flips
+	 * (of independent edges) are computed concurrently, the result is deterministic. Boundary handling (edge splits,
+	 * vertex collapses, the removal of boundary faces) stays sequential. The triangulation is modified by multiple
+	 * threads, i.e. its point locator and listeners have to tolerate concurrent flip events.
+	 *
+	 * @param runParallel true if the improvement runs in parallel, false otherwise
+	 */
+	public void setRunParallel(final boolean runParallel) {
+		this.runParallel = runParallel;
+	}
+
 	public void setRemoveLowBoundaryTriangles(final boolean removeLowBoundaryTriangles) {
 		this.removeLowBoundaryTriangles = removeLowBoundaryTriangles;
 	}
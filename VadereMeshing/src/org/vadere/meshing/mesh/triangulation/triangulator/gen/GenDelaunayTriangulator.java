@@ -44,7 +44,7 @@ public class GenDelaunayTriangulator<V extends IVertex, E extends IHalfEdge, F e
 	public IIncrementalTriangulation<V, E, F> generate(boolean finalize) {
 		if(!generated) {
 			triangulation.init();
-			triangulation.insert(pointSet);
+			triangulation.insertSorted(pointSet);
 
 			if(finalize) {
 				triangulation.finish();
@@ -0,0 +1,130 @@
+package org.vadere.geometry.mesh;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.vadere.meshing.mesh.gen.AFace;
+import org.vadere.meshing.mesh.gen.AHalfEdge;
+import org.vadere.meshing.mesh.gen.AMesh;
+import org.vadere.meshing.mesh.gen.AMeshBinary;
+import org.vadere.meshing.mesh.gen.AVertex;
+import org.vadere.meshing.mesh.inter.IIncrementalTriangulation;
+import org.vadere.meshing.mesh.inter.IPointLocator;
+import org.vadere.util.geometry.shapes.IPoint;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestAMeshBinary {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private AMesh mesh;
+
+	@Before
+	public void setUp() {
+		Random random = new Random(0);
+		List<IPoint> points = new ArrayList<>();
+		for(int i = 0; i < 500; i++) {
+			points.add(new VPoint(random.nextDouble() * 10, random.nextDouble() * 10));
+		}
+
+		// removing the super triangle destroys elements, i.e. the mesh contains gaps
+		IIncrementalTriangulation<AVertex, AHalfEdge, AFace> triangulation =
+				IIncrementalTriangulation.createATriangulation(IPointLocator.Type.BASE, new VRectangle(0, 0, 10, 10));
+		triangulation.insert(points);
+		triangulation.finish();
+		mesh = (AMesh) triangulation.getMesh();
+
+		mesh.streamVertices().forEach(v -> mesh.setDoubleData(v, "potential", v.getX() * v.getY()));
+		mesh.streamFaces().forEach(f -> mesh.setDoubleData(f, "area", mesh.toTriangle(f).getArea()));
+	}
+
+	@Test
+	public void testWriteAndMap() throws IOException {
+		File file = folder.newFile("mesh.bin");
+		AMeshBinary.write(mesh, file);
+
+		AMeshBinary binary = AMeshBinary.map(file);
+		assertEquals(mesh.getNumberOfVertices(), binary.getNumberOfVertices());
+		assertEquals(mesh.getNumberOfEdges(), binary.getNumberOfEdges());
+		assertEquals(List.of("potential"), binary.getVertexDoubleDataNames());
+		assertEquals(List.of("area"), binary.getFaceDoubleDataNames());
+
+		AMesh loaded = binary.toMesh();
+		assertTrue(loaded.isValid());
+		assertEquals(mesh.getNumberOfVertices(), loaded.getNumberOfVertices());
+		assertEquals(mesh.getNumberOfEdges(), loaded.getNumberOfEdges());
+		assertEquals(mesh.getNumberOfFaces(), loaded.getNumberOfFaces());
+		assertEquals(mesh.getNumberOfHoles(), loaded.getNumberOfHoles());
+		assertEquals(toPoints(mesh), toPoints(loaded));
+		assertEquals(toFaces(mesh), toFaces(loaded));
+		assertEquals(mesh.getPoints(mesh.getBorder()), loaded.getPoints(loaded.getBorder()));
+
+		List<AVertex> vertices = mesh.getVertices();
+		List<AVertex> loadedVertices = loaded.getVertices();
+		for(int i = 0; i < vertices.size(); i++) {
+			assertEquals(mesh.getDoubleData(vertices.get(i), "potential"), loaded.getDoubleData(loadedVertices.get(i), "potential"), 0.0);
+		}
+
+		List<AFace> faces = mesh.getFaces();
+		List<AFace> loadedFaces = loaded.getFaces();
+		for(int i = 0; i < faces.size(); i++) {
+			assertEquals(mesh.getDoubleData(faces.get(i), "area"), loaded.getDoubleData(loadedFaces.get(i), "area"), 0.0);
+		}
+	}
+
+	@Test
+	public void testCopyDoubleData() throws IOException {
+		File file = folder.newFile("mesh.bin");
+		AMeshBinary.write(mesh, file);
+		AMeshBinary binary = AMeshBinary.wrap(ByteBuffer.wrap(Files.readAllBytes(file.toPath())));
+
+		AMesh loaded = binary.toMesh();
+		var potential = loaded.getDoubleVertexContainer("potential");
+		loaded.streamVertices().forEach(v -> potential.setValue(v, 0.0));
+
+		binary.copyDoubleDataTo(loaded);
+
+		// the container is still valid after the copy
+		loaded.streamVertices().forEach(v -> assertEquals(v.getX() * v.getY(), potential.getValue(v), 0.0));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCopyDoubleDataToDifferentMesh() throws IOException {
+		File file = folder.newFile("mesh.bin");
+		AMeshBinary.write(mesh, file);
+
+		AMeshBinary.map(file).copyDoubleDataTo(AMesh.createSimpleTriMesh());
+	}
+
+	@Test(expected = IOException.class)
+	public void testMapInvalidFile() throws IOException {
+		File file = folder.newFile("mesh.bin");
+		Files.write(file.toPath(), new byte[]{1, 2, 3});
+
+		AMeshBinary.map(file);
+	}
+
+	private static List<VPoint> toPoints(AMesh mesh) {
+		return mesh.streamVertices().map(v -> new VPoint(v.getX(), v.getY())).collect(Collectors.toList());
+	}
+
+	private static List<List<VPoint>> toFaces(AMesh mesh) {
+		return mesh.streamFaces().map(f -> mesh.streamVertices(f).map(v -> new VPoint(v.getX(), v.getY())).collect(Collectors.toList()))
+				.collect(Collectors.toList());
+	}
+}
@@ -0,0 +1,82 @@
+package org.vadere.geometry.mesh;
+
+import org.junit.Test;
+import org.vadere.meshing.mesh.gen.PVertex;
+import org.vadere.meshing.mesh.triangulation.improver.eikmesh.impl.PEikMesh;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.math.IDistanceFunction;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestEikMeshParallel {
+
+	private static final int STEPS = 30;
+
+	private final VRectangle bound = new VRectangle(-11, -11, 22, 22);
+	private final IDistanceFunction ring = IDistanceFunction.createRing(0, 0, 4, 10);
+
+	@Test
+	public void testParallelImprovementIsDeterministic() throws Exception {
+		List<VPoint> singleThread = improveIn(new ForkJoinPool(1), false);
+		List<VPoint> multipleThreads = improveIn(new ForkJoinPool(4), false);
+
+		assertEquals(singleThread, multipleThreads);
+	}
+
+	@Test
+	public void testParallelImprovementWithFrozenVertices() throws Exception {
+		List<VPoint> singleThread = improveIn(new ForkJoinPool(1), true);
+		List<VPoint> multipleThreads = improveIn(new ForkJoinPool(4), true);
+		assertEquals(singleThread, multipleThreads);
+
+		// all faces whose vertices are frozen are marked
+		PEikMesh parallel = improve(true, true);
+		assertTrue(parallel.getMesh().isValid());
+		assertTrue(parallel.getMesh().streamVertices().anyMatch(v -> parallel.isFixPoint(v)));
+		assertTrue(parallel.getMesh().streamFaces()
+				.filter(f -> parallel.getMesh().streamVertices(f).allMatch(v -> parallel.isFixPoint(v)))
+				.allMatch(f -> parallel.getMesh().getBooleanData(f, "frozen")));
+	}
+
+	@Test
+	public void testParallelImprovementGeneratesValidMesh() {
+		PEikMesh sequential = improve(false, false);
+		PEikMesh parallel = improve(true, false);
+
+		assertTrue(parallel.getMesh().isValid());
+		assertTrue(parallel.getMesh().streamFaces().allMatch(f -> parallel.getTriangulation().isCCW(f)));
+		assertEquals(sequential.getQuality(), parallel.getQuality(), 0.05);
+	}
+
+	private List<VPoint> improveIn(ForkJoinPool pool, boolean freezeVertices) throws Exception {
+		try {
+			PEikMesh meshImprover = pool.submit(() -> improve(true, freezeVertices)).get();
+			return meshImprover.getMesh().streamVertices()
+					.map(PVertex::getPoint)
+					.map(p -> new VPoint(p.getX(), p.getY()))
+					.collect(Collectors.toList());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private PEikMesh improve(boolean runParallel, boolean freezeVertices) {
+		PEikMesh meshImprover = new PEikMesh(ring, p -> 1.0, 0.8, bound, Collections.emptyList());
+		meshImprover.setRunParallel(runParallel);
+		meshImprover.setFreezeVertices(freezeVertices);
+		while (!meshImprover.isInitialized()) {
+			meshImprover.initialize();
+		}
+		for (int i = 0; i < STEPS; i++) {
+			meshImprover.improve();
+		}
+		return meshImprover;
+	}
+}
@@ -0,0 +1,70 @@
+package org.vadere.geometry.triangulation;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.vadere.meshing.mesh.gen.BRIO;
+import org.vadere.meshing.mesh.gen.PFace;
+import org.vadere.meshing.mesh.gen.PHalfEdge;
+import org.vadere.meshing.mesh.gen.PVertex;
+import org.vadere.meshing.mesh.inter.IIncrementalTriangulation;
+import org.vadere.meshing.mesh.inter.IPointLocator;
+import org.vadere.util.geometry.shapes.IPoint;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestBRIO {
+
+	private final VRectangle bound = new VRectangle(0, 0, 100, 100);
+	private List<IPoint> points;
+
+	@Before
+	public void setUp() {
+		Random random = new Random(0);
+		points = new ArrayList<>();
+		for(int i = 0; i < 5000; i++) {
+			points.add(new VPoint(random.nextDouble() * 100, random.nextDouble() * 100));
+		}
+	}
+
+	@Test
+	public void testSortIsDeterministicPermutation() {
+		List<IPoint> sorted = BRIO.sort(points, 0);
+
+		assertEquals(points.size(), sorted.size());
+		assertEquals(new HashSet<>(points), new HashSet<>(sorted));
+		assertEquals(sorted, BRIO.sort(points, 0));
+	}
+
+	@Test
+	public void testSortedInsertionEqualsInsertion() {
+		for(IPointLocator.Type type : new IPointLocator.Type[]{IPointLocator.Type.JUMP_AND_WALK, IPointLocator.Type.DELAUNAY_HIERARCHY}) {
+			IIncrementalTriangulation<PVertex, PHalfEdge, PFace> triangulation = IIncrementalTriangulation.createPTriangulation(type, bound);
+			triangulation.insert(points);
+			triangulation.finish();
+
+			IIncrementalTriangulation<PVertex, PHalfEdge, PFace> sortedTriangulation = IIncrementalTriangulation.createPTriangulation(type, bound);
+			sortedTriangulation.insertSorted(points);
+			sortedTriangulation.finish();
+
+			assertTrue(sortedTriangulation.getMesh().isValid());
+			assertEquals(points.size(), sortedTriangulation.getMesh().getNumberOfVertices());
+			assertEquals(toTriangles(triangulation), toTriangles(sortedTriangulation));
+		}
+	}
+
+	private static Set<Set<IPoint>> toTriangles(IIncrementalTriangulation<PVertex, PHalfEdge, PFace> triangulation) {
+		return triangulation.getMesh().streamFaces()
+				.map(f -> triangulation.getMesh().streamVertices(f).map(v -> new VPoint(v.getX(), v.getY())).collect(Collectors.<IPoint>toSet()))
+				.collect(Collectors.toSet());
+	}
+}
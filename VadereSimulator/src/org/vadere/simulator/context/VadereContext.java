@@ -23,6 +23,21 @@ public class VadereContext extends Context {
 		contextMap.put(contextId, ctx);
 	}
 
+	/**
+	 * Adds the context with the given id or, if this id is already in use (e.g. by a concurrent run of the
+	 * same scenario), with the id extended by a unique suffix.
+	 *
+	 * @return the id of the added context
+	 */
+	public synchronized static String addUnique(String contextId, VadereContext ctx){
+		String uniqueId = contextId;
+		for (int i = 1; contextMap.containsKey(uniqueId); i++) {
+			uniqueId = contextId + "#" + i;
+		}
+		contextMap.put(uniqueId, ctx);
+		return uniqueId;
+	}
+
 	public synchronized static void remove(String contextId){
 		contextMap.remove(contextId);
 	}
@@ -26,11 +26,13 @@ public class StimulusController {
     private ScenarioStore scenarioStore;
     private List<StimulusInfo> oneTimeStimuli;
     private List<StimulusInfo> recurringStimuli;
+    private final StimulusIndex stimulusIndex;
 
 
     // Constructors
     public StimulusController(ScenarioStore scenarioStore) {
         this.scenarioStore = scenarioStore;
+        this.stimulusIndex = new StimulusIndex();
         setCheckStimuli();
     }
 
@@ -91,11 +93,50 @@ public class StimulusController {
         return stimuli;
     }
 
+    /**
+     * Returns the stimuli of all pedestrians for the given simulation time. The result is the same as calling
+     * {@link #getStimuliFiltered(double, VPoint, Integer)} for each pedestrian but the active stimulus infos are
+     * selected once per call and the pedestrians are only tested against the areas of the active stimulus infos
+     * which are close to them (see {@link StimulusIndex}).
+     */
     public HashMap<Pedestrian, List<Stimulus>> getStimuli(double simulationTime, Collection<Pedestrian> peds) {
 
+        setCheckStimuli();
+
+        List<StimulusInfo> activeOneTimeStimuli = oneTimeStimuli.stream()
+                .filter(stimulusInfo -> oneTimeTimeframeIsActiveAtSimulationTime(stimulusInfo.getTimeframe(), simulationTime))
+                .collect(Collectors.toList());
+        List<StimulusInfo> activeRecurringStimuli = recurringStimuli.stream()
+                .filter(stimulusInfo -> timeframeIsActiveAtSimulationTime(stimulusInfo.getTimeframe(), simulationTime))
+                .collect(Collectors.toList());
+        stimulusIndex.update(activeOneTimeStimuli, activeRecurringStimuli);
+
+        List<StimulusInfo> activeInfos = stimulusIndex.getActiveInfos();
+        boolean[] perceived = new boolean[activeInfos.size()];
+        List<Integer> infoIndices = new ArrayList<>();
+
         HashMap<Pedestrian, List<Stimulus>> pedSpecificStimuliForTime = new HashMap<>();
         for (Pedestrian ped : peds) {
-            pedSpecificStimuliForTime.put(ped, getStimuliFiltered(simulationTime, ped.getPosition(), ped.getId()));
+            List<Stimulus> stimuli = new ArrayList<>();
+
+            // Always, create an "ElapsedTime".
+            stimuli.add(new ElapsedTime(simulationTime));
+
+            infoIndices.clear();
+            stimulusIndex.getInfos(ped.getPosition(), ped.getId(), infoIndices);
+            for (int index : infoIndices) {
+                stimuli.addAll(activeInfos.get(index).getStimuli());
+                perceived[index] = true;
+            }
+
+            pedSpecificStimuliForTime.put(ped, stimuli);
+        }
+
+        // Set timestamp for each stimulus which is perceived by at least one pedestrian.
+        for (int i = 0; i < perceived.length; i++) {
+            if (perceived[i]) {
+                activeInfos.get(i).getStimuli().forEach(stimulus -> stimulus.setTime(simulationTime));
+            }
         }
 
         return pedSpecificStimuliForTime;
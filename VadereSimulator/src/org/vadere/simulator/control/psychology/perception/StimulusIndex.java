@@ -0,0 +1,242 @@
+package org.vadere.simulator.control.psychology.perception;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.state.psychology.perception.json.StimulusInfo;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VShape;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Index of the {@link StimulusInfo}s which are active at the current simulation time. It is used by the
+ * {@link StimulusController} to compute the stimuli of all pedestrians of a simulation step without testing
+ * each pedestrian against each stimulus:
+ * <ul>
+ *     <li>the active stimulus infos are selected once per step (and not once per pedestrian),</li>
+ *     <li>the areas of the active stimulus infos are stored in a uniform grid, i.e. a pedestrian is only tested
+ *     against the areas which overlap its grid cell,</li>
+ *     <li>the affected pedestrian ids of a stimulus info are stored in a hash set.</li>
+ * </ul>
+ * The grid is only rebuilt if the set of active stimulus infos changed, i.e. typically only a few times per
+ * simulation run. The order of the active stimulus infos (i.e. the order in which their stimuli are handed to
+ * the pedestrians) is the order in which they are passed to {@link #update(List, List)}.
+ */
+class StimulusIndex {
+
+    /** upper bound for the number of grid cells in each direction */
+    static final int MAX_CELLS_PER_AXIS = 64;
+
+    /** lower bound for the side length of a grid cell */
+    static final double MIN_CELL_SIZE = 1.0;
+
+    private final List<StimulusInfo> activeInfos;
+    private final List<Set<Integer>> affectedIds;
+    private final List<Integer> unrestrictedInfos;
+    private List<Integer>[] cells;
+    private double minX;
+    private double minY;
+    private double maxX;
+    private double maxY;
+    private double cellWidth;
+    private double cellHeight;
+    private int columns;
+    private int rows;
+    private int numberOfRebuilds;
+
+    StimulusIndex() {
+        this.activeInfos = new ArrayList<>();
+        this.affectedIds = new ArrayList<>();
+        this.unrestrictedInfos = new ArrayList<>();
+        this.columns = 0;
+        this.rows = 0;
+        this.numberOfRebuilds = 0;
+    }
+
+    /**
+     * Updates the index for the given active stimulus infos, the index is rebuilt only if they differ from the
+     * active stimulus infos of the last update (i.e. other objects or a different order).
+     *
+     * @param activeOneTimeInfos    the active one-time stimulus infos
+     * @param activeRecurringInfos  the active recurring stimulus infos
+     *
+     * @return true if the index was rebuilt
+     */
+    boolean update(@NotNull final List<StimulusInfo> activeOneTimeInfos, @NotNull final List<StimulusInfo> activeRecurringInfos) {
+        if (sameInfos(activeOneTimeInfos, activeRecurringInfos)) {
+            return false;
+        }
+
+        activeInfos.clear();
+        activeInfos.addAll(activeOneTimeInfos);
+        activeInfos.addAll(activeRecurringInfos);
+        rebuild();
+        return true;
+    }
+
+    /**
+     * Returns the active stimulus infos of the last update.
+     */
+    List<StimulusInfo> getActiveInfos() {
+        return activeInfos;
+    }
+
+    int getNumberOfRebuilds() {
+        return numberOfRebuilds;
+    }
+
+    /**
+     * Adds the indices (with respect to {@link #getActiveInfos()}) of all active stimulus infos which affect the
+     * pedestrian to the buffer, in ascending order. The buffer is not cleared, such that the caller can reuse it.
+     *
+     * @param position  the position of the pedestrian
+     * @param pedId     the id of the pedestrian
+     * @param buffer    the list to which the indices are added
+     */
+    void getInfos(@NotNull final VPoint position, final int pedId, @NotNull final List<Integer> buffer) {
+        List<Integer> candidates = unrestrictedInfos;
+
+        if (columns > 0 && position.x >= minX && position.y >= minY
+                && position.x <= maxX && position.y <= maxY) {
+            candidates = cells[row(position.y) * columns + column(position.x)];
+        }
+
+        for (int i = 0; i < candidates.size(); i++) {
+            int index = candidates.get(i);
+            if (pedIsAffected(index, pedId) && pedIsInSpecifiedArea(index, position)) {
+                buffer.add(index);
+            }
+        }
+    }
+
+    private boolean sameInfos(@NotNull final List<StimulusInfo> activeOneTimeInfos, @NotNull final List<StimulusInfo> activeRecurringInfos) {
+        if (numberOfRebuilds == 0 || activeInfos.size() != activeOneTimeInfos.size() + activeRecurringInfos.size()) {
+            return false;
+        }
+        for (int i = 0; i < activeOneTimeInfos.size(); i++) {
+            if (activeInfos.get(i) != activeOneTimeInfos.get(i)) {
+                return false;
+            }
+        }
+        for (int i = 0; i < activeRecurringInfos.size(); i++) {
+            if (activeInfos.get(activeOneTimeInfos.size() + i) != activeRecurringInfos.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rebuild() {
+        affectedIds.clear();
+        unrestrictedInfos.clear();
+
+        Rectangle2D bounds = null;
+        for (int i = 0; i < activeInfos.size(); i++) {
+            StimulusInfo info = activeInfos.get(i);
+            List<Integer> ids = info.getSubpopulationFilter().getAffectedPedestrianIds();
+            affectedIds.add(ids.isEmpty() ? null : new HashSet<>(ids));
+
+            List<VShape> areas = info.getLocation().getAreas();
+            if (areas.isEmpty()) {
+                unrestrictedInfos.add(i);
+            } else {
+                for (VShape area : areas) {
+                    if (bounds == null) {
+                        // copy the bounds, such that the area is not modified by adding the other bounds
+                        bounds = new Rectangle2D.Double();
+                        bounds.setRect(area.getBounds2D());
+                    } else {
+                        bounds.add(area.getBounds2D());
+                    }
+                }
+            }
+        }
+
+        if (bounds == null) {
+            columns = 0;
+            rows = 0;
+            cells = null;
+        } else {
+            minX = bounds.getMinX();
+            minY = bounds.getMinY();
+            maxX = bounds.getMaxX();
+            maxY = bounds.getMaxY();
+            columns = numberOfCells(bounds.getWidth());
+            rows = numberOfCells(bounds.getHeight());
+            cellWidth = Math.max(bounds.getWidth() / columns, Double.MIN_NORMAL);
+            cellHeight = Math.max(bounds.getHeight() / rows, Double.MIN_NORMAL);
+            cells = new List[columns * rows];
+
+            for (int cell = 0; cell < cells.length; cell++) {
+                cells[cell] = new ArrayList<>();
+            }
+
+            // the cells contain the indices in ascending order, i.e. the order of the stimuli is preserved
+            for (int i = 0; i < activeInfos.size(); i++) {
+                List<VShape> areas = activeInfos.get(i).getLocation().getAreas();
+                if (areas.isEmpty()) {
+                    for (List<Integer> cell : cells) {
+                        cell.add(i);
+                    }
+                } else {
+                    addToCells(i, areas);
+                }
+            }
+        }
+
+        numberOfRebuilds++;
+    }
+
+    private void addToCells(final int index, @NotNull final List<VShape> areas) {
+        // one area may overlap the cells of another area of the same info, each cell contains an index only once
+        Set<Integer> overlappedCells = new HashSet<>();
+        for (VShape area : areas) {
+            Rectangle2D areaBounds = area.getBounds2D();
+            int minColumn = column(areaBounds.getMinX());
+            int maxColumn = column(areaBounds.getMaxX());
+            int minRow = row(areaBounds.getMinY());
+            int maxRow = row(areaBounds.getMaxY());
+
+            for (int row = minRow; row <= maxRow; row++) {
+                for (int column = minColumn; column <= maxColumn; column++) {
+                    overlappedCells.add(row * columns + column);
+                }
+            }
+        }
+        overlappedCells.forEach(cell -> cells[cell].add(index));
+    }
+
+    private static int numberOfCells(final double length) {
+        return Math.max(1, Math.min(MAX_CELLS_PER_AXIS, (int) Math.ceil(length / MIN_CELL_SIZE)));
+    }
+
+    private int column(final double x) {
+        return Math.max(0, Math.min(columns - 1, (int) ((x - minX) / cellWidth)));
+    }
+
+    private int row(final double y) {
+        return Math.max(0, Math.min(rows - 1, (int) ((y - minY) / cellHeight)));
+    }
+
+    private boolean pedIsAffected(final int index, final int pedId) {
+        Set<Integer> ids = affectedIds.get(index);
+        return ids == null || ids.contains(pedId);
+    }
+
+    private boolean pedIsInSpecifiedArea(final int index, @NotNull final VPoint position) {
+        List<VShape> areas = activeInfos.get(index).getLocation().getAreas();
+        if (areas.isEmpty()) {
+            return true;
+        }
+        for (VShape area : areas) {
+            if (area.contains(position)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -60,6 +60,7 @@ public class AbsorbingAreaController extends ScenarioElementController {
         final Collection<DynamicElement> elementsNearAbsorbingArea = new LinkedList<>();
 
         List<Pedestrian> pedestriansNearAbsorbingArea = topography.getSpatialMap(Pedestrian.class).getObjects(centerOfAbsorbingArea, deletionRadius);
+        pedestriansNearAbsorbingArea.removeIf(topography::isGhost);
         elementsNearAbsorbingArea.addAll(pedestriansNearAbsorbingArea);
 
         return elementsNearAbsorbingArea;
@@ -2,7 +2,7 @@ package org.vadere.simulator.control.scenarioelements;
 
 import org.vadere.meshing.mesh.triangulation.DistanceFunctionApproxBF;
 import org.vadere.simulator.context.VadereContext;
-import org.vadere.simulator.models.potential.fields.PotentialFieldDistancesBruteForce;
+import org.vadere.simulator.models.potential.fields.PotentialFieldDistancesParallel;
 import org.vadere.simulator.projects.Domain;
 import org.vadere.simulator.utils.cache.ScenarioCache;
 import org.vadere.state.attributes.models.AttributesFloorField;
@@ -57,17 +57,26 @@ public class OfflineTopographyController extends ScenarioElementController  {
 					getTopography().getBounds(),
 					iPoint -> distanceFunction.apply(iPoint, null)));
 
+		} else if(attributesFloorField.isExactObstacleDistance()) {
+			// use the exact distance function of the topography (bounding volume hierarchy of the obstacles)
+			IDistanceFunctionCached distanceFunction = getTopography().getExactObstacleDistanceFunction();
+			getTopography().setObstacleDistanceFunction(distanceFunction);
+			getTopography().setReachablePointProvider(SimpleReachablePointProvider.uniform(
+					random,
+					getTopography().getBounds(),
+					distanceFunction));
+
 		} else {
 			// add distance function
 			ScenarioCache cache = (ScenarioCache) VadereContext.getCtx(getTopography()).getOrDefault("cache", ScenarioCache.empty());
-			PotentialFieldDistancesBruteForce distanceField = new PotentialFieldDistancesBruteForce(
+			PotentialFieldDistancesParallel distanceField = new PotentialFieldDistancesParallel(
 					getTopography().getObstacles().stream().map(obs -> obs.getShape()).collect(Collectors.toList()),
 					new VRectangle(getTopography().getBounds()),
 					attributesFloorField, cache);
 
 			getTopography().setObstacleDistanceFunction(iPoint -> -distanceField.getPotential(iPoint, null));
 
-			// use PotentialFieldDistancesBruteForce as distance function
+			// use PotentialFieldDistancesParallel as distance function
 			getTopography().setReachablePointProvider(SimpleReachablePointProvider.uniform(
 					random,
 					getTopography().getBounds(),
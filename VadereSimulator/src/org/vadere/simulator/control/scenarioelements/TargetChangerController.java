@@ -82,6 +82,7 @@ public class TargetChangerController extends ScenarioElementController {
         final double reachRadius = Math.max(areaBounds.getHeight(), areaBounds.getWidth()) + reachDistance;
 
         List<Pedestrian> pedestriansNearArea = topography.getSpatialMap(Pedestrian.class).getObjects(areaCenter, reachRadius);
+        pedestriansNearArea.removeIf(topography::isGhost);
 
         return new LinkedList<>(pedestriansNearArea);
     }
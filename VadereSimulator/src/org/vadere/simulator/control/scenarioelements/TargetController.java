@@ -122,7 +122,10 @@ public class TargetController extends ScenarioElementController {
 	}
 
 	private <T extends DynamicElement> List<T> getObjectsInCircle(final Class<T> clazz, final VPoint center, final double radius) {
-		return topography.getSpatialMap(clazz).getObjects(center, radius);
+		// ghosts are simulated by another simulation, i.e. they can not reach this target
+		List<T> objects = topography.getSpatialMap(clazz).getObjects(center, radius);
+		objects.removeIf(topography::isGhost);
+		return objects;
 	}
 
 	private boolean hasAgentReachedThisTarget(Agent agent) {
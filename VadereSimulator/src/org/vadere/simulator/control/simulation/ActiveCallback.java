@@ -0,0 +1,22 @@
+package org.vadere.simulator.control.simulation;
+
+import org.vadere.simulator.models.DynamicElementFactory;
+import org.vadere.simulator.projects.Domain;
+
+/**
+ * This interface defines callbacks for the simulation loop which, in contrast to {@link PassiveCallback},
+ * may change the state, e.g. add or remove pedestrians exchanged with other simulations.
+ * {@link #preUpdate(double)} is called before the scenario elements and models are updated and
+ * {@link #postUpdate(double)} after the models are updated but before the output processors are updated.
+ */
+public interface ActiveCallback {
+	void setDomain(Domain domain, DynamicElementFactory dynamicElementFactory);
+
+	void preLoop(double simTimeInSec);
+
+	void postLoop(double simTimeInSec);
+
+	void preUpdate(double simTimeInSec);
+
+	void postUpdate(double simTimeInSec);
+}
@@ -7,6 +7,7 @@ import org.jetbrains.annotations.Nullable;
 import org.vadere.meshing.mesh.gen.AFace;
 import org.vadere.meshing.mesh.gen.AHalfEdge;
 import org.vadere.meshing.mesh.gen.AMesh;
+import org.vadere.meshing.mesh.gen.AMeshBinary;
 import org.vadere.meshing.mesh.gen.AVertex;
 import org.vadere.meshing.utils.io.poly.MeshPolyReader;
 import org.vadere.meshing.utils.io.poly.MeshPolyWriter;
@@ -33,6 +34,7 @@ import org.vadere.state.psychology.perception.json.StimulusInfo;
 import org.vadere.util.io.IOUtils;
 import org.vadere.util.logging.Logger;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -59,6 +61,7 @@ public class ScenarioRun implements Runnable {
 
 	protected static Logger logger = Logger.getLogger(ScenarioRun.class);
 
+
 	protected final ScenarioCache scenarioCache;
 
 	protected Path outputPath;
@@ -67,6 +70,8 @@ public class ScenarioRun implements Runnable {
 
 	protected final List<PassiveCallback> passiveCallbacks = new LinkedList<>();
 
+	protected final List<ActiveCallback> activeCallbacks = new LinkedList<>();
+
 	protected final List<RemoteRunListener> remoteRunListeners = new ArrayList<>();
 
 	protected final DataProcessingJsonManager dataProcessingJsonManager;
@@ -115,7 +120,6 @@ public class ScenarioRun implements Runnable {
 
 	private void initializeVadereContext(){
 		String scenarioName = scenario.getName();
-		this.scenarioStore.getTopography().setContextId(scenarioName);
 		VadereContext ctx = new VadereContext();
 
 		if (scenarioCache.isNotEmpty())
@@ -124,7 +128,9 @@ public class ScenarioRun implements Runnable {
 		ctx.put("cache", scenarioCache);
 		ctx.put(AirTransmissionModel.simStepLength, scenario.getAttributesSimulation().getSimTimeStepLength());
 
-		VadereContext.add(scenarioName, ctx);
+		// runs of the same scenario in the same process (e.g. a batch) must not share their context
+		String contextId = VadereContext.addUnique(scenarioName, ctx);
+		this.scenarioStore.getTopography().setContextId(contextId);
 		logger.info("scenario context initialized.");
 	}
 
@@ -190,7 +196,7 @@ public class ScenarioRun implements Runnable {
 				simulation = new Simulation(mainModel, perceptionModel,
 						cognitionModel, 0.0,
 						scenarioStore.getName(), scenarioStore, domain,
-						passiveCallbacks, random,
+						passiveCallbacks, activeCallbacks, random,
 						processorManager, simulationResult,
 						remoteRunListeners, singleStepMode,
 						scenarioCache);
@@ -212,21 +218,36 @@ public class ScenarioRun implements Runnable {
 	}
 
 	private Optional<AMesh> loadFloorFieldMesh() {
-		return loadMesh(scenario.getName()+".poly");
+		return loadMesh(scenarioFilePath.getParent().resolve(IOUtils.MESH_DIR), scenario.getName());
 	}
 
 	private Optional<AMesh> loadBackgrounddMesh() {
-		return loadMesh(scenario.getName()+IOUtils.BACKGROUND_MESH_ENDING+".poly");
+		return loadMesh(scenarioFilePath.getParent().resolve(IOUtils.MESH_DIR), scenario.getName()+IOUtils.BACKGROUND_MESH_ENDING);
 	}
 
-	private Optional<AMesh> loadMesh(@NotNull final String fileName) {
+	/**
+	 * Loads the mesh from the binary file (see {@link AMeshBinary}) if there is one which is not older than the
+	 * <tt>.poly</tt> file, otherwise from the <tt>.poly</tt> file.
+	 */
+	static Optional<AMesh> loadMesh(@NotNull final Path meshDir, @NotNull final String name) {
+		File binaryFile = meshDir.resolve(name + AMeshBinary.FILE_ENDING).toFile();
+		File polyFile = meshDir.resolve(name + ".poly").toFile();
+		if(binaryFile.isFile() && (!polyFile.isFile() || binaryFile.lastModified() >= polyFile.lastModified())) {
+			try {
+				AMesh mesh = AMeshBinary.map(binaryFile).toMesh();
+				logger.info("load binary mesh " + binaryFile.getName() + ".");
+				return Optional.of(mesh);
+			} catch (IOException e) {
+				logger.warn("cannot load binary mesh " + binaryFile.getName() + ", load " + name + ".poly instead.", e);
+			}
+		}
+
 		AMesh mesh = null;
 		try {
 			var meshReader = new MeshPolyReader<>(() -> new AMesh());
-			Path path = scenarioFilePath.getParent().resolve(IOUtils.MESH_DIR + "/" + fileName);
-			mesh = (AMesh) meshReader.readMesh(new FastBufferedInputStream(new FileInputStream(path.toFile())));
+			mesh = (AMesh) meshReader.readMesh(new FastBufferedInputStream(new FileInputStream(polyFile)));
 		} catch (FileNotFoundException e) {
-			logger.info("no mesh " + fileName + " was found.");
+			logger.info("no mesh " + polyFile.getName() + " was found.");
 		} catch (IOException e) {
 			e.printStackTrace();
 		}
@@ -235,14 +256,19 @@ public class ScenarioRun implements Runnable {
 	}
 
 	private void writeFloorFieldMeshToOutput(@NotNull final AMesh mesh) {
-		writeMeshToOutput(outputPath, scenario.getName()+".poly", mesh);
+		writeMeshToOutput(outputPath, scenario.getName(), mesh);
 	}
 
 	private void writeBackgroundMeshToOutput(@NotNull final AMesh mesh) {
-		writeMeshToOutput(outputPath, scenario.getName()+IOUtils.BACKGROUND_MESH_ENDING+".poly", mesh);
+		writeMeshToOutput(outputPath, scenario.getName()+IOUtils.BACKGROUND_MESH_ENDING, mesh);
 	}
 
-	private void writeMeshToOutput(@NotNull final Path output, @NotNull final String fileName, @NotNull final AMesh mesh) {
+	/**
+	 * Writes the mesh as <tt>.poly</tt> file and afterwards as binary file (see {@link AMeshBinary}) such that
+	 * the binary file is not older than the <tt>.poly</tt> file.
+	 */
+	private void writeMeshToOutput(@NotNull final Path output, @NotNull final String name, @NotNull final AMesh mesh) {
+		String fileName = name + ".poly";
 		try (PrintWriter out = new PrintWriter(Paths.get(output.toString(), fileName).toString())) {
 			MeshPolyWriter<AVertex, AHalfEdge, AFace> meshWriter = new MeshPolyWriter<>();
 			meshWriter.to2DPoly(mesh, 0, null, v -> false, out);
@@ -250,6 +276,12 @@ public class ScenarioRun implements Runnable {
 		} catch (FileNotFoundException e) {
 			e.printStackTrace();
 		}
+
+		try {
+			AMeshBinary.write(mesh, output.resolve(name + AMeshBinary.FILE_ENDING).toFile());
+		} catch (IOException e) {
+			logger.warn("cannot write binary mesh " + name + AMeshBinary.FILE_ENDING + ".", e);
+		}
 	}
 
 	public void simulationFailed(Throwable e) {
@@ -344,6 +376,10 @@ public class ScenarioRun implements Runnable {
 		passiveCallbacks.add(pc);
 	}
 
+	public void addActiveCallback(final ActiveCallback ac) {
+		activeCallbacks.add(ac);
+	}
+
 	public void addRemoteManagerListener(final RemoteRunListener listener){
 		remoteRunListeners.add(listener);
 	}
@@ -47,6 +47,7 @@ public class Simulation implements ControllerProvider{
 	private DynamicElementFactory dynamicElementFactory;
 
 	private final List<PassiveCallback> passiveCallbacks;
+	private final List<ActiveCallback> activeCallbacks;
 	private final List<RemoteRunListener> remoteRunListeners;
 	private List<Model> models;
 
@@ -86,13 +87,14 @@ public class Simulation implements ControllerProvider{
 	private SimulationResult simulationResult;
 	private final StimulusController stimulusController;
 	private final ScenarioCache scenarioCache;
+	private final SimulationProfiler profiler;
 
 
 	public Simulation(MainModel mainModel, IPerceptionModel perceptionModel,
 					  ICognitionModel cognitionModel, double startTimeInSec,
 					  final String name, ScenarioStore scenarioStore,
 					  final Domain domain,
-					  List<PassiveCallback> passiveCallbacks, Random random,
+					  List<PassiveCallback> passiveCallbacks, List<ActiveCallback> activeCallbacks, Random random,
 					  ProcessorManager processorManager, SimulationResult simulationResult,
 					  List<RemoteRunListener> remoteRunListeners, boolean singleStepMode,
 					  ScenarioCache scenarioCache) {
@@ -116,6 +118,8 @@ public class Simulation implements ControllerProvider{
 		this.simTimeInSec = startTimeInSec;
 		this.simulationResult = simulationResult;
 		this.scenarioCache = scenarioCache;
+		this.profiler = new SimulationProfiler(name);
+		this.topography.setPerformanceCounters(profiler.getCounters());
 
 		this.models = mainModel.getSubmodels();
 		this.sourceControllerFactory = mainModel.getSourceControllerFactory();
@@ -125,6 +129,7 @@ public class Simulation implements ControllerProvider{
 
 		this.processorManager = processorManager;
 		this.passiveCallbacks = passiveCallbacks;
+		this.activeCallbacks = activeCallbacks;
 		this.remoteRunListeners = remoteRunListeners;
 		this.singleStepMode = singleStepMode;
 
@@ -146,6 +151,10 @@ public class Simulation implements ControllerProvider{
 		for (PassiveCallback pc : this.passiveCallbacks) {
 			pc.setDomain(domain);
 		}
+
+		for (ActiveCallback ac : this.activeCallbacks) {
+			ac.setDomain(domain, dynamicElementFactory);
+		}
 	}
 
 	private void createControllers(Domain domain, MainModel mainModel, Random random) {
@@ -216,6 +225,10 @@ public class Simulation implements ControllerProvider{
 			m.preLoop(simTimeInSec);
 		}
 
+		for (ActiveCallback c : activeCallbacks) {
+			c.preLoop(simTimeInSec);
+		}
+
 		for (PassiveCallback c : passiveCallbacks) {
 			c.preLoop(simTimeInSec);
 		}
@@ -226,12 +239,17 @@ public class Simulation implements ControllerProvider{
 	}
 
 	private void postLoop() {
+		logger.info("Step profile: " + profiler.getSummary());
 		simulationState = new SimulationState(name, topography, scenarioStore, simTimeInSec, step, mainModel, this);
 
 		for (Model m : models) {
 			m.postLoop(simTimeInSec);
 		}
 
+		for (ActiveCallback c : activeCallbacks) {
+			c.postLoop(simTimeInSec);
+		}
+
 		for (PassiveCallback c : passiveCallbacks) {
 			c.postLoop(simTimeInSec);
 		}
@@ -294,23 +312,40 @@ public class Simulation implements ControllerProvider{
 					sleepTillStartOfNextFrame();
 				}
 
+				profiler.beginStep(step + 1);
+				long start = profiler.start();
+
+				for (ActiveCallback c : activeCallbacks) {
+					c.preUpdate(simTimeInSec);
+				}
+
 				for (PassiveCallback c : passiveCallbacks) {
 					c.preUpdate(simTimeInSec);
 				}
+				profiler.stop(SimulationPhase.CALLBACKS, start);
 
 				assert assertAllPedestrianInBounds(): "Pedestrians are outside of topography bound.";
 				updateCallbacks(simTimeInSec);
 
+				start = profiler.start();
+				for (ActiveCallback c : activeCallbacks) {
+					c.postUpdate(simTimeInSec);
+				}
+				start = profiler.stop(SimulationPhase.CALLBACKS, start);
+
 				step++;
 				this.simulationState = new SimulationState(name, topography, scenarioStore, simTimeInSec, step, mainModel, this);
 
 				if (attributesSimulation.isWriteSimulationData()) {
 					processorManager.update(this.simulationState);
 				}
+				start = profiler.stop(SimulationPhase.OUTPUT_PROCESSORS, start);
 
 				for (PassiveCallback c : passiveCallbacks) {
 					c.postUpdate(simTimeInSec);
 				}
+				profiler.stop(SimulationPhase.CALLBACKS, start);
+				profiler.endStep(simTimeInSec, topography.getPedestrianDynamicElements().getElements().size());
 
 				double stopTime = runTimeInSec;
 				if (this.simulationState.isSimStop()) {
@@ -363,7 +398,14 @@ public class Simulation implements ControllerProvider{
 			// Always execute postLoop
 			isRunSimulation = false;
 			threadState = SimThreadState.POST_LOOP;
-			postLoop();
+			try {
+				postLoop();
+			} finally {
+				// streaming output files are open if the post loop failed before the output was written
+				if (attributesSimulation.isWriteSimulationData()) {
+					processorManager.closeOutputFiles();
+				}
+			}
 			threadState = SimThreadState.FINISHED;
 		}
 	}
@@ -410,15 +452,20 @@ public class Simulation implements ControllerProvider{
 	}
 
 	private void updateCallbacks(double simTimeInSec) {
+		long start = profiler.start();
 
 		updateScenarioElements(simTimeInSec);
+		start = profiler.stop(SimulationPhase.SCENARIO_ELEMENTS, start);
 
 		updatePsychologyLayer(simTimeInSec);
+		start = profiler.stop(SimulationPhase.PSYCHOLOGY_LAYER, start);
 
 		updateLocomotionLayer(simTimeInSec);
+		start = profiler.stop(SimulationPhase.LOCOMOTION_LAYER, start);
 
 		if (topographyController.getTopography().hasTeleporter()) {
 			teleporterController.update(simTimeInSec);
+			profiler.stop(SimulationPhase.TELEPORTER, start);
 		}
 	}
 
@@ -479,7 +526,9 @@ public class Simulation implements ControllerProvider{
 
 			// Only update until there are pedestrians in the scenario or pedestrian to spawn or aerosol clouds persist
 			if (!stillSpawningSource.isEmpty() || pedestriansInSimulation > 0 || aerosolCloudsInSimulation > 0) {
+				long start = profiler.start();
 				m.update(simTimeInSec);
+				profiler.stopModel(m, start);
 
 				if (topography.isRecomputeCells()) {
 					// rebuild CellGrid if model does not manage the CellGrid state while updating
@@ -628,6 +677,11 @@ public class Simulation implements ControllerProvider{
 		return processorManager;
 	}
 
+	@Override
+	public SimulationProfiler getProfiler() {
+		return profiler;
+	}
+
 	public void setIsRunSimulation(boolean running){
 		isRunSimulation = running;
 	}
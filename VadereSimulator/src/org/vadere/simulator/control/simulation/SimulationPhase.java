@@ -0,0 +1,28 @@
+package org.vadere.simulator.control.simulation;
+
+/**
+ * The phases of a simulation step which are timed by the {@link SimulationProfiler}.
+ */
+public enum SimulationPhase {
+	/** update of sources, targets, target changers, absorbing areas and the topography */
+	SCENARIO_ELEMENTS("scenarioElements"),
+	/** perception and cognition of the pedestrians */
+	PSYCHOLOGY_LAYER("psychologyLayer"),
+	/** update of the (locomotion) models, see {@link SimulationProfiler#stopModel} */
+	LOCOMOTION_LAYER("locomotionLayer"),
+	TELEPORTER("teleporter"),
+	/** pre and post updates of the active and passive callbacks, e.g. the online visualization */
+	CALLBACKS("callbacks"),
+	/** update of the data processors */
+	OUTPUT_PROCESSORS("outputProcessors");
+
+	private final String label;
+
+	SimulationPhase(final String label) {
+		this.label = label;
+	}
+
+	public String getLabel() {
+		return label;
+	}
+}
@@ -0,0 +1,34 @@
+package org.vadere.simulator.control.simulation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JFR event of a phase of a simulation step (or of the update of a model) which is committed by the
+ * {@link SimulationProfiler} at the end of the phase.
+ */
+@Name("org.vadere.SimulationPhase")
+@Label("Simulation Phase")
+@Category("Vadere")
+@Description("A phase of a step of a Vadere simulation")
+@StackTrace(false)
+class SimulationPhaseEvent extends jdk.jfr.Event {
+
+	@Label("Step")
+	int step;
+
+	@Label("Phase")
+	String phase;
+
+	@Label("Model")
+	@Description("The updated model if the phase is the update of a model")
+	String model;
+
+	@Label("Phase Duration")
+	@Timespan(Timespan.NANOSECONDS)
+	long phaseDuration;
+}
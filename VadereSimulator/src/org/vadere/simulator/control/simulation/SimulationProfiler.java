@@ -0,0 +1,208 @@
+package org.vadere.simulator.control.simulation;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.vadere.simulator.models.Model;
+import org.vadere.util.profiling.PerformanceCounter;
+import org.vadere.util.profiling.PerformanceCounters;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Measures the wall-clock time of the phases of each simulation step (see {@link SimulationPhase}) and of the
+ * update of each model, and counts the neighbor queries and optimizer evaluations (see {@link PerformanceCounter})
+ * of each step by its own {@link PerformanceCounters}, i.e. concurrent simulations do not count the operations of
+ * each other. The operations are only counted if they are requested (see {@link #setCountingRequested(boolean)})
+ * or if the JFR event {@link SimulationStepEvent} is enabled, otherwise the counts of a step are zero. The measurement of a step is summarized in a {@link StepProfile} which is e.g. written by the
+ * {@link org.vadere.simulator.projects.dataprocessing.processor.StepProfileProcessor}. In addition, the profiler
+ * commits the JFR events {@link SimulationStepEvent} and {@link SimulationPhaseEvent}, i.e. the phases show up in
+ * a flight recording of a production run.
+ *
+ * The profiler is called by the simulation thread only. A phase is measured by
+ * <pre>
+ *     long start = profiler.start();
+ *     ...
+ *     profiler.stop(SimulationPhase.PSYCHOLOGY_LAYER, start);
+ * </pre>
+ * the overhead is a call of {@link System#nanoTime()} per phase and model.
+ */
+public class SimulationProfiler {
+
+	private final String name;
+	private final long[] phaseNanos;
+	private final Map<String, Long> modelNanos;
+	private final long[] totalPhaseNanos;
+	private final PerformanceCounters counters;
+	private boolean countingRequested;
+	private long totalNanos;
+	private int numberOfSteps;
+
+	private int step;
+	private long stepStart;
+	private long neighborQueries;
+	private long optimizerEvaluations;
+	private SimulationStepEvent stepEvent;
+	private StepProfile lastProfile;
+
+	public SimulationProfiler(@NotNull final String name) {
+		this.name = name;
+		this.phaseNanos = new long[SimulationPhase.values().length];
+		this.modelNanos = new LinkedHashMap<>();
+		this.totalPhaseNanos = new long[SimulationPhase.values().length];
+		this.counters = new PerformanceCounters();
+		this.countingRequested = false;
+		this.totalNanos = 0;
+		this.numberOfSteps = 0;
+		this.step = 0;
+	}
+
+	/**
+	 * Starts the measurement of the next step.
+	 *
+	 * @param step the number of the step
+	 */
+	public void beginStep(final int step) {
+		this.step = step;
+		for (int i = 0; i < phaseNanos.length; i++) {
+			phaseNanos[i] = 0;
+		}
+		modelNanos.replaceAll((model, nanos) -> 0L);
+		neighborQueries = counters.sum(PerformanceCounter.NEIGHBOR_QUERIES);
+		optimizerEvaluations = counters.sum(PerformanceCounter.OPTIMIZER_EVALUATIONS);
+
+		stepEvent = new SimulationStepEvent();
+		counters.setEnabled(countingRequested || stepEvent.isEnabled());
+		stepEvent.begin();
+		stepStart = System.nanoTime();
+	}
+
+	/**
+	 * Returns the start time of a phase.
+	 */
+	public long start() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Ends the measurement of a phase. A phase can be measured several times during one step, e.g. the pre and
+	 * post updates of the callbacks.
+	 *
+	 * @param phase the phase
+	 * @param start the start time of the phase, see {@link #start()}
+	 *
+	 * @return the end time of the phase, i.e. the start time of a directly following phase
+	 */
+	public long stop(@NotNull final SimulationPhase phase, final long start) {
+		long end = System.nanoTime();
+		phaseNanos[phase.ordinal()] += end - start;
+		commitPhaseEvent(phase, null, end - start);
+		return end;
+	}
+
+	/**
+	 * Ends the measurement of the update of a model, it is part of the {@link SimulationPhase#LOCOMOTION_LAYER}.
+	 *
+	 * @param model the updated model
+	 * @param start the start time of the update, see {@link #start()}
+	 */
+	public void stopModel(@NotNull final Model model, final long start) {
+		long duration = System.nanoTime() - start;
+		String modelName = model.getClass().getSimpleName();
+		modelNanos.merge(modelName, duration, Long::sum);
+		commitPhaseEvent(SimulationPhase.LOCOMOTION_LAYER, modelName, duration);
+	}
+
+	/**
+	 * Ends the measurement of the current step.
+	 *
+	 * @param simTimeInSec  the simulation time of the step
+	 * @param pedestrians   the number of pedestrians at the end of the step
+	 *
+	 * @return the profile of the step
+	 */
+	public StepProfile endStep(final double simTimeInSec, final int pedestrians) {
+		long duration = System.nanoTime() - stepStart;
+		long stepNeighborQueries = counters.sum(PerformanceCounter.NEIGHBOR_QUERIES) - neighborQueries;
+		long stepOptimizerEvaluations = counters.sum(PerformanceCounter.OPTIMIZER_EVALUATIONS) - optimizerEvaluations;
+
+		lastProfile = new StepProfile(step, simTimeInSec, duration, phaseNanos, modelNanos,
+				stepNeighborQueries, stepOptimizerEvaluations);
+
+		for (int i = 0; i < phaseNanos.length; i++) {
+			totalPhaseNanos[i] += phaseNanos[i];
+		}
+		totalNanos += duration;
+		numberOfSteps++;
+
+		stepEvent.end();
+		if (stepEvent.shouldCommit()) {
+			stepEvent.scenario = name;
+			stepEvent.step = step;
+			stepEvent.simTimeInSec = simTimeInSec;
+			stepEvent.pedestrians = pedestrians;
+			stepEvent.neighborQueries = stepNeighborQueries;
+			stepEvent.optimizerEvaluations = stepOptimizerEvaluations;
+			stepEvent.commit();
+		}
+		stepEvent = null;
+
+		return lastProfile;
+	}
+
+	/**
+	 * Returns the counters of this simulation, they have to be assigned to the topography of the simulation
+	 * (see {@link org.vadere.state.scenario.Topography#setPerformanceCounters(PerformanceCounters)}).
+	 */
+	public PerformanceCounters getCounters() {
+		return counters;
+	}
+
+	/**
+	 * Requests the counting of the operations of the following steps, e.g. by the
+	 * {@link org.vadere.simulator.projects.dataprocessing.processor.StepProfileProcessor}.
+	 */
+	public void setCountingRequested(final boolean countingRequested) {
+		this.countingRequested = countingRequested;
+	}
+
+	/**
+	 * Returns the profile of the last completed step or null if no step is completed.
+	 */
+	@Nullable
+	public StepProfile getLastProfile() {
+		return lastProfile;
+	}
+
+	public int getNumberOfSteps() {
+		return numberOfSteps;
+	}
+
+	/**
+	 * Returns the mean time per step of all phases, e.g. for logging at the end of the simulation.
+	 */
+	public String getSummary() {
+		StringJoiner joiner = new StringJoiner(", ", String.format("%d steps, mean step time %.3fms (", numberOfSteps,
+				meanInMs(totalNanos)), ")");
+		for (SimulationPhase phase : SimulationPhase.values()) {
+			joiner.add(String.format("%s=%.3fms", phase.getLabel(), meanInMs(totalPhaseNanos[phase.ordinal()])));
+		}
+		return joiner.toString();
+	}
+
+	private double meanInMs(final long nanos) {
+		return numberOfSteps == 0 ? 0.0 : nanos / (numberOfSteps * 1e6);
+	}
+
+	private void commitPhaseEvent(@NotNull final SimulationPhase phase, @Nullable final String model, final long duration) {
+		SimulationPhaseEvent event = new SimulationPhaseEvent();
+		if (event.isEnabled()) {
+			event.step = step;
+			event.phase = phase.getLabel();
+			event.model = model;
+			event.phaseDuration = duration;
+			event.commit();
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package org.vadere.simulator.control.simulation;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event of a simulation step which is committed by the {@link SimulationProfiler} at the end of each step,
+ * i.e. the duration of the event is the duration of the step.
+ */
+@Name("org.vadere.SimulationStep")
+@Label("Simulation Step")
+@Category("Vadere")
+@Description("A step of a Vadere simulation")
+@StackTrace(false)
+class SimulationStepEvent extends jdk.jfr.Event {
+
+	@Label("Scenario")
+	String scenario;
+
+	@Label("Step")
+	int step;
+
+	@Label("Simulation Time")
+	double simTimeInSec;
+
+	@Label("Pedestrians")
+	int pedestrians;
+
+	@Label("Neighbor Queries")
+	long neighborQueries;
+
+	@Label("Optimizer Evaluations")
+	long optimizerEvaluations;
+}
@@ -0,0 +1,66 @@
+package org.vadere.simulator.control.simulation;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * The timings and operation counts of one simulation step, see {@link SimulationProfiler}.
+ */
+public class StepProfile {
+
+	private final int step;
+	private final double simTimeInSec;
+	private final long durationNanos;
+	private final long[] phaseNanos;
+	private final Map<String, Long> modelNanos;
+	private final long neighborQueries;
+	private final long optimizerEvaluations;
+
+	StepProfile(final int step, final double simTimeInSec, final long durationNanos, @NotNull final long[] phaseNanos,
+	            @NotNull final Map<String, Long> modelNanos, final long neighborQueries, final long optimizerEvaluations) {
+		this.step = step;
+		this.simTimeInSec = simTimeInSec;
+		this.durationNanos = durationNanos;
+		this.phaseNanos = phaseNanos.clone();
+		this.modelNanos = Collections.unmodifiableMap(new LinkedHashMap<>(modelNanos));
+		this.neighborQueries = neighborQueries;
+		this.optimizerEvaluations = optimizerEvaluations;
+	}
+
+	public int getStep() {
+		return step;
+	}
+
+	public double getSimTimeInSec() {
+		return simTimeInSec;
+	}
+
+	/**
+	 * Returns the wall-clock time of the whole step (without waiting for a remote client) in ms.
+	 */
+	public double getDurationInMs() {
+		return durationNanos / 1e6;
+	}
+
+	public double getPhaseTimeInMs(@NotNull final SimulationPhase phase) {
+		return phaseNanos[phase.ordinal()] / 1e6;
+	}
+
+	/**
+	 * Returns the time spent in the update of each model (identified by its simple class name) in ns.
+	 */
+	public Map<String, Long> getModelTimesInNanos() {
+		return modelNanos;
+	}
+
+	public long getNeighborQueries() {
+		return neighborQueries;
+	}
+
+	public long getOptimizerEvaluations() {
+		return optimizerEvaluations;
+	}
+}
@@ -5,6 +5,7 @@ public enum SubCommand {
 	PROJECT_RUN("project-run"),
 	SCENARO_RUN("scenario-run"),
 	SUQ("suq"),
+	BATCH("batch"),
 	MIGRATE("migrate"),
 	UTILS("utils");
 
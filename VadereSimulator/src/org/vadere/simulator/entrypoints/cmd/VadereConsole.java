@@ -8,6 +8,7 @@ import net.sourceforge.argparse4j.inf.Subparser;
 import net.sourceforge.argparse4j.inf.Subparsers;
 
 import org.vadere.util.version.Version;
+import org.vadere.simulator.entrypoints.cmd.commands.BatchSubCommand;
 import org.vadere.simulator.entrypoints.cmd.commands.MigrationSubCommand;
 import org.vadere.simulator.entrypoints.cmd.commands.ProjectRunSubCommand;
 import org.vadere.simulator.entrypoints.cmd.commands.ScenarioRunSubCommand;
@@ -128,6 +129,48 @@ public class VadereConsole {
 				.help("Scenario files to run.");
 
 
+		// Run Batch
+		Subparser batchRun = subparsers
+				.addParser(SubCommand.BATCH.getCmdName())
+				.help("Run multiple scenario files concurrently in one process. Runs with the same floor field share their floor field cache.")
+				.setDefault("func", new BatchSubCommand());
+
+		batchRun.addArgument("--output-dir", "-o")
+				.required(false)
+				.setDefault("output")
+				.dest("output-dir") // set name in namespace
+				.type(String.class)
+				.help("Supply different output directory path to use. Each run writes into its own sub directory.");
+
+		batchRun.addArgument("--manifest", "-m")
+				.required(false)
+				.type(String.class)
+				.dest("manifest")
+				.help("File containing one scenario file per line, optionally followed by its number of replications. " +
+						"Relative paths are resolved against the directory of the manifest.");
+
+		batchRun.addArgument("--threads", "-t")
+				.required(false)
+				.type(Integer.class)
+				.setDefault(Runtime.getRuntime().availableProcessors())
+				.dest("threads")
+				.help("Number of concurrent runs. Default: number of available processors.");
+
+		batchRun.addArgument("--replications", "-r")
+				.required(false)
+				.type(Integer.class)
+				.setDefault(1)
+				.dest("replications")
+				.help("Number of runs of each scenario file (without explicit number in the manifest). " +
+						"The replications use the fixed seeds fixedSeed, fixedSeed + 1, ...");
+
+		batchRun.addArgument("scenario-files")
+				.nargs("*")
+				.metavar("SCENARIO-FILE")
+				.type(String.class)
+				.dest("scenario-files")
+				.help("Scenario files to run.");
+
 		// Run Migration Assistant
 		Subparser migrationAssistant = subparsers
 				.addParser(SubCommand.MIGRATE.getCmdName())
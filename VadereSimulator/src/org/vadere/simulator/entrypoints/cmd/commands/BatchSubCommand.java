@@ -0,0 +1,263 @@
+package org.vadere.simulator.entrypoints.cmd.commands;
+
+import net.sourceforge.argparse4j.inf.ArgumentParser;
+import net.sourceforge.argparse4j.inf.Namespace;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.simulator.control.simulation.ScenarioRun;
+import org.vadere.simulator.entrypoints.ScenarioFactory;
+import org.vadere.simulator.entrypoints.cmd.SubCommandRunner;
+import org.vadere.simulator.projects.Scenario;
+import org.vadere.simulator.utils.cache.ScenarioCache;
+import org.vadere.state.attributes.AttributesSimulation;
+import org.vadere.util.logging.Logger;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs a batch of scenarios concurrently in one process, i.e. class loading, JIT warm-up and the
+ * computation of floor fields are paid only once instead of once per run. The scenarios are given
+ * on the command line or by a manifest file which contains one scenario file per line, optionally
+ * followed by the number of replications of this scenario:
+ *
+ * <pre>
+ * # comment
+ * scenarios/bottleneck.scenario
+ * scenarios/corner.scenario 10
+ * </pre>
+ *
+ * Relative paths of the manifest are resolved against the directory of the manifest. Runs of scenarios
+ * with the same floor field hash share one {@link ScenarioCache} (see {@link ScenarioCache#loadShared(Scenario, Path)}).
+ * If the floor fields of such a cache are not computed yet, the first run of the group is executed before
+ * the other runs of the group such that the floor fields are computed only once. Each run writes its output
+ * into its own directory {@code <output-dir>/<scenario-file-name>[_<replication>]}. If the scenario uses a fixed
+ * seed, the replication <tt>i</tt> uses the fixed seed plus <tt>i</tt>, otherwise each replication draws a random seed.
+ */
+public class BatchSubCommand implements SubCommandRunner {
+	private final static Logger logger = Logger.getLogger(BatchSubCommand.class);
+
+	@Override
+	public void run(Namespace ns, ArgumentParser parser) {
+		Path outputDir = Paths.get(ns.getString("output-dir"));
+		if (!outputDir.toFile().exists()){
+			if ( ! outputDir.toFile().mkdirs() ) {
+				logger.error("Could not create all necessary directories: " + outputDir.toFile().toString());
+				System.exit(-1);
+			} else {
+				logger.info("Created output directory: " + outputDir.toAbsolutePath().toFile().toString());
+			}
+		} else {
+			logger.info("Use output directory: " + outputDir.toAbsolutePath().toFile().toString());
+		}
+
+		int replications = ns.getInt("replications");
+		if (replications < 1) {
+			logger.error("The number of replications has to be positive.");
+			System.exit(-1);
+		}
+
+		List<BatchEntry> entries = new ArrayList<>();
+		List<String> scenarioFiles = ns.getList("scenario-files");
+		if (scenarioFiles != null) {
+			scenarioFiles.forEach(file -> entries.add(new BatchEntry(Paths.get(file), replications)));
+		}
+
+		String manifest = ns.getString("manifest");
+		if (manifest != null) {
+			try {
+				entries.addAll(readManifest(Paths.get(manifest), replications));
+			} catch (IOException | IllegalArgumentException e) {
+				logger.error("Cannot read manifest " + manifest + ": " + e.getMessage());
+				System.exit(-1);
+			}
+		}
+
+		if (entries.isEmpty()) {
+			logger.error("No scenario to run, specify scenario files or a manifest.");
+			System.exit(-1);
+		}
+
+		for (BatchEntry entry : entries) {
+			if (!entry.scenarioFile.toFile().isFile()) {
+				logger.error("scenario-file does not exist, is not a regular file or you do not have read permissions: "
+						+ entry.scenarioFile.toFile().toString());
+				System.exit(-1);
+			}
+		}
+
+		int failedRuns = runBatch(entries, outputDir, ns.getInt("threads"));
+		if (failedRuns > 0) {
+			logger.error(failedRuns + " run(s) of the batch failed.");
+			System.exit(-1);
+		}
+	}
+
+	/**
+	 * Reads the scenario files and their number of replications of a manifest file.
+	 *
+	 * @param manifest      the manifest file
+	 * @param replications  the number of replications of scenario files without an explicit number
+	 * @return the entries of the manifest in the order of the manifest
+	 * @throws IOException if the manifest can not be read
+	 * @throws IllegalArgumentException if a line of the manifest is invalid
+	 */
+	public static List<BatchEntry> readManifest(@NotNull final Path manifest, final int replications) throws IOException {
+		Path baseDir = manifest.toAbsolutePath().getParent();
+		List<BatchEntry> entries = new ArrayList<>();
+
+		for (String line : Files.readAllLines(manifest)) {
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#")) {
+				continue;
+			}
+
+			String[] tokens = line.split("\\s+");
+			if (tokens.length > 2) {
+				throw new IllegalArgumentException("invalid line '" + line + "', expected: <scenario-file> [replications]");
+			}
+
+			int entryReplications = replications;
+			if (tokens.length == 2) {
+				try {
+					entryReplications = Integer.parseInt(tokens[1]);
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException("invalid number of replications in line '" + line + "'");
+				}
+			}
+
+			entries.add(new BatchEntry(baseDir.resolve(tokens[0]).normalize(), entryReplications));
+		}
+
+		return entries;
+	}
+
+	/**
+	 * Runs all replications of all entries on a thread pool of the given size and waits until all runs are finished.
+	 *
+	 * @return the number of failed runs
+	 */
+	public static int runBatch(@NotNull final List<BatchEntry> entries, @NotNull final Path outputDir, final int threads) {
+		long ms = System.currentTimeMillis();
+		ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+		Map<String, ScenarioCache> caches = new HashMap<>();
+		Map<String, CompletableFuture<Boolean>> warmUpRuns = new HashMap<>();
+		Set<String> runNames = new HashSet<>();
+		List<CompletableFuture<Boolean>> runs = new ArrayList<>();
+
+		try {
+			for (BatchEntry entry : entries) {
+				Path scenarioFile = entry.scenarioFile.toAbsolutePath();
+				String cacheKey;
+				ScenarioCache cache;
+
+				// the scenario is parsed again by each run, since each run changes its scenario
+				try {
+					Scenario scenario = ScenarioFactory.createScenarioWithScenarioFilePath(scenarioFile);
+					String hash = ScenarioCache.getHash(scenario);
+					cacheKey = hash == null ? null : hash + scenarioFile.getParent();
+					cache = cacheKey == null ? ScenarioCache.load(scenario, scenarioFile.getParent())
+							: caches.computeIfAbsent(cacheKey, key -> ScenarioCache.loadShared(scenario, scenarioFile.getParent()));
+				} catch (Exception e) {
+					logger.error("Cannot load scenario " + scenarioFile, e);
+					runs.add(CompletableFuture.completedFuture(false));
+					continue;
+				}
+
+				for (int replication = 0; replication < entry.replications; replication++) {
+					int seedOffset = replication;
+					String runName = uniqueRunName(runNames, entry, replication);
+					Path runOutputDir = outputDir.resolve(runName);
+
+					CompletableFuture<Boolean> warmUpRun = cacheKey == null ? null : warmUpRuns.get(cacheKey);
+					CompletableFuture<Boolean> run;
+					if (warmUpRun == null) {
+						run = CompletableFuture.supplyAsync(() -> runScenario(scenarioFile, seedOffset, runOutputDir, cache), executor);
+						if (cacheKey != null && cache.isNotEmpty() && !cache.isReadable()) {
+							warmUpRuns.put(cacheKey, run);
+						}
+					} else {
+						run = warmUpRun.thenApplyAsync(warmedUp -> runScenario(scenarioFile, seedOffset, runOutputDir, cache), executor);
+					}
+					runs.add(run);
+				}
+			}
+
+			CompletableFuture.allOf(runs.toArray(new CompletableFuture[0])).join();
+		} finally {
+			executor.shutdown();
+		}
+
+		long failedRuns = runs.stream().filter(run -> !run.join()).count();
+		logger.info(String.format("Batch of %d run(s) finished in %d[ms], %d run(s) failed.",
+				runs.size(), System.currentTimeMillis() - ms, failedRuns));
+		return (int) failedRuns;
+	}
+
+	private static boolean runScenario(@NotNull final Path scenarioFile, final int seedOffset, @NotNull final Path outputDir, @NotNull final ScenarioCache cache) {
+		try {
+			Scenario scenario = ScenarioFactory.createScenarioWithScenarioFilePath(scenarioFile);
+
+			// replications of a scenario differ in their seed only, without a fixed seed each run draws its own seed
+			AttributesSimulation attributesSimulation = scenario.getAttributesSimulation();
+			if (attributesSimulation.isUseFixedSeed()) {
+				attributesSimulation.setFixedSeed(attributesSimulation.getFixedSeed() + seedOffset);
+			}
+
+			new ScenarioRun(scenario, outputDir.toString(), true, null, scenarioFile, cache).run();
+			return true;
+		} catch (Throwable e) {
+			logger.error("Run " + outputDir + " failed", e);
+			return false;
+		}
+	}
+
+	private static String uniqueRunName(@NotNull final Set<String> runNames, @NotNull final BatchEntry entry, final int replication) {
+		String fileName = entry.scenarioFile.getFileName().toString();
+		String name = fileName.endsWith(".scenario") ? fileName.substring(0, fileName.length() - ".scenario".length()) : fileName;
+		if (entry.replications > 1) {
+			name = name + "_" + replication;
+		}
+
+		String runName = name;
+		for (int i = 1; !runNames.add(runName); i++) {
+			runName = name + "-" + i;
+		}
+		return runName;
+	}
+
+	/**
+	 * A scenario file of a batch and its number of replications.
+	 */
+	public static class BatchEntry {
+		private final Path scenarioFile;
+		private final int replications;
+
+		public BatchEntry(@NotNull final Path scenarioFile, final int replications) {
+			if (replications < 1) {
+				throw new IllegalArgumentException("the number of replications of " + scenarioFile + " has to be positive");
+			}
+			this.scenarioFile = scenarioFile;
+			this.replications = replications;
+		}
+
+		public Path getScenarioFile() {
+			return scenarioFile;
+		}
+
+		public int getReplications() {
+			return replications;
+		}
+	}
+}
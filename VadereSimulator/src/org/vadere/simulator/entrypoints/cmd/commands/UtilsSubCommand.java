@@ -8,7 +8,7 @@ import org.vadere.simulator.entrypoints.ScenarioFactory;
 import org.vadere.util.version.Version;
 import org.vadere.simulator.entrypoints.cmd.SubCommandRunner;
 import org.vadere.simulator.models.potential.fields.IPotentialField;
-import org.vadere.simulator.models.potential.fields.PotentialFieldDistancesBruteForce;
+import org.vadere.simulator.models.potential.fields.PotentialFieldDistancesParallel;
 import org.vadere.simulator.models.potential.solver.EikonalSolverCacheProvider;
 import org.vadere.simulator.projects.Domain;
 import org.vadere.simulator.projects.Scenario;
@@ -38,6 +38,7 @@ public class UtilsSubCommand implements SubCommandRunner {
 		methods.put("getHash", Pair.of("[-i: file, -o: ignored]", this::getHash));
 		methods.put("binCache", Pair.of("[-i: file, -o: directory]",this::calculateBinCache));
 		methods.put("txtCache", Pair.of("[-i: file, -o: directory]",this::calculateTextCache));
+		methods.put("mmapCache", Pair.of("[-i: file, -o: directory]",this::calculateMappedCache));
 	}
 
 	public String[] methodsString(){
@@ -96,6 +97,10 @@ public class UtilsSubCommand implements SubCommandRunner {
 		calculateCache(ns, parser, CacheType.TXT_CACHE);
 	}
 
+	private void calculateMappedCache(Namespace ns, ArgumentParser parser) throws Exception{
+		calculateCache(ns, parser, CacheType.MMAP_CACHE);
+	}
+
 
 	/**
 	 * 	Recalculated cache and save to given location. This method does not lookup any preexisting
@@ -133,7 +138,7 @@ public class UtilsSubCommand implements SubCommandRunner {
 
 		logger.infof("write Distance cache");
 		ScenarioCache cache = ScenarioCache.load(scenario, out.toAbsolutePath());
-		IPotentialField distanceField = new PotentialFieldDistancesBruteForce(
+		IPotentialField distanceField = new PotentialFieldDistancesParallel(
 				scenario.getTopography().getObstacles().stream().map(obs -> obs.getShape()).collect(Collectors.toList()),
 				new VRectangle(scenario.getTopography().getBounds()),
 				new AttributesFloorField(), cache);
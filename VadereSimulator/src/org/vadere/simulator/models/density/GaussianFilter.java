@@ -4,6 +4,7 @@ import org.vadere.util.logging.Logger;
 import org.vadere.util.math.Convolution;
 
 import java.awt.geom.Rectangle2D;
+import java.util.Arrays;
 import java.util.function.BiFunction;
 import java.util.stream.IntStream;
 
@@ -57,7 +58,7 @@ abstract class GaussianFilter implements IGaussianFilter {
 
 	@Override
 	public void clear() {
-		this.inputMatrix = new float[matrixWidth * matrixHeight];
+		Arrays.fill(inputMatrix, 0.0f);
 	}
 
 	@Override
@@ -5,17 +5,31 @@ import java.util.function.BiFunction;
 
 import org.vadere.util.math.Convolution;
 
+/**
+ * The CPU implementation of the filter. The separable convolution processes the rows of the matrix in parallel,
+ * see {@link Convolution#convolveSeperateParallel}. The result is computed into a second output matrix which
+ * replaces the current one if the convolution is finished, i.e. the matrices are reused and readers never
+ * observe a partially filtered image.
+ */
 public class JGaussianFilter extends GaussianFilter {
 
+	private final float[] tmpMatrix;
+	private float[] nextOutputMatrix;
+
 	JGaussianFilter(Rectangle2D scenarioBounds, double scale, final BiFunction<Integer, Integer, Float> f,
 			final boolean normalize) {
 		super(scenarioBounds, scale, f, normalize);
+		this.tmpMatrix = new float[matrixWidth * matrixHeight];
+		this.nextOutputMatrix = new float[matrixWidth * matrixHeight];
 	}
 
 	@Override
 	public void filterImage() {
 		long ms = System.currentTimeMillis();
-		outputMatrix = Convolution.convolveSeperate(inputMatrix, kernel, kernel, matrixWidth, matrixHeight, kernelWidth);
+		float[] filtered = Convolution.convolveSeperateParallel(inputMatrix, kernel, kernel, matrixWidth, matrixHeight,
+				kernelWidth, tmpMatrix, nextOutputMatrix);
+		nextOutputMatrix = outputMatrix != null ? outputMatrix : new float[matrixWidth * matrixHeight];
+		outputMatrix = filtered;
 		ms = System.currentTimeMillis() - ms;
 		IGaussianFilter.logger.debug("filtering required " + ms + "[ms]");
 	}
@@ -6,15 +6,38 @@ import org.vadere.state.scenario.Pedestrian;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.logging.Logger;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.function.Predicate;
 
+/**
+ * Splats the loading of each pedestrian onto the four surrounding grid points and filters the result. The splats
+ * of the last call of {@link #filterImage()} are remembered such that only the grid points of pedestrians which
+ * moved (or changed their loading), appeared or disappeared since the last call are splatted again. The image is
+ * only filtered again if its input changed.
+ */
 public class PedestrianGaussianFilter<E extends Pedestrian> implements IGaussianFilter {
 
     private final IGaussianFilter filter;
     private final Collection<E> pedestrians;
     private final Predicate<E> pedestrianPredicate;
     private final IPedestrianLoadingStrategy pedestrianLoadingStrategy;
+    private final Map<E, Splat> splats;
+    private final List<Splat> orderedSplats;
+    private final Deque<Splat> unusedSplats;
+    private final Splat candidate;
+    private int[] dirtyStamps;
+    private int[] dirtyIndices;
+    private int numberOfDirtyIndices;
+    private int updateCount;
+    private boolean modified;
     private static Logger logger = Logger.getLogger(PedestrianGaussianFilter.class);
 
     public PedestrianGaussianFilter(final Collection<E> pedestrians, final IGaussianFilter filter,
@@ -28,6 +51,14 @@ public class PedestrianGaussianFilter<E extends Pedestrian> implements IGaussian
         this.pedestrians = pedestrians;
         this.pedestrianPredicate = pedestrianPredicate;
         this.pedestrianLoadingStrategy = pedestrianLoadingStrategy;
+        this.splats = new IdentityHashMap<>();
+        this.orderedSplats = new ArrayList<>();
+        this.unusedSplats = new ArrayDeque<>();
+        this.candidate = new Splat();
+        this.dirtyIndices = new int[64];
+        this.numberOfDirtyIndices = 0;
+        this.updateCount = 0;
+        this.modified = true;
     }
 
     @Override
@@ -59,17 +90,20 @@ public class PedestrianGaussianFilter<E extends Pedestrian> implements IGaussian
     @Override
     public void  setInputValue(double x, double y, double value) {
         filter.setInputValue(x, y, value);
+        modified = true;
     }
 
     @Override
     public void setInputValue(int x, int y, double value) {
         filter.setInputValue(x, y, value);
+        modified = true;
     }
 
     @Override
     public void filterImage() {
-        setValues();
-        filter.filterImage();
+        if (setValues()) {
+            filter.filterImage();
+        }
     }
 
     @Override
@@ -132,7 +166,10 @@ public class PedestrianGaussianFilter<E extends Pedestrian> implements IGaussian
         this.filter.destroy();
     }
 
-    private void setValue(@NotNull final E pedestrian) {
+    /**
+     * Computes the splat of the pedestrian, i.e. its loading distributed to the four surrounding grid points.
+     */
+    private void computeSplat(@NotNull final E pedestrian, @NotNull final Splat splat) {
         VPoint filteredPosition = pedestrian.getPosition();
         //VPoint filteredPosition = new VPoint(Math.max(0, position.x), Math.max(0, position.y));
 
@@ -157,25 +194,170 @@ public class PedestrianGaussianFilter<E extends Pedestrian> implements IGaussian
 
 	    double value = pedestrianLoadingStrategy.calculateLoading(pedestrian);
 
-	    setInputValue(lowerLeftX + 1, lowerLeftY + 1, value * w1);
-	    setInputValue(lowerLeftX + 1, lowerLeftY, value * w2);
-	    setInputValue(lowerLeftX, lowerLeftY + 1, value * w3);
-	    setInputValue(lowerLeftX, lowerLeftY, value * w4);
+	    splat.x = lowerLeftX;
+	    splat.y = lowerLeftY;
+	    splat.upperRight = value * w1;
+	    splat.lowerRight = value * w2;
+	    splat.upperLeft = value * w3;
+	    splat.lowerLeft = value * w4;
     }
 
+    private void setSplat(@NotNull final Splat splat) {
+	    filter.setInputValue(splat.x + 1, splat.y + 1, splat.upperRight);
+	    filter.setInputValue(splat.x + 1, splat.y, splat.lowerRight);
+	    filter.setInputValue(splat.x, splat.y + 1, splat.upperLeft);
+	    filter.setInputValue(splat.x, splat.y, splat.lowerLeft);
+    }
+
+    /**
+     * Sets those values of the splat which lie on a dirty grid point.
+     */
+    private void setDirtySplat(@NotNull final Splat splat) {
+	    setDirtyInputValue(splat.x + 1, splat.y + 1, splat.upperRight);
+	    setDirtyInputValue(splat.x + 1, splat.y, splat.lowerRight);
+	    setDirtyInputValue(splat.x, splat.y + 1, splat.upperLeft);
+	    setDirtyInputValue(splat.x, splat.y, splat.lowerLeft);
+    }
 
-    private void setValues() {
-        clear();
-        pedestrians.stream().filter(pedestrianPredicate).forEach(p -> setValue(p));
+    private void setDirtyInputValue(final int x, final int y, final double value) {
+        if (dirtyStamps[getMatrixWidth() * y + x] == updateCount) {
+            filter.setInputValue(x, y, value);
+        }
+    }
+
+    private void markDirty(@NotNull final Splat splat) {
+        markDirty(splat.x + 1, splat.y + 1);
+        markDirty(splat.x + 1, splat.y);
+        markDirty(splat.x, splat.y + 1);
+        markDirty(splat.x, splat.y);
+    }
+
+    private void markDirty(final int x, final int y) {
+        int index = getMatrixWidth() * y + x;
+        if (dirtyStamps[index] != updateCount) {
+            dirtyStamps[index] = updateCount;
+            if (numberOfDirtyIndices == dirtyIndices.length) {
+                dirtyIndices = Arrays.copyOf(dirtyIndices, dirtyIndices.length * 2);
+            }
+            dirtyIndices[numberOfDirtyIndices++] = index;
+        }
+    }
+
+    /**
+     * Computes the splats of all pedestrians and updates the input at the grid points of pedestrians which moved
+     * (or changed their loading), appeared or disappeared since the last call. These dirty grid points are reset
+     * and the splats covering them are set again in the order of the pedestrians, i.e. the input is equal to
+     * splatting all pedestrians from scratch: pedestrians which share a grid point overwrite each other.
+     *
+     * @return true if the input changed since the last filtering
+     */
+    private boolean setValues() {
+        if (dirtyStamps == null) {
+            dirtyStamps = new int[getMatrixWidth() * getMatrixHeight()];
+        }
+        updateCount++;
+        numberOfDirtyIndices = 0;
+        orderedSplats.clear();
+
+        // the last writer of a grid point stays the same only if the order of the remaining pedestrians is kept
+        boolean inOrder = true;
+        int lastOrder = -1;
+        for (E pedestrian : pedestrians) {
+            if (!pedestrianPredicate.test(pedestrian)) {
+                continue;
+            }
+
+            computeSplat(pedestrian, candidate);
+            Splat splat = splats.get(pedestrian);
+            if (splat == null) {
+                splat = unusedSplats.isEmpty() ? new Splat() : unusedSplats.pop();
+                splat.set(candidate);
+                splats.put(pedestrian, splat);
+                markDirty(splat);
+            } else {
+                inOrder = inOrder && splat.order > lastOrder;
+                lastOrder = splat.order;
+                if (!splat.sameAs(candidate)) {
+                    markDirty(splat);
+                    splat.set(candidate);
+                    markDirty(splat);
+                }
+            }
+            splat.order = orderedSplats.size();
+            splat.updateCount = updateCount;
+            orderedSplats.add(splat);
+        }
+
+        // pedestrians left the scenario (or do no longer fulfill the predicate)
+        if (splats.size() != orderedSplats.size()) {
+            Iterator<Splat> iterator = splats.values().iterator();
+            while (iterator.hasNext()) {
+                Splat splat = iterator.next();
+                if (splat.updateCount != updateCount) {
+                    markDirty(splat);
+                    iterator.remove();
+                    unusedSplats.push(splat);
+                }
+            }
+        }
+
+        if (modified || !inOrder) {
+            modified = false;
+            filter.clear();
+            for (Splat splat : orderedSplats) {
+                setSplat(splat);
+            }
+            return true;
+        }
+
+        if (numberOfDirtyIndices == 0) {
+            return false;
+        }
+
+        int width = getMatrixWidth();
+        for (int i = 0; i < numberOfDirtyIndices; i++) {
+            filter.setInputValue(dirtyIndices[i] % width, dirtyIndices[i] / width, 0.0);
+        }
+        for (Splat splat : orderedSplats) {
+            setDirtySplat(splat);
+        }
+        return true;
     }
 
     @Override
     public void clear() {
         filter.clear();
+        modified = true;
     }
 
     @Override
     public double getInputValue(int x, int y) {
         return filter.getInputValue(x, y);
     }
+
+    private static class Splat {
+        private int x;
+        private int y;
+        private double upperRight;
+        private double lowerRight;
+        private double upperLeft;
+        private double lowerLeft;
+        private int order;
+        private int updateCount;
+
+        private void set(@NotNull final Splat splat) {
+            x = splat.x;
+            y = splat.y;
+            upperRight = splat.upperRight;
+            lowerRight = splat.lowerRight;
+            upperLeft = splat.upperLeft;
+            lowerLeft = splat.lowerLeft;
+        }
+
+        private boolean sameAs(@NotNull final Splat splat) {
+            return x == splat.x && y == splat.y
+                    && upperRight == splat.upperRight && lowerRight == splat.lowerRight
+                    && upperLeft == splat.upperLeft && lowerLeft == splat.lowerLeft;
+        }
+    }
 }
@@ -2,25 +2,31 @@ package org.vadere.simulator.models.gnm;
 
 import org.vadere.simulator.models.ode.AbstractModelEquations;
 import org.vadere.simulator.models.ode.ODEModel;
+import org.vadere.simulator.models.ode.VerletNeighborList;
+import org.vadere.simulator.models.potential.fields.PotentialFieldAgent;
+import org.vadere.simulator.models.potential.fields.PotentialFieldObstacle;
+import org.vadere.simulator.models.potential.solver.gradients.GradientProvider;
 import org.vadere.state.scenario.Agent;
 import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Topography;
 import org.vadere.util.geometry.shapes.VCircle;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.Vector2D;
 import org.vadere.util.logging.Logger;
 import org.vadere.util.math.MathUtil;
-import org.vadere.util.parallel.AParallelWorker;
-import org.vadere.util.parallel.AParallelWorker.Work;
-import org.vadere.util.parallel.CountableParallelWorker;
 import org.vadere.util.parallel.IAsyncComputable;
 
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
 
 /**
  * The equations of the Gradient Navigation Model.
+ *
+ * The right-hand side is evaluated in parallel over contiguous ranges of
+ * pedestrians, see {@link AbstractModelEquations#forEachElement}. If the
+ * pedestrian potential is the {@link PotentialFieldPedestrianGNM}, the relevant
+ * pedestrians are taken from a {@link VerletNeighborList}.
  * 
  */
 public class GNMEquations extends AbstractModelEquations<Pedestrian> implements
@@ -28,6 +34,14 @@ public class GNMEquations extends AbstractModelEquations<Pedestrian> implements
 
 	private static Logger logger = Logger.getLogger(GNMEquations.class);
 
+	/**
+	 * Additional radius (in m) of the cached neighborhoods, see {@link VerletNeighborList}.
+	 */
+	private static final double NEIGHBOR_LIST_SKIN = 0.5;
+
+	private final ThreadLocal<Workspace> workspaces = ThreadLocal.withInitial(Workspace::new);
+	private VerletNeighborList<Pedestrian> neighborList;
+
 	/**
 	 * Three dimensions: 2 for dx/dt, 1 for dv/dt
 	 */
@@ -43,58 +57,40 @@ public class GNMEquations extends AbstractModelEquations<Pedestrian> implements
 		// update the pedestrian positions in the topography to the ones computed in the integrator
 		ODEModel.updateElementPositions(Pedestrian.class, t, topography, this, y);
 
-		// create workers for each pedestrian
-		List<AParallelWorker<Double[]>> workers = new ArrayList<AParallelWorker<Double[]>>();
+		if (neighborList != null) {
+			neighborList.update(elements, () -> topography.getElements(Pedestrian.class), topography.getBounds());
+		}
 
 		// loop over all persons and compute the next step
-		int personCounter = 0; // used for arrays, not identical to personID!
-		for (final Pedestrian pedestrian : elements) {
-			AParallelWorker<Double[]> w = new CountableParallelWorker<Double[]>(
-					personCounter, new Work<Double[]>() {
-						private int ID;
-
-						@Override
-						public Double[] call() throws Exception {
-							computeSinglePerson(pedestrian, getWorkerID(), t,
-									y, yDot);
-							return null;
-						}
-
-						@Override
-						public void setID(int ID) {
-							this.ID = ID;
-						}
-
-						@Override
-						public int getWorkerID() {
-							return this.ID;
-						}
-					});
-			personCounter++;
-			workers.add(w);
-			w.start();
-		}
+		forEachElement((personCounter, pedestrian) -> computeSinglePerson(pedestrian, personCounter, t, y, yDot));
+	}
 
-		// finish the work
-		for (AParallelWorker<Double[]> worker : workers) {
-			try {
-				worker.finish();
-			} catch (ExecutionException e) {
-				logger.error(e);
-				e.printStackTrace();
-			} catch (InterruptedException e) {
-				// Necessary in order to tell Simulation the thread has been
-				// interrupted.
-				// TODO [priority=low] [task=refactoring] Hack, other solution?
-				Thread.currentThread().interrupt();
-				break;
+	/**
+	 * Uses a {@link VerletNeighborList} if the relevant pedestrians of the pedestrian potential are the
+	 * pedestrians inside its maximal influence radius and the positions of the integrator are the positions
+	 * of the topography (i.e. there is no teleporter).
+	 */
+	@Override
+	public void setGradients(GradientProvider staticGradientProvider,
+			PotentialFieldObstacle potentialFieldObstacle,
+			PotentialFieldAgent potentialFieldPedestrian,
+			Topography scenario) {
+		super.setGradients(staticGradientProvider, potentialFieldObstacle, potentialFieldPedestrian, scenario);
+
+		if (potentialFieldPedestrian instanceof PotentialFieldPedestrianGNM && !scenario.hasTeleporter()) {
+			double cutoff = potentialFieldPedestrian.getMaximalInfluenceRadius();
+			if (neighborList == null || neighborList.getCutoff() != cutoff) {
+				neighborList = new VerletNeighborList<>(cutoff, NEIGHBOR_LIST_SKIN);
 			}
+			neighborList.setPerformanceCounters(scenario.getPerformanceCounters());
+		} else {
+			neighborList = null;
 		}
 	}
 
 	/**
 	 * Computes yDot for a single person given by personID. This is computed
-	 * asynchronously by an {@link AParallelWorker}.
+	 * concurrently by {@link AbstractModelEquations#forEachElement}.
 	 * 
 	 * @param currentPed
 	 * @param personCounter
@@ -104,10 +100,15 @@ public class GNMEquations extends AbstractModelEquations<Pedestrian> implements
 	 */
 	private void computeSinglePerson(Pedestrian currentPed, int personCounter,
 			double t, double[] y, double[] yDot) {
-		double[] position = new double[2];
-		double[] speed = new double[2];
-		double[] grad_field = new double[2];
-		double[] viewing_direction = new double[2];
+		Workspace workspace = workspaces.get();
+		double[] position = workspace.position;
+		double[] speed = workspace.speed;
+		double[] grad_field = workspace.gradField;
+		double[] viewing_direction = workspace.viewingDirection;
+		grad_field[0] = 0;
+		grad_field[1] = 0;
+		viewing_direction[0] = 0;
+		viewing_direction[1] = 0;
 
 		// ///////////////////////////////////////
 		// extract data
@@ -120,10 +121,17 @@ public class GNMEquations extends AbstractModelEquations<Pedestrian> implements
 		// ///////////////////////////////////////
 		// generate gradients
 
-		VCircle relevantArea = new VCircle(
-				new VPoint(position[0], position[1]), 0.01);
-		Collection<? extends Agent> otherPeds = pedestrianGradientProvider
-				.getRelevantAgents(relevantArea, currentPed, topography);
+		VPoint pos = new VPoint(position[0], position[1]);
+		Collection<? extends Agent> otherPeds;
+		if (neighborList != null) {
+			workspace.neighbors.clear();
+			neighborList.getNeighbors(personCounter, pos, workspace.neighbors);
+			otherPeds = workspace.neighbors;
+		} else {
+			VCircle relevantArea = new VCircle(pos, 0.01);
+			otherPeds = pedestrianGradientProvider
+					.getRelevantAgents(relevantArea, currentPed, topography);
+		}
 		otherPeds.remove(currentPed);
 
 		// get the static gradient
@@ -155,13 +163,11 @@ public class GNMEquations extends AbstractModelEquations<Pedestrian> implements
 
 		// get the gradient for obstacles
 		Vector2D grad_obstacles = obstacleGradientProvider
-				.getObstaclePotentialGradient(new VPoint(position[0],
-						position[1]), currentPed);
+				.getObstaclePotentialGradient(pos, currentPed);
 
 		// get the gradient for pedestrians
 		Vector2D grad_pedestrians = pedestrianGradientProvider
-				.getAgentPotentialGradient(new VPoint(position[0],
-						position[1]), new Vector2D(viewing_direction[0],
+				.getAgentPotentialGradient(pos, new Vector2D(viewing_direction[0],
 								viewing_direction[1]),
 						currentPed, otherPeds);
 
@@ -239,4 +245,15 @@ public class GNMEquations extends AbstractModelEquations<Pedestrian> implements
 		velocity[0] = solution[personID * dimensionPerPerson() + 2];
 		velocity[1] = 0;
 	}
+
+	/**
+	 * The arrays used by the evaluation of a single person, each thread reuses its own workspace.
+	 */
+	private static class Workspace {
+		private final double[] position = new double[2];
+		private final double[] speed = new double[2];
+		private final double[] gradField = new double[2];
+		private final double[] viewingDirection = new double[2];
+		private final List<Pedestrian> neighbors = new ArrayList<>();
+	}
 }
@@ -98,6 +98,14 @@ public class PotentialFieldPedestrianGNM implements PotentialFieldAgent {
 		return new Vector2D(completeGrad[0], completeGrad[1]);
 	}
 
+	/**
+	 * The radius of the spatial query of {@link #getRelevantAgents(VCircle, Agent, Topography)}.
+	 */
+	@Override
+	public double getMaximalInfluenceRadius() {
+		return attributes.getPedestrianRecognitionDistance();
+	}
+
 	@Override
 	public double getAgentPotential(IPoint pos, Agent pedestrian,
 			Agent otherPedestrian) {
@@ -109,7 +117,7 @@ public class PotentialFieldPedestrianGNM implements PotentialFieldAgent {
 			Agent pedestrian, Topography scenario) {
 		List<Pedestrian> closePedestrians = scenario.getSpatialMap(Pedestrian.class)
 				.getObjects(relevantArea.getCenter(),
-						attributes.getPedestrianRecognitionDistance());
+						getMaximalInfluenceRadius());
 
 		return closePedestrians;
 	}
@@ -130,6 +130,12 @@ public class CentroidGroupPotential implements PotentialFieldAgent {
 				pedestrian, scenario);
 	}
 
+	@Override
+	public void getRelevantAgents(VCircle relevantArea, Agent pedestrian,
+			Topography scenario, List<Agent> buffer) {
+		potentialFieldPedestrian.getRelevantAgents(relevantArea, pedestrian, scenario, buffer);
+	}
+
 	@Override
 	public void initialize(List<Attributes> attributesList, Domain topography,
 	                       AttributesAgent attributesPedestrian, Random random) {
@@ -1,10 +1,11 @@
 package org.vadere.simulator.models.ode;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 import org.apache.commons.math3.ode.FirstOrderDifferentialEquations;
 import org.vadere.simulator.models.potential.fields.PotentialFieldAgent;
@@ -21,6 +22,12 @@ import org.vadere.simulator.models.potential.solver.gradients.GradientProvider;
  */
 public abstract class AbstractModelEquations<T extends DynamicElement> implements
 		FirstOrderDifferentialEquations {
+
+	/**
+	 * The number of elements below which the right-hand side is evaluated by the calling thread only.
+	 */
+	private static final int PARALLEL_THRESHOLD = 64;
+
 	protected GradientProvider staticGradientProvider;
 	protected PotentialFieldObstacle obstacleGradientProvider;
 	protected PotentialFieldAgent pedestrianGradientProvider;
@@ -45,7 +52,7 @@ public abstract class AbstractModelEquations<T extends DynamicElement> implement
 	}
 
 	public void setElements(Collection<T> elements) {
-		this.elements = new LinkedList<>(elements);
+		this.elements = new ArrayList<>(elements);
 		this.Npersons = elements.size();
 		this.IDmapping = new HashMap<Integer, Integer>();
 
@@ -104,4 +111,24 @@ public abstract class AbstractModelEquations<T extends DynamicElement> implement
 		return this.IDmapping.get(id);
 	}
 
+	/**
+	 * Calls the kernel for each element and its index (i.e. its counter). The state vector is partitioned
+	 * into contiguous ranges of elements which are evaluated in parallel (by the common fork-join pool), i.e.
+	 * the kernel has to be thread-safe and must only write the part of the state vector of its element.
+	 *
+	 * @param kernel the computation for a single element
+	 */
+	protected void forEachElement(ElementKernel<T> kernel) {
+		IntStream counters = IntStream.range(0, Npersons);
+		if (Npersons >= PARALLEL_THRESHOLD) {
+			counters = counters.parallel();
+		}
+		counters.forEach(counter -> kernel.compute(counter, elements.get(counter)));
+	}
+
+	@FunctionalInterface
+	protected interface ElementKernel<T> {
+		void compute(int counter, T element);
+	}
+
 }
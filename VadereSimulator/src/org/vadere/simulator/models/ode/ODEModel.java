@@ -150,12 +150,13 @@ public abstract class ODEModel<T extends DynamicElement, TAttributes extends Att
 
 		Collection<T> dynamicElements = topography.getElements(type);
 
-		// copy the solution back to the pedestrians
+		// copy the solution back to the pedestrians, the arrays are reused for all elements
+		double[] newPosition = new double[2];
+		double[] newVelocity = new double[2];
 		int counter = 0;
 		for (DynamicElement element : dynamicElements) {
 
 			// extract position and speed
-			double[] newPosition = new double[2];
 			counter = equations.ID2Counter(element.getId());
 			equations.getPosition(counter, y, newPosition);
 
@@ -178,7 +179,6 @@ public abstract class ODEModel<T extends DynamicElement, TAttributes extends Att
 
 			VPoint newPos = new VPoint(newPosition[0], newPosition[1]);
 
-			double[] newVelocity = new double[2];
 			equations.getVelocity(counter, y, newVelocity);
 
 			// set data to ped
@@ -0,0 +1,190 @@
+package org.vadere.simulator.models.ode;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.vadere.util.geometry.CompactCellsGrid;
+import org.vadere.util.geometry.PointPositioned;
+import org.vadere.util.geometry.shapes.IPoint;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.profiling.PerformanceCounter;
+import org.vadere.util.profiling.PerformanceCounters;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * A Verlet neighbor list: for each center (e.g. each pedestrian of the ODE system) it caches all candidates
+ * which are closer than <tt>cutoff + skin</tt>. As long as no center moved more than <tt>skin / 2</tt> since the
+ * lists were built, the candidates closer than <tt>cutoff</tt> to a center are a subset of its cached list, i.e.
+ * the lists can be reused by many evaluations of the right-hand side of the ODE system instead of querying the
+ * (synchronized) spatial map of the topography for each pedestrian and evaluation.
+ *
+ * Candidates which are no centers (e.g. cars for the pedestrians of the Social Force Model) are not tracked, they
+ * must not move between two rebuilds, otherwise the caller has to {@link #invalidate()} the lists.
+ *
+ * The lists are rebuilt by {@link #update(List, Supplier, Rectangle2D)} which has to be called before the lists
+ * are queried. Queries by {@link #getNeighbors(int, IPoint, List)} can be executed concurrently.
+ *
+ * @param <T> type of the candidates
+ */
+public class VerletNeighborList<T extends PointPositioned> {
+
+	private final double cutoff;
+	private final double skin;
+	private final List<List<T>> neighbors;
+	private Object[] centers;
+	private double[] referencePositions;
+	private boolean valid;
+	private int numberOfRebuilds;
+	private PerformanceCounters counters;
+
+	/**
+	 * @param cutoff    the radius of the neighborhood, i.e. the radius which is used for the spatial query
+	 * @param skin      the additional radius of the cached neighborhood
+	 */
+	public VerletNeighborList(final double cutoff, final double skin) {
+		if (cutoff < 0 || Double.isInfinite(cutoff) || skin <= 0) {
+			throw new IllegalArgumentException("cutoff (" + cutoff + ") or skin (" + skin + ") invalid.");
+		}
+		this.cutoff = cutoff;
+		this.skin = skin;
+		this.neighbors = new ArrayList<>();
+		this.centers = new Object[0];
+		this.referencePositions = new double[0];
+		this.valid = false;
+		this.numberOfRebuilds = 0;
+	}
+
+	/**
+	 * Sets the counters of the queries (e.g. the counters of the topography), <tt>null</tt> disables the counting.
+	 */
+	public void setPerformanceCounters(@Nullable final PerformanceCounters counters) {
+		this.counters = counters;
+	}
+
+	/**
+	 * Forces a rebuild of the lists by the next {@link #update(List, Supplier, Rectangle2D)}.
+	 */
+	public void invalidate() {
+		valid = false;
+	}
+
+	/**
+	 * Rebuilds the lists if they are invalid, if the centers changed (i.e. other objects or a different order) or
+	 * if a center moved more than half of the skin since the last rebuild.
+	 *
+	 * @param centers       the centers, the i-th list is the list of the i-th center
+	 * @param candidates    supplies the candidates at their current positions, it is only called for a rebuild
+	 * @param bounds        the bounds of the area containing the candidates
+	 *
+	 * @return true if the lists were rebuilt
+	 */
+	public boolean update(@NotNull final List<? extends PointPositioned> centers,
+	                      @NotNull final Supplier<? extends Collection<? extends T>> candidates,
+	                      @NotNull final Rectangle2D bounds) {
+		if (valid && sameCenters(centers) && maxDisplacement(centers) <= skin / 2) {
+			return false;
+		}
+
+		rebuild(centers, candidates.get(), bounds);
+		return true;
+	}
+
+	/**
+	 * Adds all neighbors of the i-th center which are closer than the cutoff to the given position (i.e. the
+	 * current position of the center) to the buffer. The buffer is not cleared, such that the caller can reuse it.
+	 *
+	 * @param index     the index of the center
+	 * @param position  the current position of the center
+	 * @param buffer    the list to which the neighbors are added
+	 */
+	public void getNeighbors(final int index, @NotNull final IPoint position, @NotNull final List<? super T> buffer) {
+		if (counters != null) {
+			counters.increment(PerformanceCounter.NEIGHBOR_QUERIES);
+		}
+		List<T> list = neighbors.get(index);
+		for (int i = 0; i < list.size(); i++) {
+			T neighbor = list.get(i);
+			// same criterion as the spatial maps, see LinkedCellsGrid#getObjects
+			if (neighbor.getPosition().distance(position) < cutoff) {
+				buffer.add(neighbor);
+			}
+		}
+	}
+
+	public double getCutoff() {
+		return cutoff;
+	}
+
+	public double getSkin() {
+		return skin;
+	}
+
+	public int getNumberOfRebuilds() {
+		return numberOfRebuilds;
+	}
+
+	private boolean sameCenters(@NotNull final List<? extends PointPositioned> centers) {
+		if (centers.size() != this.centers.length) {
+			return false;
+		}
+		for (int i = 0; i < this.centers.length; i++) {
+			if (centers.get(i) != this.centers[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private double maxDisplacement(@NotNull final List<? extends PointPositioned> centers) {
+		double maxDistanceSq = 0;
+		for (int i = 0; i < centers.size(); i++) {
+			VPoint position = centers.get(i).getPosition();
+			double dx = position.x - referencePositions[2 * i];
+			double dy = position.y - referencePositions[2 * i + 1];
+			maxDistanceSq = Math.max(maxDistanceSq, dx * dx + dy * dy);
+		}
+		return Math.sqrt(maxDistanceSq);
+	}
+
+	private void rebuild(@NotNull final List<? extends PointPositioned> centers,
+	                     @NotNull final Collection<? extends T> candidates,
+	                     @NotNull final Rectangle2D bounds) {
+		int n = centers.size();
+		double radius = cutoff + skin;
+		CompactCellsGrid<T> grid = new CompactCellsGrid<>(bounds.getX(), bounds.getY(), bounds.getWidth(),
+				bounds.getHeight(), radius, candidates);
+
+		while (neighbors.size() < n) {
+			neighbors.add(new ArrayList<>());
+		}
+		while (neighbors.size() > n) {
+			neighbors.remove(neighbors.size() - 1);
+		}
+		if (this.centers.length != n) {
+			this.centers = new Object[n];
+			this.referencePositions = new double[2 * n];
+		}
+
+		for (int i = 0; i < n; i++) {
+			VPoint position = centers.get(i).getPosition();
+			this.centers[i] = centers.get(i);
+			referencePositions[2 * i] = position.x;
+			referencePositions[2 * i + 1] = position.y;
+		}
+
+		// the grid is immutable, i.e. the lists can be built concurrently
+		IntStream.range(0, n).parallel().forEach(i -> {
+			List<T> list = neighbors.get(i);
+			list.clear();
+			grid.forEachObject(referencePositions[2 * i], referencePositions[2 * i + 1], radius, list::add);
+		});
+
+		valid = true;
+		numberOfRebuilds++;
+	}
+}
@@ -158,7 +158,7 @@ public class OptimalStepsModel implements MainModel, PotentialFieldModel {
 							@Override
 							public void initialize() {
 								potentialFieldTarget.preLoop(0.4);
-								cellGrid = ((IPotentialFieldTargetGrid)potentialFieldTarget).getCellGrids().get(1);
+								cellGrid = ((IPotentialFieldTargetGrid)potentialFieldTarget).getCellGrid(1);
 							}
 
 							@Override
@@ -21,6 +21,8 @@ import org.vadere.state.scenario.Agent;
 import org.vadere.state.scenario.Pedestrian;
 import org.vadere.state.scenario.Stairs;
 import org.vadere.state.scenario.Topography;
+import org.vadere.util.profiling.PerformanceCounter;
+import org.vadere.util.profiling.PerformanceCounters;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -56,6 +58,7 @@ public class PedestrianOSM extends Pedestrian {
 	private double timeOfNextStep;
 
 	private transient Collection<? extends Agent> relevantPedestrians;
+	private transient ArrayList<Agent> relevantPedestriansBuffer;
 
 	// calculated by (current position - last position)/(period of time).
 	private double speedByAbsoluteDistance;
@@ -87,6 +90,7 @@ public class PedestrianOSM extends Pedestrian {
 		this.speedAdjusters = speedAdjusters;
 		this.stepSizeAdjusters = new LinkedList<>();
 		this.relevantPedestrians = new HashSet<>();
+		this.relevantPedestriansBuffer = new ArrayList<>();
 		this.timeOfNextStep = INVALID_NEXT_EVENT_TIME;
 
 		this.setVelocity(new Vector2D(0, 0));
@@ -120,6 +124,7 @@ public class PedestrianOSM extends Pedestrian {
 		this.speedAdjusters = new LinkedList<>(other.speedAdjusters);
 		this.stepSizeAdjusters = new LinkedList<>(other.stepSizeAdjusters);
 		this.relevantPedestrians = new ArrayList<>(other.relevantPedestrians);
+		this.relevantPedestriansBuffer = new ArrayList<>();
 		this.timeOfNextStep = INVALID_NEXT_EVENT_TIME;
 		this.stepDeviation = other.stepDeviation;
 		this.stepLength = other.stepLength;
@@ -297,6 +302,10 @@ public class PedestrianOSM extends Pedestrian {
 	}
 
 	public double getPotential(IPoint newPos) {
+		PerformanceCounters counters = topography.getPerformanceCounters();
+		if (counters != null) {
+			counters.increment(PerformanceCounter.OPTIMIZER_EVALUATIONS);
+		}
 		return combinedPotentialStrategy.getValue(newPos, this, relevantPedestrians);
 	}
 
@@ -359,7 +368,9 @@ public class PedestrianOSM extends Pedestrian {
 
 	public void refreshRelevantPedestrians() {
 		VCircle reachableArea = new VCircle(getPosition(), getFreeFlowStepSize());
-		setRelevantPedestrians(potentialFieldPedestrian.getRelevantAgents(reachableArea, this, getTopography()));
+		// the neighbours are queried once per step and reused by all evaluations of the potential during the step
+		potentialFieldPedestrian.getRelevantAgents(reachableArea, this, getTopography(), relevantPedestriansBuffer);
+		setRelevantPedestrians(relevantPedestriansBuffer);
 	}
 
 
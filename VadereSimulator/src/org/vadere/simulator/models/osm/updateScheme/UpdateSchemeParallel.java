@@ -50,8 +50,19 @@ public class UpdateSchemeParallel implements UpdateSchemeOSM {
 	}
 
 	public UpdateSchemeParallel(@NotNull final Topography topography) {
+		this(topography, Executors.newFixedThreadPool(NUMBER_OF_THREADS));
+	}
+
+	/**
+	 * Constructs the update scheme using an existing executor. Sub classes which do not
+	 * own the executor have to override {@link UpdateSchemeParallel#shutdown()}.
+	 *
+	 * @param topography        the topography
+	 * @param executorService   the executor which executes the parallel phases
+	 */
+	protected UpdateSchemeParallel(@NotNull final Topography topography, @NotNull final ExecutorService executorService) {
 		this.topography = topography;
-		this.executorService = Executors.newFixedThreadPool(NUMBER_OF_THREADS);
+		this.executorService = executorService;
 		this.movePedestrians = new HashSet<>();
 		this.undoPedestrians = new HashSet<>();
 		this.osmBehaviorController = new OSMBehaviorController();
@@ -73,6 +84,7 @@ public class UpdateSchemeParallel implements UpdateSchemeOSM {
 					ms = System.currentTimeMillis();
 				}
 
+				rebuildSpatialMap(callMethod);
 				futures = new LinkedList<>();
 				for (final PedestrianOSM pedestrian : CollectionUtils.select(topography.getElements(Pedestrian.class), PedestrianOSM.class)) {
 					Runnable worker = () -> update(pedestrian, timeStepInSec, currentTimeInSec, callMethod);
@@ -89,6 +101,18 @@ public class UpdateSchemeParallel implements UpdateSchemeOSM {
 		} while (!movePedestrians.isEmpty());
 	}
 
+	/**
+	 * Rebuilds the lock-free snapshot of the spatial map before phases in which many neighbour queries but no
+	 * moves happen. Agents move in {@link CallMethod#MOVE} and {@link CallMethod#STEPS} which invalidates the snapshot.
+	 *
+	 * @param callMethod the phase which will be executed next
+	 */
+	protected void rebuildSpatialMap(@NotNull final CallMethod callMethod) {
+		if (callMethod == CallMethod.SEEK || callMethod == CallMethod.CONFLICTS) {
+			topography.rebuildCompactSpatialMap(Pedestrian.class);
+		}
+	}
+
 	protected void collectFutures(final List<Future<?>> futures) {
 		try {
 			for (Future<?> future : futures) {
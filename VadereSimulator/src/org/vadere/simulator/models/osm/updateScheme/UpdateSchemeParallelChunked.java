@@ -0,0 +1,164 @@
+package org.vadere.simulator.models.osm.updateScheme;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.simulator.models.osm.PedestrianOSM;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Topography;
+import org.vadere.util.geometry.LinkedCellsGrid;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.io.CollectionUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * A variant of the parallel update scheme {@link UpdateSchemeParallel} which does not submit one task
+ * per pedestrian and phase. Instead, pedestrians are partitioned into spatial chunks using a
+ * {@link LinkedCellsGrid} and the chunks are processed by a work-stealing {@link ForkJoinPool}.
+ * Pedestrians of one chunk are neighbours, i.e. they access similar parts of the floor fields and
+ * the spatial data structures.
+ *
+ * The pool is sized to the number of available processors and shared by all instances (i.e. all
+ * simulation runs) inside the JVM. Therefore, {@link UpdateSchemeParallelChunked#shutdown()} does not
+ * shut down the pool. The semantic of the update is the same as for {@link UpdateSchemeParallel}.
+ */
+public class UpdateSchemeParallelChunked extends UpdateSchemeParallel {
+
+	/**
+	 * The average number of pedestrians of a chunk. Chunks are small enough such that idle workers
+	 * are able to steal work if the crowd density is heterogeneous.
+	 */
+	private static final int PEDESTRIANS_PER_CHUNK = 32;
+
+	private final int pedestriansPerChunk;
+
+	private static final CallMethod[] callMethods = {CallMethod.SEEK, CallMethod.MOVE, CallMethod.CONFLICTS, CallMethod.STEPS};
+
+	private static class SharedPoolHolder {
+		private static final ForkJoinPool pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+	}
+
+	public UpdateSchemeParallelChunked(@NotNull final Topography topography) {
+		this(topography, PEDESTRIANS_PER_CHUNK);
+	}
+
+	UpdateSchemeParallelChunked(@NotNull final Topography topography, final int pedestriansPerChunk) {
+		super(topography, getSharedPool());
+		this.pedestriansPerChunk = pedestriansPerChunk;
+	}
+
+	/**
+	 * Returns the pool shared by all instances of this update scheme, it is lazily created.
+	 *
+	 * @return the pool shared by all instances of this update scheme
+	 */
+	public static ForkJoinPool getSharedPool() {
+		return SharedPoolHolder.pool;
+	}
+
+	@Override
+	public void update(final double timeStepInSec, final double currentTimeInSec) {
+		clearStrides(topography);
+
+		do {
+			movePedestrians.clear();
+			undoPedestrians.clear();
+
+			// agents move during the update, therefore chunks are re-computed for every round.
+			List<List<PedestrianOSM>> chunks = createChunks(CollectionUtils.select(topography.getElements(Pedestrian.class), PedestrianOSM.class));
+
+			for (CallMethod callMethod : callMethods) {
+				rebuildSpatialMap(callMethod);
+				getSharedPool().invoke(new ChunkAction(chunks, 0, chunks.size(), timeStepInSec, currentTimeInSec, callMethod));
+			}
+		} while (!movePedestrians.isEmpty());
+	}
+
+	/**
+	 * Partitions the pedestrians into spatial chunks. The side length of the grid cells is chosen such
+	 * that a cell contains on average {@link UpdateSchemeParallelChunked#pedestriansPerChunk} pedestrians.
+	 *
+	 * @param pedestrians all pedestrians of the topography
+	 * @return a list of non-empty chunks
+	 */
+	List<List<PedestrianOSM>> createChunks(@NotNull final Collection<PedestrianOSM> pedestrians) {
+		List<List<PedestrianOSM>> chunks = new ArrayList<>();
+		if(pedestrians.isEmpty()) {
+			return chunks;
+		}
+
+		VRectangle bound = new VRectangle(topography.getBounds());
+		double numberOfChunks = Math.max(1.0, Math.ceil((double)pedestrians.size() / pedestriansPerChunk));
+		double sideLength = Math.sqrt(bound.getWidth() * bound.getHeight() / numberOfChunks);
+
+		// the grid rounds the number of cells per dimension down, i.e. the side length is shrunk such that it divides the bound
+		double columns = Math.ceil(bound.getWidth() / sideLength);
+		double rows = Math.ceil(bound.getHeight() / sideLength);
+		sideLength = Math.nextDown(Math.min(bound.getWidth() / columns, bound.getHeight() / rows));
+
+		LinkedCellsGrid<PedestrianOSM> grid = new LinkedCellsGrid<>(bound, sideLength);
+		for(PedestrianOSM pedestrian : pedestrians) {
+			grid.addObject(pedestrian);
+		}
+
+		for(List<PedestrianOSM> chunk : grid.getElementsByCell().values()) {
+			if(!chunk.isEmpty()) {
+				chunks.add(chunk);
+			}
+		}
+		return chunks;
+	}
+
+	/**
+	 * Processes a range of chunks. The range is split recursively until a single chunk is left such that
+	 * idle workers are able to steal the remaining halves.
+	 */
+	private class ChunkAction extends RecursiveAction {
+		private final List<List<PedestrianOSM>> chunks;
+		private final int from;
+		private final int to;
+		private final double timeStepInSec;
+		private final double currentTimeInSec;
+		private final CallMethod callMethod;
+
+		private ChunkAction(
+				@NotNull final List<List<PedestrianOSM>> chunks,
+				final int from,
+				final int to,
+				final double timeStepInSec,
+				final double currentTimeInSec,
+				@NotNull final CallMethod callMethod) {
+			this.chunks = chunks;
+			this.from = from;
+			this.to = to;
+			this.timeStepInSec = timeStepInSec;
+			this.currentTimeInSec = currentTimeInSec;
+			this.callMethod = callMethod;
+		}
+
+		@Override
+		protected void compute() {
+			if(to - from <= 1) {
+				for(int i = from; i < to; i++) {
+					for(PedestrianOSM pedestrian : chunks.get(i)) {
+						update(pedestrian, timeStepInSec, currentTimeInSec, callMethod);
+					}
+				}
+			} else {
+				int mid = (from + to) >>> 1;
+				invokeAll(
+						new ChunkAction(chunks, from, mid, timeStepInSec, currentTimeInSec, callMethod),
+						new ChunkAction(chunks, mid, to, timeStepInSec, currentTimeInSec, callMethod));
+			}
+		}
+	}
+
+	/**
+	 * The pool is shared by all instances and therefore it will not be shut down.
+	 */
+	@Override
+	public void shutdown() {}
+}
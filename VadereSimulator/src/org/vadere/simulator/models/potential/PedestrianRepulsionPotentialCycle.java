@@ -125,6 +125,12 @@ public class PedestrianRepulsionPotentialCycle implements
 				pedestrian, scenario);
 	}
 
+	@Override
+	public void getRelevantAgents(VCircle relevantArea, Agent pedestrian,
+			Topography scenario, List<Agent> buffer) {
+		potentialFieldPedestrian.getRelevantAgents(relevantArea, pedestrian, scenario, buffer);
+	}
+
 	@Override
 	public void initialize(List<Attributes> attributesList, Domain domain,
 	                       AttributesAgent attributesPedestrian, Random random) {
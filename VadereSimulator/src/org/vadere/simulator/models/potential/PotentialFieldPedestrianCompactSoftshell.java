@@ -10,13 +10,16 @@ import org.vadere.state.attributes.scenario.AttributesAgent;
 import org.vadere.state.scenario.Agent;
 import org.vadere.state.scenario.Pedestrian;
 import org.vadere.state.scenario.Topography;
+import org.vadere.util.geometry.CompactCellsGrid;
 import org.vadere.util.geometry.shapes.IPoint;
 import org.vadere.util.geometry.shapes.VCircle;
 import org.vadere.util.geometry.shapes.Vector2D;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Random;
+import java.util.RandomAccess;
 
 // Implementation of the soft shell repulsive potential of pedestrians according to sivers-2016b.
 // page 46, eq. 4.1
@@ -57,11 +60,35 @@ public class PotentialFieldPedestrianCompactSoftshell implements PotentialFieldA
 	@Override
 	public Collection<Pedestrian> getRelevantAgents(VCircle maxStepCircle,
 			Agent pedestrian, Topography scenario) {
-		List<Pedestrian> closePedestrians = scenario.getSpatialMap(Pedestrian.class).getObjects(maxStepCircle.getCenter(),
-				this.personalWidth + maxStepCircle.getRadius() + pedestrian.getRadius());
+		double radius = this.personalWidth + maxStepCircle.getRadius() + pedestrian.getRadius();
+
+		// use the lock-free snapshot if it is up to date, e.g. during the parallel update
+		CompactCellsGrid<Pedestrian> compactSpatialMap = scenario.getCompactSpatialMap(Pedestrian.class);
+		if (compactSpatialMap != null) {
+			List<Pedestrian> closePedestrians = new ArrayList<>();
+			compactSpatialMap.getObjects(maxStepCircle.getCenter(), radius, closePedestrians);
+			return closePedestrians;
+		}
+
+		List<Pedestrian> closePedestrians = scenario.getSpatialMap(Pedestrian.class).getObjects(maxStepCircle.getCenter(), radius);
 		return closePedestrians;
 	}
 
+	@Override
+	public void getRelevantAgents(VCircle maxStepCircle, Agent pedestrian,
+			Topography scenario, List<Agent> buffer) {
+		double radius = this.personalWidth + maxStepCircle.getRadius() + pedestrian.getRadius();
+		buffer.clear();
+
+		// the snapshot is queried once and its neighbours are copied into the buffer of the pedestrian
+		CompactCellsGrid<Pedestrian> compactSpatialMap = scenario.getCompactSpatialMap(Pedestrian.class);
+		if (compactSpatialMap != null) {
+			compactSpatialMap.getObjects(maxStepCircle.getCenter(), radius, buffer);
+		} else {
+			buffer.addAll(scenario.getSpatialMap(Pedestrian.class).getObjects(maxStepCircle.getCenter(), radius));
+		}
+	}
+
 
 	public double getPersonalWidth() { return personalWidth; }
 	public void setPersonalWidth(final double personalWidth) { this.personalWidth = personalWidth; }
@@ -150,9 +177,20 @@ public class PotentialFieldPedestrianCompactSoftshell implements PotentialFieldA
 			Collection<? extends Agent> otherPedestrians) {
 		double potential = 0;
 
-		for (Agent neighbor : otherPedestrians) {
-			if (neighbor.getId() != pedestrian.getId()) {
-				potential += getAgentPotential(pos, pedestrian, neighbor);
+		// the neighbours are usually the buffer of the pedestrian which is filled once per step
+		if (otherPedestrians instanceof RandomAccess) {
+			List<? extends Agent> neighbors = (List<? extends Agent>) otherPedestrians;
+			for (int i = 0; i < neighbors.size(); i++) {
+				Agent neighbor = neighbors.get(i);
+				if (neighbor.getId() != pedestrian.getId()) {
+					potential += getAgentPotential(pos, pedestrian, neighbor);
+				}
+			}
+		} else {
+			for (Agent neighbor : otherPedestrians) {
+				if (neighbor.getId() != pedestrian.getId()) {
+					potential += getAgentPotential(pos, pedestrian, neighbor);
+				}
 			}
 		}
 
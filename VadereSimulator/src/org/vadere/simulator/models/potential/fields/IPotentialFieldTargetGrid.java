@@ -33,6 +33,17 @@ public interface IPotentialFieldTargetGrid extends IPotentialFieldTarget {
      */
 	Map<Integer, CellGrid> getCellGrids();
 
+	/**
+	 * Returns the CellGrid (reference) of a single target or <tt>null</tt> if there is none. In contrast to
+	 * {@link #getCellGrids()} only the grid of this target is accessed, i.e. the grids of other targets are not loaded.
+	 *
+	 * @param targetId the id of the target
+	 * @return the CellGrid (reference) of the target or <tt>null</tt>
+	 */
+	default CellGrid getCellGrid(final int targetId) {
+		return getCellGrids().get(targetId);
+	}
+
     /**
      * A factory method to create different target potential fields which use a Cartesian grid.
      *
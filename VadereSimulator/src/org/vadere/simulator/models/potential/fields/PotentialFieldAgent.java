@@ -51,6 +51,17 @@ public interface PotentialFieldAgent extends Model {
 	Collection<? extends Agent> getRelevantAgents(VCircle relevantArea,
 			Agent pedestrian, Topography topography);
 
+	/**
+	 * Replaces the content of the buffer by the pedestrians computed by
+	 * {@link #getRelevantAgents(VCircle, Agent, Topography)}, i.e. a pedestrian
+	 * can reuse its buffer in each step.
+	 */
+	default void getRelevantAgents(VCircle relevantArea, Agent pedestrian,
+			Topography topography, List<Agent> buffer) {
+		buffer.clear();
+		buffer.addAll(getRelevantAgents(relevantArea, pedestrian, topography));
+	}
+
 	double getAgentPotential(IPoint pos, Agent pedestrian,
 	                         Agent otherPedestrian);
 
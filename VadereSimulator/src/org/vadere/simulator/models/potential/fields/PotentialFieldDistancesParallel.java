@@ -0,0 +1,206 @@
+package org.vadere.simulator.models.potential.fields;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.vadere.simulator.utils.cache.CacheException;
+import org.vadere.simulator.utils.cache.ICellGridCacheObject;
+import org.vadere.simulator.utils.cache.ScenarioCache;
+import org.vadere.state.attributes.models.AttributesFloorField;
+import org.vadere.state.scenario.Agent;
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.data.cellgrid.CellState;
+import org.vadere.util.data.cellgrid.PathFindingTag;
+import org.vadere.util.geometry.shapes.IPoint;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.geometry.shapes.VShape;
+import org.vadere.util.logging.Logger;
+
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Computes the same distance field as {@link PotentialFieldDistancesBruteForce}, i.e. the exact (signed)
+ * distance {@link VShape#distance(IPoint)} of each grid point to the nearest obstacle, but without comparing
+ * each grid point with each obstacle. The obstacles are bucketed by their bounding boxes into a coarse
+ * uniform grid. For each grid point the buckets are visited ring by ring around the bucket of the point until
+ * the distance to the next ring exceeds the smallest distance found so far, i.e. only obstacles near the point
+ * are compared. The rows of the grid are computed in parallel.
+ *
+ * The field is stored in the cache by the same identifier as the field of {@link PotentialFieldDistancesBruteForce}
+ * since both fields are equal.
+ */
+public class PotentialFieldDistancesParallel implements IPotentialField {
+
+	private static Logger logger = Logger.getLogger(PotentialFieldDistancesParallel.class);
+	private final CellGrid cellGrid;
+
+	public PotentialFieldDistancesParallel(@NotNull final Collection<VShape> obstacles,
+										   @NotNull final VRectangle bounds,
+										   @NotNull final AttributesFloorField attributesFloorField,
+										   @NotNull final ScenarioCache cache) {
+
+		this.cellGrid = new CellGrid(bounds.getWidth(), bounds.getHeight(), attributesFloorField.getPotentialFieldResolution(), new CellState(), bounds.getMinX(), bounds.getMinY());
+
+		boolean isInitialized = false;
+		logger.info("solve floor field (PotentialFieldDistancesParallel)");
+		if (cache.isNotEmpty()){
+			double ms = System.currentTimeMillis();
+			String cacheIdentifier = cache.distToIdentifier("BruteForce");
+			ICellGridCacheObject cacheObject = (ICellGridCacheObject) cache.getCache(cacheIdentifier);
+			if(cacheObject.readable()){
+				try{
+					cacheObject.initializeObjectFromCache(cellGrid);
+					isInitialized = true;
+					logger.info("floor field initialization time:" + (System.currentTimeMillis() - ms + "[ms] (cache load time)"));
+				} catch (CacheException e){
+					logger.errorf("Error loading cache solve manually. " + e);
+				}
+			} else if(cacheObject.writable()) {
+				logger.infof("No cache found for scenario solve floor field");
+				computeDistances(cellGrid, obstacles);
+				isInitialized = true;
+				try{
+					ms = System.currentTimeMillis();
+					logger.info("save floor field cache:");
+					cacheObject.persistObject(cellGrid);
+					logger.info("save floor field cache time:" + (System.currentTimeMillis() - ms + "[ms]"));
+				} catch (CacheException e){
+					logger.errorf("Error saving cache.", e);
+				}
+			}
+		}
+
+		if (!isInitialized){
+			computeDistances(cellGrid, obstacles);
+		}
+	}
+
+	/**
+	 * Sets the value of each point of the grid to the minimal distance of the point to any obstacle (or to
+	 * {@link Double#MAX_VALUE} if there is no obstacle).
+	 */
+	public static void computeDistances(@NotNull final CellGrid cellGrid, @NotNull final Collection<VShape> obstacles) {
+		long ms = System.currentTimeMillis();
+		ObstacleBuckets buckets = new ObstacleBuckets(cellGrid, new ArrayList<>(obstacles));
+
+		IntStream.range(0, cellGrid.getNumPointsY()).parallel().forEach(row -> {
+			int[] visited = new int[buckets.shapes.size()];
+			for (int column = 0; column < cellGrid.getNumPointsX(); column++) {
+				VPoint point = cellGrid.pointToCoord(column, row);
+				double distance = buckets.minDistance(point, visited, column + 1);
+				cellGrid.setValue(column, row, new CellState(distance, PathFindingTag.Reachable));
+			}
+		});
+
+		logger.info("floor field initialization time:" + (System.currentTimeMillis() - ms + "[ms] (" + obstacles.size() + " obstacles)"));
+	}
+
+	@Override
+	public double getPotential(@NotNull IPoint pos, @Nullable Agent agent) {
+		return cellGrid.getInterpolatedValueAt(pos).getLeft();
+	}
+
+	/**
+	 * A uniform grid of square buckets covering the cell grid, each bucket contains the indices of all obstacles
+	 * whose bounding box intersects the bucket.
+	 */
+	private static class ObstacleBuckets {
+		private final List<VShape> shapes;
+		private final double left;
+		private final double top;
+		private final double bucketSize;
+		private final int bucketsX;
+		private final int bucketsY;
+		private final int[][] buckets;
+
+		private ObstacleBuckets(@NotNull final CellGrid cellGrid, @NotNull final List<VShape> shapes) {
+			this.shapes = shapes;
+			this.left = cellGrid.getMinX();
+			this.top = cellGrid.getMinY();
+
+			// about one obstacle per bucket but not finer than the cell grid
+			double width = Math.max(cellGrid.getWidth(), cellGrid.getResolution());
+			double height = Math.max(cellGrid.getHeight(), cellGrid.getResolution());
+			this.bucketSize = Math.max(cellGrid.getResolution(), Math.sqrt(width * height / Math.max(1, shapes.size())));
+			this.bucketsX = (int) Math.ceil(width / bucketSize) + 1;
+			this.bucketsY = (int) Math.ceil(height / bucketSize) + 1;
+
+			int[] counts = new int[bucketsX * bucketsY];
+			List<int[]> ranges = new ArrayList<>(shapes.size());
+			for (VShape shape : shapes) {
+				Rectangle2D bound = shape.getBounds2D();
+				int[] range = new int[]{bucketX(bound.getMinX()), bucketY(bound.getMinY()), bucketX(bound.getMaxX()), bucketY(bound.getMaxY())};
+				ranges.add(range);
+				for (int y = range[1]; y <= range[3]; y++) {
+					for (int x = range[0]; x <= range[2]; x++) {
+						counts[y * bucketsX + x]++;
+					}
+				}
+			}
+
+			this.buckets = new int[bucketsX * bucketsY][];
+			for (int i = 0; i < buckets.length; i++) {
+				buckets[i] = new int[counts[i]];
+			}
+			Arrays.fill(counts, 0);
+			for (int shape = 0; shape < shapes.size(); shape++) {
+				int[] range = ranges.get(shape);
+				for (int y = range[1]; y <= range[3]; y++) {
+					for (int x = range[0]; x <= range[2]; x++) {
+						int bucket = y * bucketsX + x;
+						buckets[bucket][counts[bucket]++] = shape;
+					}
+				}
+			}
+		}
+
+		private int bucketX(final double x) {
+			return Math.max(0, Math.min(bucketsX - 1, (int) Math.floor((x - left) / bucketSize)));
+		}
+
+		private int bucketY(final double y) {
+			return Math.max(0, Math.min(bucketsY - 1, (int) Math.floor((y - top) / bucketSize)));
+		}
+
+		/**
+		 * Returns the minimal distance of the point to any obstacle. An obstacle which is not contained in the
+		 * buckets of the rings 0, ..., k around the bucket of the point is at least k * bucketSize away.
+		 *
+		 * @param visited   marks obstacles which are already compared with the point
+		 * @param stamp     the mark of this point, it has to differ from the marks of previous points
+		 */
+		private double minDistance(@NotNull final VPoint point, @NotNull final int[] visited, final int stamp) {
+			int centerX = bucketX(point.getX());
+			int centerY = bucketY(point.getY());
+			int maxRing = Math.max(Math.max(centerX, bucketsX - 1 - centerX), Math.max(centerY, bucketsY - 1 - centerY));
+			double minDistance = Double.MAX_VALUE;
+
+			for (int ring = 0; ring <= maxRing && minDistance > (ring - 1) * bucketSize; ring++) {
+				int minY = centerY - ring;
+				int maxY = centerY + ring;
+				for (int y = Math.max(0, minY); y <= Math.min(bucketsY - 1, maxY); y++) {
+					// only the boundary of the ring: all buckets of the first and last row, two buckets of the other rows
+					int step = (y == minY || y == maxY) ? 1 : Math.max(1, 2 * ring);
+					for (int x = centerX - ring; x <= centerX + ring; x += step) {
+						if (x < 0 || x >= bucketsX) {
+							continue;
+						}
+						for (int shape : buckets[y * bucketsX + x]) {
+							if (visited[shape] != stamp) {
+								visited[shape] = stamp;
+								minDistance = Math.min(minDistance, shapes.get(shape).distance(point));
+							}
+						}
+					}
+				}
+			}
+
+			return minDistance;
+		}
+	}
+}
@@ -2,7 +2,7 @@ package org.vadere.simulator.models.potential.fields;
 
 import org.jetbrains.annotations.NotNull;
 import org.vadere.simulator.models.potential.solver.calculators.EikonalSolver;
-import org.vadere.simulator.models.potential.solver.calculators.cartesian.AGridEikonalSolver;
+import org.vadere.simulator.models.potential.solver.calculators.cartesian.GridEikonalSolver;
 import org.vadere.simulator.projects.Domain;
 import org.vadere.state.attributes.models.AttributesFloorField;
 import org.vadere.state.attributes.scenario.AttributesAgent;
@@ -35,20 +35,28 @@ public class PotentialFieldTargetGrid extends PotentialFieldTarget implements IP
             Integer targetId = entry.getKey();
             EikonalSolver eikonalSolver = entry.getValue();
 
-            if(eikonalSolver instanceof AGridEikonalSolver){
-                map.put(targetId, ((AGridEikonalSolver)eikonalSolver).getCellGrid());
+            if(eikonalSolver instanceof GridEikonalSolver){
+                map.put(targetId, ((GridEikonalSolver)eikonalSolver).getCellGrid());
             }
         }
 
         return map;
     }
 
+    @Override
+    public CellGrid getCellGrid(final int targetId) {
+        EikonalSolver eikonalSolver = eikonalSolvers.get(targetId);
+        return eikonalSolver instanceof GridEikonalSolver ? ((GridEikonalSolver)eikonalSolver).getCellGrid() : null;
+    }
+
     @Override
     public Vector2D getTargetPotentialGradient(VPoint pos, Agent ped) {
         double[] gradient = { 0.0, 0.0 };
 
-        if (ped.hasNextTarget()) {
-            InterpolationUtil.getGradientMollified(getCellGrids().get(ped.getNextTargetId()), new double[]{pos.getX(), pos.getY()}, gradient, 0.1);
+        // only access the grid of the next target, cached grids of other targets are loaded lazily
+        CellGrid cellGrid = ped.hasNextTarget() ? getCellGrid(ped.getNextTargetId()) : null;
+        if (cellGrid != null) {
+            InterpolationUtil.getGradientMollified(cellGrid, new double[]{pos.getX(), pos.getY()}, gradient, 0.1);
         }
 
         return new Vector2D(gradient[0], gradient[1]);
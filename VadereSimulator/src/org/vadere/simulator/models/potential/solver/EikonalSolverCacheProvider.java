@@ -1,10 +1,13 @@
 package org.vadere.simulator.models.potential.solver;
 
 import org.vadere.simulator.models.potential.solver.calculators.EikonalSolver;
+import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverMappedCache;
 import org.vadere.simulator.projects.Domain;
+import org.vadere.simulator.utils.cache.CellGridMappedCacheObject;
 import org.vadere.simulator.utils.cache.ICacheObject;
 import org.vadere.simulator.utils.cache.ScenarioCache;
 import org.vadere.state.attributes.models.AttributesFloorField;
+import org.vadere.state.attributes.models.TimeCostFunctionType;
 import org.vadere.state.attributes.scenario.AttributesAgent;
 import org.vadere.util.geometry.shapes.VShape;
 import org.vadere.util.logging.Logger;
@@ -23,11 +26,42 @@ public class EikonalSolverCacheProvider extends EikonalSolverProvider {
 
 	@Override
 	public EikonalSolver provide(Domain domain, int targetId, List<VShape> targetShapes, AttributesAgent attributesPedestrian, AttributesFloorField attributesPotential) {
+		EikonalSolver mappedSolver = provideMapped(targetId, attributesPotential);
+		if (mappedSolver != null) {
+			return mappedSolver;
+		}
+
 		EikonalSolver eikonalSolver = buildBase(domain, targetId, targetShapes, attributesPedestrian, attributesPotential);
 		initSolver(eikonalSolver, targetId, targetShapes, attributesPedestrian, attributesPotential);
 		return eikonalSolver;
 	}
 
+	/**
+	 * Returns a solver backed by the memory-mapped cache of the floor field or null if there is no such cache.
+	 * The cache is only used for static floor fields on a cell grid since the mapped grid is read only. In this
+	 * case the topography is not discretized and the cache file is mapped on the first access of the floor field.
+	 */
+	private EikonalSolver provideMapped(int targetId, AttributesFloorField attributesPotential) {
+		if (!attributesPotential.isUseCachedFloorField() || cache.isEmpty()
+				|| !attributesPotential.getCreateMethod().isUsingCellGrid()
+				|| !isStatic(attributesPotential.getTimeCostAttributes().getType())) {
+			return null;
+		}
+
+		ICacheObject cacheObject = cache.getCacheForTarget(targetId);
+		if (cacheObject instanceof CellGridMappedCacheObject && cacheObject.readable()) {
+			logger.infof("use mapped floor field cache %s", cacheObject.getCacheLocation());
+			return new EikonalSolverMappedCache((CellGridMappedCacheObject) cacheObject,
+					attributesPotential.getObstacleGridPenalty(), attributesPotential.getTargetAttractionStrength());
+		}
+		return null;
+	}
+
+	private static boolean isStatic(TimeCostFunctionType type) {
+		return type == TimeCostFunctionType.UNIT || type == TimeCostFunctionType.OBSTACLES
+				|| type == TimeCostFunctionType.DISTANCE_TO_OBSTACLES;
+	}
+
 	private void initSolver(EikonalSolver eikonalSolver, int targetId, List<VShape> targetShapes, AttributesAgent attributesPedestrian, AttributesFloorField attributesPotential) {
 		/*
 		   Initialize floor field. If caching is activate try to read cached version. If no
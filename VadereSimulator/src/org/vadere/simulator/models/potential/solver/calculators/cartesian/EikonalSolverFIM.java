@@ -36,6 +36,9 @@ public class EikonalSolverFIM extends AGridEikonalSolver {
 	private final double epsilon;
 	private int nUpdates;
 
+	/** tracks cost changes for the incremental update, null if the floor field is re-computed from scratch */
+	private final TimeCostChangeTracker changeTracker;
+
 	private LinkedList<Point> activeList;
 
 	public EikonalSolverFIM(
@@ -45,6 +48,21 @@ public class EikonalSolverFIM extends AGridEikonalSolver {
 			final ITimeCostFunction timeCostFunction,
             final double unknownPenalty,
             final double weight) {
+		this(cellGrid, distFunc, isHighAccuracy, timeCostFunction, unknownPenalty, weight, false);
+	}
+
+	/**
+	 * If incremental is true, an update of a dynamic floor field only re-computes the region of the grid
+	 * which is affected by cost changes, see {@link TimeCostChangeTracker}.
+	 */
+	public EikonalSolverFIM(
+			final CellGrid cellGrid,
+			final IDistanceFunction distFunc,
+			final boolean isHighAccuracy,
+			final ITimeCostFunction timeCostFunction,
+			final double unknownPenalty,
+			final double weight,
+			final boolean incremental) {
 	    super(cellGrid, unknownPenalty, weight);
 	    this.cellGrid = cellGrid;
 		this.timeCostFunction = timeCostFunction;
@@ -53,6 +71,7 @@ public class EikonalSolverFIM extends AGridEikonalSolver {
 		this.targetPoints = cellGrid.pointStream().filter(p -> cellGrid.getValue(p).tag == PathFindingTag.Target).collect(Collectors.toList());
 		this.activeList = new LinkedList<>();
 		this.epsilon = cellGrid.getResolution() / 1000;
+		this.changeTracker = incremental ? new TimeCostChangeTracker(cellGrid, timeCostFunction) : null;
 
 		if (targetPoints.size() == 0) {
 			logger.error("PotentialFieldInitializerFastMarching::Run(): "
@@ -87,6 +106,23 @@ public class EikonalSolverFIM extends AGridEikonalSolver {
 				});
 	}
 
+	/**
+	 * Activates the invalidated points at the border of the invalidated region. The loop reactivates
+	 * reached points whose potential decreases.
+	 */
+	private void initIncrementally() {
+		for (Point point : changeTracker.invalidateChangedRegion()) {
+			List<Point> neighbours = cellGrid.getLegitNeumannNeighborhood(point);
+			if (neighbours.stream().anyMatch(p -> cellGrid.getValue(p).tag == PathFindingTag.Target)) {
+				cellGrid.setValue(point, new CellState(Math.max(0, -distFunc.apply(cellGrid.pointToCoord(point))), PathFindingTag.NARROW));
+				activeList.add(point);
+			} else if (neighbours.stream().anyMatch(p -> cellGrid.getValue(p).tag == PathFindingTag.Reached)) {
+				cellGrid.setValue(point, new CellState(Double.MAX_VALUE, PathFindingTag.NARROW));
+				activeList.add(point);
+			}
+		}
+	}
+
 	private void loop() {
 		int pointsLooked = 0;
 
@@ -139,6 +175,11 @@ public class EikonalSolverFIM extends AGridEikonalSolver {
 		init();
 		loop();
 
+		// remember the costs of the solution computed from scratch
+		if (changeTracker != null) {
+			changeTracker.recordCosts();
+		}
+
 		/*
 		 * try {
 		 * BufferedWriter bw = new BufferedWriter(new FileWriter(new File("./potential.csv")));
@@ -159,7 +200,12 @@ public class EikonalSolverFIM extends AGridEikonalSolver {
 	@Override
 	public void update() {
 		timeCostFunction.update();
-		solve();
+		if (changeTracker != null && changeTracker.hasCosts()) {
+			initIncrementally();
+			loop();
+		} else {
+			solve();
+		}
 	}
 
 	@Override
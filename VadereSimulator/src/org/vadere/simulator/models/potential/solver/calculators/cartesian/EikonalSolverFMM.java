@@ -30,6 +30,14 @@ public class EikonalSolverFMM extends AGridEikonalSolver {
 
 	boolean isHighAccuracy = false;
 
+	/** tracks cost changes for the incremental update, null if the floor field is re-computed from scratch */
+	private final TimeCostChangeTracker changeTracker;
+	/** true if grid points which are already reached might be reopened since their potential decreases */
+	private boolean reopenReached = false;
+	/** the potential of the last reached grid point */
+	private double frontPotential = 0.0;
+	private final double epsilon;
+
 	/** only for logging */
 	protected static Logger logger = Logger.getLogger(EikonalSolverFMM.class);
 	protected long runtime = 0;
@@ -45,6 +53,22 @@ public class EikonalSolverFMM extends AGridEikonalSolver {
             final ITimeCostFunction timeCostFunction,
             final double unknownPenalty,
             final double weight) {
+        this(potentialField, distFunc, isHighAccuracy, timeCostFunction, unknownPenalty, weight, false);
+    }
+
+    /**
+     * Initializes the FM potential calculator with a time cost function F > 0. If incremental is true,
+     * an update of a dynamic floor field only re-computes the region of the grid which is affected by
+     * cost changes, see {@link TimeCostChangeTracker}.
+     */
+    public EikonalSolverFMM(
+            final CellGrid potentialField,
+            final IDistanceFunction distFunc,
+            final boolean isHighAccuracy,
+            final ITimeCostFunction timeCostFunction,
+            final double unknownPenalty,
+            final double weight,
+            final boolean incremental) {
         super(potentialField, unknownPenalty, weight);
         this.cellGrid = potentialField;
         this.targetPoints = cellGrid.pointStream().filter(p -> cellGrid.getValue(p).tag == PathFindingTag.Target).collect(Collectors.toList());
@@ -52,6 +76,8 @@ public class EikonalSolverFMM extends AGridEikonalSolver {
         this.isHighAccuracy = isHighAccuracy;
         this.narrowBand = new PriorityQueue<>(50, new ComparatorPotentialFieldValue(potentialField));
         this.timeCostFunction = timeCostFunction;
+        this.changeTracker = incremental ? new TimeCostChangeTracker(potentialField, timeCostFunction) : null;
+        this.epsilon = potentialField.getResolution() / 1000;
 
         if (targetPoints.size() == 0) {
             logger.error("PotentialFieldInitializerFastMarching::Run(): "
@@ -77,10 +103,16 @@ public class EikonalSolverFMM extends AGridEikonalSolver {
 		while (!narrowBand.isEmpty()) {
 			Point tmpPoint = narrowBand.poll();
 			cellGrid.getValue(tmpPoint).tag = PathFindingTag.Reached;
+			frontPotential = cellGrid.getValue(tmpPoint).potential;
 			setNeighborDistances(tmpPoint);
 		}
 		long runTime = System.currentTimeMillis() - ms;
 		logger.debug("fmm on the gird run time = " + runTime + ", #updates = " + updates);
+
+		// remember the costs of the solution computed from scratch
+		if (changeTracker != null && !reopenReached) {
+			changeTracker.recordCosts();
+		}
 	}
 
 	/**
@@ -104,13 +136,41 @@ public class EikonalSolverFMM extends AGridEikonalSolver {
 		long ms = System.currentTimeMillis();
 		if (needsUpdate()) {
 			timeCostFunction.update();
-			resetDynamicPotentialField();
-			solve();
+			if (changeTracker != null && changeTracker.hasCosts()) {
+				updateIncrementally();
+			} else {
+				resetDynamicPotentialField();
+				solve();
+			}
 		}
 		// logger.info("ffm-runtime: " + (System.currentTimeMillis() - ms));
 		runtime = System.currentTimeMillis();
 	}
 
+	/**
+	 * Re-computes only the invalidated region of the grid: the narrow band is initialized by the reached
+	 * points at the border of the region and the propagation may reopen reached points whose potential
+	 * decreases.
+	 */
+	private void updateIncrementally() {
+		List<Point> invalidatedPoints = changeTracker.invalidateChangedRegion();
+
+		// neighbors of target points are initialized by solve()
+		for (Point point : invalidatedPoints) {
+			for (Point neighbor : cellGrid.getLegitNeumannNeighborhood(point)) {
+				if (cellGrid.getValue(neighbor).tag == PathFindingTag.Reached) {
+					cellGrid.getValue(neighbor).tag = PathFindingTag.Reachable;
+					narrowBand.add(neighbor);
+				}
+			}
+		}
+
+		reopenReached = true;
+		solve();
+		reopenReached = false;
+		logger.debug("incremental fmm update of " + invalidatedPoints.size() + " invalidated grid points");
+	}
+
 	protected void resetDynamicPotentialField() {
 		for (CellState data : cellGrid.getRawBuffer()) {
 			data.potential = Double.MAX_VALUE;
@@ -138,6 +198,17 @@ public class EikonalSolverFMM extends AGridEikonalSolver {
 		return timeCostFunction.needsUpdate();
 	}
 
+	/**
+	 * During an incremental update reached grid points might have outdated (larger) potentials, therefore,
+	 * only reached grid points behind the front are used.
+	 */
+	private double computePotential(final Point point) {
+		if (reopenReached) {
+			return computeGodunovDifference(point, cellGrid, frontPotential);
+		}
+		return computeGodunovDifference(point, cellGrid);
+	}
+
 	protected void setNeighborDistances(final Point point) {
 		List<Point> neighbors = MathUtil.getNeumannNeighborhood(point);
 		double distance;
@@ -145,19 +216,26 @@ public class EikonalSolverFMM extends AGridEikonalSolver {
 		for (Point neighbor : neighbors) {
 			if (cellGrid.isValidPoint(neighbor)) {
 				if (cellGrid.getValue(neighbor).tag == PathFindingTag.Undefined) {
-					distance = computeGodunovDifference(neighbor, cellGrid);
+					distance = computePotential(neighbor);
 					updates++;
 					cellGrid.setValue(neighbor, new CellState(distance,
 							PathFindingTag.Reachable));
 					narrowBand.add(neighbor);
 				} else if (cellGrid.getValue(neighbor).tag == PathFindingTag.Reachable) {
-					distance = computeGodunovDifference(neighbor, cellGrid);
+					distance = computePotential(neighbor);
 					updates++;
 					if (distance < cellGrid.getValue(neighbor).potential) {
 						narrowBand.remove(neighbor);
 						cellGrid.getValue(neighbor).potential = distance;
 						narrowBand.add(neighbor);
 					}
+				} else if (reopenReached && cellGrid.getValue(neighbor).tag == PathFindingTag.Reached) {
+					distance = computePotential(neighbor);
+					updates++;
+					if (distance < cellGrid.getValue(neighbor).potential - epsilon) {
+						cellGrid.setValue(neighbor, new CellState(distance, PathFindingTag.Reachable));
+						narrowBand.add(neighbor);
+					}
 				}
 			}
 		}
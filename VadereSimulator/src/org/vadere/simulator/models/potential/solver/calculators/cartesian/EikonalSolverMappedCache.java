@@ -0,0 +1,73 @@
+package org.vadere.simulator.models.potential.solver.calculators.cartesian;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.simulator.utils.cache.CellGridMappedCacheObject;
+import org.vadere.simulator.utils.cache.ICacheObject;
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.geometry.shapes.IPoint;
+
+import java.util.function.Function;
+
+/**
+ * A {@link GridEikonalSolver} of a static floor field which does not solve the eikonal equation
+ * but uses the solution of a {@link CellGridMappedCacheObject}. The cache file is mapped on the first
+ * access of the floor field, i.e. floor fields of targets which are never used are never loaded and
+ * there is no need to discretize the topography. Since the mapped grid is read only, the floor field
+ * can not be updated.
+ */
+public class EikonalSolverMappedCache implements GridEikonalSolver {
+
+	private final CellGridMappedCacheObject cacheObject;
+	private final double unknownPenalty;
+	private final double weight;
+	private volatile CellGrid potentialField;
+
+	public EikonalSolverMappedCache(@NotNull final CellGridMappedCacheObject cacheObject, final double unknownPenalty, final double weight) {
+		this.cacheObject = cacheObject;
+		this.unknownPenalty = unknownPenalty;
+		this.weight = weight;
+	}
+
+	/**
+	 * Maps the cached floor field, i.e. there is nothing to solve.
+	 */
+	@Override
+	public void solve() {
+		getCellGrid();
+	}
+
+	@Override
+	public CellGrid getCellGrid() {
+		CellGrid cellGrid = potentialField;
+		if (cellGrid == null) {
+			cellGrid = cacheObject.getMappedCellGrid();
+			potentialField = cellGrid;
+		}
+		return cellGrid;
+	}
+
+	/**
+	 * Returns the floor field itself instead of a copy since the mapped grid is read only.
+	 */
+	@Override
+	public Function<IPoint, Double> getPotentialField() {
+		CellGrid cellGrid = getCellGrid();
+		return p -> getPotential(cellGrid, p.getX(), p.getY(), unknownPenalty, weight);
+	}
+
+	@Override
+	public double getPotential(final double x, final double y) {
+		return getPotential(x, y, unknownPenalty, weight);
+	}
+
+	@Override
+	public boolean loadCachedFloorField(ICacheObject cacheObject) {
+		getCellGrid();
+		return true;
+	}
+
+	@Override
+	public void saveFloorFieldToCache(ICacheObject cacheObject) {
+		logger.infof("the floor field of %s is already cached", this.cacheObject.getCacheIdentifier());
+	}
+}
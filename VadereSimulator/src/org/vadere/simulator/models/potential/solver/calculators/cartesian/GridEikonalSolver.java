@@ -435,6 +435,15 @@ public interface GridEikonalSolver extends EikonalSolver {
 	}
 
 	default double computeGodunovDifference(final Point point, final CellGrid cellGrid) {
+		return computeGodunovDifference(point, cellGrid, Double.MAX_VALUE);
+	}
+
+	/**
+	 * Computes the potential at the point by using only frozen neighbours whose potential is smaller or
+	 * equal to maxFrozenPotential. This is required if frozen grid points might have outdated (larger)
+	 * potentials, e.g. during an incremental update, where maxFrozenPotential is the potential of the front.
+	 */
+	default double computeGodunovDifference(final Point point, final CellGrid cellGrid, final double maxFrozenPotential) {
 		double result = Double.MAX_VALUE;
 
 		// enables cost fields with cost != 1
@@ -449,6 +458,8 @@ public interface GridEikonalSolver extends EikonalSolver {
 		double coeff2 = 0;
 
 		java.util.List<Point> neighbors = MathUtil.getRelativeNeumannNeighborhood();
+		double minValue = Double.MAX_VALUE;
+		double maxValue = 0;
 
 		for (int j = 0; j < 2; j++) {
 			double val1 = Double.MAX_VALUE;
@@ -464,7 +475,7 @@ public interface GridEikonalSolver extends EikonalSolver {
 				if (isValidPoint(cellGrid, pni) && cellGrid.getValue(pni).tag.frozen) {
 					double val1n = cellGrid.getValue(pni).potential;
 
-					if (val1n < val1) {
+					if (val1n < val1 && val1n <= maxFrozenPotential) {
 						val1 = val1n;
 
 						if (isValidPoint(cellGrid, pni2)) {
@@ -480,6 +491,11 @@ public interface GridEikonalSolver extends EikonalSolver {
 				}
 			}
 
+			if (val1 != Double.MAX_VALUE) {
+				minValue = Math.min(minValue, val1);
+				maxValue = Math.max(maxValue, val1);
+			}
+
 			if (val2 != Double.MAX_VALUE && isHighAccuracy()) {
 				double tp = (1.0 / 3.0) * (4.0 * val1 - val2);
 				double a = 9.0 / 4.0;
@@ -503,6 +519,13 @@ public interface GridEikonalSolver extends EikonalSolver {
 			result = solutions.get(0);
 		}
 
+		// the solution has to be upwind, i.e. larger than the used potentials. Since only outdated
+		// potentials are larger than the front, this can only fail if maxFrozenPotential is used.
+		if (maxFrozenPotential != Double.MAX_VALUE && minValue != Double.MAX_VALUE
+				&& (result == Double.MAX_VALUE || result < maxValue)) {
+			result = minValue + 1.0 / speed;
+		}
+
 		return result;
 	}
 
@@ -0,0 +1,153 @@
+package org.vadere.simulator.models.potential.solver.calculators.cartesian;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.data.cellgrid.CellState;
+import org.vadere.util.data.cellgrid.PathFindingTag;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Supports the incremental re-computation of a dynamic floor field on a {@link CellGrid}. The tracker
+ * remembers the time costs which were used to compute the current solution. After the time cost function
+ * changed, {@link #invalidateChangedRegion()} resets exactly those grid points whose cost changed and all
+ * grid points which (transitively) depend on them. All other grid points keep their (still valid) potential,
+ * i.e. a solver only has to re-initialize the narrow band at the border of the invalidated region and to
+ * propagate from there. Since the costs might also decrease, the solver has to reopen grid points outside
+ * of the invalidated region if their potential decreases.
+ *
+ * A grid point c depends on its neighbour n if n is the upwind neighbour of c in the direction of the axis
+ * between n and c, i.e. n has the smaller potential of the two neighbours of c on this axis and its potential
+ * is smaller than the potential of c.
+ */
+public class TimeCostChangeTracker {
+
+	/** the relative change of a cost which is regarded as change. */
+	private static final double TOLERANCE = 1.0E-6;
+
+	private final CellGrid cellGrid;
+	private final ITimeCostFunction timeCostFunction;
+	private double[] costs;
+
+	public TimeCostChangeTracker(@NotNull final CellGrid cellGrid, @NotNull final ITimeCostFunction timeCostFunction) {
+		this.cellGrid = cellGrid;
+		this.timeCostFunction = timeCostFunction;
+		this.costs = null;
+	}
+
+	/**
+	 * Returns true if the costs of the current solution are known, i.e. the solution can be updated incrementally.
+	 */
+	public boolean hasCosts() {
+		return costs != null;
+	}
+
+	/**
+	 * Remembers the current costs of all grid points, this has to be called after the floor field was solved.
+	 */
+	public void recordCosts() {
+		if (costs == null) {
+			costs = new double[cellGrid.getNumPointsX() * cellGrid.getNumPointsY()];
+		}
+
+		for (int row = 0; row < cellGrid.getNumPointsY(); row++) {
+			for (int col = 0; col < cellGrid.getNumPointsX(); col++) {
+				costs[row * cellGrid.getNumPointsX() + col] = timeCostFunction.costAt(cellGrid.pointToCoord(col, row));
+			}
+		}
+	}
+
+	/**
+	 * Compares the current costs with the recorded costs and remembers the current costs.
+	 *
+	 * @return all accessible grid points (except of target points) whose cost changed
+	 */
+	public List<Point> collectChangedPoints() {
+		List<Point> changedPoints = new ArrayList<>();
+
+		for (int row = 0; row < cellGrid.getNumPointsY(); row++) {
+			for (int col = 0; col < cellGrid.getNumPointsX(); col++) {
+				int index = row * cellGrid.getNumPointsX() + col;
+				double cost = timeCostFunction.costAt(cellGrid.pointToCoord(col, row));
+				double oldCost = costs[index];
+
+				if (Math.abs(cost - oldCost) > TOLERANCE * Math.max(1.0, Math.abs(oldCost))) {
+					costs[index] = cost;
+					PathFindingTag tag = cellGrid.getValue(col, row).tag;
+					if (tag.accessible && tag != PathFindingTag.Target) {
+						changedPoints.add(new Point(col, row));
+					}
+				}
+			}
+		}
+
+		return changedPoints;
+	}
+
+	/**
+	 * Resets (potential = {@link Double#MAX_VALUE} and tag = {@link PathFindingTag#Undefined}) all grid points
+	 * whose cost changed since the last call and all grid points which depend on them.
+	 *
+	 * @return the grid points which were reset
+	 */
+	public List<Point> invalidateChangedRegion() {
+		List<Point> invalidatedPoints = new ArrayList<>();
+		LinkedList<Point> queue = new LinkedList<>();
+		LinkedList<Double> queuedPotentials = new LinkedList<>();
+
+		for (Point point : collectChangedPoints()) {
+			CellState state = cellGrid.getValue(point);
+			if (state.tag != PathFindingTag.Undefined) {
+				queue.add(point);
+				queuedPotentials.add(state.potential);
+				invalidate(point);
+				invalidatedPoints.add(point);
+			}
+		}
+
+		while (!queue.isEmpty()) {
+			Point point = queue.poll();
+			double oldPotential = queuedPotentials.poll();
+
+			for (Point neighbour : cellGrid.getLegitNeumannNeighborhood(point)) {
+				CellState state = cellGrid.getValue(neighbour);
+				if (isInvalidatable(state.tag) && dependsOn(neighbour, point, oldPotential)) {
+					queue.add(neighbour);
+					queuedPotentials.add(state.potential);
+					invalidate(neighbour);
+					invalidatedPoints.add(neighbour);
+				}
+			}
+		}
+
+		return invalidatedPoints;
+	}
+
+	private boolean isInvalidatable(@NotNull final PathFindingTag tag) {
+		return tag.accessible && tag != PathFindingTag.Target && tag != PathFindingTag.Undefined;
+	}
+
+	/**
+	 * Tests whether the potential of the point depends on its neighbour which had the (old) potential.
+	 * Neighbours which are already invalidated have the potential {@link Double#MAX_VALUE} such that
+	 * the test is conservative.
+	 */
+	private boolean dependsOn(@NotNull final Point point, @NotNull final Point neighbour, final double oldPotential) {
+		double potential = cellGrid.getValue(point).potential;
+		if (potential == Double.MAX_VALUE || oldPotential >= potential) {
+			return false;
+		}
+
+		int oppositeX = 2 * point.x - neighbour.x;
+		int oppositeY = 2 * point.y - neighbour.y;
+		return !cellGrid.isValidPoint(oppositeX, oppositeY) || oldPotential <= cellGrid.getValue(oppositeX, oppositeY).potential;
+	}
+
+	private void invalidate(@NotNull final Point point) {
+		cellGrid.setValue(point, new CellState(Double.MAX_VALUE, PathFindingTag.Undefined));
+	}
+}
@@ -6,6 +6,7 @@ import org.apache.commons.lang3.tuple.Pair;
 import org.apache.commons.lang3.tuple.Triple;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.vadere.meshing.mesh.gen.AMesh;
 import org.vadere.meshing.mesh.inter.IEdgeContainerBoolean;
 import org.vadere.meshing.mesh.inter.IEdgeContainerDouble;
 import org.vadere.meshing.mesh.inter.IEdgeContainerObject;
@@ -19,6 +20,9 @@ import org.vadere.meshing.mesh.inter.IVertexContainerBoolean;
 import org.vadere.meshing.mesh.inter.IVertexContainerDouble;
 import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
 import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunctionMesh;
+import org.vadere.simulator.utils.cache.CacheException;
+import org.vadere.simulator.utils.cache.ICacheObject;
+import org.vadere.simulator.utils.cache.MeshBinaryCacheObject;
 import org.vadere.util.geometry.GeometryUtils;
 import org.vadere.util.geometry.shapes.IPoint;
 import org.vadere.util.geometry.shapes.VPoint;
@@ -565,6 +569,39 @@ public abstract class AMeshEikonalSolver<V extends IVertex, E extends IHalfEdge,
 		return triangulation;
 	}
 
+	/**
+	 * Loads the potentials from a binary mesh cache if the mesh is an {@link AMesh} which is equal to the cached
+	 * mesh. In this case the floor field is solved, i.e. {@link #solve()} does not re-compute it.
+	 */
+	@Override
+	public boolean loadCachedFloorField(ICacheObject cacheObject) {
+		if(!(cacheObject instanceof MeshBinaryCacheObject) || !(getMesh() instanceof AMesh)) {
+			return MeshEikonalSolver.super.loadCachedFloorField(cacheObject);
+		}
+
+		try {
+			((MeshBinaryCacheObject) cacheObject).initializeObjectFromCache((AMesh) getMesh());
+			solved = true;
+		} catch (CacheException e) {
+			logger.errorf("Error loading cache. Initialize manually. " + e);
+		}
+		return solved;
+	}
+
+	@Override
+	public void saveFloorFieldToCache(ICacheObject cacheObject) {
+		if(!(cacheObject instanceof MeshBinaryCacheObject) || !(getMesh() instanceof AMesh)) {
+			MeshEikonalSolver.super.saveFloorFieldToCache(cacheObject);
+			return;
+		}
+
+		try {
+			((MeshBinaryCacheObject) cacheObject).persistObject((AMesh) getMesh());
+		} catch (CacheException e) {
+			logger.errorf("Error saving cache.", e);
+		}
+	}
+
 	@Override
 	public double getTimeCost(@NotNull final V vertex) {
 		return timeCosts.getValue(vertex);
@@ -120,6 +120,14 @@ public class PotentialFieldPedestrianSFM implements PotentialFieldAgent {
 		}
 	}
 
+	/**
+	 * The radius of the spatial query of {@link #getRelevantAgents(VCircle, Agent, Topography)}.
+	 */
+	@Override
+	public double getMaximalInfluenceRadius() {
+		return attributes.getPedestrianRecognitionDistance() + 3;
+	}
+
 	@Override
 	public double getAgentPotential(IPoint pos, Agent pedestrian,
 			Agent otherPedestrian) {
@@ -131,7 +139,7 @@ public class PotentialFieldPedestrianSFM implements PotentialFieldAgent {
 			Agent center, Topography scenario) {
 		List<Agent> closePedestrians = scenario.getSpatialMap(Agent.class)
 				.getObjects(relevantArea.getCenter(),
-						attributes.getPedestrianRecognitionDistance() + 3);
+						getMaximalInfluenceRadius());
 		// add five meters accounting for the fact that a negative exponential is used, not a
 		// function on compact support.
 		// => exp(-x) > 0 outside of the "recognition distance" parameter.
@@ -3,20 +3,22 @@ package org.vadere.simulator.models.sfm;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
-import java.util.concurrent.ExecutionException;
 
 import org.vadere.simulator.models.ode.AbstractModelEquations;
 import org.vadere.simulator.models.ode.ODEModel;
+import org.vadere.simulator.models.ode.VerletNeighborList;
+import org.vadere.simulator.models.potential.fields.PotentialFieldAgent;
+import org.vadere.simulator.models.potential.fields.PotentialFieldObstacle;
+import org.vadere.simulator.models.potential.solver.gradients.GradientProvider;
 import org.vadere.state.scenario.Agent;
+import org.vadere.state.scenario.Car;
 import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Topography;
 import org.vadere.util.geometry.shapes.Vector2D;
 import org.vadere.util.geometry.shapes.VCircle;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.logging.Logger;
 import org.vadere.util.math.MathUtil;
-import org.vadere.util.parallel.AParallelWorker;
-import org.vadere.util.parallel.AParallelWorker.Work;
-import org.vadere.util.parallel.CountableParallelWorker;
 import org.vadere.util.parallel.IAsyncComputable;
 
 /**
@@ -30,12 +32,25 @@ import org.vadere.util.parallel.IAsyncComputable;
  * 
  * The three different gradients are provided through instances of
  * IGradientProvider given in the constructor.
+ *
+ * The right-hand side is evaluated in parallel over contiguous ranges of
+ * pedestrians, see {@link AbstractModelEquations#forEachElement}. If the
+ * pedestrian potential is the {@link PotentialFieldPedestrianSFM}, the relevant
+ * agents are taken from a {@link VerletNeighborList} which is reused by all
+ * evaluations until a pedestrian moved more than half of its skin.
  * 
  */
 public class SFMEquations extends AbstractModelEquations<Pedestrian> implements IAsyncComputable {
 
 	private static Logger logger = Logger.getLogger(SFMEquations.class);
 
+	/**
+	 * Additional radius (in m) of the cached neighborhoods, see {@link VerletNeighborList}.
+	 */
+	private static final double NEIGHBOR_LIST_SKIN = 0.5;
+
+	private final ThreadLocal<Workspace> workspaces = ThreadLocal.withInitial(Workspace::new);
+	private VerletNeighborList<Agent> neighborList;
 
 	/**
 	 * Four dimensions: 2 for position, 2 for velocity
@@ -58,58 +73,44 @@ public class SFMEquations extends AbstractModelEquations<Pedestrian> implements
 		// update the pedestrian positions in the topography to the ones computed in the integrator
 		ODEModel.updateElementPositions(Pedestrian.class, t, topography, this, y);
 
-		// create workers for each pedestrian
-		List<AParallelWorker<Double[]>> workers = new ArrayList<AParallelWorker<Double[]>>();
+		if (neighborList != null) {
+			neighborList.update(elements, () -> topography.getElements(Agent.class), topography.getBounds());
+		}
 
 		// loop over all persons and compute the next step
-		int personCounter = 0; // used for arrays, not identical to personID!
-		for (final Pedestrian pedestrian : elements) {
-			AParallelWorker<Double[]> w = new CountableParallelWorker<Double[]>(
-					personCounter, new Work<Double[]>() {
-						private int ID;
-
-						@Override
-						public Double[] call() throws Exception {
-							computeSinglePerson(pedestrian, getWorkerID(), t,
-									y, yDot);
-							return null;
-						}
-
-						@Override
-						public void setID(int ID) {
-							this.ID = ID;
-						}
-
-						@Override
-						public int getWorkerID() {
-							return this.ID;
-						}
-					});
-			personCounter++;
-			workers.add(w);
-			w.start();
-		}
+		forEachElement((personCounter, pedestrian) -> computeSinglePerson(pedestrian, personCounter, t, y, yDot));
+	}
 
-		// finish the work
-		for (AParallelWorker<Double[]> worker : workers) {
-			try {
-				worker.finish();
-			} catch (ExecutionException e) {
-				logger.error(e);
-				e.printStackTrace();
-			} catch (InterruptedException e) {
-				// Necessary in order to tell Simulation the thread has been
-				// interrupted.
-				// TODO [priority=low] [task=refactoring] Hack, other solution?
-				Thread.currentThread().interrupt();
-				break;
+	/**
+	 * Uses a {@link VerletNeighborList} if the relevant agents of the pedestrian potential are the agents
+	 * inside its maximal influence radius and the positions of the integrator are the positions of the
+	 * topography (i.e. there is no teleporter).
+	 */
+	@Override
+	public void setGradients(GradientProvider staticGradientProvider,
+			PotentialFieldObstacle potentialFieldObstacle,
+			PotentialFieldAgent potentialFieldPedestrian,
+			Topography scenario) {
+		super.setGradients(staticGradientProvider, potentialFieldObstacle, potentialFieldPedestrian, scenario);
+
+		if (potentialFieldPedestrian instanceof PotentialFieldPedestrianSFM && !scenario.hasTeleporter()) {
+			double cutoff = potentialFieldPedestrian.getMaximalInfluenceRadius();
+			if (neighborList == null || neighborList.getCutoff() != cutoff) {
+				neighborList = new VerletNeighborList<>(cutoff, NEIGHBOR_LIST_SKIN);
 			}
+			neighborList.setPerformanceCounters(scenario.getPerformanceCounters());
+			// cars are no centers of the lists, they might have been moved by another model
+			if (!scenario.getElements(Car.class).isEmpty()) {
+				neighborList.invalidate();
+			}
+		} else {
+			neighborList = null;
 		}
 	}
 
 	/**
 	 * Computes yDot for a single person given by personID. This is computed
-	 * asynchronously by an {@link AParallelWorker}.
+	 * concurrently by {@link AbstractModelEquations#forEachElement}.
 	 *
 	 * @param currentPed
 	 * @param personCounter
@@ -118,12 +119,13 @@ public class SFMEquations extends AbstractModelEquations<Pedestrian> implements
 	 * @param yDot
 	 */
 	private void computeSinglePerson(Pedestrian currentPed, int personCounter, double t, double[] y, double[] yDot) {
-		double[] position = new double[2];
-		double[] velocity = new double[2];
-		double[] positionDot = new double[2];
-		double[] velocityDot = new double[2];
-		double[] grad_field = new double[2];
-		double[] viewing_direction = new double[2];
+		Workspace workspace = workspaces.get();
+		double[] position = workspace.position;
+		double[] velocity = workspace.velocity;
+		double[] positionDot = workspace.positionDot;
+		double[] velocityDot = workspace.velocityDot;
+		double[] grad_field = workspace.gradField;
+		double[] viewing_direction = workspace.viewingDirection;
 		// ///////////////////////////////////////
 		// extract data
 
@@ -138,6 +140,8 @@ public class SFMEquations extends AbstractModelEquations<Pedestrian> implements
 		assert (!Double.isNaN(position[1]));
 
 		// get the static gradient
+		grad_field[0] = 0;
+		grad_field[1] = 0;
 		staticGradientProvider.gradient(t, currentPed.getNextTargetId(),
 				position, grad_field);
 		assert (!Double.isNaN(position[0]));
@@ -171,9 +175,16 @@ public class SFMEquations extends AbstractModelEquations<Pedestrian> implements
 		Vector2D obstacleGradient = obstacleGradientProvider
 				.getObstaclePotentialGradient(pos, currentPed);
 		// get the dynamic gradient for pedestrians
-		Collection<? extends Agent> otherPedestrians = pedestrianGradientProvider
-				.getRelevantAgents(new VCircle(pos, 0.1), currentPed,
-						topography);
+		Collection<? extends Agent> otherPedestrians;
+		if (neighborList != null) {
+			workspace.neighbors.clear();
+			neighborList.getNeighbors(personCounter, pos, workspace.neighbors);
+			otherPedestrians = workspace.neighbors;
+		} else {
+			otherPedestrians = pedestrianGradientProvider
+					.getRelevantAgents(new VCircle(pos, 0.1), currentPed,
+							topography);
+		}
 		Vector2D pedestrianGradient = pedestrianGradientProvider
 				.getAgentPotentialGradient(pos, vel, currentPed,
 						otherPedestrians);
@@ -232,4 +243,17 @@ public class SFMEquations extends AbstractModelEquations<Pedestrian> implements
 		velocity[0] = solution[personID * dimensionPerPerson() + 2];
 		velocity[1] = solution[personID * dimensionPerPerson() + 3];
 	}
+
+	/**
+	 * The arrays used by the evaluation of a single person, each thread reuses its own workspace.
+	 */
+	private static class Workspace {
+		private final double[] position = new double[2];
+		private final double[] velocity = new double[2];
+		private final double[] positionDot = new double[2];
+		private final double[] velocityDot = new double[2];
+		private final double[] gradField = new double[2];
+		private final double[] viewingDirection = new double[2];
+		private final List<Agent> neighbors = new ArrayList<>();
+	}
 }
@@ -26,7 +26,6 @@ import org.vadere.state.scenario.Target;
 import org.vadere.state.types.GradientProviderType;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.VShape;
-import org.vadere.util.parallel.ParallelWorkerUtil;
 
 import java.util.*;
 
@@ -127,20 +126,6 @@ public class SocialForceModel extends ODEModel<Pedestrian, AttributesAgent> impl
 						targets, this.potentialFieldTarget);
 	}
 
-	@Override
-	public void preLoop(final double state) {
-		super.preLoop(state);
-		// setup thread pool if it is not setup already
-		int WORKERS_COUNT = 16;// pedestrians.keySet().size();
-		ParallelWorkerUtil.setup(WORKERS_COUNT);
-	}
-
-	@Override
-	public void postLoop(final double simTimeInSec) {
-		super.postLoop(simTimeInSec);
-		ParallelWorkerUtil.shutdown();
-	}
-
 	@Override
 	public void update(final double simTimeInSec) {
 
@@ -44,6 +44,8 @@ public class DataProcessingJsonManager {
 	private static final String FILENAME_KEY = "filename";
 	private static final String FILE_PROCESSORS_KEY = "processors";
 	private static final String SEPARATOR_KEY = "separator";
+	private static final String STREAMING_KEY = "streaming";
+	private static final String FORMAT_KEY = "format";
 	private static final String PROCESSORID_KEY = "id";
 	private static final String ATTRIBUTESTYPE_KEY = "attributesType";
 	private static final String TIMESTAMP_KEY = "isTimestamped";
@@ -84,6 +86,14 @@ public class DataProcessingJsonManager {
 			node.put(SEPARATOR_KEY, separator);
 		}
 
+		if (outputFile.isStreaming()) {
+			node.put(STREAMING_KEY, true);
+		}
+
+		if (outputFile.getFormat().isColumnar()) {
+			node.put(FORMAT_KEY, outputFile.getFormat().name());
+		}
+
 		return node;
 	}
 
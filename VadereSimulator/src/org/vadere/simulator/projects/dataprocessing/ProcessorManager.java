@@ -6,15 +6,22 @@ import org.vadere.simulator.models.MainModel;
 import org.vadere.simulator.projects.SimulationResult;
 import org.vadere.simulator.projects.dataprocessing.outputfile.OutputFile;
 import org.vadere.simulator.projects.dataprocessing.processor.DataProcessor;
+import org.vadere.simulator.projects.dataprocessing.processor.VoronoiDiagramCache;
 import org.vadere.state.scenario.MeasurementArea;
 import org.vadere.state.scenario.Topography;
 import org.vadere.util.geometry.shapes.VShape;
+import org.vadere.util.logging.Logger;
 
 import java.io.File;
 import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * @author Mario Teixeira Parente
@@ -22,26 +29,47 @@ import java.util.Map;
 
 public class ProcessorManager {
 
+	private static Logger logger = Logger.getLogger(ProcessorManager.class);
+
+	/**
+	 * Streaming output files are written in chunks of this number of time steps. Only the rows of the current
+	 * time step are kept in memory after a chunk is written, since processors used by other processors are
+	 * never streamed, see {@link ProcessorManager#getRequiredProcessorIds()}.
+	 */
+	public static final int STREAMING_CHUNK_STEPS = 100;
+
 	private MainModel mainModel;
 	private final Topography topography;
 
 	private Map<Integer, DataProcessor<?, ?>> processorMap;
+	private Map<Integer, Set<Integer>> processorDependencies;
+	private DataProcessor<?, ?> initializingProcessor;
 	private List<OutputFile<?>> outputFiles;
+	private List<OutputFile<?>> streamingOutputFiles;
 	private SimulationResult simulationResult;
+	private final VoronoiDiagramCache voronoiDiagramCache;
 
 	public ProcessorManager(List<DataProcessor<?, ?>> dataProcessors,
 							List<OutputFile<?>> outputFiles, MainModel mainModel,
 							final Topography topography) {
 		this.mainModel = mainModel;
 		this.topography = topography;
+		this.voronoiDiagramCache = new VoronoiDiagramCache();
 
 		this.outputFiles = outputFiles;
+		this.streamingOutputFiles = new LinkedList<>();
 
 		this.processorMap = new LinkedHashMap<>();
 		for (DataProcessor<?, ?> proc : dataProcessors)
 			this.processorMap.put(proc.getId(), proc);
 
-		dataProcessors.forEach(proc -> proc.init(this));
+		// processors look up the processors they depend on during their initialization
+		this.processorDependencies = new HashMap<>();
+		for (DataProcessor<?, ?> proc : dataProcessors) {
+			this.initializingProcessor = proc;
+			proc.init(this);
+		}
+		this.initializingProcessor = null;
 	}
 
 	public void setMainModel(MainModel mainModel) {
@@ -50,10 +78,58 @@ public class ProcessorManager {
 
 	public void initOutputFiles() {
 		outputFiles.forEach(file -> file.init(processorMap));
+		initStreamingOutputFiles();
+	}
+
+	/**
+	 * Collects the output files which are written while the simulation is running. Data of streamed rows is removed
+	 * from the processors, therefore a file is only streamed if none of its processors is used by a file
+	 * which is written at the end of the simulation or (transitively) by another processor.
+	 */
+	private void initStreamingOutputFiles() {
+		streamingOutputFiles.clear();
+
+		Set<Integer> nonStreamingProcessorIds = new HashSet<>();
+		outputFiles.stream().filter(file -> !file.isStreaming()).forEach(file -> nonStreamingProcessorIds.addAll(file.getProcessorIds()));
+		Set<Integer> requiredProcessorIds = getRequiredProcessorIds();
+
+		for (OutputFile<?> file : outputFiles) {
+			if (file.isStreaming()) {
+				if (file.getProcessorIds().stream().anyMatch(nonStreamingProcessorIds::contains)) {
+					logger.warn(String.format("%s shares processors with non-streaming output files and will be written at the end of the simulation.", file));
+				} else if (file.getProcessorIds().stream().anyMatch(requiredProcessorIds::contains)) {
+					logger.warn(String.format("%s contains processors used by other processors and will be written at the end of the simulation.", file));
+				} else {
+					streamingOutputFiles.add(file);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the ids of all processors which are used by other processors, including the processors used by
+	 * those processors, i.e. the transitive closure of the dependencies between processors.
+	 */
+	Set<Integer> getRequiredProcessorIds() {
+		Set<Integer> requiredProcessorIds = new HashSet<>();
+		LinkedList<Integer> open = new LinkedList<>();
+		processorDependencies.values().forEach(open::addAll);
+
+		while (!open.isEmpty()) {
+			Integer id = open.poll();
+			if (requiredProcessorIds.add(id)) {
+				open.addAll(processorDependencies.getOrDefault(id, Collections.emptySet()));
+			}
+		}
+		return requiredProcessorIds;
 	}
 
 	public DataProcessor<?, ?> getProcessor(int id) {
-		return this.processorMap.getOrDefault(id, null);
+		DataProcessor<?, ?> processor = this.processorMap.getOrDefault(id, null);
+		if (initializingProcessor != null && processor != null && processor != initializingProcessor) {
+			processorDependencies.computeIfAbsent(initializingProcessor.getId(), key -> new HashSet<>()).add(id);
+		}
+		return processor;
 	}
 
 	public MeasurementArea getMeasurementArea(int measurementAreaId, boolean requireRectangular){
@@ -74,6 +150,13 @@ public class ProcessorManager {
 		return topography.getObstacleShapes();
 	}
 
+	/**
+	 * Returns the Voronoi diagrams shared by all Voronoi based processors of this run.
+	 */
+	public VoronoiDiagramCache getVoronoiDiagramCache() {
+		return voronoiDiagramCache;
+	}
+
 	public MainModel getMainModel() {
 		return mainModel;
 	}
@@ -84,6 +167,21 @@ public class ProcessorManager {
 
 	public void update(final SimulationState state) {
 		this.processorMap.values().forEach(proc -> proc.update(state));
+		streamOutput(state.getStep());
+	}
+
+	/**
+	 * Writes and removes the rows of streaming output files in chunks of {@link ProcessorManager#STREAMING_CHUNK_STEPS}
+	 * time steps. The rows of the current time step are kept. Rows are removed after all files are written
+	 * since processors might be shared among files.
+	 *
+	 * @param step the current time step
+	 */
+	private void streamOutput(final int step) {
+		if (!streamingOutputFiles.isEmpty() && step % STREAMING_CHUNK_STEPS == 0) {
+			this.streamingOutputFiles.forEach(file -> file.writeRowsBefore(step));
+			this.streamingOutputFiles.forEach(file -> file.removeRowsBefore(step));
+		}
 	}
 
 	public void postLoop(final SimulationState state) {
@@ -103,6 +201,14 @@ public class ProcessorManager {
 		this.outputFiles.forEach(file -> file.write());
 	}
 
+	/**
+	 * Closes all output files which are still open, i.e. streaming output files of a simulation
+	 * which was aborted before its output was written.
+	 */
+	public void closeOutputFiles() {
+		this.outputFiles.forEach(file -> file.close());
+	}
+
 	public void setSimulationResult(SimulationResult simulationResult) {
 		this.simulationResult = simulationResult;
 	}
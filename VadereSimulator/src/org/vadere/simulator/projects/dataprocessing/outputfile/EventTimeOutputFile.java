@@ -17,4 +17,9 @@ public class EventTimeOutputFile extends OutputFile<EventTimeKey> {
     public String[] toStrings(final EventTimeKey key) {
         return new String[] {Double.toString(key.getSimTime())};
     }
+
+    @Override
+    public Object[] toValues(final EventTimeKey key) {
+        return new Object[] {key.getSimTime()};
+    }
 }
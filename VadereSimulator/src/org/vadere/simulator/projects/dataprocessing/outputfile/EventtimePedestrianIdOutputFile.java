@@ -17,4 +17,9 @@ public class EventtimePedestrianIdOutputFile extends OutputFile<EventtimePedestr
 	public String[] toStrings(final EventtimePedestrianIdKey key) {
 		return new String[] {Integer.toString(key.getPedestrianId()), Double.toString(key.getSimtime())};
 	}
+
+	@Override
+	public Object[] toValues(final EventtimePedestrianIdKey key) {
+		return new Object[] {key.getPedestrianId(), key.getSimtime()};
+	}
 }
@@ -14,4 +14,9 @@ public class IdOutputFile extends OutputFile<IdDataKey> {
 	public String[] toStrings(final IdDataKey key) {
 		return new String[] { Integer.toString(key.getId()) };
 	}
+
+	@Override
+	public Object[] toValues(final IdDataKey key) {
+		return new Object[] { key.getId() };
+	}
 }
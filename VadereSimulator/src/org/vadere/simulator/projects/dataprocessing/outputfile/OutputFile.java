@@ -5,6 +5,8 @@ package org.vadere.simulator.projects.dataprocessing.outputfile;
 import org.vadere.simulator.projects.dataprocessing.DataProcessingJsonManager;
 import org.vadere.simulator.projects.dataprocessing.datakey.DataKey;
 import org.vadere.simulator.projects.dataprocessing.processor.DataProcessor;
+import org.vadere.simulator.projects.dataprocessing.writer.OutputFormat;
+import org.vadere.simulator.projects.dataprocessing.writer.VadereColumnarFileWriter;
 import org.vadere.simulator.projects.dataprocessing.writer.VadereWriter;
 import org.vadere.simulator.projects.dataprocessing.writer.VadereWriterFactory;
 import org.vadere.util.logging.Logger;
@@ -55,6 +57,8 @@ public abstract class OutputFile<K extends DataKey<K>> {
 	private List<DataProcessor<K, ?>> dataProcessors;
 	private boolean isAddedProcessors;
 	private boolean isWriteMetaData;
+	private boolean streaming;
+	private OutputFormat format;
 
 	private String separator;
 
@@ -64,11 +68,15 @@ public abstract class OutputFile<K extends DataKey<K>> {
 
 	private VadereWriterFactory writerFactory;
 	private VadereWriter writer;
+	private VadereColumnarFileWriter columnarWriter;
+	private boolean isWriterOpen;
 
 	protected OutputFile(final String... dataIndices) {
 		this.dataIndices = dataIndices;
 		this.isAddedProcessors = false;  // init method has to be called
         this.isWriteMetaData = false;
+		this.streaming = false;
+		this.format = OutputFormat.TEXT;
 		this.dataProcessors = new ArrayList<>();
 		this.writerFactory = VadereWriterFactory.getFileWriterFactory();
 	}
@@ -106,29 +114,149 @@ public abstract class OutputFile<K extends DataKey<K>> {
 
 	public void write() {
 		if (!isEmpty()) {
-			logger.info("Absolute file name" + absoluteFileName);
-			try (VadereWriter out = writerFactory.create(absoluteFileName)) {
-
-			    this.writer = out;
-
-				if(this.isWriteMetaData){
-					printMetaData();
+			try {
+				// in streaming mode the file is already open and contains the rows of the past time steps
+				if (!this.isWriterOpen) {
+					openWriter();
 				}
 
-				printHeader();
-
 				this.dataProcessors.stream().flatMap(p -> p.getKeys().stream())
 						.distinct().sorted()
 						.forEach(key -> printRow(key));
 
-				out.flush();
+				flushWriter();
+			} finally {
+				close();
+			}
+		}
+	}
+
+	/**
+	 * Writes all rows of time steps strictly smaller than <tt>timestep</tt>. The file is opened and the
+	 * header is written by the first call. This should only be called if {@link OutputFile#isStreaming()}
+	 * is <tt>true</tt>.
+	 *
+	 * @param timestep the (exclusive) upper bound of time steps which will be written
+	 */
+	public void writeRowsBefore(final int timestep) {
+		if (!isEmpty()) {
+			final K toKey = getFirstKeyOfTimestep(timestep);
+
+			if (!this.isWriterOpen) {
+				openWriter();
+			}
+
+			this.dataProcessors.stream().flatMap(p -> p.getKeysBefore(toKey).stream())
+					.distinct().sorted()
+					.forEach(key -> printRow(key));
+
+			flushWriter();
+		}
+	}
+
+	/**
+	 * Removes all values of time steps strictly smaller than <tt>timestep</tt> from the data processors
+	 * of this file. This has to be called after {@link OutputFile#writeRowsBefore(int)} was called for all
+	 * streaming files since data processors might be shared among output files.
+	 *
+	 * @param timestep the (exclusive) upper bound of time steps which will be removed
+	 */
+	public void removeRowsBefore(final int timestep) {
+		final K toKey = getFirstKeyOfTimestep(timestep);
+		this.dataProcessors.forEach(p -> p.removeKeysBefore(toKey));
+	}
+
+	private void openWriter() {
+		logger.info("Absolute file name" + absoluteFileName);
+		if (format.isColumnar()) {
+			this.columnarWriter = writerFactory.createColumnar(absoluteFileName, format == OutputFormat.COLUMNAR_COMPRESSED);
+		} else {
+			this.writer = writerFactory.create(absoluteFileName);
+		}
+		this.isWriterOpen = true;
+
+		// columnar files store the column names and types themselves
+		if(this.isWriteMetaData && !format.isColumnar()){
+			printMetaData();
+		}
+
+		printHeader();
+	}
+
+	private void flushWriter() {
+		if (format.isColumnar()) {
+			this.columnarWriter.flush();
+		} else {
+			this.writer.flush();
+		}
+	}
+
+	/**
+	 * Closes the file if it is open, i.e. if it is streamed and {@link OutputFile#write()} was not called
+	 * because the simulation was aborted.
+	 */
+	public void close() {
+		if (this.isWriterOpen) {
+			try {
+				if (format.isColumnar()) {
+					this.columnarWriter.close();
+				} else {
+					this.writer.close();
+				}
 			} catch (IOException e) {
 				logger.error(e.getMessage());
 				throw new UncheckedIOException(e);
+			} finally {
+				this.isWriterOpen = false;
 			}
 		}
 	}
 
+	/**
+	 * Returns <tt>true</tt> if the rows of this file are written while the simulation is running,
+	 * i.e. the file is opened during the simulation and rows are flushed in chunks as soon as their time step
+	 * can no longer change. This bounds the memory required by long simulation runs. Streaming is opt-in
+	 * and only supported for keys which are ordered by time steps, see {@link OutputFile#isStreamable()}.
+	 */
+	public boolean isStreaming() {
+		return streaming && isStreamable();
+	}
+
+	public void setStreaming(final boolean streaming) {
+		this.streaming = streaming;
+	}
+
+	/**
+	 * Returns the format of this file. Columnar files are binary files of typed columns which are much smaller
+	 * and faster to read than text files (see {@link org.vadere.simulator.projects.io.TrajectoryReader}).
+	 */
+	public OutputFormat getFormat() {
+		return format;
+	}
+
+	public void setFormat(final OutputFormat format) {
+		this.format = format;
+	}
+
+	/**
+	 * Returns <tt>true</tt> if the keys of this file are ordered by time steps, i.e. rows can be written
+	 * while the simulation is running.
+	 */
+	public boolean isStreamable() {
+		return getFirstKeyOfTimestep(0) != null;
+	}
+
+	/**
+	 * Returns the smallest key of a time step with respect to the key order or <tt>null</tt> if the keys
+	 * of this file are not ordered by time steps. Output files supporting streaming override this method.
+	 *
+	 * @param timestep the time step
+	 * @return the smallest key of the time step or <tt>null</tt>
+	 */
+	protected K getFirstKeyOfTimestep(final int timestep) {
+		return null;
+	}
+
 	public boolean isEmpty() {
 		return this.dataProcessors.isEmpty();
 	}
@@ -148,11 +276,20 @@ public abstract class OutputFile<K extends DataKey<K>> {
 	}
 
 	void printHeader() {
-		writeLine(this.writer, this.getEntireHeader());
+		if (format.isColumnar()) {
+			this.columnarWriter.printHeader(this.getEntireHeader());
+		} else {
+			writeLine(this.writer, this.getEntireHeader());
+		}
 	}
 
 	private void printRow(final K key) {
 		// Info: 'key' are the indices values (such as timeStep=3), can be more than one
+		if (format.isColumnar()) {
+			this.columnarWriter.printRow(composeValues(key));
+			return;
+		}
+
 		@SuppressWarnings("unchecked")
 		final List<String> fields = composeLine(toStrings(key), p ->
 				Arrays.stream(p.toStrings(key)));
@@ -270,6 +407,18 @@ public abstract class OutputFile<K extends DataKey<K>> {
 		out.println(String.join(this.separator, fields));
 	}
 
+	/**
+	 * Returns the typed values of the row of the key, i.e. the values of the indices followed by the values
+	 * of the processors (see {@link DataProcessor#toValues}).
+	 */
+	private Object[] composeValues(final K key) {
+		final List<Object> values = new ArrayList<>(Arrays.asList(toValues(key)));
+		for (DataProcessor<K, ?> dataProcessor : dataProcessors) {
+			values.addAll(Arrays.asList(dataProcessor.toValues(key)));
+		}
+		return values.toArray();
+	}
+
 	/**
 	 * Return the column indices as string or the empty array.
 	 */
@@ -277,6 +426,14 @@ public abstract class OutputFile<K extends DataKey<K>> {
 		return new String[]{key.toString()};
 	}
 
+	/**
+	 * Return the typed column indices (Integer, Double, Boolean or String values) which are written to
+	 * columnar files. By default these are the strings of {@link #toStrings(DataKey)}.
+	 */
+	public Object[] toValues(K key) {
+		return toStrings(key);
+	}
+
 	public String getFileName() {
 		return fileName;
 	}
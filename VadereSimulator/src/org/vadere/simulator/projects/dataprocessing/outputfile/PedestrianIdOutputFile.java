@@ -13,4 +13,9 @@ public class PedestrianIdOutputFile extends OutputFile<PedestrianIdKey> {
 	public PedestrianIdOutputFile() {
 		super(PedestrianIdKey.getHeader());
 	}
+
+	@Override
+	public Object[] toValues(final PedestrianIdKey key) {
+		return new Object[] { key.getPedestrianId() };
+	}
 }
@@ -18,4 +18,9 @@ public class TimestepGroupIdOutputFile extends OutputFile<TimestepGroupIdKey> {
     public String[] toStrings(final TimestepGroupIdKey key) {
         return new String[] { Integer.toString(key.getTimestep()), Integer.toString(key.getGroupId()) };
     }
+
+    @Override
+    public Object[] toValues(final TimestepGroupIdKey key) {
+        return new Object[] { key.getTimestep(), key.getGroupId() };
+    }
 }
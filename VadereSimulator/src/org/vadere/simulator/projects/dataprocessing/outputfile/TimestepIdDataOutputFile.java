@@ -14,4 +14,9 @@ public class TimestepIdDataOutputFile extends OutputFile<TimestepIdDataKey> {
     public String[] toStrings(final TimestepIdDataKey key) {
         return new String[] { Integer.toString(key.getTimestep()), Integer.toString(key.getId()) };
     }
+
+    @Override
+    public Object[] toValues(final TimestepIdDataKey key) {
+        return new Object[] { key.getTimestep(), key.getId() };
+    }
 }
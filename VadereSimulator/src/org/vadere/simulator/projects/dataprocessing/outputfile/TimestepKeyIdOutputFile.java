@@ -15,4 +15,9 @@ public class TimestepKeyIdOutputFile extends OutputFile<TimestepFaceIdKey> {
 		return new String[] { Integer.toString(key.getTimeStep()), Integer.toString(key.getFaceId()) };
 	}
 
+	@Override
+	public Object[] toValues(final TimestepFaceIdKey key) {
+		return new Object[] { key.getTimeStep(), key.getFaceId() };
+	}
+
 }
@@ -13,4 +13,14 @@ public class TimestepOutputFile extends OutputFile<TimestepKey> {
     public TimestepOutputFile() {
         super("timeStep");
     }
+
+    @Override
+    public Object[] toValues(final TimestepKey key) {
+        return new Object[] { key.getTimestep() };
+    }
+
+    @Override
+    protected TimestepKey getFirstKeyOfTimestep(final int timestep) {
+        return new TimestepKey(timestep);
+    }
 }
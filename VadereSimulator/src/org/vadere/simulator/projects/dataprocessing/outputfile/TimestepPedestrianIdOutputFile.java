@@ -18,4 +18,14 @@ public class TimestepPedestrianIdOutputFile extends OutputFile<TimestepPedestria
 	public String[] toStrings(final TimestepPedestrianIdKey key) {
 		return new String[] { Integer.toString(key.getTimestep()), Integer.toString(key.getPedestrianId()) };
 	}
+
+	@Override
+	public Object[] toValues(final TimestepPedestrianIdKey key) {
+		return new Object[] { key.getTimestep(), key.getPedestrianId() };
+	}
+
+	@Override
+	protected TimestepPedestrianIdKey getFirstKeyOfTimestep(final int timestep) {
+		return new TimestepPedestrianIdKey(timestep, Integer.MIN_VALUE);
+	}
 }
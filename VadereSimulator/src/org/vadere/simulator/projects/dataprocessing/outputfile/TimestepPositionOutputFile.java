@@ -13,4 +13,9 @@ public class TimestepPositionOutputFile extends OutputFile<TimestepPositionKey>
     public String[] toStrings(TimestepPositionKey key) {
         return new String[] { Integer.toString(key.getTimeStep()), Double.toString(key.getPosition().x), Double.toString(key.getPosition().y) };
     }
+
+    @Override
+    public Object[] toValues(TimestepPositionKey key) {
+        return new Object[] { key.getTimeStep(), key.getPosition().x, key.getPosition().y };
+    }
 }
@@ -13,4 +13,9 @@ public class TimestepRowOutputFile extends OutputFile<TimestepRowKey> {
     public String[] toStrings(TimestepRowKey key) {
         return new String[] { Integer.toString(key.getTimeStep()), Integer.toString(key.getRow()) };
     }
+
+    @Override
+    public Object[] toValues(TimestepRowKey key) {
+        return new Object[] { key.getTimeStep(), key.getRow() };
+    }
 }
@@ -50,9 +50,9 @@ public class AerosolCloudLifeTimeProcessor extends DataProcessor<IdDataKey, Pair
     }
 
     @Override
-    public String[] toStrings(@NotNull final  IdDataKey key) {
+    public Object[] toValues(@NotNull final  IdDataKey key) {
         Pair<Double, Double> times = getValue(key);
-        return new String[]{Double.toString(times.getLeft()), Double.toString(times.getRight())};
+        return new Object[]{times.getLeft(), times.getRight()};
     }
 
     private void setCreationTime(@NotNull final IdDataKey key, double time) {
@@ -2,14 +2,10 @@ package org.vadere.simulator.projects.dataprocessing.processor;
 
 import org.jetbrains.annotations.NotNull;
 import org.vadere.simulator.control.simulation.SimulationState;
-import org.vadere.state.scenario.Agent;
 import org.vadere.state.scenario.MeasurementArea;
-import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.VRectangle;
 import org.vadere.util.voronoi.Face;
-import org.vadere.util.voronoi.VoronoiDiagram;
 
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -21,12 +17,15 @@ import java.util.List;
 public class AreaDensityVoronoiAlgorithm extends AreaDensityAlgorithm {
     private VRectangle measurementArea;
     private VRectangle voronoiArea;
+    private final VoronoiDiagramCache voronoiDiagramCache;
 
-    public AreaDensityVoronoiAlgorithm(final MeasurementArea measurementArea, final MeasurementArea voronoiArea) {
+    public AreaDensityVoronoiAlgorithm(final MeasurementArea measurementArea, final MeasurementArea voronoiArea,
+                                       final VoronoiDiagramCache voronoiDiagramCache) {
         super("areaVoronoi");
 
         this.measurementArea = measurementArea.asVRectangle();
         this.voronoiArea = voronoiArea.asVRectangle();
+        this.voronoiDiagramCache = voronoiDiagramCache;
     }
 
     @Override
@@ -48,14 +47,6 @@ public class AreaDensityVoronoiAlgorithm extends AreaDensityAlgorithm {
     }
 
     private List<Face> generateFaces(@NotNull final SimulationState state) {
-        VoronoiDiagram voronoiDiagram = new VoronoiDiagram(this.voronoiArea);
-
-        // convert pedestrians to positions
-        List<VPoint> pedestrianPositions = Agent.getPositions(state.getTopography().getElements(Agent.class));
-        voronoiDiagram.computeVoronoiDiagram(pedestrianPositions);
-
-        // compute everything
-        List<Face> faces = voronoiDiagram.getFaces();
-        return faces == null ? Collections.emptyList() : faces;
+        return voronoiDiagramCache.getFaces(state, this.voronoiArea);
     }
 }
@@ -105,19 +105,19 @@ public class AreaGroupMetaDataProcessor extends DataProcessor<TimestepGroupIdKey
     }
 
     @Override
-    public String[] toStrings(TimestepGroupIdKey key) {
+    public Object[] toValues(TimestepGroupIdKey key) {
         AreaGroupMetaData groupInArea = this.getValue(key);
         if(groupInArea == null) {
-            return new String[]{"NA", "NA", "NA", "NA", "NA", "NA"};
+            return new Object[]{null, null, null, null, null, null};
         }
         else {
             if (groupInArea.getCentroid().isEmpty()) {
-                return new String[]{Double.toString(groupInArea.getSimTime()), Integer.toString(groupInArea.getTotalPedestriansInArea()),
-                        Integer.toString(groupInArea.getSizeInArea()), Long.toString(groupInArea.getPedestriansLost()), "NA", "NA"};
+                return new Object[]{groupInArea.getSimTime(), groupInArea.getTotalPedestriansInArea(),
+                        groupInArea.getSizeInArea(), groupInArea.getPedestriansLost(), null, null};
             } else {
-                return new String[]{Double.toString(groupInArea.getSimTime()), Integer.toString(groupInArea.getTotalPedestriansInArea()),
-                        Integer.toString(groupInArea.getSizeInArea()), Long.toString(groupInArea.getPedestriansLost()),
-                        Double.toString(groupInArea.getCentroid().get().x), Double.toString(groupInArea.getCentroid().get().y)};
+                return new Object[]{groupInArea.getSimTime(), groupInArea.getTotalPedestriansInArea(),
+                        groupInArea.getSizeInArea(), groupInArea.getPedestriansLost(),
+                        groupInArea.getCentroid().get().x, groupInArea.getCentroid().get().y};
             }
         }
     }
@@ -126,6 +126,11 @@ public class BonnMotionTrajectoryProcessor extends DataProcessor<BonnMotionKey,
 		}
 	}
 
+	@Override
+	public Object[] toValues(BonnMotionKey key) {
+		return toStrings(key);
+	}
+
 
 	// ensure the correct order for each line (aka pedestrian)
 	private synchronized void sortWayPoints() {
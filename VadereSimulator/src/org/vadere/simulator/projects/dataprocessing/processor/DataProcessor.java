@@ -10,6 +10,7 @@ import org.vadere.state.attributes.processor.AttributesProcessor;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.NavigableMap;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeMap;
@@ -41,7 +42,7 @@ public abstract class DataProcessor<K extends DataKey<K>, V> {
 	private AttributesProcessor attributes;
 
 	private String[] headers;
-	private Map<K, V> data;
+	private NavigableMap<K, V> data;
 
 	private int lastStep;
 	private K lastKey;
@@ -123,6 +124,27 @@ public abstract class DataProcessor<K extends DataKey<K>, V> {
 		this.data.remove(key);
 	}
 
+	/**
+	 * Returns all keys which are strictly smaller than <tt>toKey</tt> in ascending order.
+	 *
+	 * @param toKey the (exclusive) upper bound
+	 * @return all keys which are strictly smaller than <tt>toKey</tt>
+	 */
+	public Set<K> getKeysBefore(final K toKey) {
+		return this.data.headMap(toKey, false).keySet();
+	}
+
+	/**
+	 * Removes all values whose keys are strictly smaller than <tt>toKey</tt>. This is used by
+	 * output files which write their rows while the simulation is running, see
+	 * {@link org.vadere.simulator.projects.dataprocessing.outputfile.OutputFile#isStreaming()}.
+	 *
+	 * @param toKey the (exclusive) upper bound
+	 */
+	public void removeKeysBefore(final K toKey) {
+		this.data.headMap(toKey, false).clear();
+	}
+
 	public void preLoop(final SimulationState state) { data.clear(); }
 
 	protected abstract void doUpdate(final SimulationState state);
@@ -161,8 +183,26 @@ public abstract class DataProcessor<K extends DataKey<K>, V> {
 		this.lastStep = 0;
 	}
 
+	/**
+	 * Returns the values of the columns of this processor for the key, i.e. Integer, Double, Boolean or String
+	 * values (other values are written as strings) and <tt>null</tt> for missing values. Columnar output files
+	 * store these values as typed columns, text output files write the strings of {@link #toStrings(DataKey)}.
+	 */
+	public Object[] toValues(final K key) {
+		return new Object[] { this.hasValue(key) ? this.getValue(key) : null };
+	}
+
+	/**
+	 * Returns the strings of the values of the columns of this processor for the key (see {@link #toValues(DataKey)}),
+	 * missing values are written as "NA".
+	 */
 	public String[] toStrings(final K key) {
-		return new String[] { this.hasValue(key) ? this.getValue(key).toString() : "NA" };
+		final Object[] values = toValues(key);
+		final String[] strings = new String[values.length];
+		for (int i = 0; i < values.length; i++) {
+			strings[i] = values[i] != null ? values[i].toString() : "NA";
+		}
+		return strings;
 	}
 
 	public String getSimpleProcessorTypeName() {
@@ -30,7 +30,7 @@ public class FootStepGroupIDProcessor extends DataProcessor<EventtimePedestrianI
 		});
 	}
 
-	public String[] toStrings(EventtimePedestrianIdKey key){
+	public Object[] toValues(EventtimePedestrianIdKey key){
 		Integer i = this.getValue(key);
 		if (i == null) {
 			logger.warn(String.format("FootstepGroupIDProcessor does not have Data for Key: %s",
@@ -38,6 +38,6 @@ public class FootStepGroupIDProcessor extends DataProcessor<EventtimePedestrianI
 			i = -1;
 		}
 
-		return new String[]{Integer.toString(i)};
+		return new Object[]{i};
 	}
 }
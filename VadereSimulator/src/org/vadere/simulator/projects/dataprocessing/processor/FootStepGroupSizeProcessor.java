@@ -30,7 +30,7 @@ public class FootStepGroupSizeProcessor extends DataProcessor<EventtimePedestria
 		});
 	}
 
-	public String[] toStrings(EventtimePedestrianIdKey key){
+	public Object[] toValues(EventtimePedestrianIdKey key){
 		Integer i = this.getValue(key);
 		if (i == null) {
 			logger.warn(String.format("FootStepGroupSizeProcessor does not have Data for Key: %s",
@@ -38,6 +38,6 @@ public class FootStepGroupSizeProcessor extends DataProcessor<EventtimePedestria
 			i = -1;
 		}
 
-		return new String[]{Integer.toString(i)};
+		return new Object[]{i};
 	}
 }
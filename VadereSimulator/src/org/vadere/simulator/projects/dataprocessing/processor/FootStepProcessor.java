@@ -57,4 +57,10 @@ public class FootStepProcessor extends DataProcessor<EventtimePedestrianIdKey, F
         // EventtimePedestrianIdKey
         return Arrays.copyOfRange(footStepLine, 1, footStepLine.length);
     }
+
+    @Override
+    public Object[] toValues(EventtimePedestrianIdKey key) {
+        FootStep footStep = this.getValue(key);
+        return new Object[]{footStep.getEndTime(), footStep.getStart().x, footStep.getStart().y, footStep.getEnd().x, footStep.getEnd().y};
+    }
 }
\ No newline at end of file
@@ -118,24 +118,24 @@ public class FundamentalDiagramAProcessor extends DataProcessor<TimestepKey, Lis
 	}
 
 	@Override
-	public String[] toStrings(TimestepKey key) {
+	public Object[] toValues(TimestepKey key) {
 		List<Double> data = this.getValue(key);
 		if(data == null) {
-			return new String[]{
-					Double.toString(Double.NaN),
-					Double.toString(Double.NaN),
-					Double.toString(Double.NaN),
-					Double.toString(Double.NaN),
-					Double.toString(Double.NaN)
+			return new Object[]{
+					Double.NaN,
+					Double.NaN,
+					Double.NaN,
+					Double.NaN,
+					Double.NaN
 			};
 		}
 		else {
-			return new String[]{
-					Double.toString(data.get(0)),
-					Double.toString(data.get(1)),
-					Double.toString(data.get(2)),
-					Double.toString(data.get(3)),
-					Double.toString(data.get(4))
+			return new Object[]{
+					data.get(0),
+					data.get(1),
+					data.get(2),
+					data.get(3),
+					data.get(4)
 			};
 		}
 	}
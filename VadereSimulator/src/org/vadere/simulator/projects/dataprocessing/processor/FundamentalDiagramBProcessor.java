@@ -167,8 +167,8 @@ public class FundamentalDiagramBProcessor extends DataProcessor<PedestrianIdKey,
 	}
 
 	@Override
-	public String[] toStrings(@NotNull final PedestrianIdKey key) {
-		return new String[]{ Double.toString(getValue(key).getLeft()), Double.toString(getValue(key).getRight()) };
+	public Object[] toValues(@NotNull final PedestrianIdKey key) {
+		return new Object[]{ getValue(key).getLeft(), getValue(key).getRight() };
 	}
 
 
@@ -88,8 +88,8 @@ public class FundamentalDiagramCProcessor extends AreaDataProcessor<Pair<Double,
 	}
 
 	@Override
-	public String[] toStrings(@NotNull final TimestepKey key) {
-		return new String[]{ Double.toString(getValue(key).getLeft()), Double.toString(getValue(key).getRight()) };
+	public Object[] toValues(@NotNull final TimestepKey key) {
+		return new Object[]{ getValue(key).getLeft(), getValue(key).getRight() };
 	}
 
 	@Override
@@ -45,7 +45,8 @@ public class FundamentalDiagramDProcessor extends AreaDataProcessor<Pair<Double,
 		integralVoronoiAlgorithm = new IntegralVoronoiAlgorithm(
 				key -> pedestrianVelocityProcessor.getValue(key),
 				measurementArea,
-				voronoiMeasurementArea);
+				voronoiMeasurementArea,
+				manager.getVoronoiDiagramCache());
 	}
 
 	@Override
@@ -69,8 +70,8 @@ public class FundamentalDiagramDProcessor extends AreaDataProcessor<Pair<Double,
 	}
 
 	@Override
-	public String[] toStrings(@NotNull final TimestepKey key) {
-		return new String[]{ Double.toString(getValue(key).getLeft()), Double.toString(getValue(key).getRight()) };
+	public Object[] toValues(@NotNull final TimestepKey key) {
+		return new Object[]{ getValue(key).getLeft(), getValue(key).getRight() };
 	}
 
 
@@ -36,7 +36,8 @@ public class FundamentalDiagramEProcessor extends AreaDataProcessor<Pair<Double,
 		sumVoronoiAlgorithm = new SumVoronoiAlgorithm(
 				key -> pedestrianVelocityProcessor.getValue(key),
 				measurementArea,
-				voronoiMeasurementArea);
+				voronoiMeasurementArea,
+				manager.getVoronoiDiagramCache());
 	}
 
 	@Override
@@ -60,8 +61,8 @@ public class FundamentalDiagramEProcessor extends AreaDataProcessor<Pair<Double,
 	}
 
 	@Override
-	public String[] toStrings(@NotNull final TimestepKey key) {
-		return new String[]{ Double.toString(getValue(key).getLeft()), Double.toString(getValue(key).getRight()) };
+	public Object[] toValues(@NotNull final TimestepKey key) {
+		return new Object[]{ getValue(key).getLeft(), getValue(key).getRight() };
 	}
 
 
@@ -25,9 +25,8 @@ public class GroupMemberEuclideanDist extends DataProcessor<TimestepGroupPairKey
 	}
 
 	@Override
-	public String[] toStrings(TimestepGroupPairKey key) {
+	public Object[] toValues(TimestepGroupPairKey key) {
 		Double val = getValue(key);
-		String valStr = (val != null) ? Double.toString(val) : Double.toString(Double.NaN);
-		return new String[]{valStr};
+		return new Object[]{(val != null) ? val : Double.NaN};
 	}
 }
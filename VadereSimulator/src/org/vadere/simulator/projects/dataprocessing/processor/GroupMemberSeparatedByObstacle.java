@@ -25,9 +25,8 @@ public class GroupMemberSeparatedByObstacle extends DataProcessor<TimestepGroupP
 	}
 
 	@Override
-	public String[] toStrings(TimestepGroupPairKey key) {
+	public Object[] toValues(TimestepGroupPairKey key) {
 		Boolean val = getValue(key);
-		String valStr = (val != null) ? Boolean.toString(val) : Boolean.toString(false);
-		return new String[]{valStr};
+		return new Object[]{(val != null) ? val : false};
 	}
 }
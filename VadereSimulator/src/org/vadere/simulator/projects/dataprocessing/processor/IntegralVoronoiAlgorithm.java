@@ -12,11 +12,9 @@ import org.vadere.util.geometry.shapes.VPolygon;
 import org.vadere.util.geometry.shapes.VRectangle;
 import org.vadere.util.voronoi.Face;
 import org.vadere.util.voronoi.HalfEdge;
-import org.vadere.util.voronoi.VoronoiDiagram;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
 
@@ -32,14 +30,17 @@ public class IntegralVoronoiAlgorithm extends AreaDensityAlgorithm implements IA
     private VPolygon measurementAreaPolygon;
     private VRectangle voronoiArea;
     private final Function<TimestepPedestrianIdKey, Double> agentVelocityFunc;
+    private final VoronoiDiagramCache voronoiDiagramCache;
 
-    public IntegralVoronoiAlgorithm(@NotNull final Function<TimestepPedestrianIdKey, Double> agentVelocityFunc, @NotNull final MeasurementArea measurementArea, @NotNull final MeasurementArea voronoiMeasurementArea) {
+    public IntegralVoronoiAlgorithm(@NotNull final Function<TimestepPedestrianIdKey, Double> agentVelocityFunc, @NotNull final MeasurementArea measurementArea, @NotNull final MeasurementArea voronoiMeasurementArea,
+                                    @NotNull final VoronoiDiagramCache voronoiDiagramCache) {
         super("areaVoronoi");
 
         this.measurementArea = measurementArea.asVRectangle();
         this.measurementAreaPolygon = new VPolygon(measurementArea.getShape());
         this.voronoiArea = voronoiMeasurementArea.asVRectangle();
         this.agentVelocityFunc = agentVelocityFunc;
+        this.voronoiDiagramCache = voronoiDiagramCache;
     }
 
     @Override
@@ -73,15 +74,7 @@ public class IntegralVoronoiAlgorithm extends AreaDensityAlgorithm implements IA
     }
 
     private List<Face> generateFaces(@NotNull final SimulationState state) {
-	    VoronoiDiagram voronoiDiagram = new VoronoiDiagram(this.voronoiArea);
-
-	    // convert pedestrians to positions
-	    List<VPoint> pedestrianPositions = Agent.getPositions(state.getTopography().getElements(Agent.class));
-	    voronoiDiagram.computeVoronoiDiagram(pedestrianPositions);
-
-	    // compute everything
-	    List<Face> faces = voronoiDiagram.getFaces();
-	    return faces == null ? Collections.emptyList() : faces;
+        return voronoiDiagramCache.getFaces(state, this.voronoiArea);
     }
 
 	@Override
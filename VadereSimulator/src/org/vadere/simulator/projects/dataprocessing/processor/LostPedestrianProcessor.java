@@ -50,13 +50,13 @@ public class LostPedestrianProcessor extends DataProcessor<TimestepPedestrianIdK
 	}
 
 	@Override
-	public String[] toStrings(TimestepPedestrianIdKey key) {
+	public Object[] toValues(TimestepPedestrianIdKey key) {
 			Pair<Boolean, Double> data = this.getValue(key);
 			if (data == null) {
 				System.out.println("teeeeeeeeeeeeeeeeeeeeeeeeeeeeeeeeeeeeeeeeeest");
-				return new String[]{"NA", "NA"};
+				return new Object[]{null, null};
 			}
-			return new String[]{Boolean.toString(data.getLeft()), Double.toString(data.getRight())};
+			return new Object[]{data.getLeft(), data.getRight()};
 	}
 
     @Override
@@ -80,6 +80,11 @@ public class MeshProcessor extends NoDataKeyProcessor<IMesh<PVertex, PHalfEdge,
 		return new String[] { this.hasValue(key) ? meshPolyWriter.to2DPoly(this.getValue(key)) : "NA" };
 	}
 
+	@Override
+	public Object[] toValues(final NoDataKey key) {
+		return toStrings(key);
+	}
+
 	@Override
 	public void preLoop(SimulationState state) {
 		super.preLoop(state);
@@ -78,6 +78,11 @@ public class PedStimulusCountingProcessor extends DataProcessor<TimestepKey, Inf
 		return informationDegrees;
 	}
 
+	@Override
+	public Object[] toValues(TimestepKey key) {
+		return toStrings(key);
+	}
+
 
 
 
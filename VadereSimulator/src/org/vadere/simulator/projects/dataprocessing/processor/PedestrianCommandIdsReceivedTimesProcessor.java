@@ -57,7 +57,7 @@ public class PedestrianCommandIdsReceivedTimesProcessor extends DataProcessor<Ti
 		super.init(manager);
 	}
 
-	public String[] toStrings(TimestepPedestrianIdKey key){
+	public Object[] toValues(TimestepPedestrianIdKey key){
 		Integer i = this.getValue(key);
 		if (i == null) {
 			logger.warn(String.format("PedestrianGroupSizeProcessor does not have Data for Key: %s",
@@ -65,7 +65,7 @@ public class PedestrianCommandIdsReceivedTimesProcessor extends DataProcessor<Ti
 			i = -1;
 		}
 
-		return new String[]{Integer.toString(i)};
+		return new Object[]{i};
 	}
 
 	public LinkedList<Integer> getProcessedAgentIds() {
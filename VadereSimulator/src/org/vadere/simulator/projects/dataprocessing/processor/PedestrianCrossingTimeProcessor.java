@@ -92,9 +92,9 @@ public class PedestrianCrossingTimeProcessor extends DataProcessor<PedestrianIdK
 	}
 
 	@Override
-	public String[] toStrings(@NotNull final  PedestrianIdKey key) {
+	public Object[] toValues(@NotNull final  PedestrianIdKey key) {
 		Pair<Double, Double> times = getValue(key);
-		return new String[]{Double.toString(times.getLeft()), Double.toString(times.getRight())};
+		return new Object[]{times.getLeft(), times.getRight()};
 	}
 
 
@@ -36,7 +36,7 @@ public class PedestrianGroupIDProcessor extends DataProcessor<TimestepPedestrian
 		super.init(manager);
 	}
 
-	public String[] toStrings(TimestepPedestrianIdKey key){
+	public Object[] toValues(TimestepPedestrianIdKey key){
 		Integer i = this.getValue(key);
 		if (i == null) {
 			logger.warn(String.format("PedestrianGroupIDProcessor does not have Data for Key: %s",
@@ -44,6 +44,6 @@ public class PedestrianGroupIDProcessor extends DataProcessor<TimestepPedestrian
 			i = -1;
 		}
 
-		return new String[]{Integer.toString(i)};
+		return new Object[]{i};
 	}
 }
@@ -38,5 +38,10 @@ public class PedestrianGroupMaxDistProcessor extends  DataProcessor<TimestepPede
 		return this.hasValue(key) ? this.getValue(key).toStrings() : new String[]{"N/A", "N/A"};
 	}
 
+	@Override
+	public Object[] toValues(final TimestepPedestrianIdKey key) {
+		return toStrings(key);
+	}
+
 
 }
@@ -37,7 +37,7 @@ public class PedestrianGroupSizeProcessor extends DataProcessor<TimestepPedestri
 		super.init(manager);
 	}
 
-	public String[] toStrings(TimestepPedestrianIdKey key){
+	public Object[] toValues(TimestepPedestrianIdKey key){
 		Integer i = this.getValue(key);
 		if (i == null) {
 			logger.warn(String.format("PedestrianGroupSizeProcessor does not have Data for Key: %s",
@@ -45,6 +45,6 @@ public class PedestrianGroupSizeProcessor extends DataProcessor<TimestepPedestri
 			i = -1;
 		}
 
-		return new String[]{Integer.toString(i)};
+		return new Object[]{i};
 	}
 }
@@ -46,10 +46,10 @@ public class PedestrianLastPositionProcessor extends DataProcessor<PedestrianIdK
 	}
 
 	@Override
-	public String[] toStrings(final PedestrianIdKey key) {
+	public Object[] toValues(final PedestrianIdKey key) {
 		VPoint pos = this.getValue(key);
 
-		return new String[]{Double.toString(pos.x), Double.toString(pos.y)};
+		return new Object[]{pos.x, pos.y};
 	}
 
 	@Override
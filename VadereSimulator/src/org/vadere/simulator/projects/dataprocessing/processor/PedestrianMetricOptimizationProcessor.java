@@ -71,4 +71,9 @@ public class PedestrianMetricOptimizationProcessor extends DataProcessor<Eventti
         OptimizationMetric metric = this.getValue(key);
         return metric.getValueString();
     }
+
+    @Override
+    public Object[] toValues(EventtimePedestrianIdKey key) {
+        return toStrings(key);
+    }
 }
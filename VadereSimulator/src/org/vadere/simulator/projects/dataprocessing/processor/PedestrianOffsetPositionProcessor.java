@@ -45,13 +45,13 @@ public class PedestrianOffsetPositionProcessor extends DataProcessor<TimestepPed
 	}
 
 	@Override
-	public String[] toStrings(TimestepPedestrianIdKey key) {
+	public Object[] toValues(TimestepPedestrianIdKey key) {
 		VPoint p = this.getValue(key);
 		if(p == null) {
-			return new String[]{Double.toString(0), Double.toString(0)};
+			return new Object[]{0.0, 0.0};
 		}
 		else {
-			return new String[]{Double.toString(p.x), Double.toString(p.y)};
+			return new Object[]{p.x, p.y};
 		}
 		//return new String[]{Double.toString(p.x), Double.toString(p.y)};
 	}
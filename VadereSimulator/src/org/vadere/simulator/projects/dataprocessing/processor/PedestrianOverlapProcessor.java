@@ -62,6 +62,11 @@ public class PedestrianOverlapProcessor extends DataProcessor<TimestepPedestrian
 		return  this.hasValue(key) ? this.getValue(key).toStrings() : new String[]{"N/A", "N/A"};
 	}
 
+	@Override
+	public Object[] toValues(final TimestepPedestrianIdOverlapKey key) {
+		return toStrings(key);
+	}
+
 	@Override
 	public void init(final ProcessorManager manager) {
 		super.init(manager);
@@ -48,4 +48,9 @@ public class PedestrianTrajectoryProcessor extends DataProcessor<PedestrianIdKey
 	public String[] toStrings(PedestrianIdKey key) {
 		return new String[]{"[" + StateJsonConverter.serializeObject(getValue(key)) + "]"};
 	}
+
+	@Override
+	public Object[] toValues(PedestrianIdKey key) {
+		return toStrings(key);
+	}
 }
@@ -77,6 +77,11 @@ public class PedestriansNearbyProcessor extends DataProcessor<TimestepPedestrian
         return this.hasValue(key) ? this.getValue(key).toStrings() : new String[]{"N/A", "N/A"};
     }
 
+    @Override
+    public Object[] toValues(final TimestepPedestriansNearbyIdKey key) {
+        return toStrings(key);
+    }
+
     @Override
     protected void putValue(final TimestepPedestriansNearbyIdKey key, final PedestriansNearbyData value) {
         for (TimestepPedestriansNearbyIdKey alreadyExisting : getKeys()) {
@@ -48,13 +48,17 @@ public class PointDensityGaussianAlgorithm extends PointDensityAlgorithm {
 				this.filteredObstacles = true;
 			}
 
-			this.pedestrianFilter = IGaussianFilter.create(
-					state.getTopography().getBounds(),
-					state.getTopography().getElements(Pedestrian.class),
-					this.scale,
-					this.standDev,
-					state.getTopography().getAttributesPedestrian(),
-					IPedestrianLoadingStrategy.create());
+			// the filter works on the (live) pedestrians of the topography, i.e. it is created once and
+			// only updates the pedestrians which moved
+			if (this.pedestrianFilter == null) {
+				this.pedestrianFilter = IGaussianFilter.create(
+						state.getTopography().getBounds(),
+						state.getTopography().getElements(Pedestrian.class),
+						this.scale,
+						this.standDev,
+						state.getTopography().getAttributesPedestrian(),
+						IPedestrianLoadingStrategy.create());
+			}
 			this.pedestrianFilter.filterImage();
 
 			this.lastStep = state.getStep();
@@ -41,13 +41,13 @@ public class RelevantPedestriansProcessor extends DataProcessor<TimestepPedestri
 	}
 
 	@Override
-	public String[] toStrings(TimestepPedestrianIdKey key) {
+	public Object[] toValues(TimestepPedestrianIdKey key) {
 		Integer count = this.getValue(key);
 		if(count == null) {
-			return new String[]{Integer.toString(-1)};
+			return new Object[]{-1};
 		}
 		else {
-			return new String[]{Integer.toString(count)};
+			return new Object[]{count};
 		}
 	}
 
@@ -0,0 +1,127 @@
+package org.vadere.simulator.projects.dataprocessing.processor;
+
+import org.vadere.annotation.factories.dataprocessors.DataProcessorClass;
+import org.vadere.simulator.control.simulation.SimulationPhase;
+import org.vadere.simulator.control.simulation.SimulationProfiler;
+import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.simulator.control.simulation.StepProfile;
+import org.vadere.simulator.projects.dataprocessing.datakey.TimestepKey;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.StringJoiner;
+
+/**
+ * Writes the wall-clock time (in ms) of the phases of each simulation step, the number of neighbor queries and
+ * optimizer evaluations and the update time of each model (see {@link SimulationProfiler}) to a
+ * {@link org.vadere.simulator.projects.dataprocessing.outputfile.TimestepOutputFile}.
+ *
+ * The data processors are updated during a step, i.e. the profile of a step is complete at the update of the next
+ * step. Therefore, the profile of a step is added by the update of the next step and the profile of the last step
+ * is added in the post loop.
+ *
+ * The processor requests the counting of the operations by the profiler, they are not counted without it
+ * (unless the JFR step event is enabled).
+ */
+@DataProcessorClass(label = "StepProfileProcessor")
+public class StepProfileProcessor extends DataProcessor<TimestepKey, StepProfile> {
+
+	public StepProfileProcessor() {
+		super(headers());
+	}
+
+	private static String[] headers() {
+		List<String> headers = new ArrayList<>();
+		headers.add("stepTimeMs");
+		for (SimulationPhase phase : SimulationPhase.values()) {
+			headers.add(phase.getLabel() + "Ms");
+		}
+		headers.add("neighborQueries");
+		headers.add("optimizerEvaluations");
+		headers.add("modelUpdateMs");
+		return headers.toArray(new String[0]);
+	}
+
+	@Override
+	public void preLoop(final SimulationState state) {
+		super.preLoop(state);
+		if (state.getControllerProvider() != null && state.getControllerProvider().getProfiler() != null) {
+			state.getControllerProvider().getProfiler().setCountingRequested(true);
+		}
+	}
+
+	@Override
+	protected void doUpdate(final SimulationState state) {
+		putLastProfile(state);
+	}
+
+	@Override
+	public void postLoop(final SimulationState state) {
+		putLastProfile(state);
+	}
+
+	private void putLastProfile(final SimulationState state) {
+		if (state.getControllerProvider() == null || state.getControllerProvider().getProfiler() == null) {
+			return;
+		}
+
+		StepProfile profile = state.getControllerProvider().getProfiler().getLastProfile();
+		if (profile != null) {
+			this.putValue(new TimestepKey(profile.getStep()), profile);
+		}
+	}
+
+	@Override
+	public String[] toStrings(final TimestepKey key) {
+		if (!hasValue(key)) {
+			String[] values = new String[getHeaders().length];
+			Arrays.fill(values, "NA");
+			return values;
+		}
+
+		StepProfile profile = getValue(key);
+		List<String> values = new ArrayList<>();
+		values.add(format(profile.getDurationInMs()));
+		for (SimulationPhase phase : SimulationPhase.values()) {
+			values.add(format(profile.getPhaseTimeInMs(phase)));
+		}
+		values.add(Long.toString(profile.getNeighborQueries()));
+		values.add(Long.toString(profile.getOptimizerEvaluations()));
+
+		values.add(formatModelTimes(profile));
+
+		return values.toArray(new String[0]);
+	}
+
+	@Override
+	public Object[] toValues(final TimestepKey key) {
+		Object[] values = new Object[getHeaders().length];
+		if (!hasValue(key)) {
+			return values;
+		}
+
+		StepProfile profile = getValue(key);
+		int column = 0;
+		values[column++] = profile.getDurationInMs();
+		for (SimulationPhase phase : SimulationPhase.values()) {
+			values[column++] = profile.getPhaseTimeInMs(phase);
+		}
+		values[column++] = profile.getNeighborQueries();
+		values[column++] = profile.getOptimizerEvaluations();
+		values[column] = formatModelTimes(profile);
+		return values;
+	}
+
+	private static String formatModelTimes(final StepProfile profile) {
+		// e.g. "OptimalStepsModel:1.234;Proxemics:0.012"
+		StringJoiner models = new StringJoiner(";");
+		profile.getModelTimesInNanos().forEach((model, nanos) -> models.add(model + ":" + format(nanos / 1e6)));
+		return models.length() == 0 ? "NA" : models.toString();
+	}
+
+	private static String format(final double ms) {
+		return String.format(Locale.US, "%.4f", ms);
+	}
+}
@@ -11,10 +11,8 @@ import org.vadere.util.geometry.shapes.VPolygon;
 import org.vadere.util.geometry.shapes.VRectangle;
 import org.vadere.util.voronoi.Face;
 import org.vadere.util.voronoi.HalfEdge;
-import org.vadere.util.voronoi.VoronoiDiagram;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -25,14 +23,17 @@ public class SumVoronoiAlgorithm extends AreaDensityAlgorithm implements IAreaVe
 	private VPolygon measurementAreaPolygon;
 	private VRectangle voronoiArea;
 	private final Function<TimestepPedestrianIdKey, Double> agentVelocityFunc;
+	private final VoronoiDiagramCache voronoiDiagramCache;
 
-	public SumVoronoiAlgorithm(@NotNull final Function<TimestepPedestrianIdKey, Double> agentVelocityFunc, @NotNull final MeasurementArea measurementArea, @NotNull final MeasurementArea voronoiArea) {
+	public SumVoronoiAlgorithm(@NotNull final Function<TimestepPedestrianIdKey, Double> agentVelocityFunc, @NotNull final MeasurementArea measurementArea, @NotNull final MeasurementArea voronoiArea,
+			@NotNull final VoronoiDiagramCache voronoiDiagramCache) {
 		super("areaVoronoi");
 
 		this.measurementArea = measurementArea.asVRectangle();
 		this.measurementAreaPolygon = new VPolygon(measurementArea.getShape());
 		this.voronoiArea = voronoiArea.asVRectangle();
 		this.agentVelocityFunc = agentVelocityFunc;
+		this.voronoiDiagramCache = voronoiDiagramCache;
 	}
 
 	@Override
@@ -53,15 +54,7 @@ public class SumVoronoiAlgorithm extends AreaDensityAlgorithm implements IAreaVe
 	}
 
 	private List<Face> generateFaces(@NotNull final SimulationState state) {
-		VoronoiDiagram voronoiDiagram = new VoronoiDiagram(this.voronoiArea);
-
-		// convert pedestrians to positions
-		List<VPoint> pedestrianPositions = Agent.getPositions(state.getTopography().getElements(Agent.class));
-		voronoiDiagram.computeVoronoiDiagram(pedestrianPositions);
-
-		// compute everything
-		List<Face> faces = voronoiDiagram.getFaces();
-		return faces == null ? Collections.emptyList() : faces;
+		return voronoiDiagramCache.getFaces(state, this.voronoiArea);
 	}
 
 	@Override
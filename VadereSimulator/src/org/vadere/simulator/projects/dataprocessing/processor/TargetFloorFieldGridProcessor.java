@@ -86,6 +86,11 @@ public class TargetFloorFieldGridProcessor extends DataProcessor<TimestepRowKey,
 		return this.getValue(key).toStrings();
 	}
 
+	@Override
+	public Object[] toValues(TimestepRowKey key) {
+		return toStrings(key);
+	}
+
 	@Override
 	public AttributesProcessor getAttributes() {
 		if (super.getAttributes() == null) {
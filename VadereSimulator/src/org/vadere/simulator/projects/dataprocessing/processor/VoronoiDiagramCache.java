@@ -0,0 +1,82 @@
+package org.vadere.simulator.projects.dataprocessing.processor;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.state.scenario.Agent;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.voronoi.Face;
+import org.vadere.util.voronoi.VoronoiDiagram;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Shares the Voronoi diagrams of the agent positions among all Voronoi based processors (and algorithms) of one
+ * simulation run, see {@link org.vadere.simulator.projects.dataprocessing.ProcessorManager#getVoronoiDiagramCache()}.
+ * For each Voronoi area the faces of the most recent diagram are kept, they are reused as long as the agent
+ * positions did not change, i.e. the diagram of a Voronoi area is computed at most once per simulation step
+ * instead of once per processor and quantity (density, velocity).
+ *
+ * The faces are shared, i.e. they must not be modified by the caller.
+ */
+public class VoronoiDiagramCache {
+
+	private final Map<VRectangle, Entry> entries;
+	private int numberOfComputations;
+
+	private static class Entry {
+		private final List<VPoint> positions;
+		private final List<Face> faces;
+
+		private Entry(@NotNull final List<VPoint> positions, @NotNull final List<Face> faces) {
+			this.positions = positions;
+			this.faces = faces;
+		}
+	}
+
+	public VoronoiDiagramCache() {
+		this.entries = new HashMap<>();
+		this.numberOfComputations = 0;
+	}
+
+	/**
+	 * Returns the faces of the Voronoi diagram of all agent positions of the state restricted to the Voronoi area.
+	 *
+	 * @param state         the simulation state containing the agents
+	 * @param voronoiArea   the area to which the Voronoi diagram is restricted
+	 *
+	 * @return the faces of the Voronoi diagram
+	 */
+	public List<Face> getFaces(@NotNull final SimulationState state, @NotNull final VRectangle voronoiArea) {
+		// convert pedestrians to positions
+		List<VPoint> pedestrianPositions = Agent.getPositions(state.getTopography().getElements(Agent.class));
+
+		Entry entry = entries.get(voronoiArea);
+		if (entry == null || !entry.positions.equals(pedestrianPositions)) {
+			// copy the positions since points can be modified in place
+			List<VPoint> positions = pedestrianPositions.stream().map(VPoint::clone).collect(Collectors.toList());
+			entry = new Entry(positions, computeFaces(positions, voronoiArea));
+			entries.put(voronoiArea, entry);
+		}
+
+		return entry.faces;
+	}
+
+	public int getNumberOfComputations() {
+		return numberOfComputations;
+	}
+
+	private List<Face> computeFaces(@NotNull final List<VPoint> pedestrianPositions, @NotNull final VRectangle voronoiArea) {
+		VoronoiDiagram voronoiDiagram = new VoronoiDiagram(voronoiArea);
+		voronoiDiagram.computeVoronoiDiagram(pedestrianPositions);
+		numberOfComputations++;
+
+		// compute everything
+		List<Face> faces = voronoiDiagram.getFaces();
+		return faces == null ? Collections.emptyList() : Collections.unmodifiableList(faces);
+	}
+}
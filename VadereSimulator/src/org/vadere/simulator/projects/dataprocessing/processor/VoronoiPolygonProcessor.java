@@ -9,7 +9,6 @@ import org.vadere.simulator.projects.dataprocessing.ProcessorManager;
 import org.vadere.simulator.projects.dataprocessing.datakey.TimestepPositionKey;
 import org.vadere.simulator.projects.dataprocessing.flags.UsesMeasurementArea;
 import org.vadere.state.attributes.processor.AttributesVoronoiPolygonProcessor;
-import org.vadere.state.scenario.Agent;
 import org.vadere.state.scenario.MeasurementArea;
 import org.vadere.state.scenario.Obstacle;
 import org.vadere.state.util.StateJsonConverter;
@@ -17,7 +16,6 @@ import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.VPolygon;
 import org.vadere.util.geometry.shapes.VShape;
 import org.vadere.util.voronoi.Face;
-import org.vadere.util.voronoi.VoronoiDiagram;
 import org.vadere.util.logging.Logger;
 
 import java.util.*;
@@ -30,6 +28,7 @@ import java.util.stream.Collectors;
 public class VoronoiPolygonProcessor extends DataProcessor<TimestepPositionKey, VPolygon> implements UsesMeasurementArea {
 	private MeasurementArea voronoiMeasurementArea;
 	private List<VPolygon> obstacles;
+	private VoronoiDiagramCache voronoiDiagramCache;
 
 	private static Logger logger = Logger.getLogger(VoronoiPolygonProcessor.class);
 
@@ -68,6 +67,7 @@ public class VoronoiPolygonProcessor extends DataProcessor<TimestepPositionKey,
 		AttributesVoronoiPolygonProcessor att = (AttributesVoronoiPolygonProcessor) this.getAttributes();
 		obstacles = manager.getObstacles().stream().map(VPolygon::new).collect(Collectors.toList());
 		voronoiMeasurementArea = manager.getMeasurementArea(att.getVoronoiMeasurementAreaId(), true);
+		voronoiDiagramCache = manager.getVoronoiDiagramCache();
 	}
 
 	@Override
@@ -82,6 +82,11 @@ public class VoronoiPolygonProcessor extends DataProcessor<TimestepPositionKey,
 		}
 	}
 
+	@Override
+	public Object[] toValues(TimestepPositionKey key) {
+		return toStrings(key);
+	}
+
 	@Override
 	public AttributesVoronoiPolygonProcessor getAttributes() {
 		if(super.getAttributes() == null) {
@@ -91,15 +96,7 @@ public class VoronoiPolygonProcessor extends DataProcessor<TimestepPositionKey,
 	}
 
 	private List<Face> generateFaces(@NotNull final SimulationState state) {
-		VoronoiDiagram voronoiDiagram = new VoronoiDiagram(this.voronoiMeasurementArea.asVRectangle());
-
-		// convert pedestrians to positions
-		List<VPoint> pedestrianPositions = Agent.getPositions(state.getTopography().getElements(Agent.class));
-		voronoiDiagram.computeVoronoiDiagram(pedestrianPositions);
-
-		// compute everything
-		List<Face> faces = voronoiDiagram.getFaces();
-		return faces == null ? Collections.emptyList() : faces;
+		return voronoiDiagramCache.getFaces(state, voronoiMeasurementArea.asVRectangle());
 	}
 
 	private VPolygon computeObstacleIntersection(@NotNull final VPolygon cell) {
@@ -1,6 +1,7 @@
 package org.vadere.simulator.projects.dataprocessing.store;
 
 import org.vadere.simulator.projects.dataprocessing.DataProcessingJsonManager;
+import org.vadere.simulator.projects.dataprocessing.writer.OutputFormat;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -11,12 +12,16 @@ public class OutputFileStore {
 	private String filename;
 	private List<Integer> processors;
 	private String separator;
+	private boolean streaming;
+	private OutputFormat format;
 
 	public OutputFileStore() {
 		this.separator = DataProcessingJsonManager.DEFAULT_SEPARATOR;
 		this.type = DataProcessingJsonManager.DEFAULT_OUTPUTFILE_TYPE;
 		this.processors = new ArrayList<>();
 		this.filename = DataProcessingJsonManager.DEFAULT_NAME;
+		this.streaming = false;
+		this.format = OutputFormat.TEXT;
 	}
 
 	public String getType() {
@@ -61,4 +66,22 @@ public class OutputFileStore {
 			this.separator = separator;
 		}
 	}
+
+	public boolean isStreaming() {
+		return streaming;
+	}
+
+	public void setStreaming(boolean streaming) {
+		this.streaming = streaming;
+	}
+
+	public OutputFormat getFormat() {
+		return format;
+	}
+
+	public void setFormat(OutputFormat format) {
+		if (format != null) {
+			this.format = format;
+		}
+	}
 }
@@ -0,0 +1,18 @@
+package org.vadere.simulator.projects.dataprocessing.writer;
+
+/**
+ * The format of an output file.
+ *
+ * <ul>
+ *     <li>TEXT: one line of separated values per row (default)</li>
+ *     <li>COLUMNAR: binary file of typed columns, see {@link VadereColumnarFileWriter}</li>
+ *     <li>COLUMNAR_COMPRESSED: like COLUMNAR but each column of a chunk is compressed (deflate)</li>
+ * </ul>
+ */
+public enum OutputFormat {
+	TEXT, COLUMNAR, COLUMNAR_COMPRESSED;
+
+	public boolean isColumnar() {
+		return this != TEXT;
+	}
+}
@@ -0,0 +1,306 @@
+package org.vadere.simulator.projects.dataprocessing.writer;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Output result of simulation as binary file of typed columns. In contrast to the text format, the values
+ * are not stored row by row but column by column in chunks of at most {@link #CHUNK_ROWS} rows, i.e. a reader
+ * can copy whole columns of a chunk at once.
+ *
+ * The rows consist of typed values (see {@link org.vadere.simulator.projects.dataprocessing.processor.DataProcessor#toValues}).
+ * The type of each column is declared once in the header of the file: it is the {@link ColumnType} of the first
+ * value of the column which is not <tt>null</tt> (a column without such a value in the first chunk is a string column).
+ * All later values of the column have to be of this type, ints are also accepted by double columns and string columns
+ * accept any value. A <tt>null</tt> value is a missing value, it is stored as {@link Integer#MIN_VALUE}, {@link Double#NaN},
+ * {@link #MISSING_BOOLEAN} or "NA" which are the missing values of the reader.
+ *
+ * The file layout (little endian) is:
+ * <ul>
+ *     <li>header: magic number (int), version (int), number of columns n (int), n column names
+ *     (length of the UTF-8 bytes (int) followed by the bytes) and n {@link ColumnType}s (byte)</li>
+ *     <li>chunks until the end of the file: length of the chunk in bytes without this field (int),
+ *     number of rows r (int), compressed flag (byte) and for each column: raw length of the values (int),
+ *     stored length of the values (int) and the stored values. The raw values of a column are r ints, r doubles,
+ *     r booleans (byte) or r strings (length of the UTF-8 bytes (int) followed by the bytes). If the chunk is
+ *     compressed, the stored values are the raw values compressed by {@link Deflater}.</li>
+ * </ul>
+ *
+ * The header is written with the first chunk. The rows of chunks which are written (e.g. by {@link #flush()}) can be
+ * read even if the file is not closed.
+ */
+public class VadereColumnarFileWriter implements Closeable {
+
+	public static final int MAGIC_NUMBER = 0x56434F4C; // VCOL
+	public static final int VERSION = 2;
+	public static final int CHUNK_ROWS = 1 << 16;
+	public static final byte MISSING_BOOLEAN = Byte.MIN_VALUE;
+	public static final String MISSING_STRING = "NA";
+
+	/**
+	 * The types of columns, the ordinal is stored in the file.
+	 */
+	public enum ColumnType {
+		INT, DOUBLE, BOOLEAN, STRING;
+
+		private static final ColumnType[] TYPES = values();
+
+		public static ColumnType of(byte ordinal) {
+			return TYPES[ordinal];
+		}
+
+		/**
+		 * Returns the type of columns storing the value (<tt>null</tt> for <tt>null</tt>).
+		 */
+		public static ColumnType of(Object value) {
+			if (value == null) {
+				return null;
+			} else if (value instanceof Integer) {
+				return INT;
+			} else if (value instanceof Number) {
+				return DOUBLE;
+			} else if (value instanceof Boolean) {
+				return BOOLEAN;
+			}
+			return STRING;
+		}
+	}
+
+	private final OutputStream out;
+	private final Deflater deflater;
+	private String[] columnNames;
+	private ColumnType[] types;
+	private Object[][] chunk;
+	private int rows;
+
+	public VadereColumnarFileWriter(String absoluteFileName, boolean compressed) {
+		try {
+			this.out = new BufferedOutputStream(new FileOutputStream(absoluteFileName), 1 << 16);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		this.deflater = compressed ? new Deflater(Deflater.BEST_SPEED) : null;
+		this.columnNames = null;
+		this.types = null;
+		this.chunk = null;
+		this.rows = 0;
+	}
+
+	/**
+	 * Sets the column names, the header is written with the first chunk since it contains the types of the columns.
+	 */
+	public void printHeader(List<String> columnNames) {
+		if (this.columnNames != null) {
+			throw new IllegalStateException("the header is already written.");
+		}
+
+		this.columnNames = columnNames.toArray(new String[0]);
+		this.chunk = new Object[this.columnNames.length][CHUNK_ROWS];
+	}
+
+	/**
+	 * Appends a row of typed values, i.e. Integer, Double (or any other Number), Boolean or String
+	 * values and <tt>null</tt> for missing values.
+	 */
+	public void printRow(Object[] values) {
+		if (columnNames == null) {
+			throw new IllegalStateException("the header has to be written before the first row.");
+		}
+
+		if (values.length != columnNames.length) {
+			throw new IllegalArgumentException("the row has " + values.length + " values but the file has " + columnNames.length + " columns.");
+		}
+
+		for (int column = 0; column < values.length; column++) {
+			chunk[column][rows] = values[column];
+		}
+		rows++;
+
+		if (rows == CHUNK_ROWS) {
+			writeChunk();
+		}
+	}
+
+	public void flush() {
+		writeChunk();
+		try {
+			out.flush();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		try {
+			writeChunk();
+			if (types == null && columnNames != null) {
+				writeHeader();
+			}
+			out.close();
+		} finally {
+			if (deflater != null) {
+				deflater.end();
+			}
+		}
+	}
+
+	private void writeHeader() {
+		types = new ColumnType[columnNames.length];
+		byte[][] names = new byte[columnNames.length][];
+		int length = 3 * Integer.BYTES;
+		for (int i = 0; i < names.length; i++) {
+			types[i] = declareType(chunk[i], rows);
+			names[i] = columnNames[i].getBytes(StandardCharsets.UTF_8);
+			length += Integer.BYTES + names[i].length + 1;
+		}
+
+		ByteBuffer header = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+		header.putInt(MAGIC_NUMBER);
+		header.putInt(VERSION);
+		header.putInt(names.length);
+		for (byte[] name : names) {
+			header.putInt(name.length);
+			header.put(name);
+		}
+		for (ColumnType type : types) {
+			header.put((byte) type.ordinal());
+		}
+		write(header);
+	}
+
+	private static ColumnType declareType(Object[] values, int rows) {
+		for (int i = 0; i < rows; i++) {
+			if (values[i] != null) {
+				return ColumnType.of(values[i]);
+			}
+		}
+		return ColumnType.STRING;
+	}
+
+	private void writeChunk() {
+		if (rows == 0) {
+			return;
+		}
+
+		if (types == null) {
+			writeHeader();
+		}
+
+		ByteArrayOutputStream columns = new ByteArrayOutputStream();
+		for (int column = 0; column < chunk.length; column++) {
+			byte[] raw = encode(column);
+			byte[] stored = deflater != null ? compress(raw) : raw;
+
+			ByteBuffer columnHeader = ByteBuffer.allocate(2 * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+			columnHeader.putInt(raw.length);
+			columnHeader.putInt(stored.length);
+			columns.write(columnHeader.array(), 0, columnHeader.capacity());
+			columns.write(stored, 0, stored.length);
+		}
+
+		ByteBuffer chunkHeader = ByteBuffer.allocate(2 * Integer.BYTES + 1).order(ByteOrder.LITTLE_ENDIAN);
+		chunkHeader.putInt(Integer.BYTES + 1 + columns.size());
+		chunkHeader.putInt(rows);
+		chunkHeader.put((byte) (deflater != null ? 1 : 0));
+		write(chunkHeader);
+
+		try {
+			columns.writeTo(out);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		for (Object[] values : chunk) {
+			Arrays.fill(values, 0, rows, null);
+		}
+		rows = 0;
+	}
+
+	private void write(ByteBuffer buffer) {
+		try {
+			out.write(buffer.array(), 0, buffer.position());
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private byte[] compress(byte[] raw) {
+		deflater.reset();
+		deflater.setInput(raw);
+		deflater.finish();
+
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+		byte[] buffer = new byte[1 << 16];
+		while (!deflater.finished()) {
+			int length = deflater.deflate(buffer);
+			compressed.write(buffer, 0, length);
+		}
+		return compressed.toByteArray();
+	}
+
+	private byte[] encode(int column) {
+		Object[] values = chunk[column];
+		switch (types[column]) {
+			case INT: {
+				ByteBuffer buffer = ByteBuffer.allocate(rows * Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+				for (int i = 0; i < rows; i++) {
+					buffer.putInt(values[i] == null ? Integer.MIN_VALUE : (Integer) checkType(column, values[i], Integer.class));
+				}
+				return buffer.array();
+			}
+			case DOUBLE: {
+				ByteBuffer buffer = ByteBuffer.allocate(rows * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+				for (int i = 0; i < rows; i++) {
+					buffer.putDouble(values[i] == null ? Double.NaN : ((Number) checkType(column, values[i], Number.class)).doubleValue());
+				}
+				return buffer.array();
+			}
+			case BOOLEAN: {
+				byte[] bytes = new byte[rows];
+				for (int i = 0; i < rows; i++) {
+					if (values[i] == null) {
+						bytes[i] = MISSING_BOOLEAN;
+					} else if ((Boolean) checkType(column, values[i], Boolean.class)) {
+						bytes[i] = 1;
+					}
+				}
+				return bytes;
+			}
+			default: {
+				byte[][] strings = new byte[rows][];
+				int length = 0;
+				for (int i = 0; i < rows; i++) {
+					strings[i] = (values[i] == null ? MISSING_STRING : values[i].toString()).getBytes(StandardCharsets.UTF_8);
+					length += Integer.BYTES + strings[i].length;
+				}
+
+				ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+				for (byte[] string : strings) {
+					buffer.putInt(string.length);
+					buffer.put(string);
+				}
+				return buffer.array();
+			}
+		}
+	}
+
+	private Object checkType(int column, Object value, Class<?> type) {
+		if (!type.isInstance(value)) {
+			throw new IllegalArgumentException("the column " + columnNames[column] + " is declared as " + types[column]
+					+ " column but the value " + value + " is of type " + value.getClass().getSimpleName() + ".");
+		}
+		return value;
+	}
+}
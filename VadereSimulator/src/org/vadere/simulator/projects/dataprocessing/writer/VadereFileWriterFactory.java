@@ -9,4 +9,9 @@ public class VadereFileWriterFactory extends VadereWriterFactory {
 	public VadereWriter create(String path) {
 		return new VadereFileWriter(path);
 	}
+
+	@Override
+	public VadereColumnarFileWriter createColumnar(String path, boolean compressed) {
+		return new VadereColumnarFileWriter(path, compressed);
+	}
 }
@@ -12,4 +12,11 @@ public abstract class VadereWriterFactory {
 
 	public abstract VadereWriter create(String path);
 
+	/**
+	 * Creates a writer of a columnar file which is not supported by default.
+	 */
+	public VadereColumnarFileWriter createColumnar(String path, boolean compressed) {
+		throw new UnsupportedOperationException(getClass().getSimpleName() + " does not support columnar files.");
+	}
+
 }
@@ -0,0 +1,226 @@
+package org.vadere.simulator.projects.io;
+
+import org.jetbrains.annotations.NotNull;
+import org.vadere.simulator.projects.dataprocessing.writer.VadereColumnarFileWriter;
+import org.vadere.simulator.projects.dataprocessing.writer.VadereColumnarFileWriter.ColumnType;
+import org.vadere.util.logging.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import tech.tablesaw.api.BooleanColumn;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+import tech.tablesaw.columns.Column;
+
+/**
+ * Reads output files written by {@link VadereColumnarFileWriter} into a {@link Table}. The chunks of the
+ * file are memory-mapped one after another and the values of a column of a chunk are copied at once, i.e.
+ * the values are neither parsed nor is the file copied into the heap before it is converted.
+ *
+ * The types of the columns are declared by the header of the file. Missing values are read as missing values
+ * of the table. If the file ends with an incomplete chunk (e.g. the simulation was aborted), the rows of this
+ * chunk are ignored.
+ */
+public class ColumnarTableReader {
+
+	private static final Logger logger = Logger.getLogger(ColumnarTableReader.class);
+
+	private final Path filePath;
+
+	public ColumnarTableReader(@NotNull final Path filePath) {
+		this.filePath = filePath;
+	}
+
+	/**
+	 * Returns true if the file starts with the magic number of the columnar format.
+	 */
+	public static boolean isColumnarFile(@NotNull final Path filePath) {
+		try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+			ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+			return channel.read(magic, 0) == Integer.BYTES && magic.getInt(0) == VadereColumnarFileWriter.MAGIC_NUMBER;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	public Table readFile() throws IOException {
+		try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+			long size = channel.size();
+			List<String> columnNames = new ArrayList<>();
+			List<ColumnType> types = new ArrayList<>();
+			long position = readHeader(channel, columnNames, types);
+
+			List<Chunk> chunks = new ArrayList<>();
+			int numRows = 0;
+			ByteBuffer lengthBuffer = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+			while (position + Integer.BYTES <= size) {
+				lengthBuffer.clear();
+				channel.read(lengthBuffer, position);
+				int length = lengthBuffer.getInt(0);
+				if (length <= 0 || position + Integer.BYTES + length > size) {
+					logger.warn("ignore incomplete chunk at the end of " + filePath);
+					break;
+				}
+
+				ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position + Integer.BYTES, length).order(ByteOrder.LITTLE_ENDIAN);
+				Chunk chunk = new Chunk(buffer, columnNames.size(), numRows);
+				chunks.add(chunk);
+				numRows = Math.addExact(numRows, chunk.numRows);
+				position += Integer.BYTES + length;
+			}
+
+			Table table = Table.create(filePath.getFileName().toString());
+			for (int column = 0; column < columnNames.size(); column++) {
+				table.addColumns(readColumn(columnNames.get(column), types.get(column), column, chunks, numRows));
+			}
+			return table;
+		}
+	}
+
+	private long readHeader(@NotNull final FileChannel channel, @NotNull final List<String> columnNames, @NotNull final List<ColumnType> types) throws IOException {
+		ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, Math.min(channel.size(), Integer.MAX_VALUE)).order(ByteOrder.LITTLE_ENDIAN);
+		if (buffer.limit() < 3 * Integer.BYTES || buffer.getInt() != VadereColumnarFileWriter.MAGIC_NUMBER) {
+			throw new IOException(filePath + " is not a columnar output file.");
+		}
+
+		int version = buffer.getInt();
+		if (version != VadereColumnarFileWriter.VERSION) {
+			throw new IOException("Unsupported columnar output file version " + version + ", expected " + VadereColumnarFileWriter.VERSION + ".");
+		}
+
+		int numColumns = buffer.getInt();
+		for (int i = 0; i < numColumns; i++) {
+			byte[] name = new byte[buffer.getInt()];
+			buffer.get(name);
+			columnNames.add(new String(name, StandardCharsets.UTF_8));
+		}
+		for (int i = 0; i < numColumns; i++) {
+			types.add(ColumnType.of(buffer.get()));
+		}
+		return buffer.position();
+	}
+
+	private Column<?> readColumn(@NotNull final String name, @NotNull final ColumnType type, final int column, @NotNull final List<Chunk> chunks, final int numRows) throws IOException {
+		switch (type) {
+			case INT: {
+				int[] values = new int[numRows];
+				for (Chunk chunk : chunks) {
+					chunk.values(column).asIntBuffer().get(values, chunk.firstRow, chunk.numRows);
+				}
+				return IntColumn.create(name, values);
+			}
+			case DOUBLE: {
+				double[] values = new double[numRows];
+				for (Chunk chunk : chunks) {
+					chunk.values(column).asDoubleBuffer().get(values, chunk.firstRow, chunk.numRows);
+				}
+				return DoubleColumn.create(name, values);
+			}
+			case BOOLEAN: {
+				boolean[] values = new boolean[numRows];
+				List<Integer> missingRows = new ArrayList<>();
+				for (Chunk chunk : chunks) {
+					ByteBuffer buffer = chunk.values(column);
+					for (int row = 0; row < chunk.numRows; row++) {
+						byte value = buffer.get();
+						if (value == VadereColumnarFileWriter.MISSING_BOOLEAN) {
+							missingRows.add(chunk.firstRow + row);
+						}
+						values[chunk.firstRow + row] = value == 1;
+					}
+				}
+				BooleanColumn booleanColumn = BooleanColumn.create(name, values);
+				missingRows.forEach(booleanColumn::setMissing);
+				return booleanColumn;
+			}
+			default: {
+				String[] values = new String[numRows];
+				for (Chunk chunk : chunks) {
+					chunk.readStrings(column, values);
+				}
+				return StringColumn.create(name, values);
+			}
+		}
+	}
+
+	/**
+	 * A mapped chunk of the file, the values of its columns are only read (and decompressed) on demand.
+	 */
+	private static class Chunk {
+		private final ByteBuffer buffer;
+		private final int numRows;
+		private final int firstRow;
+		private final boolean compressed;
+		private final int[] rawLengths;
+		private final int[] storedLengths;
+		private final int[] offsets;
+
+		private Chunk(@NotNull final ByteBuffer buffer, final int numColumns, final int firstRow) {
+			this.buffer = buffer;
+			this.firstRow = firstRow;
+			this.numRows = buffer.getInt(0);
+			this.compressed = buffer.get(Integer.BYTES) != 0;
+			this.rawLengths = new int[numColumns];
+			this.storedLengths = new int[numColumns];
+			this.offsets = new int[numColumns];
+
+			int offset = Integer.BYTES + 1;
+			for (int column = 0; column < numColumns; column++) {
+				rawLengths[column] = buffer.getInt(offset);
+				storedLengths[column] = buffer.getInt(offset + Integer.BYTES);
+				offsets[column] = offset + 2 * Integer.BYTES;
+				offset = offsets[column] + storedLengths[column];
+			}
+		}
+
+		/**
+		 * Returns the (uncompressed) values of the column.
+		 */
+		private ByteBuffer values(final int column) throws IOException {
+			ByteBuffer stored = buffer.duplicate();
+			stored.position(offsets[column]).limit(offsets[column] + storedLengths[column]);
+			stored = stored.slice().order(ByteOrder.LITTLE_ENDIAN);
+
+			if (!compressed) {
+				return stored;
+			}
+
+			Inflater inflater = new Inflater();
+			try {
+				ByteBuffer raw = ByteBuffer.allocate(rawLengths[column]).order(ByteOrder.LITTLE_ENDIAN);
+				byte[] input = new byte[storedLengths[column]];
+				stored.get(input);
+				inflater.setInput(input);
+				if (inflater.inflate(raw.array()) != rawLengths[column]) {
+					throw new IOException("corrupted column of a columnar output file.");
+				}
+				return raw;
+			} catch (DataFormatException e) {
+				throw new IOException("corrupted column of a columnar output file.", e);
+			} finally {
+				inflater.end();
+			}
+		}
+
+		private void readStrings(final int column, @NotNull final String[] values) throws IOException {
+			ByteBuffer buffer = values(column);
+			for (int row = 0; row < numRows; row++) {
+				byte[] bytes = new byte[buffer.getInt()];
+				buffer.get(bytes);
+				values[firstRow + row] = new String(bytes, StandardCharsets.UTF_8);
+			}
+		}
+	}
+}
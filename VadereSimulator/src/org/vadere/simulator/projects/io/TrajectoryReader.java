@@ -26,6 +26,7 @@ import tech.tablesaw.io.csv.CsvReadOptions;
  *      groupId [optional].
  * The order of the rows (expect for the first row / header) can be arbitrary.
  * Columns has to be separated by {@link TrajectoryReader#SPLITTER} and {@link OutputFile#headerProcSep}.
+ * Output files in the columnar format are detected and read by {@link ColumnarTableReader}.
  */
 public class TrajectoryReader {
 
@@ -38,8 +39,12 @@ public class TrajectoryReader {
 	}
 
 	public Table readFile() throws IOException {
-		CsvReadOptions options = CsvReadOptions.builder(trajectoryFilePath.toFile()).separator(SPLITTER).header(true).build();
-		dataFrame = Table.read().usingOptions(options);
+		if (ColumnarTableReader.isColumnarFile(trajectoryFilePath)) {
+			dataFrame = new ColumnarTableReader(trajectoryFilePath).readFile();
+		} else {
+			CsvReadOptions options = CsvReadOptions.builder(trajectoryFilePath.toFile()).separator(SPLITTER).header(true).build();
+			dataFrame = Table.read().usingOptions(options);
+		}
 		ColumnNames columnNames = ColumnNames.getInstance();
 		if(columnNames.hasDuplicates(dataFrame)) {
 			throw new IOException("The header of table " + dataFrame + " is contains duplicates which can lead to unwanted side effects");
@@ -0,0 +1,89 @@
+package org.vadere.simulator.utils.cache;
+
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.data.cellgrid.MappedCellGrid;
+import org.vadere.util.logging.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Cache of a cell grid floor field which is stored in the format of {@link MappedCellGrid}, i.e. the file
+ * is not parsed but mapped into memory. The file is mapped lazily on the first access of
+ * {@link #getMappedCellGrid()} such that floor fields of targets which are never used are never loaded.
+ */
+public class CellGridMappedCacheObject extends AbstractCacheObject implements ICellGridCacheObject {
+
+	private  static Logger logger = Logger.getLogger(CellGridMappedCacheObject.class);
+
+	private ByteBuffer buffer;
+	private MappedCellGrid mappedCellGrid;
+
+	public CellGridMappedCacheObject(String cacheIdentifier, File cacheLocation){
+		// the file is mapped on demand and not opened as stream.
+		super(cacheIdentifier, cacheLocation, null);
+	}
+
+	public CellGridMappedCacheObject(String cacheIdentifier, File cacheLocation, ByteBuffer buffer) {
+		super(cacheIdentifier, cacheLocation, null);
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Returns the cached floor field backed by the (mapped) cache file. The file is mapped
+	 * on the first call.
+	 *
+	 * @return the cached floor field
+	 * @throws CacheException if the cache can not be mapped
+	 */
+	public synchronized MappedCellGrid getMappedCellGrid() throws CacheException {
+		if (mappedCellGrid == null) {
+			try {
+				if (buffer != null) {
+					mappedCellGrid = MappedCellGrid.wrap(buffer);
+				} else {
+					logger.infof("map cache: %s", getCacheLocation());
+					mappedCellGrid = MappedCellGrid.map(cacheLocation);
+				}
+			} catch (IOException e) {
+				throw new CacheException("Cannot map cache " + getCacheLocation(), e);
+			}
+		}
+		return mappedCellGrid;
+	}
+
+	@Override
+	public void initializeObjectFromCache(CellGrid object) throws CacheException {
+		try {
+			getMappedCellGrid().copyTo(object);
+		} catch (IllegalArgumentException e) {
+			throw new CacheException("Cannot load cache from mapped file", e);
+		}
+	}
+
+	@Override
+	public void persistObject(CellGrid object) throws CacheException {
+		try {
+			logger.infof("write cache: %s", getCacheLocation());
+			MappedCellGrid.write(object, cacheLocation);
+		} catch (Exception e) {
+			logger.errorf("cannot save cache %s", cacheLocation.getAbsolutePath());
+		}
+	}
+
+	@Override
+	public boolean readable() {
+		return buffer != null || (cacheLocation != null && cacheLocation.isFile());
+	}
+
+	@Override
+	public String getCacheLocation() {
+
+		if (cacheLocation != null ){
+			return cacheLocation.getAbsolutePath();
+		} else {
+			return "provided via TraCI";
+		}
+	}
+}
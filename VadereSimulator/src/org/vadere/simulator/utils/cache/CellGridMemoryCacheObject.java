@@ -0,0 +1,68 @@
+package org.vadere.simulator.utils.cache;
+
+import org.vadere.util.data.cellgrid.CellGrid;
+import org.vadere.util.logging.Logger;
+
+/**
+ * Keeps a cell grid floor field in memory such that the cache can be used by multiple simulation runs
+ * in the same process, e.g. by the runs of a batch. The first access loads the floor field via the wrapped
+ * cache object (or remembers the floor field which is persisted), all following accesses copy the floor
+ * field from memory. This is necessary since the wrapped cache objects read their stream only once.
+ */
+public class CellGridMemoryCacheObject implements ICellGridCacheObject {
+
+	private  static Logger logger = Logger.getLogger(CellGridMemoryCacheObject.class);
+
+	private final ICellGridCacheObject cacheObject;
+	private CellGrid cellGrid;
+
+	public CellGridMemoryCacheObject(ICellGridCacheObject cacheObject) {
+		this.cacheObject = cacheObject;
+		this.cellGrid = null;
+	}
+
+	@Override
+	public synchronized void initializeObjectFromCache(CellGrid object) throws CacheException {
+		if (cellGrid == null) {
+			cacheObject.initializeObjectFromCache(object);
+			cellGrid = object.clone();
+		} else {
+			if (object.getNumPointsX() != cellGrid.getNumPointsX() || object.getNumPointsY() != cellGrid.getNumPointsY()) {
+				throw new CacheException("Cannot load cache from memory, the dimension of the grids does not match");
+			}
+
+			logger.infof("read cache from memory: %s", getCacheLocation());
+			for (int row = 0; row < cellGrid.getNumPointsY(); row++) {
+				for (int col = 0; col < cellGrid.getNumPointsX(); col++) {
+					object.setValue(col, row, cellGrid.getValue(col, row).clone());
+				}
+			}
+		}
+	}
+
+	@Override
+	public synchronized void persistObject(CellGrid object) throws CacheException {
+		cellGrid = object.clone();
+		cacheObject.persistObject(object);
+	}
+
+	@Override
+	public synchronized boolean readable() {
+		return cellGrid != null || cacheObject.readable();
+	}
+
+	@Override
+	public boolean writable() {
+		return cacheObject.writable();
+	}
+
+	@Override
+	public String getCacheLocation() {
+		return cacheObject.getCacheLocation();
+	}
+
+	@Override
+	public String getCacheIdentifier() {
+		return cacheObject.getCacheIdentifier();
+	}
+}
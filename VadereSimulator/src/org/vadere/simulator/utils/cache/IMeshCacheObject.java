@@ -1,6 +1,6 @@
 package org.vadere.simulator.utils.cache;
 
-import org.vadere.meshing.mesh.gen.PMesh;
+import org.vadere.meshing.mesh.inter.IMesh;
 
-public interface IMeshCacheObject extends ICacheObject<PMesh> {
+public interface IMeshCacheObject<M extends IMesh<?, ?, ?>> extends ICacheObject<M> {
 }
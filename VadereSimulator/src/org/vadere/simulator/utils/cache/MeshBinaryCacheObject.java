@@ -0,0 +1,91 @@
+package org.vadere.simulator.utils.cache;
+
+import org.vadere.meshing.mesh.gen.AMesh;
+import org.vadere.meshing.mesh.gen.AMeshBinary;
+import org.vadere.util.logging.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Cache of a mesh floor field which is stored in the format of {@link AMeshBinary}, i.e. the file is not parsed
+ * but mapped into memory and the vertex and face data (e.g. the potentials) are copied in bulk into the mesh of the
+ * floor field. The file is mapped lazily on the first access of {@link #getMeshBinary()}.
+ */
+public class MeshBinaryCacheObject extends AbstractCacheObject implements IMeshCacheObject<AMesh> {
+
+	private  static Logger logger = Logger.getLogger(MeshBinaryCacheObject.class);
+
+	private ByteBuffer buffer;
+	private AMeshBinary meshBinary;
+
+	public MeshBinaryCacheObject(String cacheIdentifier, File cacheLocation){
+		// the file is mapped on demand and not opened as stream.
+		super(cacheIdentifier, cacheLocation, null);
+	}
+
+	public MeshBinaryCacheObject(String cacheIdentifier, File cacheLocation, ByteBuffer buffer) {
+		super(cacheIdentifier, cacheLocation, null);
+		this.buffer = buffer;
+	}
+
+	/**
+	 * Returns the cached mesh backed by the (mapped) cache file. The file is mapped on the first call.
+	 *
+	 * @return the cached mesh
+	 * @throws CacheException if the cache can not be mapped
+	 */
+	public synchronized AMeshBinary getMeshBinary() throws CacheException {
+		if (meshBinary == null) {
+			try {
+				if (buffer != null) {
+					meshBinary = AMeshBinary.wrap(buffer);
+				} else {
+					logger.infof("map cache: %s", getCacheLocation());
+					meshBinary = AMeshBinary.map(cacheLocation);
+				}
+			} catch (IOException e) {
+				throw new CacheException("Cannot map cache " + getCacheLocation(), e);
+			}
+		}
+		return meshBinary;
+	}
+
+	/**
+	 * Copies the vertex and face data of the cached mesh into the mesh which has to be equal to the cached mesh.
+	 */
+	@Override
+	public void initializeObjectFromCache(AMesh mesh) throws CacheException {
+		try {
+			getMeshBinary().copyDoubleDataTo(mesh);
+		} catch (IllegalArgumentException e) {
+			throw new CacheException("Cannot load cache from mapped file", e);
+		}
+	}
+
+	@Override
+	public void persistObject(AMesh mesh) throws CacheException {
+		try {
+			logger.infof("write cache: %s", getCacheLocation());
+			AMeshBinary.write(mesh, cacheLocation);
+		} catch (Exception e) {
+			logger.errorf("cannot save cache %s", cacheLocation.getAbsolutePath());
+		}
+	}
+
+	@Override
+	public boolean readable() {
+		return buffer != null || (cacheLocation != null && cacheLocation.isFile());
+	}
+
+	@Override
+	public String getCacheLocation() {
+
+		if (cacheLocation != null ){
+			return cacheLocation.getAbsolutePath();
+		} else {
+			return "provided via TraCI";
+		}
+	}
+}
@@ -20,7 +20,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
 
-public class MeshTxtCacheObject extends AbstractCacheObject implements IMeshCacheObject {
+public class MeshTxtCacheObject extends AbstractCacheObject implements IMeshCacheObject<PMesh> {
 	private  static Logger logger = Logger.getLogger(MeshTxtCacheObject.class);
 
 	public MeshTxtCacheObject(@NotNull final String cacheIdentifier, @NotNull final File cacheLocation){
@@ -14,6 +14,7 @@ import org.vadere.util.logging.Logger;
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.File;
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.HashMap;
@@ -27,6 +28,8 @@ public class ScenarioCache {
 	private static final String Distance_FF = "_distanceFF_";
 	private static final String txt_sufix = ".txt";
 	private static final String bin_sufix = ".ffcache";
+	private static final String mmap_sufix = ".ffmap";
+	private static final String mesh_sufix = ".meshmap";
 
 	private boolean empty;
 	final private Scenario scenario;
@@ -44,6 +47,23 @@ public class ScenarioCache {
 		return new ScenarioCache(scenario, cacheParentDir);
 	}
 
+	/**
+	 * Loads a cache which is shared by multiple simulation runs of scenarios with the same floor field hash
+	 * in the same process. Cell grid floor fields are kept in memory after they are loaded or computed for
+	 * the first time, i.e. the other runs neither solve nor read them again.
+	 */
+	public static ScenarioCache loadShared(final Scenario scenario, Path cacheParentDir){
+		ScenarioCache cache = new ScenarioCache(scenario, cacheParentDir);
+		cache.cacheMap.replaceAll((cacheIdentifier, cacheObject) -> {
+			// the mapped cache is read only and mapped once, i.e. it can be shared as it is.
+			if (cacheObject instanceof ICellGridCacheObject && !(cacheObject instanceof CellGridMappedCacheObject)) {
+				return new CellGridMemoryCacheObject((ICellGridCacheObject) cacheObject);
+			}
+			return cacheObject;
+		});
+		return cache;
+	}
+
 	public static String getHash(final Scenario scenario){
 		Topography topography = scenario.getTopography();
 		AttributesFloorField attFF = scenario.getModelAttributes()
@@ -130,6 +150,9 @@ public class ScenarioCache {
 			if(cacheType == CacheType.TXT_CACHE){
 				file = buildCsvCachePath(cacheIdentifier).toFile();
 				cacheMap.put(cacheIdentifier, new CellGridTxtCacheObject(cacheIdentifier, file));
+			} else if(cacheType == CacheType.MMAP_CACHE){
+				file = buildMmapCachePath(cacheIdentifier).toFile();
+				cacheMap.put(cacheIdentifier, new CellGridMappedCacheObject(cacheIdentifier, file));
 			} else {
 				file = buildBinCachePath(cacheIdentifier).toFile();
 				cacheMap.put(cacheIdentifier, new CellGridBinaryCacheObject(cacheIdentifier, file));
@@ -138,6 +161,9 @@ public class ScenarioCache {
 			if(cacheType == CacheType.TXT_CACHE){
 				file = buildCsvCachePath(cacheIdentifier).toFile();
 				cacheMap.put(cacheIdentifier, new MeshTxtCacheObject(cacheIdentifier, file));
+			} else {
+				file = buildMeshCachePath(cacheIdentifier).toFile();
+				cacheMap.put(cacheIdentifier, new MeshBinaryCacheObject(cacheIdentifier, file));
 			}
 		}
 	}
@@ -150,6 +176,14 @@ public class ScenarioCache {
 		return cachePath.resolve(hash +  floorFieldIdentifier + bin_sufix);
 	}
 
+	private Path buildMmapCachePath(String floorFieldIdentifier){
+		return cachePath.resolve(hash +  floorFieldIdentifier + mmap_sufix);
+	}
+
+	private Path buildMeshCachePath(String floorFieldIdentifier){
+		return cachePath.resolve(hash +  floorFieldIdentifier + mesh_sufix);
+	}
+
 	public String targetToIdentifier(int targetId){
 		return TARGET_FF + targetId;
 	}
@@ -162,6 +196,11 @@ public class ScenarioCache {
 	public ScenarioCache addReadOnlyCache(String cacheIdentifier, ByteArrayInputStream stream){
 		if(empty)
 			throw new IllegalStateException("Empty cache object.");
+		if (!attFF.getCreateMethod().isUsingCellGrid() && attFF.getCacheType() != CacheType.TXT_CACHE) {
+			cacheMap.put(cacheIdentifier, new MeshBinaryCacheObject(cacheIdentifier, null, ByteBuffer.wrap(stream.readAllBytes())));
+			logger.infof("mesh cache loaded for identifier: %s", cacheIdentifier);
+			return this;
+		}
 		switch (attFF.getCacheType()) {
 			case BIN_CACHE:
 				cacheMap.put(cacheIdentifier, new CellGridBinaryCacheObject(cacheIdentifier, null, new DataInputStream(new FastBufferedInputStream(stream))));
@@ -171,8 +210,12 @@ public class ScenarioCache {
 				cacheMap.put(cacheIdentifier, new CellGridTxtCacheObject(cacheIdentifier, null, stream));
 				logger.infof("csv cache loaded for identifier: %s", cacheIdentifier);
 				break;
+			case MMAP_CACHE:
+				cacheMap.put(cacheIdentifier, new CellGridMappedCacheObject(cacheIdentifier, null, ByteBuffer.wrap(stream.readAllBytes())));
+				logger.infof("mmap cache loaded for identifier: %s", cacheIdentifier);
+				break;
 			default:
-				throw new IllegalStateException("Must be either CSV or BIN cache");
+				throw new IllegalStateException("Must be either CSV, BIN or MMAP cache");
 		}
 		return this;
 	}
@@ -209,4 +252,11 @@ public class ScenarioCache {
 	public boolean isNotEmpty(){
 		return  !empty;
 	}
+
+	/**
+	 * Returns true if all floor fields of the cache can be read, i.e. no floor field has to be computed.
+	 */
+	public boolean isReadable(){
+		return !empty && cacheMap.values().stream().allMatch(ICacheObject::readable);
+	}
 }
@@ -0,0 +1,75 @@
+package org.vadere.simulator.control;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.vadere.simulator.control.scenarioelements.TargetController;
+import org.vadere.state.attributes.scenario.AttributesAgent;
+import org.vadere.state.attributes.scenario.AttributesTarget;
+import org.vadere.state.scenario.Pedestrian;
+import org.vadere.state.scenario.Target;
+import org.vadere.state.scenario.Topography;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TargetControllerTest {
+
+	private Topography topography;
+	private Target target;
+	private Random random;
+
+	@Before
+	public void setUp() {
+		random = new Random(0);
+		topography = new Topography();
+		target = new Target(new AttributesTarget(new VRectangle(7, 1, 2, 2), 1, true));
+		topography.addTarget(target);
+	}
+
+	private Pedestrian createPedestrianOnTarget(final int id) {
+		Pedestrian pedestrian = new Pedestrian(new AttributesAgent(id), random);
+		pedestrian.setPosition(new VPoint(8, 2));
+		pedestrian.setTargets(new LinkedList<>(List.of(target.getId())));
+		return pedestrian;
+	}
+
+	/**
+	 * A ghost is a pedestrian simulated by the neighbouring domain, which stands on a target of this domain.
+	 * It is visible to the spatial queries but it must neither reach nor be absorbed by the target.
+	 */
+	@Test
+	public void testGhostOnTargetIsNotAbsorbed() {
+		Pedestrian pedestrian = createPedestrianOnTarget(1);
+		Pedestrian ghost = createPedestrianOnTarget(2);
+		topography.addElement(pedestrian);
+		topography.addGhost(ghost);
+
+		assertTrue(topography.isGhost(ghost));
+		assertFalse(topography.isGhost(pedestrian));
+		assertEquals(List.of(pedestrian), List.copyOf(topography.getElements(Pedestrian.class)));
+		assertEquals(2, topography.getSpatialMap(Pedestrian.class).getObjects(new VPoint(8, 2), 1.0).size());
+
+		// the first update registers the arrival, the second one absorbs the pedestrian
+		TargetController controller = new TargetController(topography, target, random);
+		controller.update(0.0);
+		controller.update(0.4);
+
+		assertNull(topography.getPedestrianDynamicElements().getElement(pedestrian.getId()));
+		assertTrue(topography.isGhost(ghost));
+		assertFalse(target.getLeavingTimes().containsKey(ghost.getId()));
+		assertEquals(List.of(target.getId()), ghost.getTargets());
+		assertEquals(1, topography.getSpatialMap(Pedestrian.class).getObjects(new VPoint(8, 2), 1.0).size());
+
+		topography.removeGhosts(Pedestrian.class);
+		assertFalse(topography.isGhost(ghost));
+		assertTrue(topography.getSpatialMap(Pedestrian.class).getObjects(new VPoint(8, 2), 1.0).isEmpty());
+	}
+}
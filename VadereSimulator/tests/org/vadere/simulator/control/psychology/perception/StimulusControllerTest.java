@@ -504,6 +504,51 @@ public class StimulusControllerTest {
     }
 
 
+    @Test
+    public void getStimuliEqualsGetStimuliFilteredForEachPedestrian() {
+        Random random = new Random(0);
+        List<StimulusInfo> stimulusInfos = new ArrayList<>();
+
+        for (int i = 0; i < 40; i++) {
+            boolean isRecurring = i % 3 == 0;
+            double startTime = random.nextInt(10);
+            StimulusInfo stimulusInfo = getStimulusInfo(new Timeframe(startTime, startTime + 1 + random.nextInt(5), isRecurring, 2),
+                    new Wait(), new Threat());
+
+            // some stimuli are perceived everywhere, some only by some pedestrians
+            if (i % 4 != 0) {
+                VPoint center = new VPoint(random.nextDouble() * 30, random.nextDouble() * 30);
+                stimulusInfo.setLocation(new Location(i % 2 == 0
+                        ? new VCircle(center, 1 + random.nextDouble() * 5)
+                        : new VRectangle(center.x, center.y, random.nextDouble() * 10, random.nextDouble() * 10)));
+            }
+            if (i % 5 == 0) {
+                stimulusInfo.setSubpopulationFilter(new SubpopulationFilter(new LinkedList<>(Arrays.asList(1, 2, 3, 5, 8, 13))));
+            }
+            stimulusInfos.add(stimulusInfo);
+        }
+
+        StimulusController stimulusController = new StimulusController(getScenarioStore(getStimulusInfoStore(stimulusInfos)));
+
+        List<Pedestrian> pedestrians = createPedestrians(200);
+        pedestrians.forEach(pedestrian -> pedestrian.setPosition(new VPoint(random.nextDouble() * 40 - 5, random.nextDouble() * 40 - 5)));
+
+        for (double simulationTime = 0; simulationTime < 20; simulationTime += 0.4) {
+            HashMap<Pedestrian, List<Stimulus>> pedSpecificStimuli = stimulusController.getStimuli(simulationTime, pedestrians);
+
+            assertEquals(pedestrians.size(), pedSpecificStimuli.size());
+            for (Pedestrian pedestrian : pedestrians) {
+                List<Stimulus> expected = stimulusController.getStimuliFiltered(simulationTime, pedestrian.getPosition(), pedestrian.getId());
+                List<Stimulus> actual = pedSpecificStimuli.get(pedestrian);
+
+                assertEquals(expected.size(), actual.size());
+                assertTrue(actual.get(0) instanceof ElapsedTime);
+                assertEquals(expected.subList(1, expected.size()), actual.subList(1, actual.size()));
+            }
+        }
+    }
+
+
 
 
     private void assertTimeStamp(List<Stimulus> stimuli, double simTime){
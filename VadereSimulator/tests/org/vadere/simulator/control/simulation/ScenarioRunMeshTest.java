@@ -0,0 +1,88 @@
+package org.vadere.simulator.control.simulation;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.vadere.meshing.mesh.gen.AFace;
+import org.vadere.meshing.mesh.gen.AHalfEdge;
+import org.vadere.meshing.mesh.gen.AMesh;
+import org.vadere.meshing.mesh.gen.AMeshBinary;
+import org.vadere.meshing.mesh.gen.AVertex;
+import org.vadere.meshing.mesh.inter.IIncrementalTriangulation;
+import org.vadere.meshing.mesh.inter.IPointLocator;
+import org.vadere.meshing.utils.io.poly.MeshPolyWriter;
+import org.vadere.util.geometry.shapes.IPoint;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ScenarioRunMeshTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path meshDir;
+	private File polyFile;
+	private File binaryFile;
+
+	@Before
+	public void setUp() throws IOException {
+		meshDir = folder.newFolder("meshes").toPath();
+		polyFile = meshDir.resolve("scenario.poly").toFile();
+		binaryFile = meshDir.resolve("scenario" + AMeshBinary.FILE_ENDING).toFile();
+	}
+
+	private static AMesh createMesh(final int numberOfPoints) {
+		Random random = new Random(0);
+		List<IPoint> points = new ArrayList<>();
+		for (int i = 0; i < numberOfPoints; i++) {
+			points.add(new VPoint(1 + random.nextDouble() * 8, 1 + random.nextDouble() * 8));
+		}
+		IIncrementalTriangulation<AVertex, AHalfEdge, AFace> triangulation =
+				IIncrementalTriangulation.createATriangulation(IPointLocator.Type.BASE, new VRectangle(0, 0, 10, 10));
+		triangulation.insert(points);
+		triangulation.finish();
+		return (AMesh) triangulation.getMesh();
+	}
+
+	private void writePoly(final AMesh mesh) throws IOException {
+		MeshPolyWriter<AVertex, AHalfEdge, AFace> meshWriter = new MeshPolyWriter<>();
+		Files.write(polyFile.toPath(), meshWriter.to2DPoly(mesh).getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	public void testLoadBinaryMeshIfNotOlder() throws IOException {
+		writePoly(createMesh(10));
+		AMeshBinary.write(createMesh(20), binaryFile);
+		assertTrue(binaryFile.setLastModified(polyFile.lastModified()));
+
+		assertEquals(20, ScenarioRun.loadMesh(meshDir, "scenario").get().getNumberOfVertices());
+	}
+
+	@Test
+	public void testLoadPolyMeshIfBinaryMeshIsOutdated() throws IOException {
+		AMeshBinary.write(createMesh(20), binaryFile);
+		writePoly(createMesh(10));
+		assertTrue(binaryFile.setLastModified(polyFile.lastModified() - 10000));
+
+		assertEquals(10, ScenarioRun.loadMesh(meshDir, "scenario").get().getNumberOfVertices());
+	}
+
+	@Test
+	public void testLoadWithoutMesh() {
+		assertFalse(ScenarioRun.loadMesh(meshDir, "scenario").isPresent());
+	}
+}
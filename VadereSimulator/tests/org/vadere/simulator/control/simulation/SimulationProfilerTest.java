@@ -0,0 +1,137 @@
+package org.vadere.simulator.control.simulation;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.vadere.simulator.models.Model;
+import org.vadere.util.profiling.PerformanceCounter;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class SimulationProfilerTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private static void busyWait(long nanos) {
+		long end = System.nanoTime() + nanos;
+		while (System.nanoTime() < end) {
+			Thread.onSpinWait();
+		}
+	}
+
+	private static StepProfile profileStep(SimulationProfiler profiler, int step, Model model) {
+		profiler.beginStep(step);
+
+		long start = profiler.start();
+		busyWait(1_000_000);
+		start = profiler.stop(SimulationPhase.PSYCHOLOGY_LAYER, start);
+
+		long modelStart = profiler.start();
+		for (int i = 0; i < 10; i++) {
+			profiler.getCounters().increment(PerformanceCounter.NEIGHBOR_QUERIES);
+		}
+		profiler.getCounters().increment(PerformanceCounter.OPTIMIZER_EVALUATIONS);
+		busyWait(2_000_000);
+		profiler.stopModel(model, modelStart);
+		profiler.stop(SimulationPhase.LOCOMOTION_LAYER, start);
+
+		return profiler.endStep(step * 0.4, 3);
+	}
+
+	@Test
+	public void testStepProfileContainsPhasesModelsAndCounters() {
+		SimulationProfiler profiler = new SimulationProfiler("test");
+		profiler.setCountingRequested(true);
+		Model model = mock(Model.class);
+		assertNull(profiler.getLastProfile());
+
+		profileStep(profiler, 1, model);
+		StepProfile profile = profileStep(profiler, 2, model);
+
+		assertEquals(profile, profiler.getLastProfile());
+		assertEquals(2, profile.getStep());
+		assertEquals(2, profiler.getNumberOfSteps());
+		assertEquals(10, profile.getNeighborQueries());
+		assertEquals(1, profile.getOptimizerEvaluations());
+
+		// the times of a step do not accumulate the times of the previous steps
+		assertTrue(profile.getPhaseTimeInMs(SimulationPhase.PSYCHOLOGY_LAYER) >= 1.0);
+		assertTrue(profile.getPhaseTimeInMs(SimulationPhase.LOCOMOTION_LAYER) >= 2.0);
+		assertTrue(profile.getPhaseTimeInMs(SimulationPhase.LOCOMOTION_LAYER) < profile.getDurationInMs());
+		assertEquals(0.0, profile.getPhaseTimeInMs(SimulationPhase.OUTPUT_PROCESSORS), 0.0);
+
+		long modelNanos = profile.getModelTimesInNanos().get(model.getClass().getSimpleName());
+		assertTrue(modelNanos >= 2_000_000);
+		assertTrue(modelNanos <= profile.getPhaseTimeInMs(SimulationPhase.LOCOMOTION_LAYER) * 1e6);
+	}
+
+	@Test
+	public void testCountersAreOwnedByTheProfilerAndOnlyCountIfRequested() {
+		SimulationProfiler profiler = new SimulationProfiler("test");
+		SimulationProfiler otherProfiler = new SimulationProfiler("other");
+		otherProfiler.setCountingRequested(true);
+		Model model = mock(Model.class);
+
+		// the operations of a step are not counted if the counting is not requested
+		StepProfile profile = profileStep(profiler, 1, model);
+		assertEquals(0, profile.getNeighborQueries());
+		assertEquals(0, profile.getOptimizerEvaluations());
+
+		// the steps of another simulation do not change the counters of the profiler
+		otherProfiler.beginStep(1);
+		profiler.setCountingRequested(true);
+		profile = profileStep(profiler, 2, model);
+		otherProfiler.getCounters().increment(PerformanceCounter.NEIGHBOR_QUERIES);
+		StepProfile otherProfile = otherProfiler.endStep(0.4, 1);
+
+		assertEquals(10, profile.getNeighborQueries());
+		assertEquals(1, otherProfile.getNeighborQueries());
+		assertEquals(0, otherProfile.getOptimizerEvaluations());
+	}
+
+	@Test
+	public void testJfrEventsAreCommitted() throws Exception {
+		SimulationProfiler profiler = new SimulationProfiler("test");
+		Model model = mock(Model.class);
+		Path file = folder.getRoot().toPath().resolve("profile.jfr");
+
+		try (Recording recording = new Recording()) {
+			recording.enable("org.vadere.SimulationStep");
+			recording.enable("org.vadere.SimulationPhase");
+			recording.start();
+			profileStep(profiler, 1, model);
+			recording.stop();
+			recording.dump(file);
+		}
+
+		// the enabled step event enables the counting without a request
+		List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+		List<RecordedEvent> stepEvents = events.stream()
+				.filter(event -> event.getEventType().getName().equals("org.vadere.SimulationStep"))
+				.collect(Collectors.toList());
+		List<RecordedEvent> phaseEvents = events.stream()
+				.filter(event -> event.getEventType().getName().equals("org.vadere.SimulationPhase"))
+				.collect(Collectors.toList());
+
+		assertEquals(1, stepEvents.size());
+		assertEquals(1, stepEvents.get(0).getInt("step"));
+		assertEquals(10, stepEvents.get(0).getLong("neighborQueries"));
+		assertTrue(stepEvents.get(0).getDuration().toNanos() >= 3_000_000);
+
+		// two phases and one model
+		assertEquals(3, phaseEvents.size());
+		assertTrue(phaseEvents.stream().anyMatch(event -> "locomotionLayer".equals(event.getString("phase"))
+				&& event.getString("model") != null));
+	}
+}
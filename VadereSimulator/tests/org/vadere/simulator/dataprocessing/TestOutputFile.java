@@ -6,17 +6,35 @@ import org.vadere.simulator.models.MainModel;
 import org.vadere.simulator.models.MainModelBuilder;
 import org.vadere.simulator.projects.Scenario;
 import org.vadere.simulator.projects.dataprocessing.ProcessorManager;
+import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.simulator.projects.dataprocessing.datakey.NoDataKey;
+import org.vadere.simulator.projects.dataprocessing.datakey.TimestepKey;
+import org.vadere.simulator.projects.dataprocessing.outputfile.NoDataKeyOutputFile;
 import org.vadere.simulator.projects.dataprocessing.outputfile.OutputFile;
+import org.vadere.simulator.projects.dataprocessing.outputfile.TimestepOutputFile;
+import org.vadere.simulator.projects.dataprocessing.processor.DataProcessor;
+import org.vadere.simulator.projects.dataprocessing.writer.OutputFormat;
+import org.vadere.simulator.projects.dataprocessing.writer.VadereStringWriter;
+import org.vadere.simulator.projects.dataprocessing.writer.VadereWriter;
+import org.vadere.simulator.projects.dataprocessing.writer.VadereWriterFactory;
 import org.vadere.simulator.projects.io.JsonConverter;
+import org.vadere.simulator.projects.io.TrajectoryReader;
 import org.vadere.state.scenario.Topography;
 import org.vadere.util.io.IOUtils;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+import tech.tablesaw.api.Table;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class TestOutputFile {
 
@@ -78,5 +96,181 @@ public class TestOutputFile {
 		assertTrue(header.contains(OutputFile.addHeaderProcInfo("y", 2)));
 	}
 
+	/**
+	 * Rows written while streaming are removed from the processors and the final file contains
+	 * all rows in the correct order.
+	 */
+	@Test
+	public void testStreamingWritesAllRowsInOrder() {
+		List<VadereStringWriter> writers = new ArrayList<>();
+		TimestepOutputFile outputFile = new TimestepOutputFile();
+		outputFile.setVadereWriterFactory(new VadereWriterFactory() {
+			@Override
+			public VadereWriter create(String path) {
+				VadereStringWriter writer = new VadereStringWriter();
+				writers.add(writer);
+				return writer;
+			}
+		});
+		outputFile.setSeparator(" ");
+		outputFile.setStreaming(true);
+		outputFile.setProcessorIds(Collections.singletonList(1));
+
+		StepProcessor processor = new StepProcessor();
+		processor.setId(1);
+		outputFile.init(Collections.singletonMap(1, processor));
+		assertTrue(outputFile.isStreaming());
+
+		for (int step = 1; step <= 10; step++) {
+			processor.putStep(step);
+		}
+
+		outputFile.writeRowsBefore(6);
+		outputFile.removeRowsBefore(6);
+		assertEquals(5, processor.getKeys().size());
+		assertFalse(processor.hasValue(new TimestepKey(5)));
+
+		outputFile.write();
+		assertEquals(1, writers.size());
+
+		List<String> lines = writers.get(0).getOutput();
+		assertEquals(11, lines.size());
+		for (int step = 1; step <= 10; step++) {
+			assertEquals(step + " " + step * 2, lines.get(step));
+		}
+	}
+
+	/**
+	 * A columnar file is written while streaming and read back with typed columns.
+	 */
+	@Test
+	public void testColumnarFormat() throws IOException {
+		File file = File.createTempFile("steps", ".txt");
+		file.deleteOnExit();
+
+		TimestepOutputFile outputFile = new TimestepOutputFile();
+		outputFile.setAbsoluteFileName(file.getAbsolutePath());
+		outputFile.setSeparator(" ");
+		outputFile.setStreaming(true);
+		outputFile.setFormat(OutputFormat.COLUMNAR_COMPRESSED);
+		outputFile.setProcessorIds(Collections.singletonList(1));
+
+		StepProcessor processor = new StepProcessor();
+		processor.setId(1);
+		outputFile.init(Collections.singletonMap(1, processor));
+
+		for (int step = 1; step <= 10; step++) {
+			processor.putStep(step);
+		}
+		outputFile.writeRowsBefore(6);
+		outputFile.removeRowsBefore(6);
+		outputFile.write();
+
+		Table table = new TrajectoryReader(file.toPath()).readFile();
+		assertEquals(10, table.rowCount());
+		for (int step = 1; step <= 10; step++) {
+			assertEquals(step, table.intColumn(0).getInt(step - 1));
+			assertEquals(step * 2, table.intColumn(1).getInt(step - 1));
+		}
+	}
+
+	/**
+	 * A processor which is used by another processor is not streamed, i.e. the dependent processor
+	 * computes the same result with and without streaming.
+	 */
+	@Test
+	public void testStreamingKeepsProcessorsUsedByOtherProcessors() {
+		List<String> written = runDependentProcessors(false);
+		List<String> streamed = runDependentProcessors(true);
+
+		// header and the sum of 2 * step over all steps
+		assertEquals(List.of(OutputFile.addHeaderProcInfo("sum", 2), Integer.toString(250 * 251)), written.subList(written.size() - 2, written.size()));
+		assertEquals(written, streamed);
+	}
+
+	private static List<String> runDependentProcessors(final boolean streaming) {
+		List<VadereStringWriter> writers = new ArrayList<>();
+		VadereWriterFactory writerFactory = new VadereWriterFactory() {
+			@Override
+			public VadereWriter create(String path) {
+				VadereStringWriter writer = new VadereStringWriter();
+				writers.add(writer);
+				return writer;
+			}
+		};
+
+		TimestepOutputFile stepFile = new TimestepOutputFile();
+		stepFile.setRelativeFileName("steps.txt");
+		stepFile.setVadereWriterFactory(writerFactory);
+		stepFile.setSeparator(" ");
+		stepFile.setStreaming(streaming);
+		stepFile.setProcessorIds(Collections.singletonList(1));
+
+		NoDataKeyOutputFile sumFile = new NoDataKeyOutputFile();
+		sumFile.setRelativeFileName("sum.txt");
+		sumFile.setVadereWriterFactory(writerFactory);
+		sumFile.setSeparator(" ");
+		sumFile.setProcessorIds(Collections.singletonList(2));
+
+		StepProcessor stepProcessor = new StepProcessor();
+		stepProcessor.setId(1);
+		SumProcessor sumProcessor = new SumProcessor();
+		sumProcessor.setId(2);
+
+		ProcessorManager manager = new ProcessorManager(List.of(stepProcessor, sumProcessor), List.of(stepFile, sumFile), null, null);
+		manager.initOutputFiles();
+		assertEquals(streaming, stepFile.isStreaming());
+
+		SimulationState state = mock(SimulationState.class);
+		manager.preLoop(state);
+		for (int step = 1; step <= 250; step++) {
+			when(state.getStep()).thenReturn(step);
+			manager.update(state);
+		}
+		manager.postLoop(state);
+		manager.writeOutput();
+
+		List<String> lines = new ArrayList<>();
+		writers.forEach(writer -> lines.addAll(writer.getOutput()));
+		return lines;
+	}
+
+	private static class StepProcessor extends DataProcessor<TimestepKey, Integer> {
+
+		StepProcessor() {
+			super("value");
+		}
+
+		void putStep(final int step) {
+			putValue(new TimestepKey(step), step * 2);
+		}
+
+		@Override
+		protected void doUpdate(final SimulationState state) {
+			putStep(state.getStep());
+		}
+	}
+
+	private static class SumProcessor extends DataProcessor<NoDataKey, Integer> {
+
+		private StepProcessor stepProcessor;
 
+		SumProcessor() {
+			super("sum");
+		}
+
+		@Override
+		public void init(final ProcessorManager manager) {
+			super.init(manager);
+			stepProcessor = (StepProcessor) manager.getProcessor(1);
+		}
+
+		@Override
+		protected void doUpdate(final SimulationState state) {}
+
+		@Override
+		public void postLoop(final SimulationState state) {
+			putValue(NoDataKey.key(), stepProcessor.getValues().stream().mapToInt(Integer::intValue).sum());
+		}
+	}
 }
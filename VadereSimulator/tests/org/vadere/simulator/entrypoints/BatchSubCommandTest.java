@@ -0,0 +1,112 @@
+package org.vadere.simulator.entrypoints;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.vadere.simulator.entrypoints.cmd.commands.BatchSubCommand;
+import org.vadere.simulator.utils.reflection.TestResourceHandlerScenario;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BatchSubCommandTest implements TestResourceHandlerScenario {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Override
+	public Path getTestDir() {
+		return getPathFromResources("/data/cache");
+	}
+
+	@Test
+	public void testReadManifest() throws IOException {
+		Path manifest = folder.getRoot().toPath().resolve("batch.txt");
+		Files.write(manifest, Arrays.asList("# comment", "", "a.scenario", "  sub/b.scenario 3  "));
+
+		List<BatchSubCommand.BatchEntry> entries = BatchSubCommand.readManifest(manifest, 2);
+
+		assertEquals(2, entries.size());
+		assertEquals(folder.getRoot().toPath().resolve("a.scenario").toAbsolutePath(), entries.get(0).getScenarioFile());
+		assertEquals(2, entries.get(0).getReplications());
+		assertEquals(folder.getRoot().toPath().resolve("sub/b.scenario").toAbsolutePath(), entries.get(1).getScenarioFile());
+		assertEquals(3, entries.get(1).getReplications());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testReadInvalidManifest() throws IOException {
+		Path manifest = folder.getRoot().toPath().resolve("batch.txt");
+		Files.write(manifest, Arrays.asList("a.scenario many"));
+		BatchSubCommand.readManifest(manifest, 1);
+	}
+
+	@Test
+	public void testRunBatchSharesCache() throws IOException {
+		Path scenarioFile = folder.getRoot().toPath().resolve("s002.scenario");
+		Files.copy(getRelativeTestPath("s002.scenario"), scenarioFile);
+		Path outputDir = folder.newFolder("output").toPath();
+
+		int failedRuns = BatchSubCommand.runBatch(List.of(new BatchSubCommand.BatchEntry(scenarioFile, 3)), outputDir, 2);
+
+		assertEquals(0, failedRuns);
+		for (int replication = 0; replication < 3; replication++) {
+			assertTrue(outputDir.resolve("s002_" + replication).resolve("postvis.trajectories").toFile().isFile());
+		}
+
+		// the floor fields of both targets and the distance field are computed by the first run
+		try (Stream<Path> files = Files.walk(folder.getRoot().toPath().resolve("__cache__"))) {
+			assertEquals(3, files.map(Path::toFile).filter(File::isFile).count());
+		}
+	}
+
+	@Test
+	public void testReplicationSeeds() throws IOException {
+		Path scenarioFile = folder.getRoot().toPath().resolve("s002.scenario");
+		String json = new String(Files.readAllBytes(getRelativeTestPath("s002.scenario")), StandardCharsets.UTF_8)
+				.replace("\"finishTime\" : 50.0", "\"finishTime\" : 1.0");
+		Files.write(scenarioFile, json.getBytes(StandardCharsets.UTF_8));
+
+		// fixed seeds are shifted by the replication
+		Path fixedOutputDir = folder.newFolder("fixed").toPath();
+		assertEquals(0, BatchSubCommand.runBatch(List.of(new BatchSubCommand.BatchEntry(scenarioFile, 2)), fixedOutputDir, 2));
+		assertEquals(183115877309837713L, simulationSeed(fixedOutputDir.resolve("s002_0")));
+		assertEquals(183115877309837714L, simulationSeed(fixedOutputDir.resolve("s002_1")));
+
+		// without a fixed seed all replications draw a random seed
+		Files.write(scenarioFile, json.replace("\"useFixedSeed\" : true", "\"useFixedSeed\" : false").getBytes(StandardCharsets.UTF_8));
+		Path randomOutputDir = folder.newFolder("random").toPath();
+		assertEquals(0, BatchSubCommand.runBatch(List.of(new BatchSubCommand.BatchEntry(scenarioFile, 2)), randomOutputDir, 2));
+		for (int replication = 0; replication < 2; replication++) {
+			Path outputDir = randomOutputDir.resolve("s002_" + replication);
+			assertEquals(183115877309837713L, fixedSeed(outputDir));
+			assertNotEquals(183115877309837713L + replication, simulationSeed(outputDir));
+		}
+	}
+
+	private static long simulationSeed(final Path outputDir) throws IOException {
+		return readLong(outputDir, "simulationSeed");
+	}
+
+	private static long fixedSeed(final Path outputDir) throws IOException {
+		return readLong(outputDir, "fixedSeed");
+	}
+
+	private static long readLong(final Path outputDir, final String attribute) throws IOException {
+		String json = new String(Files.readAllBytes(outputDir.resolve("s002.scenario")), StandardCharsets.UTF_8);
+		Matcher matcher = Pattern.compile("\"" + attribute + "\" : (-?\\d+)").matcher(json);
+		assertTrue(matcher.find());
+		return Long.parseLong(matcher.group(1));
+	}
+}
@@ -1,7 +1,9 @@
 package org.vadere.simulator.imageprocessing;
 
 import org.junit.Before;
+import org.junit.Test;
 import org.vadere.simulator.dataprocessing.CreatePoints;
+import org.vadere.simulator.models.density.IGaussianFilter;
 import org.vadere.state.attributes.scenario.AttributesAgent;
 import org.vadere.state.scenario.Pedestrian;
 import org.vadere.util.geometry.shapes.VPoint;
@@ -10,7 +12,9 @@ import org.vadere.util.geometry.shapes.VRectangle;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.Random;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -100,6 +104,107 @@ public class TestPedestrianGaussianFilter {
 		 */
 //	}
 
+	/**
+	 * The filter only updates the splats of pedestrians which moved, the result has to be equal to a filter
+	 * which splats all pedestrians from scratch.
+	 */
+	@Test
+	public void testIncrementalSplattingEqualsFullSplatting() {
+		Random random = new Random(1);
+		List<Pedestrian> pedestrians = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			Pedestrian pedestrian = new Pedestrian(new AttributesAgent(i + 1), random);
+			pedestrian.setPosition(new VPoint(1 + random.nextDouble() * 8, 1 + random.nextDouble() * 8));
+			pedestrians.add(pedestrian);
+		}
+
+		IGaussianFilter filter = IGaussianFilter.create(topographyBounds, pedestrians, 5, 0.7,
+				new AttributesAgent(-1), ped -> 1.0, IGaussianFilter.Type.NativeJava);
+		filter.filterImage();
+
+		// move some pedestrians, remove one and add one
+		for (int i = 0; i < 10; i++) {
+			Pedestrian pedestrian = pedestrians.get(random.nextInt(pedestrians.size()));
+			pedestrian.setPosition(pedestrian.getPosition().add(new VPoint(0.3, -0.2)));
+		}
+		pedestrians.remove(7);
+		Pedestrian newPedestrian = new Pedestrian(new AttributesAgent(100), random);
+		newPedestrian.setPosition(new VPoint(5.05, 5.05));
+		pedestrians.add(newPedestrian);
+		filter.filterImage();
+
+		IGaussianFilter expectedFilter = IGaussianFilter.create(topographyBounds, pedestrians, 5, 0.7,
+				new AttributesAgent(-1), ped -> 1.0, IGaussianFilter.Type.NativeJava);
+		expectedFilter.filterImage();
+
+		for (int x = 0; x < filter.getMatrixWidth(); x++) {
+			for (int y = 0; y < filter.getMatrixHeight(); y++) {
+				assertEquals(expectedFilter.getInputValue(x, y), filter.getInputValue(x, y), 1e-6);
+				assertEquals(expectedFilter.getFilteredValue(x, y), filter.getFilteredValue(x, y), 1e-6);
+			}
+		}
+	}
+
+	/**
+	 * Pedestrians which share a grid point overwrite each other, i.e. the input is equal to the input of
+	 * the last of these pedestrians.
+	 */
+	@Test
+	public void testPedestriansSharingGridPoints() {
+		Random random = new Random(1);
+		Pedestrian pedestrian = new Pedestrian(new AttributesAgent(1), random);
+		pedestrian.setPosition(new VPoint(5.03, 5.07));
+		IGaussianFilter expectedFilter = IGaussianFilter.create(topographyBounds, List.of(pedestrian), 5, 0.7,
+				new AttributesAgent(-1), ped -> 1.0, IGaussianFilter.Type.NativeJava);
+		expectedFilter.filterImage();
+
+		Pedestrian otherPedestrian = new Pedestrian(new AttributesAgent(2), random);
+		otherPedestrian.setPosition(new VPoint(5.03, 5.07));
+		IGaussianFilter filter = IGaussianFilter.create(topographyBounds, List.of(pedestrian, otherPedestrian), 5, 0.7,
+				new AttributesAgent(-1), ped -> 1.0, IGaussianFilter.Type.NativeJava);
+		filter.filterImage();
+
+		for (int x = 0; x < filter.getMatrixWidth(); x++) {
+			for (int y = 0; y < filter.getMatrixHeight(); y++) {
+				assertEquals(expectedFilter.getInputValue(x, y), filter.getInputValue(x, y), 1e-12);
+			}
+		}
+		assertTrue(filter.getInputValue(filter.toFloorXIndex(5.03), filter.toFloorYIndex(5.07)) > 0);
+	}
+
+	/**
+	 * If the last of two pedestrians sharing grid points moves away, the shared grid points have to be set to the
+	 * splat of the remaining pedestrian again.
+	 */
+	@Test
+	public void testMovingPedestrianRestoresSharedGridPoints() {
+		Random random = new Random(1);
+		Pedestrian pedestrian = new Pedestrian(new AttributesAgent(1), random);
+		pedestrian.setPosition(new VPoint(5.03, 5.07));
+		Pedestrian otherPedestrian = new Pedestrian(new AttributesAgent(2), random);
+		otherPedestrian.setPosition(new VPoint(5.11, 5.02));
+		List<Pedestrian> pedestrians = List.of(pedestrian, otherPedestrian);
+
+		IGaussianFilter filter = IGaussianFilter.create(topographyBounds, pedestrians, 5, 0.7,
+				new AttributesAgent(-1), ped -> 1.0, IGaussianFilter.Type.NativeJava);
+		filter.filterImage();
+
+		otherPedestrian.setPosition(new VPoint(7.5, 2.5));
+		filter.filterImage();
+
+		IGaussianFilter expectedFilter = IGaussianFilter.create(topographyBounds, pedestrians, 5, 0.7,
+				new AttributesAgent(-1), ped -> 1.0, IGaussianFilter.Type.NativeJava);
+		expectedFilter.filterImage();
+
+		for (int x = 0; x < filter.getMatrixWidth(); x++) {
+			for (int y = 0; y < filter.getMatrixHeight(); y++) {
+				assertEquals(expectedFilter.getInputValue(x, y), filter.getInputValue(x, y), 1e-12);
+				assertEquals(expectedFilter.getFilteredValue(x, y), filter.getFilteredValue(x, y), 1e-6);
+			}
+		}
+		assertTrue(filter.getInputValue(filter.toFloorXIndex(5.03), filter.toFloorYIndex(5.07)) > 0);
+	}
+
 	private static double calculateExactDensity(final VPoint point, final Collection<Pedestrian> pedestrians,
 			final double standardDerivation) {
 		return pedestrians.stream().map(ped -> ped.getPosition())
@@ -0,0 +1,107 @@
+package org.vadere.simulator.models.ode;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.vadere.util.geometry.PointPositioned;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class VerletNeighborListTest {
+
+	private static final double cutoff = 1.5;
+	private static final double skin = 0.5;
+
+	private final VRectangle bounds = new VRectangle(0, 0, 20, 20);
+	private List<MovablePoint> points;
+	private Random random;
+
+	private static class MovablePoint implements PointPositioned {
+		private VPoint position;
+
+		MovablePoint(VPoint position) {
+			this.position = position;
+		}
+
+		@Override
+		public VPoint getPosition() {
+			return position;
+		}
+	}
+
+	@Before
+	public void setUp() {
+		random = new Random(0);
+		points = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			points.add(new MovablePoint(new VPoint(random.nextDouble() * 20, random.nextDouble() * 20)));
+		}
+	}
+
+	@Test
+	public void testNeighborsEqualSpatialQueryWhileListsAreReused() {
+		VerletNeighborList<MovablePoint> neighborList = new VerletNeighborList<>(cutoff, skin);
+		assertTrue(neighborList.update(points, () -> points, bounds));
+
+		// moves which stay below half of the skin do not require a rebuild
+		move(skin / 8);
+		assertFalse(neighborList.update(points, () -> points, bounds));
+		move(skin / 8);
+		assertFalse(neighborList.update(points, () -> points, bounds));
+		assertEquals(1, neighborList.getNumberOfRebuilds());
+
+		assertNeighborsEqualSpatialQuery(neighborList);
+	}
+
+	@Test
+	public void testListsAreRebuiltAfterLargeMoves() {
+		VerletNeighborList<MovablePoint> neighborList = new VerletNeighborList<>(cutoff, skin);
+		neighborList.update(points, () -> points, bounds);
+
+		points.get(7).position = points.get(7).position.add(new VPoint(skin, 0));
+		assertTrue(neighborList.update(points, () -> points, bounds));
+		assertNeighborsEqualSpatialQuery(neighborList);
+
+		// other centers require a rebuild
+		points.remove(3);
+		assertTrue(neighborList.update(points, () -> points, bounds));
+		assertNeighborsEqualSpatialQuery(neighborList);
+
+		neighborList.invalidate();
+		assertTrue(neighborList.update(points, () -> points, bounds));
+		assertEquals(4, neighborList.getNumberOfRebuilds());
+	}
+
+	private void move(double maxDistance) {
+		for (MovablePoint point : points) {
+			double angle = random.nextDouble() * 2 * Math.PI;
+			double distance = random.nextDouble() * maxDistance;
+			point.position = point.position.add(new VPoint(Math.cos(angle) * distance, Math.sin(angle) * distance));
+		}
+	}
+
+	private void assertNeighborsEqualSpatialQuery(VerletNeighborList<MovablePoint> neighborList) {
+		List<MovablePoint> buffer = new ArrayList<>();
+		for (int i = 0; i < points.size(); i++) {
+			VPoint center = points.get(i).getPosition();
+			buffer.clear();
+			neighborList.getNeighbors(i, center, buffer);
+
+			Set<MovablePoint> expected = points.stream()
+					.filter(point -> point.getPosition().distance(center) < cutoff)
+					.collect(Collectors.toSet());
+			assertEquals(expected, new HashSet<>(buffer));
+			assertEquals(expected.size(), buffer.size());
+		}
+	}
+}
@@ -0,0 +1,110 @@
+package org.vadere.simulator.models.osm.updateScheme;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.vadere.simulator.control.simulation.ScenarioRun;
+import org.vadere.simulator.entrypoints.ScenarioFactory;
+import org.vadere.simulator.models.osm.PedestrianOSM;
+import org.vadere.simulator.projects.Scenario;
+import org.vadere.simulator.utils.cache.ScenarioCache;
+import org.vadere.simulator.utils.reflection.TestResourceHandlerScenario;
+import org.vadere.state.scenario.Topography;
+import org.vadere.state.types.UpdateType;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class UpdateSchemeParallelChunkedTest implements TestResourceHandlerScenario {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Override
+	public Path getTestDir() {
+		return getPathFromResources("/data/cache");
+	}
+
+	/**
+	 * Runs s002 with the given update type. The source is enlarged such that the crowd is split into
+	 * several chunks and the step direction is not varied, i.e. the seed determines the whole simulation.
+	 */
+	private List<String> runScenario(final String updateType) throws Exception {
+		String json = new String(Files.readAllBytes(getRelativeTestPath("s002.scenario")), StandardCharsets.UTF_8)
+				.replace("\"updateType\" : \"EVENT_DRIVEN\"", "\"updateType\" : \"" + updateType + "\"")
+				.replace("\"varyStepDirection\" : true", "\"varyStepDirection\" : false")
+				.replace("\"finishTime\" : 50.0", "\"finishTime\" : 12.0")
+				.replace("\"constraintsElementsMax\" : 4", "\"constraintsElementsMax\" : 64")
+				.replace("\"eventElementCount\" : 4", "\"eventElementCount\" : 64")
+				.replace("\"x\" : 4.2,", "\"x\" : 0.6,")
+				.replace("\"y\" : 8.457142857142857,", "\"y\" : 7.2,")
+				.replace("\"width\" : 2.0095238095238095,", "\"width\" : 8.8,")
+				.replace("\"height\" : 0.9428571428571431,", "\"height\" : 2.2,");
+		Path scenarioFile = folder.newFolder(updateType).toPath().resolve("s002.scenario");
+		Files.write(scenarioFile, json.getBytes(StandardCharsets.UTF_8));
+		Path outputDir = scenarioFile.getParent().resolve("output");
+
+		Scenario scenario = ScenarioFactory.createScenarioWithScenarioFilePath(scenarioFile);
+		new ScenarioRun(scenario, outputDir.toString(), true, null, scenarioFile, ScenarioCache.empty()).run();
+		return Files.readAllLines(outputDir.resolve("postvis.trajectories"));
+	}
+
+	@Test
+	public void testChunkedEqualsParallelUpdate() throws Exception {
+		List<String> parallel = runScenario(UpdateType.PARALLEL.name());
+		List<String> chunked = runScenario(UpdateType.PARALLEL_CHUNKED.name());
+
+		assertTrue(parallel.size() > 64);
+		assertEquals(parallel, chunked);
+	}
+
+	@Test
+	public void testFewerPedestriansThanChunks() {
+		UpdateSchemeParallelChunked updateScheme = new UpdateSchemeParallelChunked(new Topography());
+		assertTrue(updateScheme.createChunks(new ArrayList<>()).isEmpty());
+
+		// less pedestrians than a single chunk holds
+		List<PedestrianOSM> pedestrians = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			pedestrians.add(mockPedestrian(new VPoint(1.0 + 3.0 * i, 1.0)));
+		}
+		assertChunksContain(pedestrians, updateScheme.createChunks(pedestrians), 1);
+
+		// one chunk per pedestrian, the pedestrians are in different corners of the topography
+		updateScheme = new UpdateSchemeParallelChunked(new Topography(), 1);
+		pedestrians = List.of(mockPedestrian(new VPoint(0.5, 0.5)), mockPedestrian(new VPoint(9.5, 0.5)),
+				mockPedestrian(new VPoint(0.5, 9.5)), mockPedestrian(new VPoint(9.5, 9.5)));
+		assertChunksContain(pedestrians, updateScheme.createChunks(pedestrians), 4);
+	}
+
+	private static void assertChunksContain(final List<PedestrianOSM> pedestrians, final List<List<PedestrianOSM>> chunks, final int numberOfChunks) {
+		assertEquals(numberOfChunks, chunks.size());
+		Set<PedestrianOSM> chunked = new HashSet<>();
+		int size = 0;
+		for (List<PedestrianOSM> chunk : chunks) {
+			assertFalse(chunk.isEmpty());
+			chunked.addAll(chunk);
+			size += chunk.size();
+		}
+		assertEquals(pedestrians.size(), size);
+		assertEquals(new HashSet<>(pedestrians), chunked);
+	}
+
+	private static PedestrianOSM mockPedestrian(final VPoint position) {
+		PedestrianOSM pedestrian = mock(PedestrianOSM.class);
+		when(pedestrian.getPosition()).thenReturn(position);
+		return pedestrian;
+	}
+}
@@ -0,0 +1,73 @@
+package org.vadere.simulator.models.potential.fields;
+
+import org.junit.Test;
+import org.vadere.simulator.utils.cache.ScenarioCache;
+import org.vadere.state.attributes.models.AttributesFloorField;
+import org.vadere.util.geometry.shapes.VCircle;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VPolygon;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.geometry.shapes.VShape;
+
+import java.awt.geom.Path2D;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestPotentialFieldDistancesParallel {
+
+	private final VRectangle bounds = new VRectangle(0, 0, 30, 20);
+
+	private void assertEqualFields(List<VShape> obstacles) {
+		AttributesFloorField attributes = new AttributesFloorField();
+		IPotentialField expected = new PotentialFieldDistancesBruteForce(obstacles, bounds, attributes, ScenarioCache.empty());
+		IPotentialField actual = new PotentialFieldDistancesParallel(obstacles, bounds, attributes, ScenarioCache.empty());
+
+		double resolution = attributes.getPotentialFieldResolution();
+		for (double x = bounds.getMinX(); x <= bounds.getMaxX(); x += resolution) {
+			for (double y = bounds.getMinY(); y <= bounds.getMaxY(); y += resolution) {
+				VPoint point = new VPoint(x, y);
+				assertEquals(expected.getPotential(point, null), actual.getPotential(point, null), 0.0);
+			}
+		}
+	}
+
+	@Test
+	public void testEqualsBruteForce() {
+		Random random = new Random(0);
+		List<VShape> obstacles = new ArrayList<>();
+
+		// the boundary of the topography
+		obstacles.add(new VRectangle(0, 0, 30, 0.5));
+		obstacles.add(new VRectangle(0, 19.5, 30, 0.5));
+		obstacles.add(new VRectangle(0, 0, 0.5, 20));
+		obstacles.add(new VRectangle(29.5, 0, 0.5, 20));
+
+		for (int i = 0; i < 20; i++) {
+			obstacles.add(new VRectangle(random.nextDouble() * 28, random.nextDouble() * 18, 0.2 + random.nextDouble() * 2, 0.2 + random.nextDouble() * 2));
+			obstacles.add(new VCircle(random.nextDouble() * 30, random.nextDouble() * 20, 0.1 + random.nextDouble()));
+		}
+
+		Path2D.Double triangle = new Path2D.Double();
+		triangle.moveTo(10, 5);
+		triangle.lineTo(20, 8);
+		triangle.lineTo(12, 15);
+		triangle.closePath();
+		obstacles.add(new VPolygon(triangle));
+
+		assertEqualFields(obstacles);
+	}
+
+	@Test
+	public void testEqualsBruteForceWithSingleObstacle() {
+		assertEqualFields(List.of(new VCircle(2, 3, 1)));
+	}
+
+	@Test
+	public void testEqualsBruteForceWithoutObstacles() {
+		assertEqualFields(Collections.emptyList());
+	}
+}
@@ -7,11 +7,14 @@ import org.vadere.simulator.models.potential.solver.calculators.EikonalSolver;
 import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFIM;
 import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFMM;
 import org.vadere.simulator.models.potential.solver.calculators.cartesian.EikonalSolverFSM;
+import org.vadere.simulator.models.potential.solver.calculators.cartesian.GridEikonalSolver;
+import org.vadere.simulator.models.potential.solver.timecost.ITimeCostFunction;
 import org.vadere.simulator.models.potential.solver.timecost.UnitTimeCostFunction;
 import org.vadere.util.data.cellgrid.CellGrid;
 import org.vadere.util.data.cellgrid.CellState;
 import org.vadere.util.data.cellgrid.FloorDiscretizer;
 import org.vadere.util.data.cellgrid.PathFindingTag;
+import org.vadere.util.geometry.shapes.IPoint;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.VRectangle;
 import org.vadere.util.geometry.shapes.VShape;
@@ -96,6 +99,99 @@ public class TestEikonalSolver {
 		logger.info("FSM (not high accuracy) required " + runtimeInMs + "[ms]");
 	}
 
+	@Test
+	public void TestIncrementalFMM() {
+		CellGrid referenceGrid = cellGrid.clone();
+		MovingCrowdTimeCostFunction timeCostFunction = new MovingCrowdTimeCostFunction();
+		GridEikonalSolver eikonalSolver = new EikonalSolverFMM(cellGrid,
+				distFunc, false, timeCostFunction, unknownPenalty, weight, true);
+		eikonalSolver.solve();
+
+		// the crowd moves, i.e. the costs increase and decrease
+		timeCostFunction.moveTo(new VPoint(15, 5));
+		eikonalSolver.update();
+
+		GridEikonalSolver referenceSolver = new EikonalSolverFMM(referenceGrid,
+				new DistanceFunctionTarget(referenceGrid, targetShapes), false, timeCostFunction, unknownPenalty, weight);
+		referenceSolver.solve();
+		testEqualSolution(referenceSolver, eikonalSolver, 1.0E-3);
+	}
+
+	/**
+	 * The second order solution depends (slightly) on the order in which grid points are frozen,
+	 * i.e. the incremental solution is not equal to the solution computed from scratch but both have
+	 * to be close after many updates.
+	 */
+	@Test
+	public void TestIncrementalHighAccuracyFMM() {
+		CellGrid referenceGrid = cellGrid.clone();
+		MovingCrowdTimeCostFunction timeCostFunction = new MovingCrowdTimeCostFunction();
+		GridEikonalSolver eikonalSolver = new EikonalSolverFMM(cellGrid,
+				distFunc, true, timeCostFunction, unknownPenalty, weight, true);
+		eikonalSolver.solve();
+
+		for (int step = 0; step < 30; step++) {
+			double angle = step * 0.2;
+			timeCostFunction.moveTo(new VPoint(10 + 6 * Math.cos(angle), 10 + 6 * Math.sin(angle)));
+			eikonalSolver.update();
+		}
+
+		GridEikonalSolver referenceSolver = new EikonalSolverFMM(referenceGrid,
+				new DistanceFunctionTarget(referenceGrid, targetShapes), true, timeCostFunction, unknownPenalty, weight);
+		referenceSolver.solve();
+		testEqualSolution(referenceSolver, eikonalSolver, 0.25);
+	}
+
+	@Test
+	public void TestIncrementalFIM() {
+		CellGrid referenceGrid = cellGrid.clone();
+		MovingCrowdTimeCostFunction timeCostFunction = new MovingCrowdTimeCostFunction();
+		GridEikonalSolver eikonalSolver = new EikonalSolverFIM(cellGrid,
+				distFunc, false, timeCostFunction, unknownPenalty, weight, true);
+		eikonalSolver.solve();
+
+		timeCostFunction.moveTo(new VPoint(15, 5));
+		eikonalSolver.update();
+
+		GridEikonalSolver referenceSolver = new EikonalSolverFIM(referenceGrid,
+				new DistanceFunctionTarget(referenceGrid, targetShapes), false, timeCostFunction, unknownPenalty, weight);
+		referenceSolver.solve();
+		testEqualSolution(referenceSolver, eikonalSolver, 1.0E-3);
+	}
+
+	private void testEqualSolution(GridEikonalSolver expected, GridEikonalSolver actual, double tolerance) {
+		double max = 0;
+		for(int row = 0; row < cellGrid.getNumPointsY(); row++) {
+			for(int col = 0; col < cellGrid.getNumPointsX(); col++) {
+				max = Math.max(max, Math.abs(expected.getCellGrid().getPotential(col, row) - actual.getCellGrid().getPotential(col, row)));
+			}
+		}
+
+		logger.info(actual + " max difference to the solution computed from scratch = " + max);
+		assertTrue(max <= tolerance);
+	}
+
+	/**
+	 * A crowd of a radius of 2 meters with a three times higher time cost.
+	 */
+	private static class MovingCrowdTimeCostFunction implements ITimeCostFunction {
+		private VPoint center = new VPoint(4, 4);
+
+		private void moveTo(VPoint center) {
+			this.center = center;
+		}
+
+		@Override
+		public double costAt(IPoint p) {
+			return center.distance(p) < 2.0 ? 3.0 : 1.0;
+		}
+
+		@Override
+		public boolean needsUpdate() {
+			return true;
+		}
+	}
+
 	private void testMaxError(EikonalSolver eikonalSolver) {
 		double max = Double.MIN_VALUE;
 		for(double x = 0; x < gridWidth; x += dx) {
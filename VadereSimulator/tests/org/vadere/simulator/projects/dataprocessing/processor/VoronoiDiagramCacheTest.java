@@ -0,0 +1,65 @@
+package org.vadere.simulator.projects.dataprocessing.processor;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.vadere.simulator.control.simulation.SimulationState;
+import org.vadere.simulator.utils.PedestrianListBuilder;
+import org.vadere.state.scenario.Agent;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.voronoi.Face;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class VoronoiDiagramCacheTest {
+
+	private final VRectangle voronoiArea = new VRectangle(0, 0, 16, 16);
+	private PedestrianListBuilder builder;
+	private SimulationState state;
+
+	@Before
+	public void setUp() {
+		builder = new PedestrianListBuilder();
+		builder.add(1, new VPoint(3.0, 6.5)).add(2, new VPoint(6.0, 8.0)).add(3, new VPoint(8.5, 7.0));
+
+		state = mock(SimulationState.class, Mockito.RETURNS_DEEP_STUBS);
+		when(state.getTopography().getElements(Agent.class)).thenAnswer(invocation -> builder.getAgentList());
+	}
+
+	@Test
+	public void testFacesAreSharedWhilePositionsAreUnchanged() {
+		VoronoiDiagramCache cache = new VoronoiDiagramCache();
+
+		List<Face> faces = cache.getFaces(state, voronoiArea);
+		assertEquals(3, faces.size());
+		assertSame(faces, cache.getFaces(state, new VRectangle(0, 0, 16, 16)));
+		assertEquals(1, cache.getNumberOfComputations());
+
+		// another Voronoi area requires its own diagram
+		assertEquals(3, cache.getFaces(state, new VRectangle(0, 0, 10, 10)).size());
+		assertEquals(2, cache.getNumberOfComputations());
+	}
+
+	@Test
+	public void testFacesAreRecomputedAfterMoves() {
+		VoronoiDiagramCache cache = new VoronoiDiagramCache();
+		List<Face> faces = cache.getFaces(state, voronoiArea);
+
+		// a position which is modified in place
+		builder.getAgentList().get(0).getPosition().x = 4.0;
+		List<Face> movedFaces = cache.getFaces(state, voronoiArea);
+		assertNotSame(faces, movedFaces);
+		assertEquals(2, cache.getNumberOfComputations());
+
+		builder.add(4, new VPoint(12.0, 12.0));
+		assertEquals(4, cache.getFaces(state, voronoiArea).size());
+		assertEquals(3, cache.getNumberOfComputations());
+	}
+}
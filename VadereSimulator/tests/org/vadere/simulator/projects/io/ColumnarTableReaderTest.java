@@ -0,0 +1,134 @@
+package org.vadere.simulator.projects.io;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.vadere.simulator.projects.dataprocessing.writer.VadereColumnarFileWriter;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import tech.tablesaw.api.BooleanColumn;
+import tech.tablesaw.api.DoubleColumn;
+import tech.tablesaw.api.IntColumn;
+import tech.tablesaw.api.StringColumn;
+import tech.tablesaw.api.Table;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ColumnarTableReaderTest {
+
+	private static final List<String> HEADER = Arrays.asList("pedestrianId", "simTime", "isInfectious", "name");
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path write(boolean compressed, int numRows) throws IOException {
+		Path file = folder.newFile().toPath();
+		VadereColumnarFileWriter writer = new VadereColumnarFileWriter(file.toString(), compressed);
+		writer.printHeader(HEADER);
+		for (int row = 0; row < numRows; row++) {
+			// the column is declared as double column by the first value, later ints are stored as doubles
+			Object simTime = row == 1 ? (Object) 1 : (Object) (row + 0.5);
+			writer.printRow(new Object[] { row, simTime, row % 2 == 0, "p" + row });
+		}
+		writer.close();
+		return file;
+	}
+
+	private void assertRows(Table table, int numRows) {
+		assertEquals(numRows, table.rowCount());
+		assertEquals(HEADER, table.columnNames());
+
+		IntColumn ids = table.intColumn("pedestrianId");
+		DoubleColumn simTimes = table.doubleColumn("simTime");
+		BooleanColumn isInfectious = table.booleanColumn("isInfectious");
+		StringColumn names = table.stringColumn("name");
+		for (int row = 0; row < numRows; row++) {
+			assertEquals(row, ids.getInt(row));
+			assertEquals(row == 1 ? 1 : row + 0.5, simTimes.getDouble(row), 0.0);
+			assertEquals(row % 2 == 0, isInfectious.get(row));
+			assertEquals("p" + row, names.get(row));
+		}
+	}
+
+	@Test
+	public void testReadChunks() throws IOException {
+		int numRows = VadereColumnarFileWriter.CHUNK_ROWS + 10;
+		Path file = write(false, numRows);
+
+		assertTrue(ColumnarTableReader.isColumnarFile(file));
+		Table table = new TrajectoryReader(file).readFile();
+		assertTrue(table.column("simTime") instanceof DoubleColumn);
+		assertRows(table, numRows);
+	}
+
+	@Test
+	public void testReadCompressedChunks() throws IOException {
+		int numRows = VadereColumnarFileWriter.CHUNK_ROWS + 10;
+		Path file = write(true, numRows);
+
+		assertRows(new ColumnarTableReader(file).readFile(), numRows);
+	}
+
+	@Test
+	public void testIgnoreIncompleteChunk() throws IOException {
+		Path file = write(false, VadereColumnarFileWriter.CHUNK_ROWS + 10);
+		try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "rw")) {
+			randomAccessFile.setLength(randomAccessFile.length() - 1);
+		}
+
+		assertRows(new ColumnarTableReader(file).readFile(), VadereColumnarFileWriter.CHUNK_ROWS);
+	}
+
+	/**
+	 * The type of a column is declared by its first value which is not missing.
+	 */
+	@Test
+	public void testReadMissingValues() throws IOException {
+		Path file = folder.newFile().toPath();
+		VadereColumnarFileWriter writer = new VadereColumnarFileWriter(file.toString(), false);
+		writer.printHeader(HEADER);
+		writer.printRow(new Object[] { null, null, null, null });
+		writer.printRow(new Object[] { 1, 0.5, true, "p1" });
+		writer.close();
+
+		Table table = new ColumnarTableReader(file).readFile();
+		assertEquals(2, table.rowCount());
+		assertTrue(table.column("pedestrianId") instanceof IntColumn);
+		assertTrue(table.column("simTime") instanceof DoubleColumn);
+		assertTrue(table.column("isInfectious") instanceof BooleanColumn);
+		for (String column : HEADER.subList(0, 3)) {
+			assertTrue(table.column(column).isMissing(0));
+			assertFalse(table.column(column).isMissing(1));
+		}
+		assertEquals("NA", table.stringColumn("name").get(0));
+		assertEquals(1, table.intColumn("pedestrianId").getInt(1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testValueOfOtherTypeThanDeclared() throws IOException {
+		Path file = folder.newFile().toPath();
+		try (VadereColumnarFileWriter writer = new VadereColumnarFileWriter(file.toString(), false)) {
+			writer.printHeader(HEADER);
+			writer.printRow(new Object[] { 1, 0.5, true, "p1" });
+			writer.flush();
+			writer.printRow(new Object[] { 1.5, 0.5, true, "p1" });
+			writer.flush();
+		}
+	}
+
+	@Test
+	public void testTextFileIsNotColumnar() throws IOException {
+		Path file = folder.newFile().toPath();
+		Files.write(file, Arrays.asList("pedestrianId simTime", "1 0.4"));
+
+		assertFalse(ColumnarTableReader.isColumnarFile(file));
+	}
+}
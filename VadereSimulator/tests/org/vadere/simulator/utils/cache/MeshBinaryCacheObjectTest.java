@@ -0,0 +1,61 @@
+package org.vadere.simulator.utils.cache;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.vadere.meshing.examples.MeshExamples;
+import org.vadere.meshing.mesh.gen.AMesh;
+import org.vadere.meshing.mesh.gen.IncrementalTriangulation;
+import org.vadere.meshing.utils.io.poly.MeshPolyReader;
+import org.vadere.simulator.models.potential.solver.calculators.EikonalSolver;
+import org.vadere.simulator.models.potential.solver.calculators.mesh.MeshEikonalSolverFMM;
+import org.vadere.simulator.models.potential.solver.timecost.UnitTimeCostFunction;
+import org.vadere.util.geometry.shapes.VPoint;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MeshBinaryCacheObjectTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testSaveAndLoadMeshFloorField() throws IOException {
+		File file = new File(folder.getRoot(), "cache/floorField.meshmap");
+		VPoint targetPoint = new VPoint(150, 80);
+
+		EikonalSolver solver = createSolver(readMesh(), targetPoint);
+		solver.solve();
+		MeshBinaryCacheObject cacheObject = new MeshBinaryCacheObject("target1", file);
+		assertFalse(cacheObject.readable());
+		solver.saveFloorFieldToCache(cacheObject);
+		assertTrue(cacheObject.readable());
+
+		// a new solver on an equal mesh does not have to solve the floor field
+		EikonalSolver cachedSolver = createSolver(readMesh(), targetPoint);
+		assertTrue(cachedSolver.loadCachedFloorField(new MeshBinaryCacheObject("target1", file)));
+		for (VPoint point : new VPoint[]{new VPoint(10, 10), new VPoint(100, 50), new VPoint(150, 80)}) {
+			assertEquals(solver.getPotential(point.x, point.y), cachedSolver.getPotential(point.x, point.y), 0.0);
+		}
+
+		// the cache does not fit to a different mesh
+		EikonalSolver otherSolver = createSolver(AMesh.createSimpleTriMesh(), new VPoint(0, 0));
+		assertFalse(otherSolver.loadCachedFloorField(new MeshBinaryCacheObject("target1", file)));
+	}
+
+	private static AMesh readMesh() throws IOException {
+		MeshPolyReader<?, ?, ?> meshReader = new MeshPolyReader<>(() -> new AMesh());
+		return (AMesh) meshReader.readMesh(MeshExamples.class.getResourceAsStream("/poly/muenchner_freiheit.poly"));
+	}
+
+	private static EikonalSolver createSolver(AMesh mesh, VPoint targetPoint) {
+		return new MeshEikonalSolverFMM<>(new UnitTimeCostFunction(), Collections.singleton(targetPoint),
+				new IncrementalTriangulation<>(mesh));
+	}
+}
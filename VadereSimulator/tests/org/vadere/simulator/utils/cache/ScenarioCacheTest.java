@@ -6,6 +6,7 @@ import org.vadere.simulator.utils.reflection.TestResourceHandlerScenario;
 import org.vadere.state.attributes.models.AttributesFloorField;
 import org.vadere.state.scenario.Target;
 import org.vadere.state.types.CacheType;
+import org.vadere.state.types.EikonalSolverType;
 
 import java.io.ByteArrayInputStream;
 import java.nio.file.Path;
@@ -92,6 +93,29 @@ public class ScenarioCacheTest implements TestResourceHandlerScenario {
 		});
 	}
 
+	@Test
+	public void testMeshBinCache(){
+		Scenario s = getScenarioFromRelativeResource("s002.scenario"); // binary cache
+		getAttrFF(s).setCreateMethod(EikonalSolverType.FAST_MARCHING_TRI);
+
+		ScenarioCache scenarioCache = ScenarioCache.load(s, getTestDir().toAbsolutePath());
+		assertThat(scenarioCache.isEmpty(), equalTo(false));
+
+		for (Target target : s.getTopography().getTargets()) {
+			ICacheObject cacheObject = scenarioCache.getCacheForTarget(target.getId());
+
+			assertThat(cacheObject instanceof IMeshCacheObject, equalTo(true));
+			assertThat(cacheObject instanceof MeshBinaryCacheObject, equalTo(true));
+			assertThat(cacheObject.writable(), equalTo(true));
+		}
+
+		scenarioCache.addReadOnlyCache("target1", new ByteArrayInputStream(new byte[10]));
+		ICacheObject cacheObject = scenarioCache.getCache("target1");
+		assertThat(cacheObject.writable(), equalTo(false));
+		assertThat(cacheObject.readable(), equalTo(true));
+		assertThat(cacheObject instanceof MeshBinaryCacheObject, equalTo(true));
+	}
+
 	private AttributesFloorField getAttrFF(Scenario s){
 		AttributesFloorField attr = (AttributesFloorField) s.getModelAttributes().stream().filter(a-> a instanceof AttributesFloorField).findAny().orElse(null);
 		if (attr == null)
@@ -76,6 +76,22 @@ public class AttributesFloorField extends Attributes {
 	@JsonView(Views.CacheViewExclude.class)
 	private String cacheDir = "";
 
+	/**
+	 * If true, dynamic floor fields computed by the fast marching or the fast iterative method on a cell grid
+	 * are updated incrementally, i.e. only the region of the grid which is affected by changed time costs is
+	 * re-computed. This does not change the floor field, therefore, it does not invalidate cached floor fields.
+	 */
+	@JsonView(Views.CacheViewExclude.class)
+	private boolean incrementalUpdate = false;
+
+	/**
+	 * If true and there is no background mesh, the distance to the nearest obstacle is computed exactly by querying
+	 * a bounding volume hierarchy of the obstacles instead of interpolating a precomputed grid of distances, i.e.
+	 * no grid (and no cache) of obstacle distances is required.
+	 */
+	@JsonView(Views.CacheViewExclude.class)
+	private boolean exactObstacleDistance = false;
+
 	private AttributesTimeCost timeCostAttributes;
 
 	public AttributesFloorField() {
@@ -111,6 +127,14 @@ public class AttributesFloorField extends Attributes {
 		return cacheDir;
 	}
 
+	public boolean isIncrementalUpdate() {
+		return incrementalUpdate;
+	}
+
+	public boolean isExactObstacleDistance() {
+		return exactObstacleDistance;
+	}
+
 	public void setCreateMethod(EikonalSolverType createMethod) {
 		checkSealed();
 		this.createMethod = createMethod;
@@ -131,6 +155,16 @@ public class AttributesFloorField extends Attributes {
 		this.targetAttractionStrength = targetAttractionStrength;
 	}
 
+	public void setIncrementalUpdate(boolean incrementalUpdate) {
+		checkSealed();
+		this.incrementalUpdate = incrementalUpdate;
+	}
+
+	public void setExactObstacleDistance(boolean exactObstacleDistance) {
+		checkSealed();
+		this.exactObstacleDistance = exactObstacleDistance;
+	}
+
 	public CacheType getCacheType() {
 		return cacheType;
 	}
@@ -155,6 +155,7 @@ public class AttributesOSM extends Attributes {
 
 	/**
 	 * Specifies which update schema is used. The OSM should use the event driven update schema, see [3].
+	 * {@link UpdateType#PARALLEL_CHUNKED} is the parallel update schema executed on a shared work-stealing pool.
 	 */
 	private UpdateType updateType = UpdateType.EVENT_DRIVEN;
 
@@ -23,6 +23,11 @@ public class Car extends Agent implements Comparable<Car> {
 		// this.targetIds = new LinkedList<>();
 	}
 
+	private Car(Car other) {
+		super(other);
+		this.attributesCar = other.attributesCar;
+	}
+
 	@Override
 	public int compareTo(Car o) {
 		Double thisPos = new Double(getPosition().getX());
@@ -75,10 +80,7 @@ public class Car extends Agent implements Comparable<Car> {
 
 	@Override
 	public Car clone() {
-		throw new RuntimeException("clone is not supported for Car; it seems hard to implement.");
-		// return new Car(attributesCar, new Random());
-		// TODO get random from super class instead of creating a new one
-		// TODO attributesAgent in super class must be copied as well
+		return new Car(this);
 	}
 
 }
@@ -3,8 +3,11 @@ package org.vadere.state.scenario;
 import java.awt.geom.RectangularShape;
 import java.util.*;
 
+import org.jetbrains.annotations.Nullable;
+import org.vadere.util.geometry.CompactCellsGrid;
 import org.vadere.util.geometry.LinkedCellsGrid;
 import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.profiling.PerformanceCounters;
 
 public class DynamicElementContainer<T extends DynamicElement> {
 	private transient final List<DynamicElementAddListener<T>> addListener;
@@ -13,6 +16,13 @@ public class DynamicElementContainer<T extends DynamicElement> {
 
 	private final Map<Integer, T> elementMap;
 
+	/**
+	 * Read-only copies of elements simulated elsewhere, e.g. by the simulation of a neighbouring domain.
+	 * Ghosts are contained in {@link DynamicElementContainer#cellsElements} such that spatial queries find them,
+	 * but not in {@link DynamicElementContainer#elementMap}, i.e. they are not simulated and no listener is notified.
+	 */
+	private final Map<Integer, T> ghostMap;
+
 	private final List<T> initialElements;
 
 	/**
@@ -20,11 +30,18 @@ public class DynamicElementContainer<T extends DynamicElement> {
 	 */
 	private final LinkedCellsGrid<T> cellsElements;
 
+	/**
+	 * Immutable snapshot of {@link DynamicElementContainer#cellsElements} for lock-free queries. It is
+	 * <tt>null</tt> if it was not built or if any element was added, moved or removed since it was built.
+	 */
+	private transient volatile CompactCellsGrid<T> compactCellsElements;
+
 	private final RectangularShape bounds;
 	private final double cellSize;
 
 	public DynamicElementContainer(RectangularShape bounds, double cellSize) {
 		elementMap = new HashMap<>();
+		ghostMap = new HashMap<>();
 		initialElements = new LinkedList<>();
 		this.bounds = bounds;
 		this.cellSize = cellSize;
@@ -37,10 +54,43 @@ public class DynamicElementContainer<T extends DynamicElement> {
 		this.moveListener = new LinkedList<>();
 	}
 
+	/**
+	 * Sets the counters of the neighbor queries of the spatial map and its snapshots.
+	 */
+	public synchronized void setPerformanceCounters(@Nullable final PerformanceCounters counters) {
+		this.cellsElements.setPerformanceCounters(counters);
+		if (compactCellsElements != null) {
+			compactCellsElements.setPerformanceCounters(counters);
+		}
+	}
+
 	public synchronized LinkedCellsGrid<T> getCellsElements() {
 		return cellsElements;
 	}
 
+	/**
+	 * Rebuilds the immutable snapshot of the spatial map. This should be called (e.g. by a parallel update scheme)
+	 * if many concurrent queries follow and no element moves until the queries are finished.
+	 *
+	 * @return the snapshot of the spatial map
+	 */
+	public synchronized CompactCellsGrid<T> rebuildCompactCellsElements() {
+		compactCellsElements = cellsElements.toCompactCellsGrid();
+		return compactCellsElements;
+	}
+
+	/**
+	 * Returns the snapshot of the spatial map without acquiring any lock or <tt>null</tt> if the snapshot
+	 * is outdated, i.e. an element was added, moved or removed since the last call of
+	 * {@link DynamicElementContainer#rebuildCompactCellsElements()}.
+	 *
+	 * @return the snapshot of the spatial map or <tt>null</tt>
+	 */
+	@Nullable
+	public CompactCellsGrid<T> getCompactCellsElements() {
+		return compactCellsElements;
+	}
+
 	public synchronized Collection<T> getElements() {
 		return elementMap.values();
 	}
@@ -58,10 +108,11 @@ public class DynamicElementContainer<T extends DynamicElement> {
 	}
 
 	public synchronized void addElement(T element) {
+		this.compactCellsElements = null;
 		this.elementMap.put(element.getId(), element);
 		this.cellsElements.addObject(element);
 
-		assert (elementMap.size() == cellsElements.size())
+		assert (elementMap.size() + ghostMap.size() == cellsElements.size())
 				: "Number of pedestrians in LinkedCellGrid does not match number of pedestrians" +
 				" in topography";
 
@@ -71,9 +122,10 @@ public class DynamicElementContainer<T extends DynamicElement> {
 	}
 
 	public synchronized void moveElement(T element, VPoint oldPosition) {
+		this.compactCellsElements = null;
 		this.cellsElements.moveObject(element, oldPosition);
 
-		assert (elementMap.size() == cellsElements.size())
+		assert (elementMap.size() + ghostMap.size() == cellsElements.size())
 				: "Number of pedestrians in LinkedCellGrid does not match number of pedestrians" +
 				" in topography";
 
@@ -83,10 +135,11 @@ public class DynamicElementContainer<T extends DynamicElement> {
 	}
 
 	public synchronized void removeElement(T element) {
+		this.compactCellsElements = null;
 		this.elementMap.remove(element.getId());
 		this.cellsElements.removeObject(element);
 
-		assert (elementMap.size() == cellsElements.size())
+		assert (elementMap.size() + ghostMap.size() == cellsElements.size())
 				: "Number of pedestrians in LinkedCellGrid does not match number of pedestrians" +
 				" in topography";
 		for (DynamicElementRemoveListener<T> listener : removeListener) {
@@ -94,6 +147,37 @@ public class DynamicElementContainer<T extends DynamicElement> {
 		}
 	}
 
+	/**
+	 * Adds a read-only ghost, i.e. an element which is visible to spatial queries of the models but which is
+	 * neither simulated nor contained in {@link DynamicElementContainer#getElements()}.
+	 *
+	 * @param ghost the ghost
+	 */
+	public synchronized void addGhost(T ghost) {
+		this.compactCellsElements = null;
+		this.ghostMap.put(ghost.getId(), ghost);
+		this.cellsElements.addObject(ghost);
+	}
+
+	/**
+	 * Removes all ghosts, see {@link DynamicElementContainer#addGhost(DynamicElement)}.
+	 */
+	public synchronized void removeGhosts() {
+		this.compactCellsElements = null;
+		for (T ghost : ghostMap.values()) {
+			this.cellsElements.removeObject(ghost);
+		}
+		this.ghostMap.clear();
+	}
+
+	public synchronized boolean isGhost(T element) {
+		return ghostMap.get(element.getId()) == element;
+	}
+
+	public synchronized Collection<T> getGhosts() {
+		return ghostMap.values();
+	}
+
 	public synchronized void addElementRemovedListener(DynamicElementRemoveListener<T> listener) {
 		this.removeListener.add(listener);
 	}
@@ -111,7 +195,9 @@ public class DynamicElementContainer<T extends DynamicElement> {
 	}
 
 	public void clear() {
+		this.compactCellsElements = null;
 		this.elementMap.clear();
+		this.ghostMap.clear();
 		this.cellsElements.clear();
 	}
 
@@ -121,7 +207,7 @@ public class DynamicElementContainer<T extends DynamicElement> {
 	}
 
 	public boolean idExists(int id){
-		return elementMap.containsKey(id);
+		return elementMap.containsKey(id) || ghostMap.containsKey(id);
 	}
 
 	@Override
@@ -6,17 +6,42 @@ import org.vadere.state.attributes.scenario.AttributesObstacle;
 import org.vadere.state.types.ScenarioElementType;
 import org.vadere.util.geometry.shapes.VShape;
 
+import java.util.LinkedList;
+import java.util.List;
+
 public class Obstacle extends ScenarioElement {
 
 	private AttributesObstacle attributes;
 
+	/**
+	 * Listeners which are notified if the shape of the obstacle is replaced, e.g. the topography which indexes
+	 * the shapes of its obstacles.
+	 */
+	private transient final List<Runnable> shapeListeners;
+
 	public Obstacle(@NotNull AttributesObstacle attributes) {
 		this.attributes = attributes;
+		this.shapeListeners = new LinkedList<>();
 	}
 	
 	@Override
 	public void setShape(VShape newShape) {
 		attributes.setShape(newShape);
+		notifyShapeListeners();
+	}
+
+	public void addShapeListener(@NotNull final Runnable listener) {
+		shapeListeners.add(listener);
+	}
+
+	public void removeShapeListener(@NotNull final Runnable listener) {
+		shapeListeners.remove(listener);
+	}
+
+	private void notifyShapeListeners() {
+		for (Runnable listener : shapeListeners) {
+			listener.run();
+		}
 	}
 
 	@Override
@@ -76,6 +101,7 @@ public class Obstacle extends ScenarioElement {
 	@Override
 	public void setAttributes(Attributes attributes) {
 		this.attributes = (AttributesObstacle) attributes;
+		notifyShapeListeners();
 	}
 
 
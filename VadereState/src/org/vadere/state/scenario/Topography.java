@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonView;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.vadere.state.attributes.Attributes;
 import org.vadere.state.attributes.scenario.AttributesAgent;
 import org.vadere.state.attributes.scenario.AttributesCar;
@@ -11,14 +12,19 @@ import org.vadere.state.attributes.scenario.AttributesDynamicElement;
 import org.vadere.state.attributes.scenario.AttributesObstacle;
 import org.vadere.state.attributes.scenario.AttributesTopography;
 import org.vadere.state.util.Views;
+import org.vadere.util.data.aabb.AABBTree;
+import org.vadere.util.geometry.CompactCellsGrid;
+import org.vadere.util.geometry.GeometryUtils;
 import org.vadere.util.geometry.LinkedCellsGrid;
 import org.vadere.util.geometry.shapes.IPoint;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.VPolygon;
+import org.vadere.util.geometry.shapes.VRectangle;
 import org.vadere.util.geometry.shapes.VShape;
 import org.vadere.util.logging.Logger;
 import org.vadere.util.math.IDistanceFunction;
 import org.vadere.util.math.IDistanceFunctionCached;
+import org.vadere.util.profiling.PerformanceCounters;
 import org.vadere.util.random.IReachablePointProvider;
 import org.vadere.util.random.SimpleReachablePointProvider;
 
@@ -37,15 +43,24 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
-@JsonIgnoreProperties(value = {"allOtherAttributes", "obstacleDistanceFunction", "contextId", "reachablePointProvider"})
+@JsonIgnoreProperties(value = {"allOtherAttributes", "obstacleDistanceFunction", "exactObstacleDistanceFunction", "obstacleTree", "obstacleModifications", "contextId", "reachablePointProvider"})
 public class Topography implements DynamicElementMover{
 
 	/** Transient to prevent JSON serialization. */
 	private static Logger logger = Logger.getLogger(Topography.class);
 
 	private IDistanceFunctionCached obstacleDistanceFunction;
+	private final IDistanceFunctionCached exactObstacleDistanceFunction;
 	private IReachablePointProvider reachablePointProvider;
 
+	/**
+	 * Bounding volume hierarchy of the obstacle shapes used by the default obstacle distance function.
+	 * It is built lazily and rebuilt if obstacles are added, removed, replaced or change their shape.
+	 */
+	private volatile ObstacleTree obstacleTree;
+	private volatile int obstacleModifications;
+	private transient final Runnable obstacleShapeListener = this::obstaclesModified;
+
 	/** A possible empty string identifying a context object. */
 	private String contextId;
 
@@ -112,6 +127,11 @@ public class Topography implements DynamicElementMover{
 	private transient final DynamicElementContainer<Car> cars;
 	private boolean recomputeCells;
 
+	/**
+	 * The counters of the simulation of this topography, see {@link #setPerformanceCounters(PerformanceCounters)}.
+	 */
+	private transient PerformanceCounters performanceCounters;
+
 	@JsonView(Views.CacheViewExclude.class) // ignore when determining if floor field cache is valid
 	private AttributesAgent attributesPedestrian;
 	@JsonView(Views.CacheViewExclude.class) // ignore when determining if floor field cache is valid
@@ -171,14 +191,10 @@ public class Topography implements DynamicElementMover{
 		this.cars = new DynamicElementContainer<>(bounds, CELL_SIZE);
 		recomputeCells = false;
 
-		this.obstacleDistanceFunction = new IDistanceFunctionCached() {
+		this.exactObstacleDistanceFunction = new IDistanceFunctionCached() {
 			@Override
 			public double apply(@NotNull IPoint point, Object caller) {
-				return -obstacles.stream()
-						.map(Obstacle::getShape)
-						.map(shape -> shape.distance(point))
-						.min(Double::compareTo)
-						.orElse(Double.MAX_VALUE);
+				return -getObstacleTree().minDistance(point, VShape::distance);
 			}
 
 			@Override
@@ -186,7 +202,7 @@ public class Topography implements DynamicElementMover{
 				return apply(point, null);
 			}
 		};
-
+		this.obstacleDistanceFunction = exactObstacleDistanceFunction;
 
 		// some meaningful default value if used before simulation is started.
 		// will be replaced in the preeLoop like the obstacleDistanceFunction
@@ -246,6 +262,45 @@ public class Topography implements DynamicElementMover{
 		return null;
 	}
 
+	/**
+	 * Returns the bounding volume hierarchy of the obstacle shapes which answers exact distance queries
+	 * in logarithmic time (for obstacles of similar size). The tree is rebuilt if the obstacles were modified
+	 * since it was built, i.e. if an obstacle was added by {@link #addObstacle(Obstacle)}, the boundary was
+	 * removed or the shape of an obstacle was replaced by {@link Obstacle#setShape(VShape)}, which is checked
+	 * in constant time. Obstacles must not be added to or removed from {@link #getObstacles()} directly and a
+	 * shape must not be mutated in place.
+	 */
+	private AABBTree<VShape> getObstacleTree() {
+		ObstacleTree tree = obstacleTree;
+		int modifications = obstacleModifications;
+		if (tree == null || tree.modifications != modifications) {
+			tree = new ObstacleTree(getObstacleShapes(), modifications);
+			obstacleTree = tree;
+		}
+		return tree.tree;
+	}
+
+	private void obstaclesModified() {
+		obstacleModifications++;
+	}
+
+	private static class ObstacleTree {
+		private final AABBTree<VShape> tree;
+		private final int modifications;
+
+		private ObstacleTree(@NotNull final List<VShape> shapes, final int modifications) {
+			this.tree = AABBTree.build(shapes, Topography::aabb);
+			this.modifications = modifications;
+		}
+	}
+
+	private static VRectangle aabb(@NotNull final VShape shape) {
+		// the tree requires non-degenerated boxes, a larger box is still a lower bound of the distance
+		Rectangle2D bound = shape.getBounds2D();
+		return new VRectangle(bound.getMinX(), bound.getMinY(),
+				Math.max(bound.getWidth(), GeometryUtils.DOUBLE_EPS), Math.max(bound.getHeight(), GeometryUtils.DOUBLE_EPS));
+	}
+
 	public double distanceToObstacle(@NotNull IPoint point) {
 		return -obstacleDistanceFunction.apply(point);
 	}
@@ -258,6 +313,14 @@ public class Topography implements DynamicElementMover{
 			return obstacleDistanceFunction;
 	}
 
+	/**
+	 * Returns the default obstacle distance function which computes the exact distance to the nearest obstacle
+	 * without a precomputed field.
+	 */
+	public IDistanceFunctionCached getExactObstacleDistanceFunction() {
+		return exactObstacleDistanceFunction;
+	}
+
 	public IReachablePointProvider getReachablePointProvider() {
 		return reachablePointProvider;
 	}
@@ -368,10 +431,42 @@ public class Topography implements DynamicElementMover{
 		return pedestrians.idExists(id) || cars.idExists(id);
 	}
 
+	/**
+	 * Returns the counters of the operations of the simulation of this topography (e.g. the neighbor queries of
+	 * its spatial maps) or <tt>null</tt> if no simulation counts them.
+	 */
+	@Nullable
+	public PerformanceCounters getPerformanceCounters() {
+		return performanceCounters;
+	}
+
+	/**
+	 * Assigns the counters of a simulation to this topography and its spatial maps, <tt>null</tt> disables the
+	 * counting.
+	 */
+	public void setPerformanceCounters(@Nullable final PerformanceCounters performanceCounters) {
+		this.performanceCounters = performanceCounters;
+		pedestrians.setPerformanceCounters(performanceCounters);
+		cars.setPerformanceCounters(performanceCounters);
+	}
+
 	public <T extends DynamicElement> LinkedCellsGrid<T> getSpatialMap(Class<T> elementType) {
 		return getContainer(elementType).getCellsElements();
 	}
 
+	/**
+	 * Returns the lock-free snapshot of the spatial map or <tt>null</tt> if it is outdated,
+	 * see {@link DynamicElementContainer#getCompactCellsElements()}.
+	 */
+	@Nullable
+	public <T extends DynamicElement> CompactCellsGrid<T> getCompactSpatialMap(Class<T> elementType) {
+		return getContainer(elementType).getCompactCellsElements();
+	}
+
+	public <T extends DynamicElement> CompactCellsGrid<T> rebuildCompactSpatialMap(Class<T> elementType) {
+		return getContainer(elementType).rebuildCompactCellsElements();
+	}
+
 	public <T extends DynamicElement> Collection<T> getElements(Class<T> elementType) {
 		return getContainer(elementType).getElements();
 	}
@@ -395,6 +490,24 @@ public class Topography implements DynamicElementMover{
 		((DynamicElementContainer<T>) getContainer(element.getClass())).moveElement(element, oldPosition);
 	}
 
+	/**
+	 * Adds a read-only ghost of an element simulated elsewhere, see {@link DynamicElementContainer#addGhost(DynamicElement)}.
+	 */
+	public <T extends DynamicElement> void addGhost(T ghost) {
+		((DynamicElementContainer<T>) getContainer(ghost.getClass())).addGhost(ghost);
+	}
+
+	public <T extends DynamicElement> void removeGhosts(Class<T> elementType) {
+		getContainer(elementType).removeGhosts();
+	}
+
+	/**
+	 * Returns true if the element is a ghost, i.e. it must not be moved, changed or removed by this simulation.
+	 */
+	public <T extends DynamicElement> boolean isGhost(T element) {
+		return ((DynamicElementContainer<T>) getContainer(element.getClass())).isGhost(element);
+	}
+
 	/**
 	 * The counter does not represent the total number of pedestrians. If initial pedestrians exist
 	 * @return next free Id for a pedestrian.
@@ -428,6 +541,14 @@ public class Topography implements DynamicElementMover{
 		logger.info(String.format("Set PedestrianIdCount to start value: %d", this.dynamicElementIdCounter.get()));
 	}
 
+	/**
+	 * Ensures that the next ids issued by {@link #getNextDynamicElementId()} are at least <tt>minId</tt>, e.g. to
+	 * issue ids of disjoint ranges in simulations which exchange pedestrians.
+	 */
+	public void setMinNextDynamicElementId(int minId) {
+		this.dynamicElementIdCounter.accumulateAndGet(minId, Math::max);
+	}
+
 	public boolean isRecomputeCells() {
 		return recomputeCells;
 	}
@@ -502,6 +623,8 @@ public class Topography implements DynamicElementMover{
 
 	public void addObstacle(Obstacle obstacle) {
 		this.obstacles.add(obstacle);
+		obstacle.addShapeListener(obstacleShapeListener);
+		obstaclesModified();
 	}
 
 	public void addMeasurementArea(MeasurementArea measurementArea){
@@ -596,8 +719,10 @@ public class Topography implements DynamicElementMover{
 	public void removeBoundary() {
 		for (Obstacle boundaryObstacle : this.boundaryObstacles) {
 			this.obstacles.remove(boundaryObstacle);
+			boundaryObstacle.removeShapeListener(obstacleShapeListener);
 		}
 		this.boundaryObstacles.clear();
+		obstaclesModified();
 	}
 
 	/**
@@ -1,5 +1,5 @@
 package org.vadere.state.types;
 
 public enum CacheType {
-	NO_CACHE, TXT_CACHE, BIN_CACHE;
+	NO_CACHE, TXT_CACHE, BIN_CACHE, MMAP_CACHE;
 }
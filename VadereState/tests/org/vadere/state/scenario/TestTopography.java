@@ -0,0 +1,50 @@
+package org.vadere.state.scenario;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.vadere.state.attributes.scenario.AttributesObstacle;
+import org.vadere.util.geometry.shapes.VCircle;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VRectangle;
+
+import static org.junit.Assert.assertEquals;
+
+public class TestTopography {
+
+	private Topography topography;
+
+	@Before
+	public void setUp() {
+		topography = new Topography();
+		topography.addObstacle(new Obstacle(new AttributesObstacle(1, new VRectangle(2, 2, 1, 1))));
+	}
+
+	@Test
+	public void testDistanceToObstacle() {
+		assertEquals(1.0, topography.distanceToObstacle(new VPoint(4, 2.5)), 1e-12);
+		assertEquals(-0.25, topography.distanceToObstacle(new VPoint(2.75, 2.5)), 1e-12);
+	}
+
+	@Test
+	public void testDistanceToAddedObstacle() {
+		VPoint point = new VPoint(6, 2.5);
+		assertEquals(3.0, topography.distanceToObstacle(point), 1e-12);
+
+		topography.addObstacle(new Obstacle(new AttributesObstacle(2, new VCircle(new VPoint(8, 2.5), 1))));
+		assertEquals(1.0, topography.distanceToObstacle(point), 1e-12);
+	}
+
+	@Test
+	public void testDistanceToModifiedObstacle() {
+		VPoint point = new VPoint(6, 2.5);
+		assertEquals(3.0, topography.distanceToObstacle(point), 1e-12);
+
+		topography.getObstacles().get(0).setShape(new VRectangle(4, 2, 1, 1));
+		assertEquals(1.0, topography.distanceToObstacle(point), 1e-12);
+
+		// the number of obstacles does not change
+		topography.getObstacles().get(0).setAttributes(new AttributesObstacle(1, new VCircle(new VPoint(8, 2.5), 1)));
+		assertEquals(1.0, topography.distanceToObstacle(point), 1e-12);
+		assertEquals(2.0, topography.distanceToObstacle(new VPoint(8, 5.5)), 1e-12);
+	}
+}
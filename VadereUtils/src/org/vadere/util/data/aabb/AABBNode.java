@@ -1,14 +1,13 @@
 package org.vadere.util.data.aabb;
 
 import org.vadere.util.geometry.shapes.VRectangle;
-import org.vadere.util.geometry.shapes.VShape;
 
 public class AABBNode<D> {
-	private AABBNode parent;
+	private AABBNode<D> parent;
 	private VRectangle aabb;
 
-	private AABBNode left;
-	private AABBNode right;
+	private AABBNode<D> left;
+	private AABBNode<D> right;
 
 	private D data;
 
@@ -26,6 +25,11 @@ public class AABBNode<D> {
 
 	}
 
+	public AABBNode(final VRectangle aabb, final D data) {
+		this.aabb = aabb;
+		this.data = data;
+	}
+
 	public int getHeight() {
 		return height;
 	}
@@ -38,15 +42,15 @@ public class AABBNode<D> {
 		this.height = height;
 	}
 
-	public void setParent(AABBNode parent) {
+	public void setParent(AABBNode<D> parent) {
 		this.parent = parent;
 	}
 
-	public void setLeft(AABBNode left) {
+	public void setLeft(AABBNode<D> left) {
 		this.left = left;
 	}
 
-	public void setRight(AABBNode right) {
+	public void setRight(AABBNode<D> right) {
 		this.right = right;
 	}
 
@@ -54,15 +58,15 @@ public class AABBNode<D> {
 		this.data = data;
 	}
 
-	public AABBNode getParent() {
+	public AABBNode<D> getParent() {
 		return parent;
 	}
 
-	public AABBNode getLeft() {
+	public AABBNode<D> getLeft() {
 		return left;
 	}
 
-	public AABBNode getRight() {
+	public AABBNode<D> getRight() {
 		return right;
 	}
 
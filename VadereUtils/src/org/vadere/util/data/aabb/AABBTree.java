@@ -1,15 +1,27 @@
 package org.vadere.util.data.aabb;
 
 import org.jetbrains.annotations.NotNull;
+import org.vadere.util.geometry.shapes.IPoint;
 import org.vadere.util.geometry.shapes.VRectangle;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToDoubleBiFunction;
 
 /**
- * Not jet finished!
+ * A bounding volume hierarchy (binary tree) of axis aligned bounding boxes (AABB). Each leaf holds
+ * one element and its AABB, each inner node holds the AABB of its two children. The tree can be built
+ * from a collection of elements at once (see {@link #build(Collection, Function)}) or by inserting
+ * the elements one by one.
+ *
+ * Queries do not modify the tree, i.e. concurrent queries are thread-safe if there is no concurrent insertion.
  *
  * @author Benedikt Zoennchen
- * @param <D>
+ * @param <D> type of the elements
  */
 public class AABBTree<D> {
 
@@ -17,11 +29,82 @@ public class AABBTree<D> {
 	private int capacity = 16;
 	private int nElements = 0;
 
+	/**
+	 * Builds a balanced tree containing all elements by recursively splitting them at the median of the
+	 * centers of their AABBs along the longer side of the AABB of the centers.
+	 *
+	 * @param elements  the elements
+	 * @param aabb      a function returning the AABB of an element
+	 * @param <D>       type of the elements
+	 *
+	 * @return a tree containing all elements
+	 */
+	public static <D> AABBTree<D> build(@NotNull final Collection<? extends D> elements, @NotNull final Function<? super D, VRectangle> aabb) {
+		AABBTree<D> tree = new AABBTree<>();
+		List<AABBNode<D>> leafs = new ArrayList<>(elements.size());
+		for(D element : elements) {
+			leafs.add(new AABBNode<>(aabb.apply(element), element));
+		}
+
+		if(!leafs.isEmpty()) {
+			tree.root = tree.build(leafs, 0, leafs.size());
+			tree.nElements = leafs.size();
+		}
+		return tree;
+	}
+
+	private AABBNode<D> build(@NotNull final List<AABBNode<D>> leafs, final int from, final int to) {
+		if(to - from == 1) {
+			return leafs.get(from);
+		}
+
+		double xmin = Double.POSITIVE_INFINITY;
+		double ymin = Double.POSITIVE_INFINITY;
+		double xmax = Double.NEGATIVE_INFINITY;
+		double ymax = Double.NEGATIVE_INFINITY;
+		for(int i = from; i < to; i++) {
+			VRectangle aabb = leafs.get(i).getAabb();
+			xmin = Math.min(xmin, aabb.getCenterX());
+			ymin = Math.min(ymin, aabb.getCenterY());
+			xmax = Math.max(xmax, aabb.getCenterX());
+			ymax = Math.max(ymax, aabb.getCenterY());
+		}
+
+		Comparator<AABBNode<D>> comparator = xmax - xmin >= ymax - ymin ?
+				Comparator.comparingDouble(node -> node.getAabb().getCenterX()) :
+				Comparator.comparingDouble(node -> node.getAabb().getCenterY());
+		leafs.subList(from, to).sort(comparator);
+
+		int mid = (from + to) / 2;
+		AABBNode<D> left = build(leafs, from, mid);
+		AABBNode<D> right = build(leafs, mid, to);
+
+		AABBNode<D> node = new AABBNode<>();
+		node.setLeft(left);
+		node.setRight(right);
+		left.setParent(node);
+		right.setParent(node);
+		node.setAabb(combine(left.getAabb(), right.getAabb()));
+		node.setHeight(Math.max(left.getHeight(), right.getHeight()) + 1);
+		return node;
+	}
+
+	public int size() {
+		return nElements;
+	}
+
+	public boolean isEmpty() {
+		return nElements == 0;
+	}
 
 	public LinkedList<AABBNode<D>> query(@NotNull final VRectangle aabb) {
 		LinkedList<AABBNode<D>> intersections = new LinkedList<>();
 		LinkedList<AABBNode<D>> toProcess = new LinkedList<>();
 
+		if(root == null) {
+			return intersections;
+		}
+
 		toProcess.add(root);
 
 		while (!toProcess.isEmpty()) {
@@ -41,7 +124,54 @@ public class AABBTree<D> {
 		return intersections;
 	}
 
+	/**
+	 * Returns the minimum of <tt>distance(element, point)</tt> over all elements of the tree or {@link Double#MAX_VALUE}
+	 * if the tree is empty. The distance function may be signed (negative if the point lies inside the element) but
+	 * the distance to a point outside of the AABB of an element has to be at least the distance of the point to the
+	 * AABB, which holds for the (signed) distance to a shape. Sub-trees are visited nearest first and skipped if
+	 * their AABB is further away than the minimum found so far.
+	 *
+	 * @param point     the point
+	 * @param distance  the distance of an element to a point
+	 *
+	 * @return the minimal distance of the point to any element
+	 */
+	public double minDistance(@NotNull final IPoint point, @NotNull final ToDoubleBiFunction<? super D, IPoint> distance) {
+		if(root == null) {
+			return Double.MAX_VALUE;
+		}
+		return minDistance(root, distance(root.getAabb(), point), point, distance, Double.MAX_VALUE);
+	}
+
+	/**
+	 * Visits the sub-tree recursively, i.e. the traversal stack is the call stack of the querying thread and a
+	 * query does not allocate memory.
+	 */
+	private double minDistance(@NotNull final AABBNode<D> node, final double aabbDistance, @NotNull final IPoint point,
+	                           @NotNull final ToDoubleBiFunction<? super D, IPoint> distance, final double minDistance) {
+		// a point inside the AABB might be inside the element, i.e. it can not be skipped
+		if(aabbDistance > 0 && aabbDistance >= minDistance) {
+			return minDistance;
+		}
+
+		if(node.isLeaf()) {
+			return Math.min(minDistance, distance.applyAsDouble(node.getData(), point));
+		}
+
+		double leftDistance = distance(node.getLeft().getAabb(), point);
+		double rightDistance = distance(node.getRight().getAabb(), point);
+		if(leftDistance <= rightDistance) {
+			double min = minDistance(node.getLeft(), leftDistance, point, distance, minDistance);
+			return minDistance(node.getRight(), rightDistance, point, distance, min);
+		}
+		else {
+			double min = minDistance(node.getRight(), rightDistance, point, distance, minDistance);
+			return minDistance(node.getLeft(), leftDistance, point, distance, min);
+		}
+	}
+
 	public void insert(@NotNull final AABBNode<D> node) {
+		nElements++;
 		if(root == null) {
 			root = node;
 		}
@@ -69,7 +199,7 @@ public class AABBTree<D> {
 				}
 
 				double rightCost;
-				if(left.isLeaf()) {
+				if(right.isLeaf()) {
 					rightCost = cost(combine(node.getAabb(), right.getAabb())) + inheritanceCost;
 				} else {
 					double newArea = cost(combine(node.getAabb(), right.getAabb()));
@@ -77,7 +207,7 @@ public class AABBTree<D> {
 					rightCost = (newArea - oldArea) + inheritanceCost;
 				}
 
-				if(combinedArea < leftCost && combinedArea < rightCost) {
+				if(cominbedCost < leftCost && cominbedCost < rightCost) {
 					break;
 				}
 
@@ -97,17 +227,43 @@ public class AABBTree<D> {
 
 			// old parent is not the root
 			if(oldParent != null) {
-
+				if(oldParent.getLeft() == currentNode) {
+					oldParent.setLeft(newParent);
+				}
+				else {
+					oldParent.setRight(newParent);
+				}
 			}
+			else {
+				root = newParent;
+			}
+
+			newParent.setLeft(currentNode);
+			newParent.setRight(node);
+			currentNode.setParent(newParent);
+			node.setParent(newParent);
 
+			// refit the AABBs of the ancestors
+			AABBNode<D> ancestor = newParent.getParent();
+			while (ancestor != null) {
+				ancestor.setAabb(combine(ancestor.getLeft().getAabb(), ancestor.getRight().getAabb()));
+				ancestor.setHeight(Math.max(ancestor.getLeft().getHeight(), ancestor.getRight().getHeight()) + 1);
+				ancestor = ancestor.getParent();
+			}
 		}
 	}
 
+	private static double distance(@NotNull final VRectangle rect, @NotNull final IPoint point) {
+		double dx = Math.max(0, Math.max(rect.getMinX() - point.getX(), point.getX() - rect.getMaxX()));
+		double dy = Math.max(0, Math.max(rect.getMinY() - point.getY(), point.getY() - rect.getMaxY()));
+		return Math.sqrt(dx * dx + dy * dy);
+	}
+
 	private boolean intersects(@NotNull final VRectangle rect1, @NotNull final VRectangle rect2) {
 		return rect1.intersects(rect2.getX(), rect2.getY(), rect2.getWidth(), rect2.getHeight());
 	}
 
-	private VRectangle combine(@NotNull final VRectangle rect1, @NotNull final VRectangle rect2) {
+	private static VRectangle combine(@NotNull final VRectangle rect1, @NotNull final VRectangle rect2) {
 		double xmin = Math.min(rect1.getMinX(), rect2.getMinX());
 		double ymin = Math.min(rect1.getMinY(), rect2.getMinY());
 		double xmax = Math.max(rect1.getMaxX(), rect2.getMaxX());
@@ -77,6 +77,24 @@ public class CellGrid {
 		this(width, height, resolution, value, 0, 0);
 	}
 
+	/**
+	 * Creates an grid with the given width, height and resolution without allocating
+	 * the grid point values. This is used by grids which store their values differently,
+	 * e.g. {@link MappedCellGrid}, such grids have to override the accessors of the values.
+	 */
+	protected CellGrid(double width, double height, double resolution, double xMin, double yMin) {
+		this.width = width;
+		this.height = height;
+		this.resolution = resolution;
+		this.xMin = xMin;
+		this.yMin = yMin;
+
+		numPointsX = (int) Math.floor(width / resolution + 0.001) + 1;
+		numPointsY = (int) Math.floor(height / resolution + 0.001) + 1;
+
+		values = null;
+	}
+
 	/**
 	 * Creates a deep copy of the given grid.
 	 */
@@ -92,7 +110,7 @@ public class CellGrid {
 
 		for (int row = 0; row < numPointsY; row++) {
 			for (int col = 0; col < numPointsX; col++) {
-				values[col][row] = grid.values[col][row].clone();
+				values[col][row] = grid.getValue(col, row).clone();
 			}
 		}
 	}
@@ -113,7 +131,7 @@ public class CellGrid {
 
 					@Override
 					public CellState next() {
-						CellState result = values[col][row];
+						CellState result = getValue(col, row);
 						col++;
 						if (col >= numPointsX) {
 							col = 0;
@@ -161,8 +179,9 @@ public class CellGrid {
 			for (int col = 0; col < numPointsX; col++) {
 				colX.set(tblRow, col);
 				colY.set(tblRow, row);
-				colVal.set(tblRow, values[col][row].potential);
-				colTag.set(tblRow, values[col][row].tag.name());
+				CellState value = getValue(col, row);
+				colVal.set(tblRow, value.potential);
+				colTag.set(tblRow, value.tag.name());
 				tblRow++;
 			}
 		}
@@ -218,6 +237,13 @@ public class CellGrid {
 		return values[pointX][pointY];
 	}
 
+	/**
+	 * Returns the potential of the grid point specified by matrix element indices.
+	 */
+	public double getPotential(int pointX, int pointY) {
+		return values[pointX][pointY].potential;
+	}
+
 	/**
 	 * Returns the value of the grid point specified by the given matrix element
 	 * index 'p'.
@@ -371,10 +397,10 @@ public class CellGrid {
 
 			VPoint gridPointCoord = pointToCoord(gridPoint);
 
-			double z1 = getValue(gridPoint).potential;
-			double z2 = getValue(gridPoint.x + incX, gridPoint.y).potential;
-			double z3 = getValue(gridPoint.x + incX, gridPoint.y + incY).potential;
-			double z4 = getValue(gridPoint.x, gridPoint.y + incY).potential;
+			double z1 = getPotential(gridPoint.x, gridPoint.y);
+			double z2 = getPotential(gridPoint.x + incX, gridPoint.y);
+			double z3 = getPotential(gridPoint.x + incX, gridPoint.y + incY);
+			double z4 = getPotential(gridPoint.x, gridPoint.y + incY);
 
 			double t = (pos.getX() - gridPointCoord.x) / getResolution();
 			double u = (pos.getY() - gridPointCoord.y) / getResolution();
@@ -398,10 +424,10 @@ public class CellGrid {
 		}
 
 
-		gridPotentials[0] = getValue(gridPoint).potential;
-		gridPotentials[1] = getValue(gridPoint.x + incX, gridPoint.y).potential;
-		gridPotentials[2] = getValue(gridPoint.x + incX, gridPoint.y + incY).potential;
-		gridPotentials[3] = getValue(gridPoint.x, gridPoint.y + incY).potential;
+		gridPotentials[0] = getPotential(gridPoint.x, gridPoint.y);
+		gridPotentials[1] = getPotential(gridPoint.x + incX, gridPoint.y);
+		gridPotentials[2] = getPotential(gridPoint.x + incX, gridPoint.y + incY);
+		gridPotentials[3] = getPotential(gridPoint.x, gridPoint.y + incY);
 
 
 		/* Interpolate the known (potential < Double.MAX_VALUE) values. */
@@ -80,7 +80,6 @@ public class CellGridReadWriter implements IDataWriter, IDataReader<CellGrid> {
 	@Override
 	public void toTextFile(File file) throws IOException {
 		file.getAbsoluteFile().getParentFile().mkdirs();
-		CellState[][] values = cellGrid.values;
 
 		PrintWriter stream = new PrintWriter(
 				new FastBufferedOutputStream(new FileOutputStream(file)));
@@ -91,9 +90,10 @@ public class CellGridReadWriter implements IDataWriter, IDataReader<CellGrid> {
 				stream.write(",");
 				stream.write(Integer.toString(row));
 				stream.write(",");
-				stream.write(values[col][row].potential.toString());
+				CellState value = cellGrid.getValue(col, row);
+				stream.write(value.potential.toString());
 				stream.write(",");
-				stream.write(values[col][row].tag.name());
+				stream.write(value.tag.name());
 				stream.write("\n");
 			}
 		}
@@ -148,7 +148,6 @@ public class CellGridReadWriter implements IDataWriter, IDataReader<CellGrid> {
 	@Override
 	public void toBinary(File file) throws IOException {
 		file.getAbsoluteFile().getParentFile().mkdirs();
-		CellState[][] values = cellGrid.values;
 
 		DataOutputStream stream = new DataOutputStream(
 				new FastBufferedOutputStream(new FileOutputStream(file))
@@ -161,8 +160,9 @@ public class CellGridReadWriter implements IDataWriter, IDataReader<CellGrid> {
 			for (int col = 0; col < cellGrid.getNumPointsX(); col++) {
 				stream.writeInt(col);
 				stream.writeInt(row);
-				stream.writeDouble(values[col][row].potential);
-				stream.writeInt(values[col][row].tag.ordinal());
+				CellState value = cellGrid.getValue(col, row);
+				stream.writeDouble(value.potential);
+				stream.writeInt(value.tag.ordinal());
 			}
 		}
 		stream.flush();
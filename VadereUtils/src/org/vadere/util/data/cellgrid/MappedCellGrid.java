@@ -0,0 +1,219 @@
+package org.vadere.util.data.cellgrid;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import tech.tablesaw.api.Table;
+
+/**
+ * A read-only {@link CellGrid} whose values are not stored in heap objects but read
+ * straight from a (memory-mapped) buffer. The operating system loads the pages of a mapped
+ * file on first access, i.e. opening the grid is cheap and only the parts of the grid which
+ * are actually accessed are read from disk.
+ *
+ * The buffer layout (little endian) is:
+ * <ul>
+ *     <li>header of {@link MappedCellGrid#HEADER_SIZE} bytes: magic number, version, numPointsX, numPointsY,
+ *     width, height, resolution, xMin, yMin</li>
+ *     <li>numPointsX * numPointsY potentials (double) in row major order</li>
+ *     <li>numPointsX * numPointsY tags (byte, the ordinal of the {@link PathFindingTag}) in row major order</li>
+ * </ul>
+ *
+ * {@link MappedCellGrid#getValue(int, int)} returns a new {@link CellState} for each call, therefore
+ * performance critical code should use {@link MappedCellGrid#getPotential(int, int)}.
+ */
+public class MappedCellGrid extends CellGrid {
+
+	public static final int MAGIC_NUMBER = 0x56464647; // VFFG
+	public static final int VERSION = 1;
+	public static final int HEADER_SIZE = 64;
+
+	private static final PathFindingTag[] TAGS = PathFindingTag.values();
+
+	private final ByteBuffer buffer;
+	private final int tagOffset;
+
+	private MappedCellGrid(double width, double height, double resolution, double xMin, double yMin, @NotNull final ByteBuffer buffer) {
+		super(width, height, resolution, xMin, yMin);
+		this.buffer = buffer;
+		this.tagOffset = HEADER_SIZE + numPointsX * numPointsY * Double.BYTES;
+	}
+
+	/**
+	 * Maps the file into memory (read only). The file is not read, apart from its header.
+	 *
+	 * @param file the file written by {@link MappedCellGrid#write(CellGrid, File)}
+	 * @return a grid backed by the mapped file
+	 * @throws IOException if the file can not be mapped or is not a valid grid file
+	 */
+	public static MappedCellGrid map(@NotNull final File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			// the mapping stays valid after the channel is closed
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			return wrap(buffer);
+		}
+	}
+
+	/**
+	 * Returns a grid backed by the buffer, the buffer content has to be in the format
+	 * written by {@link MappedCellGrid#write(CellGrid, File)}.
+	 *
+	 * @param buffer the buffer containing the header and the values of the grid
+	 * @return a grid backed by the buffer
+	 * @throws IOException if the buffer does not contain a valid grid
+	 */
+	public static MappedCellGrid wrap(@NotNull final ByteBuffer buffer) throws IOException {
+		ByteBuffer view = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+
+		if (view.capacity() < HEADER_SIZE || view.getInt(0) != MAGIC_NUMBER) {
+			throw new IOException("The buffer does not contain a mapped cell grid.");
+		}
+
+		if (view.getInt(4) != VERSION) {
+			throw new IOException("Unsupported mapped cell grid version " + view.getInt(4) + ", expected " + VERSION + ".");
+		}
+
+		int numPointsX = view.getInt(8);
+		int numPointsY = view.getInt(12);
+		MappedCellGrid cellGrid = new MappedCellGrid(view.getDouble(16), view.getDouble(24), view.getDouble(32),
+				view.getDouble(40), view.getDouble(48), view);
+
+		if (cellGrid.getNumPointsX() != numPointsX || cellGrid.getNumPointsY() != numPointsY) {
+			throw new IOException("The dimension of the mapped cell grid does not match its width, height and resolution.");
+		}
+
+		if (view.capacity() < sizeOf(numPointsX, numPointsY)) {
+			throw new IOException("The mapped cell grid is truncated.");
+		}
+
+		return cellGrid;
+	}
+
+	/**
+	 * Writes the grid in the format which can be mapped by {@link MappedCellGrid#map(File)}.
+	 *
+	 * @param cellGrid  the grid
+	 * @param file      the destination, parent directories are created if necessary
+	 * @throws IOException if the file can not be written
+	 */
+	public static void write(@NotNull final CellGrid cellGrid, @NotNull final File file) throws IOException {
+		Path path = file.getAbsoluteFile().toPath();
+		Files.createDirectories(path.getParent());
+
+		int numPointsX = cellGrid.getNumPointsX();
+		int numPointsY = cellGrid.getNumPointsY();
+		long size = sizeOf(numPointsX, numPointsY);
+		if (size > Integer.MAX_VALUE) {
+			throw new IOException("The cell grid is too large (" + size + " bytes) to be mapped.");
+		}
+
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+			buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+			buffer.putInt(0, MAGIC_NUMBER);
+			buffer.putInt(4, VERSION);
+			buffer.putInt(8, numPointsX);
+			buffer.putInt(12, numPointsY);
+			buffer.putDouble(16, cellGrid.getWidth());
+			buffer.putDouble(24, cellGrid.getHeight());
+			buffer.putDouble(32, cellGrid.getResolution());
+			buffer.putDouble(40, cellGrid.getMinX());
+			buffer.putDouble(48, cellGrid.getMinY());
+
+			int tagOffset = HEADER_SIZE + numPointsX * numPointsY * Double.BYTES;
+			for (int row = 0; row < numPointsY; row++) {
+				for (int col = 0; col < numPointsX; col++) {
+					int index = row * numPointsX + col;
+					CellState value = cellGrid.getValue(col, row);
+					buffer.putDouble(HEADER_SIZE + index * Double.BYTES, value.potential);
+					buffer.put(tagOffset + index, (byte) value.tag.ordinal());
+				}
+			}
+			buffer.force();
+		}
+	}
+
+	private static long sizeOf(final int numPointsX, final int numPointsY) {
+		return HEADER_SIZE + (long) numPointsX * numPointsY * (Double.BYTES + 1);
+	}
+
+	@Override
+	public double getPotential(int pointX, int pointY) {
+		return buffer.getDouble(HEADER_SIZE + (pointY * numPointsX + pointX) * Double.BYTES);
+	}
+
+	public PathFindingTag getTag(int pointX, int pointY) {
+		return TAGS[buffer.get(tagOffset + pointY * numPointsX + pointX)];
+	}
+
+	/**
+	 * Returns a copy of the value, changes of the returned object do not change the grid.
+	 */
+	@Override
+	public CellState getValue(int pointX, int pointY) {
+		return new CellState(getPotential(pointX, pointY), getTag(pointX, pointY));
+	}
+
+	/**
+	 * Copies all values into the (heap) grid which has to have the same dimension.
+	 *
+	 * @param cellGrid the destination grid
+	 */
+	public void copyTo(@NotNull final CellGrid cellGrid) {
+		if (cellGrid.getNumPointsX() != numPointsX || cellGrid.getNumPointsY() != numPointsY) {
+			throw new IllegalArgumentException("The dimension of the grids does not match.");
+		}
+
+		for (int row = 0; row < numPointsY; row++) {
+			for (int col = 0; col < numPointsX; col++) {
+				CellState value = cellGrid.getValue(col, row);
+				value.potential = getPotential(col, row);
+				value.tag = getTag(col, row);
+			}
+		}
+	}
+
+	@Override
+	public void setValue(int pointX, int pointY, CellState value) {
+		throw new UnsupportedOperationException("A mapped cell grid is read only.");
+	}
+
+	@Override
+	public void reset(CellState value) {
+		throw new UnsupportedOperationException("A mapped cell grid is read only.");
+	}
+
+	@Override
+	public void loadFromTable(Table table) {
+		throw new UnsupportedOperationException("A mapped cell grid is read only.");
+	}
+
+	/**
+	 * Returns a copy of the grid stored on the heap.
+	 */
+	@Override
+	public CellGrid clone() {
+		return new CellGrid(this);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return this == o;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(numPointsX, numPointsY, xMin, yMin, resolution);
+	}
+}
@@ -0,0 +1,227 @@
+package org.vadere.util.geometry;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.profiling.PerformanceCounter;
+import org.vadere.util.profiling.PerformanceCounters;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * An immutable, flat version of the {@link LinkedCellsGrid}. Objects are sorted by their cell
+ * and stored in contiguous arrays together with a copy of their positions, i.e. the cell <tt>c</tt>
+ * contains the objects <tt>objects[cellStart[c]], ..., objects[cellStart[c+1]-1]</tt> (compressed sparse row layout).
+ *
+ * Since the grid can not be modified, an arbitrary number of threads can query it concurrently without any
+ * synchronization. Queries do not allocate memory, neighbours are either visited by a {@link Consumer}
+ * or added to a buffer supplied (and reused) by the caller. The grid represents a snapshot, it has to be
+ * rebuilt (e.g. once per simulation step) if objects move, see {@link LinkedCellsGrid#toCompactCellsGrid()}.
+ *
+ * @param <T> type of the stored objects
+ */
+public class CompactCellsGrid<T extends PointPositioned> {
+	private final double left;
+	private final double top;
+	private final double width;
+	private final double height;
+	private final int gridWidth;
+	private final int gridHeight;
+	private final double cellWidth;
+	private final double cellHeight;
+
+	/**
+	 * <tt>cellStart[c]</tt> is the index of the first object of cell <tt>c = iY * gridWidth + iX</tt>,
+	 * <tt>cellStart[gridWidth * gridHeight]</tt> is the number of objects.
+	 */
+	private final int[] cellStart;
+	private final double[] xs;
+	private final double[] ys;
+	private final Object[] objects;
+	private PerformanceCounters counters;
+
+	/**
+	 * Builds the grid containing the objects at their current positions. The grid layout (i.e. the number and
+	 * size of cells) is equal to the layout of a {@link LinkedCellsGrid} constructed by the same arguments.
+	 *
+	 * @param left          x-coordinate of the lower left corner
+	 * @param top           y-coordinate of the lower left corner
+	 * @param width         width of the grid
+	 * @param height        height of the grid
+	 * @param sideLength    the desired side length of a cell
+	 * @param elements      the objects contained in the grid
+	 */
+	public CompactCellsGrid(final double left, final double top, final double width, final double height,
+	                        final double sideLength, @NotNull final Collection<? extends T> elements) {
+		this.left = left;
+		this.top = top;
+		this.width = width;
+		this.height = height;
+		this.gridWidth = (int) Math.max(1, width / sideLength);
+		this.gridHeight = (int) Math.max(1, height / sideLength);
+		this.cellWidth = width / gridWidth;
+		this.cellHeight = height / gridHeight;
+
+		int n = elements.size();
+		int[] cellIndices = new int[n];
+		this.cellStart = new int[gridWidth * gridHeight + 1];
+		this.xs = new double[n];
+		this.ys = new double[n];
+		this.objects = new Object[n];
+
+		// counting sort of the objects by their cell index
+		int i = 0;
+		for (T element : elements) {
+			VPoint position = element.getPosition();
+			cellIndices[i] = cellIndex(gridX(position.x), gridY(position.y));
+			cellStart[cellIndices[i] + 1]++;
+			i++;
+		}
+
+		for (int c = 0; c < gridWidth * gridHeight; c++) {
+			cellStart[c + 1] += cellStart[c];
+		}
+
+		int[] next = new int[gridWidth * gridHeight];
+		System.arraycopy(cellStart, 0, next, 0, next.length);
+
+		i = 0;
+		for (T element : elements) {
+			VPoint position = element.getPosition();
+			int index = next[cellIndices[i]]++;
+			xs[index] = position.x;
+			ys[index] = position.y;
+			objects[index] = element;
+			i++;
+		}
+	}
+
+	/**
+	 * Sets the counters of the neighbor queries, <tt>null</tt> (the default) disables the counting. This has to be
+	 * called before the grid is queried concurrently.
+	 */
+	public void setPerformanceCounters(@Nullable final PerformanceCounters counters) {
+		this.counters = counters;
+	}
+
+	private int gridX(final double x) {
+		return (int) Math.max(0, Math.min(gridWidth - 1, Math.floor((x - left) / width * gridWidth)));
+	}
+
+	private int gridY(final double y) {
+		return (int) Math.max(0, Math.min(gridHeight - 1, Math.floor((y - top) / height * gridHeight)));
+	}
+
+	private int cellIndex(final int iX, final int iY) {
+		return iY * gridWidth + iX;
+	}
+
+	/**
+	 * Visits all objects which are closer than <tt>radius</tt> to <tt>(x, y)</tt> (with respect to their
+	 * positions at the time the grid was built).
+	 *
+	 * @param x         x-coordinate of the center of the ball
+	 * @param y         y-coordinate of the center of the ball
+	 * @param radius    radius of the ball
+	 * @param visitor   the visitor which is called for each object inside the ball
+	 *
+	 * @return the number of visited objects
+	 */
+	@SuppressWarnings("unchecked")
+	public int forEachObject(final double x, final double y, final double radius, @NotNull final Consumer<? super T> visitor) {
+		if (counters != null) {
+			counters.increment(PerformanceCounter.NEIGHBOR_QUERIES);
+		}
+		final int iX = gridX(x);
+		final int iY = gridY(y);
+		final int dX = (int) Math.ceil(radius / cellWidth);
+		final int dY = (int) Math.ceil(radius / cellHeight);
+		final int maxX = Math.min(gridWidth - 1, iX + dX);
+		final int maxY = Math.min(gridHeight - 1, iY + dY);
+		final double radiusSq = radius * radius;
+		int count = 0;
+
+		for (int row = Math.max(0, iY - dY); row <= maxY; row++) {
+			// cells of a row are contiguous
+			final int from = cellStart[cellIndex(Math.max(0, iX - dX), row)];
+			final int to = cellStart[cellIndex(maxX, row) + 1];
+
+			for (int i = from; i < to; i++) {
+				final double dx = xs[i] - x;
+				final double dy = ys[i] - y;
+				if (dx * dx + dy * dy < radiusSq) {
+					visitor.accept((T) objects[i]);
+					count++;
+				}
+			}
+		}
+		return count;
+	}
+
+	public int forEachObject(@NotNull final VPoint pos, final double radius, @NotNull final Consumer<? super T> visitor) {
+		return forEachObject(pos.x, pos.y, radius, visitor);
+	}
+
+	/**
+	 * Adds all objects which are closer than <tt>radius</tt> to <tt>pos</tt> to the buffer. The buffer
+	 * is not cleared, such that the caller can reuse it.
+	 *
+	 * @param pos       position of the center of the ball
+	 * @param radius    radius of the ball
+	 * @param buffer    the list to which the objects are added
+	 *
+	 * @return the number of objects added to the buffer
+	 */
+	public int getObjects(@NotNull final VPoint pos, final double radius, @NotNull final List<? super T> buffer) {
+		return forEachObject(pos.x, pos.y, radius, buffer::add);
+	}
+
+	/**
+	 * Returns the number of objects which are closer than <tt>radius</tt> to <tt>(x, y)</tt>.
+	 */
+	public int countObjects(final double x, final double y, final double radius) {
+		return forEachObject(x, y, radius, object -> {});
+	}
+
+	/**
+	 * Returns the index of the first object of the cell, objects are stored contiguously by cells.
+	 */
+	public int getCellStart(final int iX, final int iY) {
+		return cellStart[cellIndex(iX, iY)];
+	}
+
+	/**
+	 * Returns the number of objects of the cell.
+	 */
+	public int getCellCount(final int iX, final int iY) {
+		int c = cellIndex(iX, iY);
+		return cellStart[c + 1] - cellStart[c];
+	}
+
+	@SuppressWarnings("unchecked")
+	public T getObject(final int index) {
+		return (T) objects[index];
+	}
+
+	public double getX(final int index) {
+		return xs[index];
+	}
+
+	public double getY(final int index) {
+		return ys[index];
+	}
+
+	public int getGridWidth() {
+		return gridWidth;
+	}
+
+	public int getGridHeight() {
+		return gridHeight;
+	}
+
+	public int size() {
+		return objects.length;
+	}
+}
@@ -4,8 +4,11 @@ import java.lang.reflect.Array;
 import java.util.*;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.profiling.PerformanceCounter;
+import org.vadere.util.profiling.PerformanceCounters;
 
 /**
  * A grid augmenting the position of generic objects, for faster access. O(1)
@@ -26,6 +29,11 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 	private double sideLength;
 	private int size;
 
+	/**
+	 * The counters of the simulation the queries are counted by or <tt>null</tt> if they are not counted.
+	 */
+	private PerformanceCounters counters;
+
 	/**
 	 * One cell in the grid. It triangleContains a mapping from points to lists of
 	 * objects. This means that one can store multiple objects in one cell.
@@ -261,6 +269,9 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 	 * @return set of objects, or an empty set if no objects are present.
 	 */
 	public synchronized List<T> getObjects(final VPoint pos, final double radius) {
+		if (counters != null) {
+			counters.increment(PerformanceCounter.NEIGHBOR_QUERIES);
+		}
 		final List<T> result = new LinkedList<T>();
 
 		int[] gridPos = gridPos(pos);
@@ -285,6 +296,27 @@ public class LinkedCellsGrid<T extends PointPositioned> implements Iterable<T> {
 		return result;
 	}
 
+	/**
+	 * Returns an immutable snapshot of this grid which uses the same cell layout. In contrast to
+	 * {@link LinkedCellsGrid#getObjects(VPoint, double)}, the snapshot can be queried concurrently without
+	 * locks and without allocating memory per query.
+	 *
+	 * @return an immutable snapshot of this grid
+	 */
+	public synchronized CompactCellsGrid<T> toCompactCellsGrid() {
+		CompactCellsGrid<T> compactCellsGrid = new CompactCellsGrid<>(left, top, width, height, sideLength, getElements());
+		compactCellsGrid.setPerformanceCounters(counters);
+		return compactCellsGrid;
+	}
+
+	/**
+	 * Sets the counters of the neighbor queries of this grid and its compact versions (see
+	 * {@link #toCompactCellsGrid()}), <tt>null</tt> disables the counting.
+	 */
+	public synchronized void setPerformanceCounters(@Nullable final PerformanceCounters counters) {
+		this.counters = counters;
+	}
+
 	/**
 	 * Removes the objects equal to the given object from the grid regardless of
 	 * their position. Note that this function has complexity O(N), with N =
@@ -1,7 +1,9 @@
 package org.vadere.util.math;
 
+import java.util.Arrays;
 import java.util.Random;
 import java.util.function.BiFunction;
+import java.util.stream.IntStream;
 
 import org.vadere.util.geometry.shapes.VPoint;
 
@@ -135,6 +137,64 @@ public class Convolution {
 		return outMatrix;
 	}
 
+	/**
+	 * Computes the same result as {@link #convolveSeperate(float[], float[], float[], int, int, int)} (the
+	 * same values are summed up in the same order) but the rows of both passes are processed in parallel
+	 * (by the common fork-join pool) and no memory is allocated. The inner loops iterate over contiguous parts
+	 * of a row (one kernel weight at a time) such that they can be vectorized by the JIT compiler.
+	 *
+	 * @param inMatrix      the input matrix
+	 * @param rowVector     the kernel of the first (vertical) pass
+	 * @param colVector     the kernel of the second (horizontal) pass
+	 * @param nWidth        the width of the matrices
+	 * @param nHeight       the height of the matrices
+	 * @param nFilterWidth  the width of the kernels
+	 * @param tmpMatrix     the buffer for the result of the first pass
+	 * @param outMatrix     the buffer for the result
+	 *
+	 * @return the result, i.e. <tt>outMatrix</tt>
+	 */
+	public static float[] convolveSeperateParallel(final float[] inMatrix,
+			final float[] rowVector,
+			final float[] colVector,
+			final int nWidth,
+			final int nHeight,
+			final int nFilterWidth,
+			final float[] tmpMatrix,
+			final float[] outMatrix) {
+		final int half = nFilterWidth / 2;
+
+		IntStream.range(0, nHeight).parallel().forEach(yOut -> {
+			final int rowOut = yOut * nWidth;
+			Arrays.fill(tmpMatrix, rowOut, rowOut + nWidth, 0.0f);
+
+			// rows outside of the matrix are zero
+			for (int r = Math.max(-half, -yOut); r <= Math.min(half, nHeight - 1 - yOut); r++) {
+				final float weight = rowVector[r + half];
+				final int rowIn = rowOut + r * nWidth;
+				for (int xOut = 0; xOut < nWidth; xOut++) {
+					tmpMatrix[rowOut + xOut] += weight * inMatrix[rowIn + xOut];
+				}
+			}
+		});
+
+		IntStream.range(0, nHeight).parallel().forEach(yOut -> {
+			final int rowOut = yOut * nWidth;
+			Arrays.fill(outMatrix, rowOut, rowOut + nWidth, 0.0f);
+
+			// columns outside of the matrix are zero, i.e. xOut + r has to be inside of the row
+			for (int r = -half; r <= half; r++) {
+				final float weight = colVector[r + half];
+				final int maxX = Math.min(nWidth - 1, nWidth - 1 - r);
+				for (int xOut = Math.max(0, -r); xOut <= maxX; xOut++) {
+					outMatrix[rowOut + xOut] += weight * tmpMatrix[rowOut + xOut + r];
+				}
+			}
+		});
+
+		return outMatrix;
+	}
+
 	public static float[] convolveCol(final float[] inMatrix,
 			final float[] rowVector,
 			final int nWidth,
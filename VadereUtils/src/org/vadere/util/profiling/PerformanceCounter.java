@@ -0,0 +1,14 @@
+package org.vadere.util.profiling;
+
+/**
+ * Frequent operations in the hot path of a simulation which are counted by {@link PerformanceCounters},
+ * e.g. neighbor queries of the spatial maps.
+ */
+public enum PerformanceCounter {
+
+	/** number of queries for the neighbors of a position, see {@link org.vadere.util.geometry.LinkedCellsGrid} */
+	NEIGHBOR_QUERIES,
+
+	/** number of evaluations of the objective function of a (locomotion) optimizer */
+	OPTIMIZER_EVALUATIONS
+}
@@ -0,0 +1,52 @@
+package org.vadere.util.profiling;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The counters of the {@link PerformanceCounter}s of one simulation. The counters are incremented by the operations
+ * themselves (e.g. the spatial maps of the topography the counters are assigned to) and read by
+ * {@link #sum(PerformanceCounter)} which is cheap enough to be called after each simulation step, the number of
+ * operations of a step is the difference of two sums.
+ *
+ * The counters can be incremented concurrently (e.g. by the parallel update schemes) at a low cost. Operations are
+ * only counted if the counters are enabled, otherwise an increment is a check of a flag.
+ */
+public class PerformanceCounters {
+
+	private static final PerformanceCounter[] COUNTERS = PerformanceCounter.values();
+
+	private final LongAdder[] adders;
+	private boolean enabled;
+
+	public PerformanceCounters() {
+		this.adders = new LongAdder[COUNTERS.length];
+		for (int i = 0; i < adders.length; i++) {
+			adders[i] = new LongAdder();
+		}
+		this.enabled = false;
+	}
+
+	public void increment(@NotNull final PerformanceCounter counter) {
+		if (enabled) {
+			adders[counter.ordinal()].increment();
+		}
+	}
+
+	public long sum(@NotNull final PerformanceCounter counter) {
+		return adders[counter.ordinal()].sum();
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Enables or disables the counting, this should be called between two simulation steps, i.e. while no
+	 * operation is counted.
+	 */
+	public void setEnabled(final boolean enabled) {
+		this.enabled = enabled;
+	}
+}
@@ -0,0 +1,99 @@
+package org.vadere.util.data.aabb;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.vadere.util.geometry.shapes.VCircle;
+import org.vadere.util.geometry.shapes.VPoint;
+import org.vadere.util.geometry.shapes.VPolygon;
+import org.vadere.util.geometry.shapes.VRectangle;
+import org.vadere.util.geometry.shapes.VShape;
+
+import java.awt.geom.Path2D;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TestAABBTree {
+
+	private List<VShape> shapes;
+	private Random random;
+
+	@Before
+	public void setUp() {
+		random = new Random(0);
+		shapes = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			shapes.add(new VRectangle(random.nextDouble() * 50, random.nextDouble() * 50, 0.1 + random.nextDouble() * 3, 0.1 + random.nextDouble() * 3));
+			shapes.add(new VCircle(random.nextDouble() * 50, random.nextDouble() * 50, 0.1 + random.nextDouble() * 2));
+		}
+
+		// overlapping shapes
+		shapes.add(new VRectangle(20, 20, 10, 10));
+		Path2D.Double triangle = new Path2D.Double();
+		triangle.moveTo(18, 18);
+		triangle.lineTo(32, 22);
+		triangle.lineTo(24, 34);
+		triangle.closePath();
+		shapes.add(new VPolygon(triangle));
+	}
+
+	private static VRectangle aabb(VShape shape) {
+		return new VRectangle(shape.getBounds2D());
+	}
+
+	private static double bruteForce(List<VShape> shapes, VPoint point) {
+		return shapes.stream().map(shape -> shape.distance(point)).min(Double::compareTo).orElse(Double.MAX_VALUE);
+	}
+
+	@Test
+	public void testMinDistanceEqualsBruteForce() {
+		AABBTree<VShape> tree = AABBTree.build(shapes, TestAABBTree::aabb);
+		assertEquals(shapes.size(), tree.size());
+
+		for (int i = 0; i < 2000; i++) {
+			VPoint point = new VPoint(random.nextDouble() * 60 - 5, random.nextDouble() * 60 - 5);
+			assertEquals(bruteForce(shapes, point), tree.minDistance(point, VShape::distance), 0.0);
+		}
+
+		// inside of overlapping shapes the smallest (negative) distance is returned
+		VPoint inside = new VPoint(25, 25);
+		assertEquals(bruteForce(shapes, inside), tree.minDistance(inside, VShape::distance), 0.0);
+		assertTrue(tree.minDistance(inside, VShape::distance) < 0);
+	}
+
+	@Test
+	public void testMinDistanceOfInsertedElements() {
+		AABBTree<VShape> tree = new AABBTree<>();
+		for (VShape shape : shapes) {
+			tree.insert(new AABBNode<>(aabb(shape), shape));
+		}
+		assertEquals(shapes.size(), tree.size());
+
+		for (int i = 0; i < 2000; i++) {
+			VPoint point = new VPoint(random.nextDouble() * 60 - 5, random.nextDouble() * 60 - 5);
+			assertEquals(bruteForce(shapes, point), tree.minDistance(point, VShape::distance), 0.0);
+		}
+	}
+
+	@Test
+	public void testQuery() {
+		AABBTree<VShape> tree = AABBTree.build(shapes, TestAABBTree::aabb);
+		VRectangle region = new VRectangle(10, 10, 15, 15);
+
+		long expected = shapes.stream().filter(shape -> aabb(shape).intersects((Rectangle2D) region)).count();
+		assertEquals(expected, tree.query(region).size());
+	}
+
+	@Test
+	public void testEmptyTree() {
+		AABBTree<VShape> tree = AABBTree.build(Collections.emptyList(), TestAABBTree::aabb);
+		assertTrue(tree.isEmpty());
+		assertEquals(Double.MAX_VALUE, tree.minDistance(new VPoint(0, 0), VShape::distance), 0.0);
+		assertTrue(tree.query(new VRectangle(0, 0, 1, 1)).isEmpty());
+	}
+}
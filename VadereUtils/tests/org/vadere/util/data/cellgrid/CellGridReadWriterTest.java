@@ -1,7 +1,9 @@
 package org.vadere.util.data.cellgrid;
 
 import org.junit.Assert;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
 import java.net.URL;
@@ -11,6 +13,9 @@ import static org.junit.Assert.assertEquals;
 
 public class CellGridReadWriterTest {
 
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
 	private File loadTestResource(String path){
 		URL resource1 = CellGridTest.class.getResource(path);
 		if (resource1 == null){
@@ -71,4 +76,50 @@ public class CellGridReadWriterTest {
 		}
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void testMapped() throws Exception {
+		File pathBIN = loadTestResource("/org/vadere/util/data/cellgrid/test001.bincache");
+		CellGrid cellGrid = new CellGrid(3.0, 3.0, 1.0, new CellState(), 0.0, 0.0);
+		CellGridReadWriter.read(cellGrid).fromBinary(pathBIN);
+
+		// write mapped version
+		File pathMapped = folder.getRoot().toPath().resolve("test001.ffmap").toFile();
+		MappedCellGrid.write(cellGrid, pathMapped);
+
+		// map and copy back
+		MappedCellGrid mappedCellGrid = MappedCellGrid.map(pathMapped);
+		CellGrid cellGrid2 = new CellGrid(3.0, 3.0, 1.0, new CellState(), 0.0, 0.0);
+		mappedCellGrid.copyTo(cellGrid2);
+
+		// compare
+		assertEquals(cellGrid.getNumPointsX(), mappedCellGrid.getNumPointsX());
+		assertEquals(cellGrid.getNumPointsY(), mappedCellGrid.getNumPointsY());
+		CellState[][] values1 = cellGrid.values;
+		CellState[][] values2 = cellGrid2.values;
+		for (int row = 0; row < cellGrid.getNumPointsY(); row++) {
+			for (int col = 0; col < cellGrid.getNumPointsX(); col++) {
+				assertEquals(values1[col][row], values2[col][row]);
+				assertEquals(values1[col][row], mappedCellGrid.getValue(col, row));
+			}
+		}
+
+		// the interpolation does not depend on the storage
+		for (double x = 0.0; x <= 2.0; x += 0.25) {
+			for (double y = 0.0; y <= 2.0; y += 0.25) {
+				assertEquals(cellGrid.getInterpolatedValueAt(x, y), mappedCellGrid.getInterpolatedValueAt(x, y));
+			}
+		}
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void testMappedIsReadOnly() throws Exception {
+		File pathBIN = loadTestResource("/org/vadere/util/data/cellgrid/test001.bincache");
+		CellGrid cellGrid = new CellGrid(3.0, 3.0, 1.0, new CellState(), 0.0, 0.0);
+		CellGridReadWriter.read(cellGrid).fromBinary(pathBIN);
+
+		File pathMapped = folder.getRoot().toPath().resolve("test001.ffmap").toFile();
+		MappedCellGrid.write(cellGrid, pathMapped);
+		MappedCellGrid.map(pathMapped).setValue(0, 0, new CellState());
+	}
+
+}
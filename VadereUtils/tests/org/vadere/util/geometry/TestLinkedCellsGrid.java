@@ -5,9 +5,12 @@ import org.junit.Test;
 import org.vadere.util.geometry.shapes.VPoint;
 import org.vadere.util.logging.Logger;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -448,4 +451,31 @@ public class TestLinkedCellsGrid {
 		}
 	}
 
+	/**
+	 * The {@link CompactCellsGrid} snapshot has to return the same objects as the {@link LinkedCellsGrid}.
+	 */
+	@Test
+	public void testCompactCellsGridQueries() {
+		Random random = new Random(0);
+		for (int i = 0; i < 1000; i++) {
+			linkedCellsInteger.addObject(new CoordinatedInteger(i, new VPoint(random.nextDouble() * width, random.nextDouble() * height)));
+		}
+
+		CompactCellsGrid<CoordinatedInteger> compactCellsGrid = linkedCellsInteger.toCompactCellsGrid();
+		assertEquals(linkedCellsInteger.size(), compactCellsGrid.size());
+
+		List<CoordinatedInteger> buffer = new ArrayList<>();
+		for (int i = 0; i < 100; i++) {
+			VPoint pos = new VPoint(random.nextDouble() * width, random.nextDouble() * height);
+			double radius = random.nextDouble() * 10;
+
+			buffer.clear();
+			int count = compactCellsGrid.getObjects(pos, radius, buffer);
+			List<CoordinatedInteger> expected = linkedCellsInteger.getObjects(pos, radius);
+
+			assertEquals(expected.size(), count);
+			assertEquals(expected.size(), compactCellsGrid.countObjects(pos.x, pos.y, radius));
+			assertEquals(new HashSet<>(expected), new HashSet<>(buffer));
+		}
+	}
 }
@@ -10,6 +10,7 @@ import org.vadere.util.opencl.OpenCLException;
 
 import java.io.IOException;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertTrue;
 
 public class TestConvolution {
@@ -40,6 +41,22 @@ public class TestConvolution {
         assertTrue(Convolution.convolve(inMatrix, kernel, 4, 4, 3, 0, 0) == 8 + 10 + 9 + 6);
     }
 
+	@Test
+	public void testParallelSeparateConvolution() {
+		int inputWidth = 317;
+		int inputHeight = 211;
+		int kernelWidth = 31;
+		float[] kernel = Convolution.floatGaussian1DKernel(kernelWidth, (float) Math.sqrt(0.7));
+		float[] input = Convolution.generdateInputMatrix(inputWidth * inputHeight);
+
+		float[] expected = Convolution.convolveSeperate(input, kernel, kernel, inputWidth, inputHeight, kernelWidth);
+		float[] output = Convolution.convolveSeperateParallel(input, kernel, kernel, inputWidth, inputHeight, kernelWidth,
+				new float[input.length], new float[input.length]);
+
+		// the same values are summed up in the same order
+		assertArrayEquals(expected, output, 0.0f);
+	}
+
 	@Test
 	public void testConvolution() throws OpenCLException {
 		int inputWidth = 1000;